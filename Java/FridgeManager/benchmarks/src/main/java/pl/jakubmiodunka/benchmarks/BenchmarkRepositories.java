@@ -0,0 +1,61 @@
+package pl.jakubmiodunka.benchmarks;
+
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.models.ChangeLogConfig;
+import pl.jakubmiodunka.database.models.SearchConfig;
+import pl.jakubmiodunka.database.models.tables.CategoriesTable;
+import pl.jakubmiodunka.database.models.tables.ChangeLogTable;
+import pl.jakubmiodunka.database.models.tables.ProductsTable;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ChangeLogRepository;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+
+import java.nio.file.Path;
+
+/**
+ * Repositories wired around given database client in the same way as by Database class.
+ * Structure of the tables is read from config files of the program, so benchmarks should be run
+ * from FridgeManager directory.
+ *
+ * @param categoriesRepository Repository of categories.
+ * @param productRepository    Repository of products.
+ * @param eventBus             Bus, to which the repositories publish changes of their content.
+ * @author Jakub Miodunka
+ * */
+public record BenchmarkRepositories(CategoriesRepository categoriesRepository, ProductRepository productRepository,
+                                    RepositoryEventBus eventBus) {
+    // Directory containing config files describing structure of the tables
+    private static final Path STRUCTURE_DIRECTORY = Path.of("src/main/resources/config/database/structure");
+
+    // Config file of the change log
+    private static final Path CHANGE_LOG_CONFIG = Path.of("src/main/resources/config/database/changeLog/changeLog.xml");
+
+    // Config file of the product search
+    private static final Path SEARCH_CONFIG = Path.of("src/main/resources/config/database/search/search.xml");
+
+    /**
+     * @param  client Database client used by created repositories.
+     * @return        Repositories using given client.
+     * */
+    public static BenchmarkRepositories create(Client client) {
+        ChangeLogTable changeLogTable = new ChangeLogTable(STRUCTURE_DIRECTORY.resolve("change_log_table.xml"));
+        CategoriesTable categoriesTable = new CategoriesTable(STRUCTURE_DIRECTORY.resolve("categories_table.xml"));
+        ProductsTable productsTable = new ProductsTable(STRUCTURE_DIRECTORY.resolve("products_table.xml"));
+
+        ChangeLogRepository changeLogRepository = new ChangeLogRepository(client, changeLogTable,
+                new ChangeLogConfig(CHANGE_LOG_CONFIG));
+        RepositoryEventBus eventBus = new RepositoryEventBus();
+
+        CategoriesRepository categoriesRepository = new CategoriesRepository(client, categoriesTable, changeLogRepository,
+                eventBus);
+        ProductRepository productRepository = new ProductRepository(client, productsTable, categoriesTable,
+                changeLogRepository, eventBus, new SearchConfig(SEARCH_CONFIG));
+
+        categoriesRepository.setProductRepository(productRepository);
+        productRepository.setCategoriesRepository(categoriesRepository);
+        productRepository.subscribeToRepositoryEvents();
+
+        return new BenchmarkRepositories(categoriesRepository, productRepository, eventBus);
+    }
+}
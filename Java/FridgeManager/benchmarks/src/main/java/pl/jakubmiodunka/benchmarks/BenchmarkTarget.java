@@ -0,0 +1,149 @@
+package pl.jakubmiodunka.benchmarks;
+
+import pl.jakubmiodunka.benchmarks.client.EmbeddedDatabaseClient;
+import pl.jakubmiodunka.benchmarks.client.InMemoryClient;
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.benchmarks.datasets.DatasetLoader;
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.models.ClientConfig;
+import pl.jakubmiodunka.database.models.DatabaseCredentials;
+import pl.jakubmiodunka.utilities.logging.AsyncLoggerFactory;
+import pl.jakubmiodunka.utilities.logging.LogLevel;
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Database client and repositories under test, along with the dataset they operate on.
+ * Supported targets:
+ * - 'stub'            - client answering the imports using the dataset held in memory, without any database,
+ * - 'embedded'        - in-memory H2 database in MySQL compatibility mode,
+ * - 'embedded-file'   - H2 database stored in 'benchmarks/target/h2' directory,
+ * - 'embedded-server' - in-memory H2 database reached over TCP, like a standalone database,
+ * - 'mysql'           - MySQL database specified by 'fridgemanager.benchmark.url', 'fridgemanager.benchmark.username'
+ *                       and 'fridgemanager.benchmark.password' system properties - its tables are recreated.
+ * Dataset is generated from the seed, so the same parameters always give the same data.
+ * Logging is disabled, so it does not affect the results.
+ *
+ * @author Jakub Miodunka
+ * */
+@State(Scope.Benchmark)
+public class BenchmarkTarget {
+    // Date, around which expiration dates are generated
+    public static final LocalDate REFERENCE_DATE = LocalDate.of(2030, 1, 1);
+
+    // Directory containing files of embedded databases - relative to FridgeManager directory
+    private static final Path EMBEDDED_FILES_DIRECTORY = Path.of("benchmarks/target/h2");
+
+    // Kind of the target
+    @Param({"stub", "embedded"})
+    private String target;
+
+    // Size of the dataset
+    @Param({"10000", "100000"})
+    private int productsQuantity;
+
+    @Param({"100"})
+    private int categoriesQuantity;
+
+    // Seed of the dataset
+    @Param({"42"})
+    private long seed;
+
+    // Client and repositories under test along with the dataset
+    private BenchmarkDataset dataset;
+    private Client client;
+    private BenchmarkRepositories repositories;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Disabling logging
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.configure(new LoggingConfig(LogLevel.OFF, Map.of(), 1_024, null));
+        }
+
+        // Preparing the dataset and the client
+        this.dataset = new BenchmarkDataset(this.seed, this.categoriesQuantity, this.productsQuantity, REFERENCE_DATE);
+
+        this.client = createClient(this.target, this.dataset);
+
+        this.repositories = BenchmarkRepositories.create(this.client);
+    }
+
+    /**
+     * Creates database client of given target and loads given dataset into its database.
+     * Embedded databases are named after the seed and the size of the dataset.
+     *
+     * @param  target                   Kind of the target - see description of the class.
+     * @param  dataset                  Loaded dataset.
+     * @return                          Database client of given target.
+     * @throws IllegalArgumentException When given target is unknown.
+     * @throws IllegalStateException    When MySQL target is requested, but its URL is not specified.
+     * @throws SQLException             When loading of the dataset fail.
+     * @throws IOException              When reading of the schema fail.
+     * */
+    public static Client createClient(String target, BenchmarkDataset dataset) throws SQLException, IOException {
+        String databaseName = "fridge_manager_" + dataset.getSeed() + "_" + dataset.getProductsQuantity();
+
+        return switch (target) {
+            case "stub" -> new InMemoryClient(dataset);
+
+            case "embedded", "embedded-file", "embedded-server" -> {
+                String url = switch (target) {
+                    case "embedded" -> EmbeddedDatabaseClient.getUrl(databaseName);
+                    case "embedded-file" -> EmbeddedDatabaseClient.getFileUrl(EMBEDDED_FILES_DIRECTORY, databaseName);
+                    default -> EmbeddedDatabaseClient.getServerUrl(databaseName);
+                };
+
+                DatasetLoader.load(url, EmbeddedDatabaseClient.USERNAME, EmbeddedDatabaseClient.PASSWORD, dataset);
+                yield new EmbeddedDatabaseClient(url);
+            }
+
+            case "mysql" -> {
+                String url = System.getProperty("fridgemanager.benchmark.url");
+                String username = System.getProperty("fridgemanager.benchmark.username", "root");
+                String password = System.getProperty("fridgemanager.benchmark.password", "");
+
+                if (url == null) {
+                    throw new IllegalStateException("'fridgemanager.benchmark.url' system property not specified.");
+                }
+
+                DatasetLoader.load(url, username, password, dataset);
+                yield new Client(new DatabaseCredentials(url, username, password), new ClientConfig(0, 0, 0));
+            }
+
+            default -> throw new IllegalArgumentException("Unknown target '" + target + "'.");
+        };
+    }
+
+    /**
+     * @return Dataset, on which the target operates.
+     * */
+    public BenchmarkDataset getDataset() {
+        return this.dataset;
+    }
+
+    /**
+     * @return Database client under test.
+     * */
+    public Client getClient() {
+        return this.client;
+    }
+
+    /**
+     * @return Repositories under test.
+     * */
+    public BenchmarkRepositories getRepositories() {
+        return this.repositories;
+    }
+}
@@ -0,0 +1,90 @@
+package pl.jakubmiodunka.benchmarks;
+
+import pl.jakubmiodunka.benchmarks.client.InMemoryClient;
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.utilities.logging.AsyncLoggerFactory;
+import pl.jakubmiodunka.utilities.logging.LogLevel;
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Throughput of the repositories with logging disabled and enabled at various levels.
+ * Database client is replaced by the one answering from the dataset held in memory,
+ * so only the cost of the repositories (including logging) is measured. Messages are written to 'benchmarks/target/logging-benchmark.log' file.
+ *
+ * @author Jakub Miodunka
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+    // Level of the loggers of the program
+    @Param({"OFF", "WARN", "INFO", "DEBUG"})
+    private LogLevel level;
+
+    // Number of products in the imported page
+    @Param({"50"})
+    private int pageSize;
+
+    // Repositories under test
+    private BenchmarkRepositories repositories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggingConfig config = new LoggingConfig(LogLevel.OFF, Map.of("pl.jakubmiodunka", this.level), 65_536,
+                Path.of("benchmarks/target/logging-benchmark.log"));
+
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.configure(config);
+        } else {
+            throw new IllegalStateException("Asynchronous logging is not bound to SLF4J.");
+        }
+
+        this.repositories = BenchmarkRepositories.create(new InMemoryClient(
+                new BenchmarkDataset(42, this.pageSize, 10_000, BenchmarkTarget.REFERENCE_DATE)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ((AsyncLoggerFactory) LoggerFactory.getILoggerFactory()).close();
+    }
+
+    @Benchmark
+    public List<Product> getProductsPage() {
+        return this.repositories.productRepository().getProducts(0, this.pageSize);
+    }
+
+    @Benchmark
+    public List<Category> getAllCategories() {
+        return this.repositories.categoriesRepository().getAllCategories();
+    }
+
+    @Benchmark
+    public void addNewProduct() {
+        this.repositories.productRepository().addNewProduct("Product", 1, LocalDate.of(2030, 1, 1));
+    }
+}
@@ -0,0 +1,144 @@
+package pl.jakubmiodunka.benchmarks;
+
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.client.exceptions.QueryResultProcessingException;
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.content.Product;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of database client and repository operations used by the GUI.
+ * Each operation is measured against every target and dataset size specified by BenchmarkTarget.
+ * Pages, categories and products are picked at random, but each thread uses the same seed, so runs are repeatable.
+ *
+ * @author Jakub Miodunka
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+    // Query importing a page of products - the same one, as generated by products repository
+    private static final String PRODUCTS_PAGE_QUERY = "SELECT products.id AS 'id', products.name AS 'name', " +
+            "products.category_id AS 'category_id', categories.name AS 'category', " +
+            "products.expiration_date AS 'expiration_date' " +
+            "FROM products INNER JOIN categories ON products.category_id = categories.id " +
+            "ORDER BY products.id ASC LIMIT ?, ?";
+
+    // Number of products in the imported page
+    @Param({"50"})
+    private int pageSize;
+
+    /**
+     * Source of random pages, categories and products - separate for each thread.
+     * */
+    @State(Scope.Thread)
+    public static class Picker {
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            this.random = new SplittableRandom(7);
+        }
+
+        /**
+         * @param  bound Exclusive upper bound of the value.
+         * @return       Random value between 0 and given bound - 0 if the bound is not positive.
+         * */
+        public long next(long bound) {
+            return (bound > 0) ? this.random.nextLong(bound) : 0;
+        }
+    }
+
+    /**
+     * Converts each record of given query result into product model - in the same way as products repository.
+     *
+     * @param  queryResult                    Imported data.
+     * @return                                List of products.
+     * @throws QueryResultProcessingException When processing of given query result fails.
+     * */
+    private static List<Object> toProducts(ResultSet queryResult) {
+        List<Object> products = new ArrayList<>();
+
+        try (queryResult) {
+            while (queryResult.next()) {
+                products.add(new Product(queryResult.getLong("id"), queryResult.getString("name"),
+                        queryResult.getLong("category_id"), queryResult.getString("category"),
+                        queryResult.getDate("expiration_date").toLocalDate()));
+            }
+        } catch (SQLException exception) {
+            throw new QueryResultProcessingException("Failed to convert query result.", exception);
+        }
+
+        return products;
+    }
+
+    @Benchmark
+    public List<Object> importDataConversion(BenchmarkTarget target, Picker picker) {
+        long startIndex = picker.next(target.getDataset().getProductsQuantity() - this.pageSize);
+
+        return target.getClient().importData(PRODUCTS_PAGE_QUERY, List.of(startIndex, (long) this.pageSize),
+                RepositoryBenchmark::toProducts, new QueryHandle());
+    }
+
+    @Benchmark
+    public List<Product> getProductsPage(BenchmarkTarget target, Picker picker) {
+        long startIndex = picker.next(target.getDataset().getProductsQuantity() - this.pageSize);
+
+        return target.getRepositories().productRepository().getProducts(startIndex, this.pageSize);
+    }
+
+    @Benchmark
+    public List<Product> getExpiredProducts(BenchmarkTarget target, Picker picker) {
+        long expiredProductsQuantity = (long) (target.getDataset().getProductsQuantity() *
+                BenchmarkDataset.EXPIRED_FRACTION);
+        long startIndex = picker.next(expiredProductsQuantity - this.pageSize);
+
+        return target.getRepositories().productRepository()
+                .getExpiredProducts(BenchmarkTarget.REFERENCE_DATE, startIndex, this.pageSize);
+    }
+
+    @Benchmark
+    public void addNewProduct(BenchmarkTarget target, Picker picker) {
+        long categoryId = picker.next(target.getDataset().getCategoriesQuantity()) + 1;
+
+        target.getRepositories().productRepository()
+                .addNewProduct("Benchmark product", categoryId, BenchmarkTarget.REFERENCE_DATE);
+    }
+
+    @Benchmark
+    public Category getCategory(BenchmarkTarget target, Picker picker) {
+        long categoryId = picker.next(target.getDataset().getCategoriesQuantity()) + 1;
+
+        return target.getRepositories().categoriesRepository().getCategory(categoryId);
+    }
+
+    @Benchmark
+    public boolean isCategoryInDatabase(BenchmarkTarget target, Picker picker) {
+        long categoryId = picker.next(target.getDataset().getCategoriesQuantity()) + 1;
+
+        return target.getRepositories().categoriesRepository()
+                .isInDatabase(target.getDataset().getCategoryName(categoryId));
+    }
+}
@@ -0,0 +1,145 @@
+package pl.jakubmiodunka.benchmarks.client;
+
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.client.interfaces.ResultSetConsumer;
+import pl.jakubmiodunka.database.models.ClientConfig;
+import pl.jakubmiodunka.database.models.DatabaseCredentials;
+
+import org.h2.tools.Server;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Database client of embedded H2 database working in MySQL compatibility mode.
+ * H2 accepts queries generated by the repositories except of column aliases quoted as strings (AS 'name'),
+ * so such aliases are unquoted before the query is passed to the regular client.
+ * Database is kept either in memory or in files - the latter one is not limited by the size of the heap.
+ * In-memory database can be also served over TCP by the server started within this process, so it is reached
+ * through sockets as a standalone database - threads waiting for results block on I/O instead of occupying CPU.
+ *
+ * @author Jakub Miodunka
+ * */
+public class EmbeddedDatabaseClient extends Client {
+    // Alias quoted as string
+    private static final Pattern QUOTED_ALIAS = Pattern.compile("AS '(\\w+)'");
+
+    // Credentials of the database
+    public static final String USERNAME = "sa";
+    public static final String PASSWORD = "";
+
+    // Options of the database - MySQL compatibility and keeping the database open until it is dropped
+    private static final String OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    // Server of in-memory databases - started on first use
+    private static Server server;
+
+    // URL of the database
+    private final String url;
+
+    /**
+     * @param url URL of the database - see getUrl, getFileUrl and getServerUrl methods.
+     * */
+    public EmbeddedDatabaseClient(String url) {
+        // Parent class constructor call
+        super(new DatabaseCredentials(url, USERNAME, PASSWORD), new ClientConfig(0, 0, 0));
+
+        // Properties init
+        this.url = url;
+    }
+
+    /**
+     * @param  databaseName Name of in-memory database - the same name refers to the same database.
+     * @return              URL of given database.
+     * */
+    public static String getUrl(String databaseName) {
+        return "jdbc:h2:mem:" + databaseName + OPTIONS;
+    }
+
+    /**
+     * @param  directory    Directory containing files of the database.
+     * @param  databaseName Name of the database.
+     * @return              URL of given database stored in files.
+     * */
+    public static String getFileUrl(Path directory, String databaseName) {
+        return "jdbc:h2:file:" + directory.resolve(databaseName).toAbsolutePath() + OPTIONS;
+    }
+
+    /**
+     * @param  databaseName Name of in-memory database - the same name refers to the same database.
+     * @return              URL of given database served over TCP.
+     * @throws SQLException When start of the server fail.
+     * */
+    public static synchronized String getServerUrl(String databaseName) throws SQLException {
+        if (server == null) {
+            server = Server.createTcpServer("-tcpPort", "0", "-tcpDaemon", "-ifNotExists").start();
+        }
+
+        return "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:" + databaseName + OPTIONS;
+    }
+
+    /**
+     * Closes the database and removes all its content, including its files.
+     *
+     * @throws SQLException When removal fail.
+     * */
+    public void drop() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(this.url, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS DELETE FILES");
+        }
+    }
+
+    /**
+     * @param  query Query generated by the repository.
+     * @return       Given query with unquoted aliases.
+     * */
+    private static String translate(String query) {
+        return QUOTED_ALIAS.matcher(query).replaceAll("AS $1");
+    }
+
+    @Override
+    public List<Object> importData(String query, List<Object> parameters,
+                                   Function<ResultSet, List<Object>> queryResultConverter, QueryHandle handle) {
+        return super.importData(translate(query), parameters, queryResultConverter, handle);
+    }
+
+    @Override
+    public long importData(String query, List<Object> parameters, ResultSetConsumer rowConsumer, QueryHandle handle) {
+        return super.importData(translate(query), parameters, rowConsumer, handle);
+    }
+
+    @Override
+    public long streamData(String query, List<Object> parameters, int fetchSize, ResultSetConsumer rowConsumer,
+                           QueryHandle handle) {
+        return super.streamData(translate(query), parameters, fetchSize, rowConsumer, handle);
+    }
+
+    @Override
+    public void updateData(String query) {
+        super.updateData(translate(query));
+    }
+
+    @Override
+    public void updateData(List<String> queries) {
+        super.updateData(queries.stream().map(EmbeddedDatabaseClient::translate).toList());
+    }
+
+    @Override
+    public long updateRecord(List<String> queries) {
+        return super.updateRecord(queries.stream().map(EmbeddedDatabaseClient::translate).toList());
+    }
+
+    @Override
+    public long insertData(List<String> queries, List<Object> parameters) {
+        return super.insertData(queries.stream().map(EmbeddedDatabaseClient::translate).toList(), parameters);
+    }
+}
@@ -0,0 +1,155 @@
+package pl.jakubmiodunka.benchmarks.client;
+
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.client.interfaces.ResultSetConsumer;
+import pl.jakubmiodunka.database.models.ClientConfig;
+import pl.jakubmiodunka.database.models.DatabaseCredentials;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Database client answering imports using the dataset held in memory, without connecting to any database.
+ * Queries are not evaluated - only their shape is recognised: counting queries get the number of products,
+ * version checks get the number of performed changes, paged queries get the requested range of rows
+ * and other ones get the first matching row (point lookups) or all rows of the table.
+ * Updates are discarded and inserts get consecutive IDs.
+ * Meant for measuring the cost of the repositories themselves - query generation, conversion of the results,
+ * logging and publication of events.
+ *
+ * @author Jakub Miodunka
+ * */
+public class InMemoryClient extends Client {
+    // Dataset used for answering the imports
+    private final BenchmarkDataset dataset;
+
+    // Source of IDs of inserted records
+    private final AtomicLong idSequence;
+
+    // Number of performed changes
+    private final AtomicLong version;
+
+    /**
+     * @param dataset Dataset used for answering the imports.
+     * */
+    public InMemoryClient(BenchmarkDataset dataset) {
+        // Parent class constructor call
+        super(new DatabaseCredentials("jdbc:in-memory", "", ""), new ClientConfig(0, 0, 0));
+
+        // Properties init
+        this.dataset = dataset;
+        this.idSequence = new AtomicLong(dataset.getProductsQuantity());
+        this.version = new AtomicLong();
+    }
+
+    @Override
+    public List<Object> importData(String query, List<Object> parameters,
+                                   Function<ResultSet, List<Object>> queryResultConverter, QueryHandle handle) {
+        return queryResultConverter.apply(RowsResultSet.of(this.selectRows(query, parameters)));
+    }
+
+    @Override
+    public long importData(String query, List<Object> parameters, ResultSetConsumer rowConsumer, QueryHandle handle) {
+        return passRows(RowsResultSet.of(this.selectRows(query, parameters)), rowConsumer, handle, 0, 0);
+    }
+
+    @Override
+    public long streamData(String query, List<Object> parameters, int fetchSize, ResultSetConsumer rowConsumer,
+                           QueryHandle handle) {
+        return this.importData(query, parameters, rowConsumer, handle);
+    }
+
+    /**
+     * @param  query      Imported query.
+     * @param  parameters Values of the parameters of the query.
+     * @return            Rows answering given query, recognised by its shape.
+     * */
+    private List<Map<String, Object>> selectRows(String query, List<Object> parameters) {
+        if (query.contains("COUNT(")) {
+            return List.of(Map.of("quantity", (long) this.dataset.getProductsQuantity()));
+        }
+
+        if (query.contains("FROM change_log_versions")) {
+            return List.of(Map.of("version", this.version.get()));
+        }
+
+        boolean categoriesQuery = !query.contains("FROM products");
+        long rowsQuantity = categoriesQuery ? this.dataset.getCategoriesQuantity() : this.dataset.getProductsQuantity();
+        long firstId = 1;
+
+        if (query.endsWith("LIMIT ?, ?")) {
+            firstId = (long) parameters.get(parameters.size() - 2) + 1;
+            rowsQuantity = Math.min(rowsQuantity - firstId + 1, (long) parameters.get(parameters.size() - 1));
+        }
+        else if (query.contains(" WHERE ")) {
+            rowsQuantity = Math.min(rowsQuantity, 1);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        for (long id = firstId; id < firstId + rowsQuantity; id++) {
+            rows.add(categoriesQuery ? this.getCategoryRow(id) : this.getProductRow(id));
+        }
+
+        return rows;
+    }
+
+    /**
+     * @param  id ID of the category.
+     * @return    Row describing given category.
+     * */
+    private Map<String, Object> getCategoryRow(long id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("name", this.dataset.getCategoryName(id));
+
+        return row;
+    }
+
+    /**
+     * @param  id ID of the product.
+     * @return    Row describing given product along with its category.
+     * */
+    private Map<String, Object> getProductRow(long id) {
+        long categoryId = this.dataset.getProductCategoryId(id);
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("name", this.dataset.getProductName(id));
+        row.put("category_id", categoryId);
+        row.put("category", this.dataset.getCategoryName(categoryId));
+        row.put("expiration_date", Date.valueOf(this.dataset.getProductExpirationDate(id)));
+
+        return row;
+    }
+
+    @Override
+    public void updateData(String query) {
+        this.version.incrementAndGet();
+    }
+
+    @Override
+    public void updateData(List<String> queries) {
+        this.version.incrementAndGet();
+    }
+
+    @Override
+    public long updateRecord(List<String> queries) {
+        this.version.incrementAndGet();
+        return 1;
+    }
+
+    @Override
+    public long insertData(List<String> queries, List<Object> parameters) {
+        this.version.incrementAndGet();
+        return this.idSequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,61 @@
+package pl.jakubmiodunka.benchmarks.client;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only result set backed by the list of rows held in memory.
+ * Supports only methods used by converters of the repositories - reading columns by their labels,
+ * moving forward and closing.
+ *
+ * @author Jakub Miodunka
+ * */
+public class RowsResultSet {
+    /**
+     * @param  rows Rows of the result set - each one as a map of column labels to their values.
+     * @return      Result set iterating over given rows.
+     * */
+    public static ResultSet of(List<Map<String, Object>> rows) {
+        int[] cursor = {-1};
+
+        return (ResultSet) Proxy.newProxyInstance(RowsResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, arguments) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < rows.size();
+                    case "close" -> null;
+                    case "isClosed" -> false;
+                    case "wasNull" -> false;
+                    case "getLong" -> ((Number) getValue(rows, cursor[0], arguments[0])).longValue();
+                    case "getInt" -> ((Number) getValue(rows, cursor[0], arguments[0])).intValue();
+                    case "getString" -> String.valueOf(getValue(rows, cursor[0], arguments[0]));
+                    case "getDate", "getObject" -> getValue(rows, cursor[0], arguments[0]);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == arguments[0];
+                    case "toString" -> "RowsResultSet" + rows;
+                    default -> throw new SQLException("Method '" + method.getName() + "' is not supported.");
+                });
+    }
+
+    /**
+     * @param  rows         Rows of the result set.
+     * @param  cursor       Index of current row.
+     * @param  column       Label of the column.
+     * @return              Value of given column in current row.
+     * @throws SQLException When cursor is not placed on any row or there is no such column.
+     * */
+    private static Object getValue(List<Map<String, Object>> rows, int cursor, Object column) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("Cursor not placed on any row.");
+        }
+
+        Map<String, Object> row = rows.get(cursor);
+
+        if (!row.containsKey(column)) {
+            throw new SQLException("Column '" + column + "' not found.");
+        }
+
+        return row.get(column);
+    }
+}
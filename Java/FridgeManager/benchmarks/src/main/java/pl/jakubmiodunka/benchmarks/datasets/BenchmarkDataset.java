@@ -0,0 +1,187 @@
+package pl.jakubmiodunka.benchmarks.datasets;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Dataset of categories and products generated from given seed, so the same seed and sizes always give
+ * the same data. Attributes of each product are derived on demand from the seed and the ID of the product,
+ * so datasets of millions of products take no memory and any product can be read in any order.
+ * IDs of categories and products are consecutive numbers starting from 1.
+ * Distributions resemble real fridges:
+ * - popularity of categories follows Zipf's law - category with ID n holds products proportionally to 1/n,
+ * - each category has its typical shelf life (few days for fish, years for spices) and products were bought
+ *   at random moments of it, so remaining shelf life is spread evenly and one in five products is already expired.
+ *
+ * @author Jakub Miodunka
+ * */
+public class BenchmarkDataset {
+    // Fraction of products, that are expired on the reference date
+    public static final double EXPIRED_FRACTION = 0.2;
+
+    // Words, from which names of categories and products are built, along with shelf lives of categories
+    private static final String[] CATEGORY_WORDS = {"Dairy", "Meat", "Fish", "Vegetables", "Fruits", "Bakery",
+            "Drinks", "Sauces", "Frozen", "Snacks", "Cheese", "Eggs", "Spreads", "Leftovers", "Desserts", "Spices"};
+    private static final int[] CATEGORY_SHELF_LIVES = {10, 5, 3, 10, 7, 4, 180, 120, 270, 120, 30, 21, 60, 3, 5, 720};
+    private static final String[] PRODUCT_WORDS = {"Milk", "Yoghurt", "Butter", "Ham", "Chicken", "Salmon", "Carrot",
+            "Tomato", "Apple", "Bread", "Juice", "Ketchup", "Peas", "Chips", "Gouda", "Egg", "Jam", "Soup", "Cake",
+            "Pepper"};
+
+    // Attributes of products - each one is drawn independently
+    private static final int NAME_ATTRIBUTE = 0;
+    private static final int NAME_SUFFIX_ATTRIBUTE = 1;
+    private static final int CATEGORY_ATTRIBUTE = 2;
+    private static final int EXPIRATION_DATE_ATTRIBUTE = 3;
+    private static final int ATTRIBUTES_QUANTITY = 4;
+
+    // Seed of the generator
+    private final long seed;
+
+    // Date, around which expiration dates are generated
+    private final LocalDate referenceDate;
+
+    // Names of categories - category with ID n is stored under index n - 1
+    private final String[] categoryNames;
+
+    // Cumulative distribution of products among categories
+    private final double[] categoryDistribution;
+
+    // Number of products
+    private final int productsQuantity;
+
+    /**
+     * @param seed               Seed of the generator.
+     * @param categoriesQuantity Number of generated categories.
+     * @param productsQuantity   Number of generated products.
+     * @param referenceDate      Date, around which expiration dates are generated.
+     * */
+    public BenchmarkDataset(long seed, int categoriesQuantity, int productsQuantity, LocalDate referenceDate) {
+        // Properties init
+        this.seed = seed;
+        this.referenceDate = referenceDate;
+        this.categoryNames = new String[categoriesQuantity];
+        this.categoryDistribution = new double[categoriesQuantity];
+        this.productsQuantity = productsQuantity;
+
+        // Generating categories - names are unique, as required by categories repository
+        double totalWeight = 0;
+
+        for (int index = 0; index < categoriesQuantity; index++) {
+            this.categoryNames[index] = CATEGORY_WORDS[index % CATEGORY_WORDS.length] +
+                    ((index < CATEGORY_WORDS.length) ? "" : " " + (index / CATEGORY_WORDS.length));
+
+            totalWeight += 1.0 / (index + 1);
+            this.categoryDistribution[index] = totalWeight;
+        }
+
+        for (int index = 0; index < categoriesQuantity; index++) {
+            this.categoryDistribution[index] /= totalWeight;
+        }
+    }
+
+    /**
+     * Mixes bits of given value (finalizer of SplitMix64 generator).
+     *
+     * @param  value Mixed value.
+     * @return       Value, which bits depend on all bits of given one.
+     * */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * @param  productId ID of the product.
+     * @param  attribute Drawn attribute.
+     * @return           Random value of given attribute of given product.
+     * */
+    private long draw(long productId, int attribute) {
+        return mix(this.seed ^ mix(productId * ATTRIBUTES_QUANTITY + attribute));
+    }
+
+    /**
+     * @param  productId ID of the product.
+     * @param  attribute Drawn attribute.
+     * @return           Random value of given attribute of given product - between 0 (inclusive) and 1 (exclusive).
+     * */
+    private double drawFraction(long productId, int attribute) {
+        return (this.draw(productId, attribute) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * @return Seed of the generator.
+     * */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @return Date, around which expiration dates were generated.
+     * */
+    public LocalDate getReferenceDate() {
+        return this.referenceDate;
+    }
+
+    /**
+     * @return Number of categories.
+     * */
+    public int getCategoriesQuantity() {
+        return this.categoryNames.length;
+    }
+
+    /**
+     * @return Number of products.
+     * */
+    public int getProductsQuantity() {
+        return this.productsQuantity;
+    }
+
+    /**
+     * @param  categoryId ID of the category.
+     * @return            Name of given category.
+     * */
+    public String getCategoryName(long categoryId) {
+        return this.categoryNames[(int) categoryId - 1];
+    }
+
+    /**
+     * @param  categoryId ID of the category.
+     * @return            Typical shelf life of products of given category in days.
+     * */
+    public int getCategoryShelfLife(long categoryId) {
+        return CATEGORY_SHELF_LIVES[(int) (categoryId - 1) % CATEGORY_SHELF_LIVES.length];
+    }
+
+    /**
+     * @param  productId ID of the product.
+     * @return           Name of given product.
+     * */
+    public String getProductName(long productId) {
+        return PRODUCT_WORDS[(int) Long.remainderUnsigned(this.draw(productId, NAME_ATTRIBUTE), PRODUCT_WORDS.length)] +
+                " " + Long.remainderUnsigned(this.draw(productId, NAME_SUFFIX_ATTRIBUTE), 1_000);
+    }
+
+    /**
+     * @param  productId ID of the product.
+     * @return           ID of the category of given product.
+     * */
+    public long getProductCategoryId(long productId) {
+        int index = Arrays.binarySearch(this.categoryDistribution, this.drawFraction(productId, CATEGORY_ATTRIBUTE));
+
+        // Not found value is placed right before the first greater one
+        index = (index < 0) ? -index - 1 : index + 1;
+        return Math.min(index, this.categoryDistribution.length - 1) + 1;
+    }
+
+    /**
+     * @param  productId ID of the product.
+     * @return           Expiration date of given product.
+     * */
+    public LocalDate getProductExpirationDate(long productId) {
+        int shelfLife = this.getCategoryShelfLife(this.getProductCategoryId(productId));
+        double remainingShelfLife = this.drawFraction(productId, EXPIRATION_DATE_ATTRIBUTE) - EXPIRED_FRACTION;
+
+        return this.referenceDate.plusDays((long) Math.floor(remainingShelfLife * shelfLife / (1 - EXPIRED_FRACTION)));
+    }
+}
@@ -0,0 +1,202 @@
+package pl.jakubmiodunka.benchmarks.datasets;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loader recreating the schema of the program in given database and filling it with the dataset.
+ * Schema is read from the dump used to set up the production database, so the same indexes are present.
+ * All existing data in the tables of the program is removed.
+ * Loading uses the fastest path available through plain JDBC in both MySQL and H2:
+ * - rows are inserted by multi-row INSERT statements, so each round trip carries many rows,
+ * - secondary indexes are created after all rows are inserted, so they are built once instead of row by row,
+ * - transaction is committed periodically, so its undo log stays small.
+ *
+ * @author Jakub Miodunka
+ * */
+public class DatasetLoader {
+    // Dump of the schema - relative to FridgeManager directory
+    private static final Path SCHEMA_FILE = Path.of("initial_sql_schema.sql");
+
+    // Definitions of secondary indexes and names of created tables within the dump
+    private static final Pattern INDEX_DEFINITION = Pattern.compile(",\\s*KEY (`\\w+`) (\\([^)]*\\))");
+    private static final Pattern TABLE_NAME = Pattern.compile("CREATE TABLE (`\\w+`)");
+
+    // Number of rows inserted by single statement
+    private static final int ROWS_PER_STATEMENT = 1_000;
+
+    // Number of rows inserted within single transaction
+    private static final int ROWS_PER_TRANSACTION = 100_000;
+
+    /**
+     * Recreates the schema and loads given dataset.
+     *
+     * @param  url          URL of the database.
+     * @param  username     Name of the database user.
+     * @param  password     Password of the database user.
+     * @param  dataset      Loaded dataset.
+     * @throws SQLException When any statement fail.
+     * @throws IOException  When reading of the schema fail.
+     * */
+    public static void load(String url, String username, String password, BenchmarkDataset dataset)
+            throws SQLException, IOException {
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            List<String> indexQueries = createSchema(connection);
+
+            connection.setAutoCommit(false);
+            loadCategories(connection, dataset);
+            loadProducts(connection, dataset);
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            try (Statement statement = connection.createStatement()) {
+                for (String query: indexQueries) {
+                    statement.execute(query);
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes statements from the schema dump - comments (including MySQL conditional ones) are skipped
+     * and secondary indexes are left out.
+     *
+     * @param  connection   Connection to the database.
+     * @return              Queries creating left out indexes.
+     * @throws SQLException When any statement fail.
+     * @throws IOException  When reading of the schema fail.
+     * */
+    private static List<String> createSchema(Connection connection) throws SQLException, IOException {
+        String schema = Files.readString(SCHEMA_FILE)
+                .replaceAll("(?s)/\\*.*?\\*/", "")
+                .replaceAll("(?m)^--.*$", "");
+
+        List<String> indexQueries = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement()) {
+            for (String query: schema.split(";")) {
+                if (query.isBlank()) {
+                    continue;
+                }
+
+                Matcher tableName = TABLE_NAME.matcher(query);
+
+                if (tableName.find()) {
+                    Matcher indexDefinition = INDEX_DEFINITION.matcher(query);
+
+                    while (indexDefinition.find()) {
+                        indexQueries.add("CREATE INDEX " + indexDefinition.group(1) +
+                                " ON " + tableName.group(1) + " " + indexDefinition.group(2));
+                    }
+
+                    query = indexDefinition.replaceAll("");
+                }
+
+                statement.execute(query.strip());
+            }
+        }
+
+        return indexQueries;
+    }
+
+    /**
+     * @param  connection      Connection to the database.
+     * @param  table           Name of the table.
+     * @param  columns         Names of the columns separated by commas.
+     * @param  columnsQuantity Number of the columns.
+     * @param  rowsQuantity    Number of inserted rows.
+     * @return                 Statement inserting given number of rows.
+     * @throws SQLException    When preparation of the statement fail.
+     * */
+    private static PreparedStatement prepareInsert(Connection connection, String table, String columns,
+                                                   int columnsQuantity, int rowsQuantity) throws SQLException {
+        String row = "(" + String.join(", ", Collections.nCopies(columnsQuantity, "?")) + ")";
+
+        return connection.prepareStatement("INSERT INTO " + table + " (" + columns + ") VALUES " +
+                String.join(", ", Collections.nCopies(rowsQuantity, row)));
+    }
+
+    /**
+     * @param  connection   Connection to the database.
+     * @param  dataset      Loaded dataset.
+     * @throws SQLException When any statement fail.
+     * */
+    private static void loadCategories(Connection connection, BenchmarkDataset dataset) throws SQLException {
+        int categoriesQuantity = dataset.getCategoriesQuantity();
+
+        try (PreparedStatement statement = prepareInsert(connection, "categories", "id, name", 2, categoriesQuantity)) {
+            for (int id = 1; id <= categoriesQuantity; id++) {
+                statement.setLong(2 * id - 1, id);
+                statement.setString(2 * id, dataset.getCategoryName(id));
+            }
+
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * @param  connection   Connection to the database.
+     * @param  dataset      Loaded dataset.
+     * @throws SQLException When any statement fail.
+     * */
+    private static void loadProducts(Connection connection, BenchmarkDataset dataset) throws SQLException {
+        String columns = "id, name, category_id, expiration_date";
+        int productsQuantity = dataset.getProductsQuantity();
+        int firstId = 1;
+
+        try (PreparedStatement fullStatement = prepareInsert(connection, "products", columns, 4, ROWS_PER_STATEMENT)) {
+            // Inserting full chunks of rows
+            while (productsQuantity - firstId + 1 >= ROWS_PER_STATEMENT) {
+                bindProducts(fullStatement, dataset, firstId, ROWS_PER_STATEMENT);
+                fullStatement.executeUpdate();
+                firstId += ROWS_PER_STATEMENT;
+
+                if ((firstId - 1) % ROWS_PER_TRANSACTION == 0) {
+                    connection.commit();
+                }
+            }
+        }
+
+        // Inserting remaining rows
+        int remainingRowsQuantity = productsQuantity - firstId + 1;
+
+        if (remainingRowsQuantity > 0) {
+            try (PreparedStatement statement = prepareInsert(connection, "products", columns, 4,
+                    remainingRowsQuantity)) {
+                bindProducts(statement, dataset, firstId, remainingRowsQuantity);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * @param  statement    Statement inserting given number of products.
+     * @param  dataset      Loaded dataset.
+     * @param  firstId      ID of the first inserted product.
+     * @param  rowsQuantity Number of inserted products.
+     * @throws SQLException When binding of any parameter fail.
+     * */
+    private static void bindProducts(PreparedStatement statement, BenchmarkDataset dataset, int firstId,
+                                     int rowsQuantity) throws SQLException {
+        int parameterIndex = 1;
+
+        for (long id = firstId; id < firstId + rowsQuantity; id++) {
+            statement.setLong(parameterIndex++, id);
+            statement.setString(parameterIndex++, dataset.getProductName(id));
+            statement.setLong(parameterIndex++, dataset.getProductCategoryId(id));
+            statement.setDate(parameterIndex++, Date.valueOf(dataset.getProductExpirationDate(id)));
+        }
+    }
+}
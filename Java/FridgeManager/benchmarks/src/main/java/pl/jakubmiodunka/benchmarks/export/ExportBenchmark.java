@@ -0,0 +1,158 @@
+package pl.jakubmiodunka.benchmarks.export;
+
+import pl.jakubmiodunka.benchmarks.BenchmarkRepositories;
+import pl.jakubmiodunka.benchmarks.BenchmarkTarget;
+import pl.jakubmiodunka.benchmarks.client.EmbeddedDatabaseClient;
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.export.InventoryExporter;
+import pl.jakubmiodunka.export.models.ExportConfig;
+import pl.jakubmiodunka.export.models.ExportFormat;
+import pl.jakubmiodunka.utilities.logging.AsyncLoggerFactory;
+import pl.jakubmiodunka.utilities.logging.LogLevel;
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of export of the whole inventory. Exported content is counted and discarded, so only reading
+ * of the records and their encoding is measured. Throughput along with the greatest heap usage observed during
+ * the export are printed for each format.
+ * Heap usage includes garbage, so it is only an upper bound - constant memory of the export is best shown by running
+ * the benchmark with small heap (ex. -Xmx64m), with which materialisation of millions of products would fail.
+ * Run from FridgeManager directory:
+ *   java -cp benchmarks/target/benchmarks.jar pl.jakubmiodunka.benchmarks.export.ExportBenchmark
+ * Behaviour is controlled by system properties (defaults in brackets):
+ * - fridgemanager.benchmark.target    - any target supported by BenchmarkTarget ['embedded-file'],
+ * - fridgemanager.benchmark.products  - number of products in the database [1000000],
+ * - fridgemanager.benchmark.seed      - seed of the dataset [42],
+ * - fridgemanager.benchmark.formats   - exported formats separated by commas [csv,ndjson],
+ * - fridgemanager.benchmark.fetchSize - number of records fetched from the database at once [1000],
+ * - fridgemanager.benchmark.buffer    - size of the buffer, through which records are written [65536].
+ *
+ * @author Jakub Miodunka
+ * */
+public class ExportBenchmark {
+    // Number of categories in the dataset
+    private static final int CATEGORIES_QUANTITY = 100;
+
+    // Interval between consecutive checks of heap usage
+    private static final long HEAP_SAMPLING_INTERVAL_MILLIS = 10;
+
+    /**
+     * Stream counting written bytes and discarding them.
+     *
+     * @author Jakub Miodunka
+     * */
+    private static class CountingStream extends OutputStream {
+        // Number of written bytes
+        private long bytesQuantity;
+
+        @Override
+        public void write(int value) {
+            this.bytesQuantity++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            this.bytesQuantity += length;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Parameters of the benchmark
+        String target = System.getProperty("fridgemanager.benchmark.target", "embedded-file");
+        int productsQuantity = Integer.getInteger("fridgemanager.benchmark.products", 1_000_000);
+        long seed = Long.getLong("fridgemanager.benchmark.seed", 42);
+        ExportFormat[] formats = Arrays.stream(System.getProperty("fridgemanager.benchmark.formats", "csv,ndjson")
+                .split(",")).map(format -> ExportFormat.valueOf(format.strip().toUpperCase(Locale.ROOT)))
+                .toArray(ExportFormat[]::new);
+        int fetchSize = Integer.getInteger("fridgemanager.benchmark.fetchSize", 1_000);
+        int bufferBytes = Integer.getInteger("fridgemanager.benchmark.buffer", 65_536);
+
+        // Disabling logging, so it does not affect the results
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.configure(new LoggingConfig(LogLevel.OFF, Map.of(), 1_024, null));
+        }
+
+        // Preparing the database
+        System.out.printf("Loading %d products into '%s' target...%n", productsQuantity, target);
+
+        BenchmarkDataset dataset = new BenchmarkDataset(seed, CATEGORIES_QUANTITY, productsQuantity,
+                BenchmarkTarget.REFERENCE_DATE);
+        Client client = BenchmarkTarget.createClient(target, dataset);
+
+        try {
+            BenchmarkRepositories repositories = BenchmarkRepositories.create(client);
+            InventoryExporter exporter = new InventoryExporter(repositories.categoriesRepository(),
+                    repositories.productRepository(), new ExportConfig(fetchSize, bufferBytes, 0));
+
+            System.out.printf("Maximal heap size: %d MB%n", Runtime.getRuntime().maxMemory() / 1_000_000);
+            System.out.printf("%8s %12s %12s %10s %12s %10s %14s%n", "Format", "Records", "Seconds", "MB",
+                    "Records/s", "MB/s", "MaxHeap[MB]");
+
+            for (ExportFormat format: formats) {
+                runExport(exporter, format);
+            }
+
+        } finally {
+            if (client instanceof EmbeddedDatabaseClient embeddedClient) {
+                embeddedClient.drop();
+            }
+        }
+    }
+
+    /**
+     * Exports the inventory in given format and prints the results.
+     *
+     * @param  exporter  Exporter of the inventory.
+     * @param  format    Format of the export.
+     * @throws Exception When the export fail.
+     * */
+    private static void runExport(InventoryExporter exporter, ExportFormat format) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong maxHeapUsage = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // Heap usage is checked in background during the export
+        System.gc();
+
+        Thread sampler = Thread.ofPlatform().daemon().name("heap-sampler").start(() -> {
+            while (running.get()) {
+                maxHeapUsage.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+
+                try {
+                    Thread.sleep(HEAP_SAMPLING_INTERVAL_MILLIS);
+                } catch (InterruptedException exception) {
+                    return;
+                }
+            }
+        });
+
+        CountingStream output = new CountingStream();
+        long exportStart = System.nanoTime();
+        long recordsQuantity;
+
+        try {
+            recordsQuantity = exporter.export(output, format, new QueryHandle());
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+
+        double seconds = (System.nanoTime() - exportStart) / 1e9;
+        double megabytes = output.bytesQuantity / 1e6;
+
+        System.out.printf(Locale.ROOT, "%8s %12d %12.2f %10.1f %12.0f %10.1f %14.1f%n", format, recordsQuantity,
+                seconds, megabytes, recordsQuantity / seconds, megabytes / seconds, maxHeapUsage.get() / 1e6);
+    }
+}
@@ -0,0 +1,312 @@
+package pl.jakubmiodunka.benchmarks.http;
+
+import pl.jakubmiodunka.benchmarks.BenchmarkRepositories;
+import pl.jakubmiodunka.benchmarks.BenchmarkTarget;
+import pl.jakubmiodunka.benchmarks.client.EmbeddedDatabaseClient;
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.benchmarks.statistics.LatencyHistogram;
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.models.health.DatabaseHealth;
+import pl.jakubmiodunka.database.models.health.DatabaseStatus;
+import pl.jakubmiodunka.export.models.ExportConfig;
+import pl.jakubmiodunka.http.HttpApiServer;
+import pl.jakubmiodunka.http.models.HttpServerConfig;
+import pl.jakubmiodunka.utilities.logging.AsyncLoggerFactory;
+import pl.jakubmiodunka.utilities.logging.LogLevel;
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Throughput benchmark of HTTP API server. The server is started within the process over given target and driven
+ * by concurrent clients, each running on its own virtual thread and sending requests one after another over
+ * persistent connection (HTTP/1.1 keep-alive). Requests are drawn evenly from pages of products, pages of expired
+ * products, list of categories and details of single category.
+ * Load is applied in steps of increasing number of clients - throughput, latency percentiles, transferred bytes,
+ * fraction of '304 Not Modified' responses and error rate are printed for each step.
+ * The default 'stub' target answers queries from memory, so cost of the server itself (parsing of requests,
+ * JSON encoding and transfer) is measured - database targets show end-to-end throughput.
+ * Cost of requests for unchanged content is measured by limiting requested pages to the first few ones (so the same
+ * resources are requested repeatedly) - then responses are served from response cache of the server, or answered
+ * with '304 Not Modified', when clients revalidate content they already received ('If-None-Match' header).
+ * Setting the size of response cache to 0 gives the baseline, in which each response is prepared from scratch.
+ * Run from FridgeManager directory:
+ *   java -cp benchmarks/target/benchmarks.jar pl.jakubmiodunka.benchmarks.http.HttpThroughputBenchmark
+ * Behaviour is controlled by system properties (defaults in brackets):
+ * - fridgemanager.benchmark.target   - any target supported by BenchmarkTarget ['stub'],
+ * - fridgemanager.benchmark.products - number of products in the database [10000],
+ * - fridgemanager.benchmark.seed     - seed of the dataset and of the clients [42],
+ * - fridgemanager.benchmark.clients  - numbers of clients in consecutive steps [1,4,16,64,256],
+ * - fridgemanager.benchmark.duration - duration of each step in seconds [10],
+ * - fridgemanager.benchmark.warmup   - duration of unreported warm-up with the last number of clients [10],
+ * - fridgemanager.benchmark.pageSize - number of products in requested pages [50],
+ * - fridgemanager.benchmark.pages    - number of distinct requested pages - 0 means pages at any offset [0],
+ * - fridgemanager.benchmark.revalidate    - true if clients should revalidate received content [false],
+ * - fridgemanager.benchmark.responseCache - size of response cache of the server in bytes [16777216].
+ *
+ * @author Jakub Miodunka
+ * */
+public class HttpThroughputBenchmark {
+    // Number of categories in the dataset
+    private static final int CATEGORIES_QUANTITY = 100;
+
+    // Health reported by benchmarked server
+    private static final DatabaseHealth HEALTH = new DatabaseHealth(DatabaseStatus.UP, 0, 0, 0, 0, 0);
+
+    // Client sending the requests along with address of the server
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    // Dataset stored by the target
+    private final BenchmarkDataset dataset;
+    private final int pageSize;
+
+    // Number of distinct requested pages - 0 means pages at any offset
+    private final int pagesQuantity;
+
+    // Flag indicating, that clients revalidate content they already received
+    private final boolean revalidating;
+
+    // Source of seeds of clients
+    private final SplittableRandom random;
+
+    /**
+     * @param httpClient    Client sending the requests.
+     * @param baseUrl       Address of the server.
+     * @param dataset       Dataset stored by the target.
+     * @param pageSize      Number of products in requested pages.
+     * @param pagesQuantity Number of distinct requested pages - 0 means pages at any offset.
+     * @param revalidating  True if clients should revalidate content they already received.
+     * @param seed          Seed of the clients.
+     * */
+    public HttpThroughputBenchmark(HttpClient httpClient, String baseUrl, BenchmarkDataset dataset, int pageSize,
+                                   int pagesQuantity, boolean revalidating, long seed) {
+        // Properties init
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.pageSize = pageSize;
+        this.pagesQuantity = pagesQuantity;
+        this.revalidating = revalidating;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Parameters of the benchmark
+        String target = System.getProperty("fridgemanager.benchmark.target", "stub");
+        int productsQuantity = Integer.getInteger("fridgemanager.benchmark.products", 10_000);
+        long seed = Long.getLong("fridgemanager.benchmark.seed", 42);
+        int[] clientsQuantities = Arrays.stream(System.getProperty("fridgemanager.benchmark.clients",
+                "1,4,16,64,256").split(",")).mapToInt(quantity -> Integer.parseInt(quantity.strip())).toArray();
+        long durationMillis = Long.getLong("fridgemanager.benchmark.duration", 10) * 1_000;
+        long warmupMillis = Long.getLong("fridgemanager.benchmark.warmup", 10) * 1_000;
+        int pageSize = Integer.getInteger("fridgemanager.benchmark.pageSize", 50);
+        int pagesQuantity = Integer.getInteger("fridgemanager.benchmark.pages", 0);
+        boolean revalidating = Boolean.getBoolean("fridgemanager.benchmark.revalidate");
+        long responseCacheBytes = Long.getLong("fridgemanager.benchmark.responseCache", 16_777_216);
+
+        // Disabling logging, so it does not affect the results
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.configure(new LoggingConfig(LogLevel.OFF, Map.of(), 1_024, null));
+        }
+
+        // Preparing the database and the server
+        System.out.printf("Loading %d products into '%s' target...%n", productsQuantity, target);
+
+        BenchmarkDataset dataset = new BenchmarkDataset(seed, CATEGORIES_QUANTITY, productsQuantity,
+                BenchmarkTarget.REFERENCE_DATE);
+        Client client = BenchmarkTarget.createClient(target, dataset);
+        BenchmarkRepositories repositories = BenchmarkRepositories.create(client);
+
+        // Any free port is used
+        HttpServerConfig serverConfig = new HttpServerConfig(0, 1_024, 500, 8_192, true, 1, 1_000,
+                responseCacheBytes, 262_144);
+        HttpApiServer server = new HttpApiServer(serverConfig, repositories.categoriesRepository(),
+                repositories.productRepository(), repositories.eventBus(), new ExportConfig(1_000, 65_536, 3_600),
+                () -> HEALTH);
+        server.start();
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .build()) {
+            HttpThroughputBenchmark benchmark = new HttpThroughputBenchmark(httpClient,
+                    "http://localhost:" + server.getPort(), dataset, pageSize, pagesQuantity, revalidating, seed);
+
+            // Warming up with the greatest number of clients, so all connections are established upfront
+            if (warmupMillis > 0) {
+                int warmupClientsQuantity = Arrays.stream(clientsQuantities).max().orElse(1);
+                System.out.printf("Warming up with %d clients for %d s...%n", warmupClientsQuantity,
+                        warmupMillis / 1_000);
+                benchmark.runStep(warmupClientsQuantity, warmupMillis);
+            }
+
+            // Applying the load
+            System.out.printf("%8s %12s %10s %10s %10s %10s %10s %10s %10s%n", "Clients", "Requests/s", "MB/s",
+                    "Mean[ms]", "P50[ms]", "P99[ms]", "Max[ms]", "304[%]", "Errors[%]");
+
+            for (int clientsQuantity: clientsQuantities) {
+                benchmark.runStep(clientsQuantity, durationMillis).print();
+            }
+
+        } finally {
+            server.stop();
+
+            if (client instanceof EmbeddedDatabaseClient embeddedClient) {
+                embeddedClient.drop();
+            }
+        }
+    }
+
+    /**
+     * Requests sent during single step of the load.
+     *
+     * @param clientsQuantity Number of clients.
+     * @param seconds         Duration of the step.
+     * @param latencies       Latencies of the requests.
+     * @param bytesQuantity       Number of received bytes of response bodies.
+     * @param notModifiedQuantity Number of requests answered with '304 Not Modified'.
+     * @param errorsQuantity      Number of failed requests.
+     * @author Jakub Miodunka
+     * */
+    private record Step(int clientsQuantity, double seconds, LatencyHistogram latencies, long bytesQuantity,
+                        long notModifiedQuantity, long errorsQuantity) {
+        /**
+         * Prints summary of the step.
+         * */
+        private void print() {
+            long requestsQuantity = this.latencies.getSamplesQuantity();
+
+            System.out.printf(Locale.ROOT, "%8d %12.1f %10.2f %10.3f %10.3f %10.3f %10.3f %10.2f %10.2f%n",
+                    this.clientsQuantity, requestsQuantity / this.seconds, this.bytesQuantity / this.seconds / 1e6,
+                    this.latencies.getMean() / 1e6, this.latencies.getPercentile(50) / 1e6,
+                    this.latencies.getPercentile(99) / 1e6, this.latencies.getMax() / 1e6,
+                    (requestsQuantity != 0) ? 100.0 * this.notModifiedQuantity / requestsQuantity : 0,
+                    (requestsQuantity != 0) ? 100.0 * this.errorsQuantity / requestsQuantity : 0);
+        }
+    }
+
+    /**
+     * Applies the load with given number of clients for given time.
+     * Clients finish their current requests before the method returns.
+     *
+     * @param  clientsQuantity      Number of concurrent clients.
+     * @param  durationMillis       Duration of the step.
+     * @return                      Requests sent during the step.
+     * @throws InterruptedException When the thread is interrupted while waiting for the clients.
+     * */
+    private Step runStep(int clientsQuantity, long durationMillis) throws InterruptedException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        LongAdder bytesQuantity = new LongAdder();
+        LongAdder notModifiedQuantity = new LongAdder();
+        LongAdder errorsQuantity = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        long stepStart = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < clientsQuantity; index++) {
+                SplittableRandom clientRandom = this.random.split();
+
+                // Entity tags of content received by the client by requested paths
+                Map<String, String> eTags = new HashMap<>();
+
+                executor.submit(() -> {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        HttpResponse<byte[]> response = this.send(clientRandom, eTags);
+                        latencies.record(System.nanoTime() - start);
+
+                        if (response == null) {
+                            errorsQuantity.increment();
+                        } else if (response.statusCode() == 304) {
+                            notModifiedQuantity.increment();
+                        } else {
+                            bytesQuantity.add(response.body().length);
+                        }
+                    }
+                });
+            }
+
+            try {
+                Thread.sleep(durationMillis);
+            } finally {
+                // Stopping the clients - executor waits for them to finish
+                running.set(false);
+            }
+        }
+
+        return new Step(clientsQuantity, (System.nanoTime() - stepStart) / 1e9, latencies, bytesQuantity.sum(),
+                notModifiedQuantity.sum(), errorsQuantity.sum());
+    }
+
+    /**
+     * @param  random           Source of randomness of the client.
+     * @param  productsQuantity Number of products, from which the page is taken.
+     * @return                  Offset of requested page.
+     * */
+    private long drawOffset(SplittableRandom random, long productsQuantity) {
+        return (this.pagesQuantity > 0) ? (long) random.nextInt(this.pagesQuantity) * this.pageSize :
+                random.nextLong(Math.max(productsQuantity - this.pageSize, 1));
+    }
+
+    /**
+     * Sends request drawn evenly from supported kinds - revalidating clients attach entity tag of previously
+     * received content of requested resource.
+     *
+     * @param  random Source of randomness of the client.
+     * @param  eTags  Entity tags of content received by the client by requested paths.
+     * @return        Received response or null if the request failed.
+     * */
+    private HttpResponse<byte[]> send(SplittableRandom random, Map<String, String> eTags) {
+        int productsQuantity = this.dataset.getProductsQuantity();
+        long expiredProductsQuantity = (long) (productsQuantity * BenchmarkDataset.EXPIRED_FRACTION);
+
+        String path = switch (random.nextInt(4)) {
+            case 0 -> "/api/products?offset=" + this.drawOffset(random, productsQuantity) + "&limit=" + this.pageSize;
+            case 1 -> "/api/products/expired?date=" + BenchmarkTarget.REFERENCE_DATE + "&offset=" +
+                    this.drawOffset(random, expiredProductsQuantity) + "&limit=" + this.pageSize;
+            case 2 -> "/api/categories";
+            default -> "/api/categories/" + (random.nextLong(this.dataset.getCategoriesQuantity()) + 1);
+        };
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(this.baseUrl + path)).GET();
+        String eTag = eTags.get(path);
+
+        if (this.revalidating && eTag != null) {
+            request.header("If-None-Match", eTag);
+        }
+
+        try {
+            HttpResponse<byte[]> response = this.httpClient.send(request.build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+
+            if (response.statusCode() == 200) {
+                response.headers().firstValue("ETag").ifPresent(receivedETag -> eTags.put(path, receivedETag));
+                return response;
+            }
+
+            return (response.statusCode() == 304) ? response : null;
+
+        } catch (IOException exception) {
+            return null;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package pl.jakubmiodunka.benchmarks.load;
+
+import pl.jakubmiodunka.benchmarks.BenchmarkRepositories;
+import pl.jakubmiodunka.benchmarks.BenchmarkTarget;
+import pl.jakubmiodunka.benchmarks.client.EmbeddedDatabaseClient;
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.benchmarks.statistics.LatencyHistogram;
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.utilities.logging.AsyncLoggerFactory;
+import pl.jakubmiodunka.utilities.logging.LogLevel;
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load generator driving products and categories repositories from many concurrent clients, each running
+ * on its own virtual thread and performing operations drawn from the operation mix one after another.
+ * Load is applied in steps of increasing number of clients. Throughput, latency percentiles and error rate
+ * are printed for each reporting interval and summarised for each step, so the knee of the curve - number
+ * of clients, above which latency grows faster than throughput - can be found.
+ * Time series is written as CSV report.
+ * Databases running within the process of the generator and not blocking on I/O ('embedded', 'embedded-file')
+ * keep virtual threads mounted until each operation completes, so operations are effectively serialised
+ * on carrier threads and time spent waiting for a carrier is not measured - 'embedded-server' or 'mysql'
+ * targets should be used to find the knee of the curve.
+ * Run from FridgeManager directory:
+ *   java -cp benchmarks/target/benchmarks.jar pl.jakubmiodunka.benchmarks.load.LoadGenerator
+ * Behaviour is controlled by system properties (defaults in brackets):
+ * - fridgemanager.benchmark.target    - any target supported by BenchmarkTarget ['embedded-server'],
+ * - fridgemanager.benchmark.products  - number of products in the database [10000],
+ * - fridgemanager.benchmark.seed      - seed of the dataset and of the clients [42],
+ * - fridgemanager.benchmark.clients   - numbers of clients in consecutive steps [1,2,4,8,16,32,64],
+ * - fridgemanager.benchmark.duration  - duration of each step in seconds [30],
+ * - fridgemanager.benchmark.interval  - reporting interval in seconds [5],
+ * - fridgemanager.benchmark.warmup    - duration of unreported warm-up with the first number of clients [10],
+ * - fridgemanager.benchmark.mix       - weights of operations [browse=50,expiry=20,add=10,remove=10,categories=10],
+ * - fridgemanager.benchmark.thinkTime - pause of each client between operations in milliseconds [0],
+ * - fridgemanager.benchmark.report    - path of written report [benchmarks/target/load-report.csv].
+ *
+ * @author Jakub Miodunka
+ * */
+public class LoadGenerator {
+    // Number of categories in the dataset
+    private static final int CATEGORIES_QUANTITY = 100;
+
+    // Number of products in browsed page
+    private static final int PAGE_SIZE = 50;
+
+    // Header of CSV report
+    private static final String HEADER =
+            "elapsed_s,clients,operation,operations,errors,throughput_ops_s,error_rate,p50_ms,p90_ms,p99_ms,max_ms";
+
+    /**
+     * Operations recorded during single step of the load.
+     *
+     * @param clientsQuantity Number of clients.
+     * @param seconds         Duration of the step.
+     * @param statistics      Recorded operations.
+     * @author Jakub Miodunka
+     * */
+    private record Step(int clientsQuantity, double seconds, LoadStatistics statistics) {
+        /**
+         * @return Number of operations per second.
+         * */
+        private double getThroughput() {
+            return this.statistics.getLatencies().getSamplesQuantity() / this.seconds;
+        }
+
+        /**
+         * @return Fraction of failed operations.
+         * */
+        private double getErrorRate() {
+            long operationsQuantity = this.statistics.getLatencies().getSamplesQuantity();
+            return (operationsQuantity != 0) ? (double) this.statistics.getErrorsQuantity() / operationsQuantity : 0;
+        }
+    }
+
+    // Driven repositories and the dataset stored by them
+    private final BenchmarkRepositories repositories;
+    private final BenchmarkDataset dataset;
+
+    // Behaviour of clients
+    private final OperationMix mix;
+    private final long thinkTimeMillis;
+
+    // Source of seeds of clients
+    private final SplittableRandom random;
+
+    // Rows of the report
+    private final List<String> reportLines;
+
+    /**
+     * @param repositories    Driven repositories.
+     * @param dataset         Dataset stored by driven repositories.
+     * @param mix             Weights of operations performed by clients.
+     * @param thinkTimeMillis Pause of each client between operations.
+     * @param seed            Seed of the clients.
+     * */
+    public LoadGenerator(BenchmarkRepositories repositories, BenchmarkDataset dataset, OperationMix mix,
+                         long thinkTimeMillis, long seed) {
+        // Properties init
+        this.repositories = repositories;
+        this.dataset = dataset;
+        this.mix = mix;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.random = new SplittableRandom(seed);
+        this.reportLines = new ArrayList<>(List.of(HEADER));
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Parameters of the load
+        String target = System.getProperty("fridgemanager.benchmark.target", "embedded-server");
+        int productsQuantity = Integer.getInteger("fridgemanager.benchmark.products", 10_000);
+        long seed = Long.getLong("fridgemanager.benchmark.seed", 42);
+        int[] clientsQuantities = Arrays.stream(System.getProperty("fridgemanager.benchmark.clients",
+                "1,2,4,8,16,32,64").split(",")).mapToInt(quantity -> Integer.parseInt(quantity.strip())).toArray();
+        long durationMillis = Long.getLong("fridgemanager.benchmark.duration", 30) * 1_000;
+        long intervalMillis = Long.getLong("fridgemanager.benchmark.interval", 5) * 1_000;
+        long warmupMillis = Long.getLong("fridgemanager.benchmark.warmup", 10) * 1_000;
+        OperationMix mix = OperationMix.parse(System.getProperty("fridgemanager.benchmark.mix",
+                "browse=50,expiry=20,add=10,remove=10,categories=10"));
+        long thinkTimeMillis = Long.getLong("fridgemanager.benchmark.thinkTime", 0);
+        Path reportFile = Path.of(System.getProperty("fridgemanager.benchmark.report",
+                "benchmarks/target/load-report.csv"));
+
+        // Disabling logging, so it does not affect the results
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.configure(new LoggingConfig(LogLevel.OFF, Map.of(), 1_024, null));
+        }
+
+        // Preparing the database
+        System.out.printf("Loading %d products into '%s' target...%n", productsQuantity, target);
+
+        BenchmarkDataset dataset = new BenchmarkDataset(seed, CATEGORIES_QUANTITY, productsQuantity,
+                BenchmarkTarget.REFERENCE_DATE);
+        Client client = BenchmarkTarget.createClient(target, dataset);
+
+        try {
+            LoadGenerator generator = new LoadGenerator(BenchmarkRepositories.create(client), dataset, mix,
+                    thinkTimeMillis, seed);
+
+            // Applying the load
+            System.out.printf("Operation mix: %s, think time: %d ms.%n", mix, thinkTimeMillis);
+
+            if (warmupMillis > 0) {
+                System.out.printf("Warming up with %d clients for %d s...%n", clientsQuantities[0], warmupMillis / 1_000);
+                generator.runStep(clientsQuantities[0], warmupMillis, warmupMillis, false);
+            }
+
+            List<Step> steps = new ArrayList<>();
+
+            for (int clientsQuantity: clientsQuantities) {
+                steps.add(generator.runStep(clientsQuantity, durationMillis, intervalMillis, true));
+            }
+
+            // Reporting
+            generator.writeReport(reportFile);
+            printSummary(steps);
+            System.out.println("Report written to '" + reportFile + "'.");
+
+        } finally {
+            if (client instanceof EmbeddedDatabaseClient embeddedClient) {
+                embeddedClient.drop();
+            }
+        }
+    }
+
+    /**
+     * Applies the load with given number of clients for given time.
+     * Clients finish their current operations before the method returns.
+     *
+     * @param  clientsQuantity      Number of concurrent clients.
+     * @param  durationMillis       Duration of the step.
+     * @param  intervalMillis       Reporting interval.
+     * @param  reported             Indicates whether intervals should be printed and added to the report.
+     * @return                      Operations recorded during the step.
+     * @throws InterruptedException When the thread is interrupted while waiting for the clients.
+     * */
+    private Step runStep(int clientsQuantity, long durationMillis, long intervalMillis, boolean reported)
+            throws InterruptedException {
+        AtomicReference<LoadStatistics> currentInterval = new AtomicReference<>(new LoadStatistics());
+        AtomicBoolean running = new AtomicBoolean(true);
+        LoadStatistics stepStatistics = new LoadStatistics();
+        long stepStart = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < clientsQuantity; index++) {
+                SplittableRandom clientRandom = this.random.split();
+                executor.submit(() -> this.runClient(clientRandom, currentInterval, running));
+            }
+
+            try {
+                long intervalStart = stepStart;
+
+                for (long elapsedMillis = intervalMillis; elapsedMillis <= durationMillis;
+                     elapsedMillis += intervalMillis) {
+                    Thread.sleep(Math.max(stepStart / 1_000_000 + elapsedMillis - System.nanoTime() / 1_000_000, 0));
+
+                    LoadStatistics interval = currentInterval.getAndSet(new LoadStatistics());
+                    long intervalEnd = System.nanoTime();
+                    stepStatistics.add(interval);
+
+                    if (reported) {
+                        this.reportInterval(clientsQuantity, elapsedMillis / 1_000, interval,
+                                (intervalEnd - intervalStart) / 1e9);
+                    }
+
+                    intervalStart = intervalEnd;
+                }
+            } finally {
+                // Stopping the clients - executor waits for them to finish
+                running.set(false);
+            }
+        }
+
+        return new Step(clientsQuantity, (System.nanoTime() - stepStart) / 1e9, stepStatistics);
+    }
+
+    /**
+     * Performs operations drawn from the mix until the load is stopped.
+     *
+     * @param random          Source of randomness of the client.
+     * @param currentInterval Statistics of current reporting interval.
+     * @param running         Indicates whether the load is still applied.
+     * */
+    private void runClient(SplittableRandom random, AtomicReference<LoadStatistics> currentInterval,
+                           AtomicBoolean running) {
+        while (running.get()) {
+            Operation operation = this.mix.pick(random);
+            boolean failed = false;
+            long start = System.nanoTime();
+
+            try {
+                this.perform(operation, random);
+            } catch (RuntimeException exception) {
+                failed = true;
+            }
+
+            currentInterval.get().record(operation, System.nanoTime() - start, failed);
+
+            if (this.thinkTimeMillis > 0) {
+                try {
+                    Thread.sleep(this.thinkTimeMillis);
+                } catch (InterruptedException exception) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param operation Performed operation.
+     * @param random    Source of randomness of the client.
+     * */
+    private void perform(Operation operation, SplittableRandom random) {
+        int productsQuantity = this.dataset.getProductsQuantity();
+        long expiredProductsQuantity = (long) (productsQuantity * BenchmarkDataset.EXPIRED_FRACTION);
+
+        switch (operation) {
+            case BROWSE -> this.repositories.productRepository().getProducts(
+                    random.nextLong(Math.max(productsQuantity - PAGE_SIZE, 1)), PAGE_SIZE);
+            case EXPIRY -> this.repositories.productRepository().getExpiredProducts(BenchmarkTarget.REFERENCE_DATE,
+                    random.nextLong(Math.max(expiredProductsQuantity - PAGE_SIZE, 1)), PAGE_SIZE);
+            case ADD -> this.repositories.productRepository().addNewProduct("Load test product",
+                    random.nextLong(this.dataset.getCategoriesQuantity()) + 1,
+                    BenchmarkTarget.REFERENCE_DATE.plusDays(7));
+            case REMOVE -> this.repositories.productRepository().removeProduct(random.nextLong(productsQuantity) + 1);
+            case CATEGORIES -> this.repositories.categoriesRepository().getAllCategories();
+        }
+    }
+
+    /**
+     * Prints summary of given interval and adds it to the report - both in total and for each kind of operation.
+     *
+     * @param clientsQuantity Number of concurrent clients.
+     * @param elapsedSeconds  Time elapsed since the beginning of the step.
+     * @param interval        Operations recorded during the interval.
+     * @param seconds         Duration of the interval.
+     * */
+    private void reportInterval(int clientsQuantity, long elapsedSeconds, LoadStatistics interval, double seconds) {
+        LatencyHistogram latencies = interval.getLatencies();
+        long operationsQuantity = latencies.getSamplesQuantity();
+
+        System.out.printf(Locale.ROOT, "[%3d clients, %4d s] %9.1f ops/s  p50 %8.3f ms  p99 %8.3f ms  errors %5.2f%%%n",
+                clientsQuantity, elapsedSeconds, operationsQuantity / seconds, latencies.getPercentile(50) / 1e6,
+                latencies.getPercentile(99) / 1e6,
+                (operationsQuantity != 0) ? 100.0 * interval.getErrorsQuantity() / operationsQuantity : 0);
+
+        this.addReportLine(clientsQuantity, elapsedSeconds, "all", latencies, interval.getErrorsQuantity(), seconds);
+
+        for (Operation operation: Operation.values()) {
+            if (interval.getLatencies(operation).getSamplesQuantity() > 0) {
+                this.addReportLine(clientsQuantity, elapsedSeconds, operation.getKey(),
+                        interval.getLatencies(operation), interval.getErrorsQuantity(operation), seconds);
+            }
+        }
+    }
+
+    /**
+     * @param clientsQuantity Number of concurrent clients.
+     * @param elapsedSeconds  Time elapsed since the beginning of the step.
+     * @param operation       Name of the operation.
+     * @param latencies       Latencies of the operations.
+     * @param errorsQuantity  Number of failed operations.
+     * @param seconds         Duration of the interval.
+     * */
+    private void addReportLine(int clientsQuantity, long elapsedSeconds, String operation, LatencyHistogram latencies,
+                               long errorsQuantity, double seconds) {
+        long operationsQuantity = latencies.getSamplesQuantity();
+
+        this.reportLines.add(String.format(Locale.ROOT, "%d,%d,%s,%d,%d,%.1f,%.4f,%.3f,%.3f,%.3f,%.3f",
+                elapsedSeconds, clientsQuantity, operation, operationsQuantity, errorsQuantity,
+                operationsQuantity / seconds, (operationsQuantity != 0) ? (double) errorsQuantity / operationsQuantity : 0,
+                latencies.getPercentile(50) / 1e6, latencies.getPercentile(90) / 1e6,
+                latencies.getPercentile(99) / 1e6, latencies.getMax() / 1e6));
+    }
+
+    /**
+     * @param  reportFile  Destination CSV file - overwritten if exists.
+     * @throws IOException When writing of the file fail.
+     * */
+    private void writeReport(Path reportFile) throws IOException {
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+
+        Files.write(reportFile, this.reportLines);
+    }
+
+    /**
+     * Prints summary of each step along with the knee of the curve - step with the greatest ratio of throughput
+     * to mean latency (Kleinrock's power). Above the knee additional clients mostly wait in queues.
+     *
+     * @param steps Steps of the load.
+     * */
+    private static void printSummary(List<Step> steps) {
+        System.out.println();
+        System.out.printf("%8s %12s %10s %10s %10s %10s %10s%n", "Clients", "Ops/s", "Mean[ms]", "P50[ms]", "P90[ms]",
+                "P99[ms]", "Errors[%]");
+
+        Step knee = null;
+        double kneePower = 0;
+
+        for (Step step: steps) {
+            LatencyHistogram latencies = step.statistics().getLatencies();
+
+            System.out.printf(Locale.ROOT, "%8d %12.1f %10.3f %10.3f %10.3f %10.3f %10.2f%n", step.clientsQuantity(),
+                    step.getThroughput(), latencies.getMean() / 1e6, latencies.getPercentile(50) / 1e6,
+                    latencies.getPercentile(90) / 1e6, latencies.getPercentile(99) / 1e6, step.getErrorRate() * 100);
+
+            double power = (latencies.getMean() > 0) ? step.getThroughput() / latencies.getMean() : 0;
+
+            if (power > kneePower) {
+                knee = step;
+                kneePower = power;
+            }
+        }
+
+        if (knee != null) {
+            System.out.printf(Locale.ROOT, "%nKnee of the curve: %d clients (%.1f ops/s, p99 %.3f ms).%n",
+                    knee.clientsQuantity(), knee.getThroughput(),
+                    knee.statistics().getLatencies().getPercentile(99) / 1e6);
+        }
+    }
+}
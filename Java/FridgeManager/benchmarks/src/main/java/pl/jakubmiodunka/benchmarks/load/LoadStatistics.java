@@ -0,0 +1,91 @@
+package pl.jakubmiodunka.benchmarks.load;
+
+import pl.jakubmiodunka.benchmarks.statistics.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and errors of operations performed within some period - recorded concurrently by all clients.
+ *
+ * @author Jakub Miodunka
+ * */
+public class LoadStatistics {
+    // Latencies of all operations and of each kind of operation
+    private final LatencyHistogram totalLatencies;
+    private final Map<Operation, LatencyHistogram> latencies;
+
+    // Number of failed operations of each kind
+    private final Map<Operation, LongAdder> errors;
+
+    public LoadStatistics() {
+        // Properties init
+        this.totalLatencies = new LatencyHistogram();
+        this.latencies = new EnumMap<>(Operation.class);
+        this.errors = new EnumMap<>(Operation.class);
+
+        for (Operation operation: Operation.values()) {
+            this.latencies.put(operation, new LatencyHistogram());
+            this.errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * @param operation     Performed operation.
+     * @param durationNanos Duration of the operation in nanoseconds.
+     * @param failed        Indicates whether the operation failed.
+     * */
+    public void record(Operation operation, long durationNanos, boolean failed) {
+        this.totalLatencies.record(durationNanos);
+        this.latencies.get(operation).record(durationNanos);
+
+        if (failed) {
+            this.errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Adds operations recorded by given statistics to this one.
+     *
+     * @param other Added statistics.
+     * */
+    public void add(LoadStatistics other) {
+        this.totalLatencies.add(other.totalLatencies);
+
+        for (Operation operation: Operation.values()) {
+            this.latencies.get(operation).add(other.latencies.get(operation));
+            this.errors.get(operation).add(other.errors.get(operation).sum());
+        }
+    }
+
+    /**
+     * @return Latencies of all operations.
+     * */
+    public LatencyHistogram getLatencies() {
+        return this.totalLatencies;
+    }
+
+    /**
+     * @param  operation Kind of the operation.
+     * @return           Latencies of given kind of operations.
+     * */
+    public LatencyHistogram getLatencies(Operation operation) {
+        return this.latencies.get(operation);
+    }
+
+    /**
+     * @return Number of failed operations.
+     * */
+    public long getErrorsQuantity() {
+        return this.errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @param  operation Kind of the operation.
+     * @return           Number of failed operations of given kind.
+     * */
+    public long getErrorsQuantity(Operation operation) {
+        return this.errors.get(operation).sum();
+    }
+}
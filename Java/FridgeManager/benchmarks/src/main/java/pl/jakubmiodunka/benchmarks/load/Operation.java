@@ -0,0 +1,30 @@
+package pl.jakubmiodunka.benchmarks.load;
+
+/**
+ * Operations performed by clients of the load generator - the ones performed by users of the GUI.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum Operation {
+    // Importing random page of products
+    BROWSE,
+
+    // Importing random page of expired products
+    EXPIRY,
+
+    // Adding new product
+    ADD,
+
+    // Removing random product
+    REMOVE,
+
+    // Importing all categories
+    CATEGORIES;
+
+    /**
+     * @return Name of the operation used in configuration and reports.
+     * */
+    public String getKey() {
+        return this.name().toLowerCase();
+    }
+}
@@ -0,0 +1,99 @@
+package pl.jakubmiodunka.benchmarks.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Relative frequencies of operations performed by clients of the load generator.
+ *
+ * @author Jakub Miodunka
+ * */
+public class OperationMix {
+    // Operations with non-zero weight along with cumulative weights
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    /**
+     * @param  weights                  Weights of operations - operations not present are never performed.
+     * @throws IllegalArgumentException When any weight is negative or all weights are zero.
+     * */
+    public OperationMix(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> usedWeights = new EnumMap<>(Operation.class);
+
+        for (Map.Entry<Operation, Integer> weight: weights.entrySet()) {
+            if (weight.getValue() < 0) {
+                throw new IllegalArgumentException("Weight of '" + weight.getKey().getKey() + "' is negative.");
+            }
+
+            if (weight.getValue() > 0) {
+                usedWeights.put(weight.getKey(), weight.getValue());
+            }
+        }
+
+        if (usedWeights.isEmpty()) {
+            throw new IllegalArgumentException("No operation has positive weight.");
+        }
+
+        // Properties init
+        this.operations = usedWeights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[this.operations.length];
+
+        int totalWeight = 0;
+
+        for (int index = 0; index < this.operations.length; index++) {
+            totalWeight += usedWeights.get(this.operations[index]);
+            this.cumulativeWeights[index] = totalWeight;
+        }
+    }
+
+    /**
+     * @param  description              Weights of operations in 'browse=60,add=10' format.
+     * @return                          Mix described by given string.
+     * @throws IllegalArgumentException When given description is malformed.
+     * */
+    public static OperationMix parse(String description) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+        for (String entry: description.split(",")) {
+            String[] keyAndValue = entry.split("=");
+
+            if (keyAndValue.length != 2) {
+                throw new IllegalArgumentException("Malformed operation weight '" + entry + "'.");
+            }
+
+            weights.put(Operation.valueOf(keyAndValue[0].strip().toUpperCase()),
+                    Integer.parseInt(keyAndValue[1].strip()));
+        }
+
+        return new OperationMix(weights);
+    }
+
+    /**
+     * @param  random Source of randomness.
+     * @return        Operation drawn according to the weights.
+     * */
+    public Operation pick(SplittableRandom random) {
+        int value = random.nextInt(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+
+        for (int index = 0; index < this.cumulativeWeights.length; index++) {
+            if (value < this.cumulativeWeights[index]) {
+                return this.operations[index];
+            }
+        }
+
+        return this.operations[this.operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+
+        for (int index = 0; index < this.operations.length; index++) {
+            int weight = this.cumulativeWeights[index] - ((index > 0) ? this.cumulativeWeights[index - 1] : 0);
+            description.append((index > 0) ? "," : "").append(this.operations[index].getKey()).append('=').append(weight);
+        }
+
+        return description.toString();
+    }
+}
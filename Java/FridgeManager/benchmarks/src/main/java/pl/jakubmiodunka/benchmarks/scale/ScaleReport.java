@@ -0,0 +1,185 @@
+package pl.jakubmiodunka.benchmarks.scale;
+
+import pl.jakubmiodunka.benchmarks.statistics.LatencySamples;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latencies of operations measured at various dataset sizes.
+ * Report is stored as CSV file with fixed columns, so reports of different runs (or revisions of the program)
+ * can be compared with each other - either by this class or by any spreadsheet.
+ * Durations are stored in milliseconds.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ScaleReport {
+    // Header of CSV file
+    private static final String HEADER = "target,products,operation,samples,mean_ms,p50_ms,p90_ms,p99_ms,max_ms";
+
+    /**
+     * Latencies of single operation measured at single dataset size.
+     *
+     * @param target           Kind of the target.
+     * @param productsQuantity Number of products in the database.
+     * @param operation        Name of the operation.
+     * @param samplesQuantity  Number of measured operations.
+     * @param meanMillis       Mean duration.
+     * @param p50Millis        Median duration.
+     * @param p90Millis        90th percentile of durations.
+     * @param p99Millis        99th percentile of durations.
+     * @param maxMillis        Longest duration.
+     * @author Jakub Miodunka
+     * */
+    public record Entry(String target, long productsQuantity, String operation, int samplesQuantity,
+                        double meanMillis, double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+        /**
+         * @param  target           Kind of the target.
+         * @param  productsQuantity Number of products in the database.
+         * @param  operation        Name of the operation.
+         * @param  samples          Measured durations.
+         * @return                  Entry summarising given durations.
+         * */
+        public static Entry of(String target, long productsQuantity, String operation, LatencySamples samples) {
+            return new Entry(target, productsQuantity, operation, samples.getSamplesQuantity(),
+                    samples.getMean() / 1e6, samples.getPercentile(50) / 1e6, samples.getPercentile(90) / 1e6,
+                    samples.getPercentile(99) / 1e6, samples.getMax() / 1e6);
+        }
+
+        /**
+         * @param  line Line of CSV file.
+         * @return      Entry stored in given line.
+         * */
+        private static Entry fromCsv(String line) {
+            String[] values = line.split(",");
+
+            return new Entry(values[0], Long.parseLong(values[1]), values[2], Integer.parseInt(values[3]),
+                    Double.parseDouble(values[4]), Double.parseDouble(values[5]), Double.parseDouble(values[6]),
+                    Double.parseDouble(values[7]), Double.parseDouble(values[8]));
+        }
+
+        /**
+         * @return Line of CSV file describing the entry.
+         * */
+        private String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f", this.target,
+                    this.productsQuantity, this.operation, this.samplesQuantity, this.meanMillis, this.p50Millis,
+                    this.p90Millis, this.p99Millis, this.maxMillis);
+        }
+
+        /**
+         * @return Key identifying measured operation across reports.
+         * */
+        private String getKey() {
+            return this.target + "," + this.productsQuantity + "," + this.operation;
+        }
+    }
+
+    // Entries in order of measurement
+    private final List<Entry> entries;
+
+    public ScaleReport() {
+        // Properties init
+        this.entries = new ArrayList<>();
+    }
+
+    /**
+     * @param  file        CSV file written previously by write method.
+     * @return             Report stored in given file.
+     * @throws IOException When reading of the file fail.
+     * */
+    public static ScaleReport read(Path file) throws IOException {
+        ScaleReport report = new ScaleReport();
+
+        for (String line: Files.readAllLines(file)) {
+            if (!line.isBlank() && !line.equals(HEADER)) {
+                report.add(Entry.fromCsv(line));
+            }
+        }
+
+        return report;
+    }
+
+    /**
+     * @param entry Added entry.
+     * */
+    public void add(Entry entry) {
+        this.entries.add(entry);
+    }
+
+    /**
+     * @param  file        Destination CSV file - overwritten if exists.
+     * @throws IOException When writing of the file fail.
+     * */
+    public void write(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        this.entries.forEach(entry -> lines.add(entry.toCsv()));
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        Files.write(file, lines);
+    }
+
+    /**
+     * Prints the report as a table. Growth of median duration relative to the smallest measured dataset is shown
+     * next to the growth of the dataset itself, so non-linear scaling is visible at a glance.
+     * When baseline is given, change of median duration relative to it is shown as well and changes exceeding
+     * given tolerance are marked as regressions.
+     *
+     * @param out       Destination stream.
+     * @param baseline  Report of the previous run - null if there is none.
+     * @param tolerance Accepted relative growth of median duration in comparison to the baseline (0.2 means 20%).
+     * */
+    public void print(PrintStream out, ScaleReport baseline, double tolerance) {
+        // Reference entries - ones measured at the smallest dataset
+        Map<String, Entry> smallestDatasetEntries = new HashMap<>();
+
+        for (Entry entry: this.entries) {
+            smallestDatasetEntries.merge(entry.target() + "," + entry.operation(), entry,
+                    (current, candidate) -> (candidate.productsQuantity() < current.productsQuantity()) ?
+                            candidate : current);
+        }
+
+        // Entries of the baseline
+        Map<String, Entry> baselineEntries = new HashMap<>();
+
+        if (baseline != null) {
+            baseline.entries.forEach(entry -> baselineEntries.put(entry.getKey(), entry));
+        }
+
+        // Printing
+        out.printf("%-14s %-10s %10s %8s %10s %10s %10s %10s %10s  %-22s %s%n", "Target", "Operation", "Products",
+                "Samples", "Mean[ms]", "P50[ms]", "P90[ms]", "P99[ms]", "Max[ms]", "Scaling (P50 / size)",
+                (baseline != null) ? "vs baseline (P50)" : "");
+
+        for (Entry entry: this.entries) {
+            Entry smallest = smallestDatasetEntries.get(entry.target() + "," + entry.operation());
+            String scaling = String.format(Locale.ROOT, "x%.2f / x%.0f", entry.p50Millis() / smallest.p50Millis(),
+                    (double) entry.productsQuantity() / smallest.productsQuantity());
+
+            String comparison = "";
+            Entry baselineEntry = baselineEntries.get(entry.getKey());
+
+            if (baselineEntry != null) {
+                double change = entry.p50Millis() / baselineEntry.p50Millis() - 1;
+                comparison = String.format(Locale.ROOT, "%+.1f%%%s", change * 100,
+                        (change > tolerance) ? " REGRESSION" : "");
+            }
+
+            out.printf(Locale.ROOT, "%-14s %-10s %10d %8d %10.3f %10.3f %10.3f %10.3f %10.3f  %-22s %s%n",
+                    entry.target(), entry.operation(), entry.productsQuantity(), entry.samplesQuantity(),
+                    entry.meanMillis(), entry.p50Millis(), entry.p90Millis(), entry.p99Millis(), entry.maxMillis(),
+                    scaling, comparison);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package pl.jakubmiodunka.benchmarks.scale;
+
+import pl.jakubmiodunka.benchmarks.BenchmarkRepositories;
+import pl.jakubmiodunka.benchmarks.BenchmarkTarget;
+import pl.jakubmiodunka.benchmarks.client.EmbeddedDatabaseClient;
+import pl.jakubmiodunka.benchmarks.datasets.BenchmarkDataset;
+import pl.jakubmiodunka.benchmarks.statistics.LatencySamples;
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.utilities.logging.AsyncLoggerFactory;
+import pl.jakubmiodunka.utilities.logging.LogLevel;
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scale test measuring latencies of browsing, expiry queries, adding and removing of products at various numbers
+ * of products in the database. For each size the dataset is generated and loaded, then each operation is run
+ * sequentially - first to warm up, then measured. Time of loading is reported as 'load' operation.
+ * Results are printed and written as CSV report, which can be passed as baseline of the next run.
+ * Run from FridgeManager directory:
+ *   java -cp benchmarks/target/benchmarks.jar pl.jakubmiodunka.benchmarks.scale.ScaleTestRunner
+ * Behaviour is controlled by system properties (defaults in brackets):
+ * - fridgemanager.benchmark.target    - any target supported by BenchmarkTarget ['embedded-file'],
+ * - fridgemanager.benchmark.sizes     - numbers of products separated by commas [10000,1000000,10000000],
+ * - fridgemanager.benchmark.seed      - seed of the datasets [42],
+ * - fridgemanager.benchmark.warmup    - number of warm-up operations of each kind [50],
+ * - fridgemanager.benchmark.samples   - number of measured operations of each kind [200],
+ * - fridgemanager.benchmark.budget    - time in seconds, after which measurement of an operation is cut short
+ *                                       (at least 5 runs are measured) - slow operations on large datasets
+ *                                       would take hours otherwise [60],
+ * - fridgemanager.benchmark.report    - path of written report [benchmarks/target/scale-report.csv],
+ * - fridgemanager.benchmark.baseline  - path of the report to compare with [none],
+ * - fridgemanager.benchmark.tolerance - accepted growth of median latency in comparison to the baseline [0.2].
+ * Embedded databases larger than a million products should be stored in files or given a large heap (-Xmx).
+ *
+ * @author Jakub Miodunka
+ * */
+public class ScaleTestRunner {
+    // Number of categories in each dataset
+    private static final int CATEGORIES_QUANTITY = 100;
+
+    // Number of products in browsed page
+    private static final int PAGE_SIZE = 50;
+
+    // Number of runs measured regardless of the time budget
+    private static final int MIN_SAMPLES_QUANTITY = 5;
+
+    public static void main(String[] args) throws Exception {
+        // Parameters of the test
+        String target = System.getProperty("fridgemanager.benchmark.target", "embedded-file");
+        int[] sizes = Arrays.stream(System.getProperty("fridgemanager.benchmark.sizes", "10000,1000000,10000000")
+                .split(",")).mapToInt(size -> Integer.parseInt(size.strip())).toArray();
+        long seed = Long.getLong("fridgemanager.benchmark.seed", 42);
+        int warmupQuantity = Integer.getInteger("fridgemanager.benchmark.warmup", 50);
+        int samplesQuantity = Integer.getInteger("fridgemanager.benchmark.samples", 200);
+        long budgetNanos = Long.getLong("fridgemanager.benchmark.budget", 60) * 1_000_000_000L;
+        Path reportFile = Path.of(System.getProperty("fridgemanager.benchmark.report",
+                "benchmarks/target/scale-report.csv"));
+        String baselineFile = System.getProperty("fridgemanager.benchmark.baseline");
+        double tolerance = Double.parseDouble(System.getProperty("fridgemanager.benchmark.tolerance", "0.2"));
+
+        // Disabling logging, so it does not affect the results
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.configure(new LoggingConfig(LogLevel.OFF, Map.of(), 1_024, null));
+        }
+
+        ScaleReport report = new ScaleReport();
+
+        for (int size: sizes) {
+            BenchmarkDataset dataset = new BenchmarkDataset(seed, CATEGORIES_QUANTITY, size,
+                    BenchmarkTarget.REFERENCE_DATE);
+
+            // Loading the dataset
+            System.out.printf("Loading %d products into '%s' target...%n", size, target);
+
+            long loadStart = System.nanoTime();
+            Client client = BenchmarkTarget.createClient(target, dataset);
+            long loadDuration = System.nanoTime() - loadStart;
+
+            LatencySamples loadSamples = new LatencySamples(1);
+            loadSamples.add(loadDuration);
+            report.add(ScaleReport.Entry.of(target, size, "load", loadSamples));
+
+            System.out.printf("Loaded in %.1f s (%.0f products/s).%n", loadDuration / 1e9, size / (loadDuration / 1e9));
+
+            // Measuring the operations
+            try {
+                ProductRepository productRepository = BenchmarkRepositories.create(client).productRepository();
+                SplittableRandom random = new SplittableRandom(seed);
+                long expiredProductsQuantity = (long) (size * BenchmarkDataset.EXPIRED_FRACTION);
+
+                // Removed products are spread evenly over the whole table
+                long removalStride = Math.max(size / (warmupQuantity + samplesQuantity), 1);
+
+                LongConsumer browse = index -> productRepository.getProducts(
+                        random.nextLong(Math.max(size - PAGE_SIZE, 1)), PAGE_SIZE);
+                LongConsumer expiry = index -> productRepository.getExpiredProducts(BenchmarkTarget.REFERENCE_DATE,
+                        random.nextLong(Math.max(expiredProductsQuantity - PAGE_SIZE, 1)), PAGE_SIZE);
+                LongConsumer add = index -> productRepository.addNewProduct("Scale test product " + index,
+                        random.nextLong(CATEGORIES_QUANTITY) + 1, BenchmarkTarget.REFERENCE_DATE.plusDays(7));
+                LongConsumer remove = index -> productRepository.removeProduct(1 + index * removalStride);
+
+                report.add(measure(target, size, "browse", browse, warmupQuantity, samplesQuantity,
+                        budgetNanos));
+                report.add(measure(target, size, "expiry", expiry, warmupQuantity, samplesQuantity,
+                        budgetNanos));
+                report.add(measure(target, size, "add", add, warmupQuantity, samplesQuantity,
+                        budgetNanos));
+                report.add(measure(target, size, "remove", remove, warmupQuantity, samplesQuantity,
+                        budgetNanos));
+
+            } finally {
+                if (client instanceof EmbeddedDatabaseClient embeddedClient) {
+                    embeddedClient.drop();
+                }
+            }
+        }
+
+        // Reporting
+        report.write(reportFile);
+        System.out.println();
+        report.print(System.out, (baselineFile != null) ? ScaleReport.read(Path.of(baselineFile)) : null, tolerance);
+        System.out.println();
+        System.out.println("Report written to '" + reportFile + "'.");
+    }
+
+    /**
+     * Runs given operation sequentially - first to warm up, then measuring each run.
+     * Each run gets its consecutive index (continued after the warm-up).
+     * Warm-up and measurement are cut short, when given time budget is exceeded by each of them.
+     *
+     * @param  target           Kind of the target.
+     * @param  productsQuantity Number of products in the database.
+     * @param  operation        Name of the operation.
+     * @param  action           Operation receiving index of the run.
+     * @param  warmupQuantity   Number of warm-up runs.
+     * @param  samplesQuantity  Number of measured runs.
+     * @param  budgetNanos      Time budget of warm-up and of measurement in nanoseconds.
+     * @return                  Report entry summarising measured runs.
+     * */
+    private static ScaleReport.Entry measure(String target, long productsQuantity, String operation,
+                                             LongConsumer action, int warmupQuantity, int samplesQuantity,
+                                             long budgetNanos) {
+        long warmupStart = System.nanoTime();
+
+        for (long index = 0; index < warmupQuantity && System.nanoTime() - warmupStart < budgetNanos; index++) {
+            action.accept(index);
+        }
+
+        LatencySamples samples = new LatencySamples(samplesQuantity);
+        long measurementStart = System.nanoTime();
+
+        for (long index = warmupQuantity; index < warmupQuantity + samplesQuantity; index++) {
+            if (samples.getSamplesQuantity() >= MIN_SAMPLES_QUANTITY &&
+                    System.nanoTime() - measurementStart >= budgetNanos) {
+                break;
+            }
+
+            long start = System.nanoTime();
+            action.accept(index);
+            samples.add(System.nanoTime() - start);
+        }
+
+        ScaleReport.Entry entry = ScaleReport.Entry.of(target, productsQuantity, operation, samples);
+        System.out.printf("  %-8s p50 %.3f ms, p99 %.3f ms%n", operation, entry.p50Millis(), entry.p99Millis());
+
+        return entry;
+    }
+}
@@ -0,0 +1,141 @@
+package pl.jakubmiodunka.benchmarks.statistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations of operations recorded concurrently by many threads without locking.
+ * Each range between consecutive powers of two is split into 32 buckets, so percentiles are accurate
+ * to about 3% regardless of the magnitude of durations, while memory use stays constant.
+ *
+ * @author Jakub Miodunka
+ * */
+public class LatencyHistogram {
+    // Number of buckets, into which each range between consecutive powers of two is split
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS_QUANTITY = 1 << SUB_BUCKET_BITS;
+
+    // Number of durations within each bucket
+    private final AtomicLongArray counts;
+
+    // Summary of all recorded durations
+    private final LongAdder samplesQuantity;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public LatencyHistogram() {
+        // Properties init
+        this.counts = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS_QUANTITY);
+        this.samplesQuantity = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * @param  value Recorded value - not negative.
+     * @return       Index of the bucket containing given value.
+     * */
+    private static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS_QUANTITY) {
+            return (int) value;
+        }
+
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS_QUANTITY + (int) (value >>> shift) - SUB_BUCKETS_QUANTITY;
+    }
+
+    /**
+     * @param  index Index of the bucket.
+     * @return       Greatest value contained by given bucket.
+     * */
+    private static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKETS_QUANTITY) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKETS_QUANTITY - 1;
+        long subBucket = index % SUB_BUCKETS_QUANTITY + SUB_BUCKETS_QUANTITY;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @param durationNanos Duration of the operation in nanoseconds.
+     * */
+    public void record(long durationNanos) {
+        durationNanos = Math.max(durationNanos, 0);
+
+        this.counts.incrementAndGet(getBucketIndex(durationNanos));
+        this.samplesQuantity.increment();
+        this.sum.add(durationNanos);
+        this.max.accumulate(durationNanos);
+    }
+
+    /**
+     * Adds durations recorded by given histogram to this one.
+     *
+     * @param other Added histogram.
+     * */
+    public void add(LatencyHistogram other) {
+        for (int index = 0; index < this.counts.length(); index++) {
+            long count = other.counts.get(index);
+
+            if (count != 0) {
+                this.counts.addAndGet(index, count);
+            }
+        }
+
+        this.samplesQuantity.add(other.samplesQuantity.sum());
+        this.sum.add(other.sum.sum());
+        this.max.accumulate(other.max.get());
+    }
+
+    /**
+     * @return Number of recorded durations.
+     * */
+    public long getSamplesQuantity() {
+        return this.samplesQuantity.sum();
+    }
+
+    /**
+     * @return Mean duration in nanoseconds - 0 if nothing was recorded.
+     * */
+    public double getMean() {
+        long samplesQuantity = this.samplesQuantity.sum();
+        return (samplesQuantity != 0) ? (double) this.sum.sum() / samplesQuantity : 0;
+    }
+
+    /**
+     * @param  percentile Percentile between 0 and 100.
+     * @return            Duration in nanoseconds, that is not exceeded by given percent of recorded durations
+     *                    (upper bound of the bucket containing it) - 0 if nothing was recorded.
+     * */
+    public long getPercentile(double percentile) {
+        long samplesQuantity = this.samplesQuantity.sum();
+
+        if (samplesQuantity == 0) {
+            return 0;
+        }
+
+        long rank = Math.max((long) Math.ceil(percentile / 100 * samplesQuantity), 1);
+        long cumulativeCount = 0;
+
+        for (int index = 0; index < this.counts.length(); index++) {
+            cumulativeCount += this.counts.get(index);
+
+            if (cumulativeCount >= rank) {
+                return Math.min(getBucketUpperBound(index), this.max.get());
+            }
+        }
+
+        return this.max.get();
+    }
+
+    /**
+     * @return Longest duration in nanoseconds - 0 if nothing was recorded.
+     * */
+    public long getMax() {
+        return this.max.get();
+    }
+}
@@ -0,0 +1,91 @@
+package pl.jakubmiodunka.benchmarks.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Durations of measured operations, from which mean and percentiles are computed.
+ * All samples are kept, so values are exact - meant for measurements of up to millions of operations.
+ * Not thread safe.
+ *
+ * @author Jakub Miodunka
+ * */
+public class LatencySamples {
+    // Durations in nanoseconds - only first samplesQuantity entries are used
+    private long[] samples;
+    private int samplesQuantity;
+
+    // Indicates whether samples are sorted
+    private boolean sorted;
+
+    /**
+     * @param expectedSamplesQuantity Expected number of samples - more can be added.
+     * */
+    public LatencySamples(int expectedSamplesQuantity) {
+        // Properties init
+        this.samples = new long[Math.max(expectedSamplesQuantity, 16)];
+        this.samplesQuantity = 0;
+        this.sorted = true;
+    }
+
+    /**
+     * @param durationNanos Duration of the operation in nanoseconds.
+     * */
+    public void add(long durationNanos) {
+        if (this.samplesQuantity == this.samples.length) {
+            this.samples = Arrays.copyOf(this.samples, this.samples.length * 2);
+        }
+
+        this.samples[this.samplesQuantity++] = durationNanos;
+        this.sorted = false;
+    }
+
+    /**
+     * @return Number of samples.
+     * */
+    public int getSamplesQuantity() {
+        return this.samplesQuantity;
+    }
+
+    /**
+     * @return Mean duration in nanoseconds - 0 if there are no samples.
+     * */
+    public double getMean() {
+        if (this.samplesQuantity == 0) {
+            return 0;
+        }
+
+        double sum = 0;
+
+        for (int index = 0; index < this.samplesQuantity; index++) {
+            sum += this.samples[index];
+        }
+
+        return sum / this.samplesQuantity;
+    }
+
+    /**
+     * @param  percentile Percentile between 0 and 100.
+     * @return            Duration in nanoseconds, that is not exceeded by given percent of samples
+     *                    (nearest-rank method) - 0 if there are no samples.
+     * */
+    public long getPercentile(double percentile) {
+        if (this.samplesQuantity == 0) {
+            return 0;
+        }
+
+        if (!this.sorted) {
+            Arrays.sort(this.samples, 0, this.samplesQuantity);
+            this.sorted = true;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100 * this.samplesQuantity);
+        return this.samples[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * @return Longest duration in nanoseconds - 0 if there are no samples.
+     * */
+    public long getMax() {
+        return this.getPercentile(100);
+    }
+}
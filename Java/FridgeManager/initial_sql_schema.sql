@@ -15,6 +15,36 @@
 /*!40101 SET @OLD_SQL_MODE=@@SQL_MODE, SQL_MODE='NO_AUTO_VALUE_ON_ZERO' */;
 /*!40111 SET @OLD_SQL_NOTES=@@SQL_NOTES, SQL_NOTES=0 */;
 
+--
+-- Table structure for table `change_log`
+--
+
+DROP TABLE IF EXISTS `change_log`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `change_log` (
+  `table_name` varchar(45) NOT NULL,
+  `version` bigint NOT NULL,
+  `record_id` bigint NOT NULL,
+  `operation` varchar(6) NOT NULL,
+  PRIMARY KEY (`table_name`,`version`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `change_log_versions`
+--
+
+DROP TABLE IF EXISTS `change_log_versions`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `change_log_versions` (
+  `table_name` varchar(45) NOT NULL,
+  `version` bigint NOT NULL,
+  PRIMARY KEY (`table_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `categories`
 --
@@ -41,7 +71,12 @@ CREATE TABLE `products` (
   `name` varchar(45) NOT NULL,
   `category_id` bigint NOT NULL,
   `expiration_date` date NOT NULL,
-  PRIMARY KEY (`id`)
+  `journal_key` char(36) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `journal_key` (`journal_key`),
+  KEY `category_expiration_date` (`category_id`,`expiration_date`),
+  KEY `expiration_date` (`expiration_date`),
+  KEY `name` (`name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3;
 /*!40101 SET character_set_client = @saved_cs_client */;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
@@ -1,13 +1,34 @@
 package pl.jakubmiodunka;
 
 import pl.jakubmiodunka.database.Database;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.journal.JournalFlusher;
+import pl.jakubmiodunka.database.models.JournalConfig;
+import pl.jakubmiodunka.database.models.SnapshotConfig;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.database.snapshots.exceptions.SnapshotFileException;
+import pl.jakubmiodunka.export.InventoryExporter;
+import pl.jakubmiodunka.export.models.ExportConfig;
+import pl.jakubmiodunka.export.models.ExportFormat;
 import pl.jakubmiodunka.gui.Gui;
 import pl.jakubmiodunka.gui.panels.models.config.GuiConfig;
+import pl.jakubmiodunka.http.HttpApiServer;
+import pl.jakubmiodunka.http.models.HttpServerConfig;
+import pl.jakubmiodunka.utilities.logging.AsyncLoggerFactory;
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.simple.SimpleLogger;
 
 /**
  * Program entry point.
@@ -15,18 +36,226 @@ import org.slf4j.simple.SimpleLogger;
  * @author Jakub Miodunka
  * */
 public class Main {
+    // Maximal time of waiting for the work in progress during program exit
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    // Program argument, with which content is served over HTTP instead of being displayed in GUI
+    private static final String SERVER_MODE_ARGUMENT = "--server";
+
+    // Program argument, with which the inventory is exported into a file - followed by format and path of the file
+    private static final String EXPORT_ARGUMENT = "--export";
+
+    /**
+     * Saves local snapshot, when database is reachable.
+     * Failures are only logged, as snapshot is just an optimisation of program startup.
+     * Nothing is done in offline mode - leaving it is up to the reconciliation, which refreshes displayed content.
+     *
+     * @param logger Logger used to report the failures.
+     * */
+    private static void saveLocalSnapshot(Logger logger) {
+        if (Database.isOffline() || !Database.connect()) {
+            logger.debug("Database not available - local snapshot not saved.");
+            return;
+        }
+
+        try {
+            Database.saveLocalSnapshot();
+        } catch (RepositoryException | SnapshotFileException exception) {
+            logger.warn("Failed to save local snapshot.", exception);
+        }
+    }
+
+    /**
+     * Prunes old changes from the change log, when database is reachable.
+     * Failures are only logged, as pruning is retried during the next run.
+     *
+     * @param logger Logger used to report the failures.
+     * */
+    private static void pruneChangeLog(Logger logger) {
+        if (Database.isOffline() || !Database.connect()) {
+            logger.debug("Database not available - change log not pruned.");
+            return;
+        }
+
+        try {
+            Database.pruneChangeLog();
+        } catch (RepositoryException exception) {
+            logger.warn("Failed to prune change log.", exception);
+        }
+    }
+
+    /**
+     * @param  logger Logger used to report the progress.
+     * @return        Configuration of the export of the inventory.
+     * */
+    private static ExportConfig loadExportConfig(Logger logger) {
+        Path exportConfigXml = Path.of("src/main/resources/config/export/export.xml");
+        logger.debug("Creating export configuration model using '{}' file...", exportConfigXml);
+        ExportConfig exportConfig = new ExportConfig(exportConfigXml);
+        logger.debug("Export configuration model successfully created.");
+
+        return exportConfig;
+    }
+
+    /**
+     * Exports the inventory into a file without GUI.
+     *
+     * @param  logger    Logger used to report the progress.
+     * @param  arguments Program arguments following the export argument - format (csv or ndjson) and path of the file.
+     * @return           True if the export succeeded, false otherwise.
+     * */
+    private static boolean runExport(Logger logger, List<String> arguments) {
+        if (arguments.size() < 2) {
+            logger.error("Export format and path of the file expected: {} <csv|ndjson> <file>", EXPORT_ARGUMENT);
+            return false;
+        }
+
+        ExportFormat format;
+
+        try {
+            format = ExportFormat.valueOf(arguments.get(0).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            logger.error("Unsupported export format '{}' - csv or ndjson expected.", arguments.get(0));
+            return false;
+        }
+
+        Path exportFile = Path.of(arguments.get(1));
+        ExportConfig exportConfig = loadExportConfig(logger);
+        InventoryExporter exporter = new InventoryExporter(Database.getCategoriesRepository(),
+                Database.getProductRepository(), exportConfig);
+
+        try (OutputStream output = Files.newOutputStream(exportFile)) {
+            exporter.export(output, format, new QueryHandle(exportConfig.getQueryTimeoutSeconds()));
+            return true;
+
+        } catch (IOException | RepositoryException exception) {
+            logger.error("Export of the inventory into '{}' file failed.", exportFile, exception);
+        }
+
+        // Incomplete file is removed, so it is not mistaken for complete export
+        try {
+            Files.deleteIfExists(exportFile);
+        } catch (IOException exception) {
+            logger.warn("Incomplete export file '{}' could not be removed.", exportFile, exception);
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes messages remaining in the buffer of asynchronous logging - meant to be the last step of each path,
+     * by which the program exits, as messages still buffered at that moment would be lost.
+     * */
+    private static void closeLogging() {
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.close();
+        }
+    }
+
+    /**
+     * Runs the program without GUI - content is served over HTTP until the program is stopped.
+     * Reachability of the database is checked periodically, so reported health stays up-to-date.
+     *
+     * @param logger Logger used to report the progress.
+     * */
+    private static void runServer(Logger logger) {
+        // Checking reachability of the database
+        if (!Database.connect()) {
+            logger.warn("Database not available - requests will fail until it is reached.");
+        }
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "database-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(Database::connect, Database.getSnapshotConfig().getReconnectIntervalSeconds(),
+                Database.getSnapshotConfig().getReconnectIntervalSeconds(), TimeUnit.SECONDS);
+
+        // Periodic pruning of old changes
+        int pruneIntervalSeconds = Database.getChangeLogConfig().getPruneIntervalSeconds();
+        scheduler.scheduleWithFixedDelay(() -> pruneChangeLog(logger), pruneIntervalSeconds, pruneIntervalSeconds,
+                TimeUnit.SECONDS);
+
+        // Applying writes recorded in write journal in background
+        JournalFlusher journalFlusher = Database.getJournalFlusher();
+
+        if (journalFlusher != null) {
+            logger.info("Write-behind mode enabled - {} writes pending.",
+                    Database.getWriteJournal().getPendingEntriesQuantity());
+            journalFlusher.start(Database.getJournalConfig().getFlushIntervalSeconds(), () -> {});
+        }
+
+        // Starting HTTP server
+        Path httpConfigXml = Path.of("src/main/resources/config/http/http.xml");
+        logger.debug("Creating HTTP server configuration model using '{}' file...", httpConfigXml);
+        HttpServerConfig httpConfig = new HttpServerConfig(httpConfigXml);
+        logger.debug("HTTP server configuration model successfully created.");
+
+        HttpApiServer server = new HttpApiServer(httpConfig, Database.getCategoriesRepository(),
+                Database.getProductRepository(), Database.getEventBus(), loadExportConfig(logger), Database::getHealth);
+        server.start();
+
+        // Requests in progress are completed before the database is closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            Database.close(SHUTDOWN_TIMEOUT_MILLIS);
+            closeLogging();
+        }, "database-shutdown"));
+    }
+
     public static void main(String[] args) {
-        // Setting logging level
-        System.setProperty(SimpleLogger.DEFAULT_LOG_LEVEL_KEY, "TRACE");
+        // Remembering the moment of program startup
+        long startupTime = System.nanoTime();
+
+        // Configuring logging - levels of particular packages are specified in config file
+        Path loggingConfigXml = Path.of("src/main/resources/config/logging/logging.xml");
+        LoggingConfig loggingConfig = new LoggingConfig(loggingConfigXml);
+
+        if (LoggerFactory.getILoggerFactory() instanceof AsyncLoggerFactory loggerFactory) {
+            loggerFactory.configure(loggingConfig);
+        }
 
         // Initialising logger
         Logger logger = LoggerFactory.getLogger(Main.class);
+        logger.debug("Logging configured using '{}' file.", loggingConfigXml);
 
         // Initialising backend core functionalities
         logger.info("Initialising backed core functionalities...");
         Database.initialise();
         logger.info("Initialisation of backend core functionalities successfully.");
 
+        // Serving the content over HTTP, when requested
+        if (List.of(args).contains(SERVER_MODE_ARGUMENT)) {
+            logger.info("Starting in server mode...");
+            runServer(logger);
+            return;
+        }
+
+        // Exporting the inventory into a file, when requested
+        int exportArgumentIndex = List.of(args).indexOf(EXPORT_ARGUMENT);
+
+        if (exportArgumentIndex >= 0) {
+            boolean exported = runExport(logger, List.of(args).subList(exportArgumentIndex + 1, args.length));
+            Database.close(SHUTDOWN_TIMEOUT_MILLIS);
+            closeLogging();
+
+            if (!exported) {
+                System.exit(1);
+            }
+
+            return;
+        }
+
+        // Loading local snapshot - when available, content is displayed before the database is reached
+        logger.info("Loading local snapshot...");
+        boolean snapshotLoaded = Database.loadLocalSnapshot();
+
+        if (!snapshotLoaded) {
+            logger.info("Local snapshot not available - connecting to the database before displaying the content...");
+            Database.connect();
+        }
+
         // Preparing program GUI
         Path guiConfigXml = Path.of("src/main/resources/config/gui/gui.xml");
         logger.debug("Creating GUI configuration model using '{}' file...", guiConfigXml);
@@ -34,7 +263,60 @@ public class Main {
         logger.debug("GUI configuration model successfully created.");
 
         logger.info("Preparing program GUI...");
-        new Gui(guiConfig);
+        Gui gui = new Gui(guiConfig);
         logger.info("Preparation of program GUI successful.");
+
+        // Measuring time to first render - content of all panels is imported in background
+        gui.getInitialRefresh().whenComplete((result, failure) -> logger.info(
+                "Time to first render: {} ms (content source: {}).",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startupTime),
+                (failure != null) ? "none - import failed" : Database.isOffline() ? "local snapshot" : "database"));
+
+        // Scheduling background activities
+        SnapshotConfig snapshotConfig = Database.getSnapshotConfig();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "local-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Reconciliation of content displayed using local snapshot - checked periodically,
+        // as program falls back to the snapshot also when connection to the database is lost
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (Database.isOffline() && Database.connect()) {
+                logger.info("Database reached - reconciling content displayed using local snapshot...");
+                SwingUtilities.invokeLater(gui::refreshPanels);
+            }
+        }, 0, snapshotConfig.getReconnectIntervalSeconds(), TimeUnit.SECONDS);
+
+        // Periodic update of local snapshot along with the final one during program exit
+        scheduler.scheduleWithFixedDelay(() -> saveLocalSnapshot(logger),
+                snapshotConfig.getSaveIntervalSeconds(), snapshotConfig.getSaveIntervalSeconds(), TimeUnit.SECONDS);
+
+        // Periodic pruning of old changes
+        int pruneIntervalSeconds = Database.getChangeLogConfig().getPruneIntervalSeconds();
+        scheduler.scheduleWithFixedDelay(() -> pruneChangeLog(logger), pruneIntervalSeconds, pruneIntervalSeconds,
+                TimeUnit.SECONDS);
+
+        // Applying writes recorded in write journal in background - displayed content is refreshed after each flush,
+        // as applied records get their final IDs
+        JournalFlusher journalFlusher = Database.getJournalFlusher();
+
+        if (journalFlusher != null) {
+            JournalConfig journalConfig = Database.getJournalConfig();
+
+            logger.info("Write-behind mode enabled - {} writes pending.",
+                    Database.getWriteJournal().getPendingEntriesQuantity());
+            journalFlusher.start(journalConfig.getFlushIntervalSeconds(),
+                    () -> SwingUtilities.invokeLater(gui::refreshPanels));
+        }
+
+        // Final update of local snapshot, after which work in progress is completed, the database is closed
+        // and remaining log messages are written
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            saveLocalSnapshot(logger);
+            Database.close(SHUTDOWN_TIMEOUT_MILLIS);
+            closeLogging();
+        }, "database-shutdown"));
     }
-}
\ No newline at end of file
+}
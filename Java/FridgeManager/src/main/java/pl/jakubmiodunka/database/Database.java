@@ -1,34 +1,113 @@
 package pl.jakubmiodunka.database;
 
 import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.client.QueryTracker;
+import pl.jakubmiodunka.database.client.SlowQueryLog;
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.exceptions.DatabaseClosedException;
+import pl.jakubmiodunka.database.journal.JournalFlusher;
+import pl.jakubmiodunka.database.journal.WriteJournal;
+import pl.jakubmiodunka.database.journal.exceptions.JournalFileException;
+import pl.jakubmiodunka.database.models.ChangeLogConfig;
+import pl.jakubmiodunka.database.models.ClientConfig;
 import pl.jakubmiodunka.database.models.DatabaseCredentials;
+import pl.jakubmiodunka.database.models.JournalConfig;
+import pl.jakubmiodunka.database.models.SearchConfig;
+import pl.jakubmiodunka.database.models.SlowQueryLogConfig;
+import pl.jakubmiodunka.database.models.SnapshotConfig;
+import pl.jakubmiodunka.database.models.health.DatabaseHealth;
+import pl.jakubmiodunka.database.models.health.DatabaseStatus;
 import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
 import pl.jakubmiodunka.database.models.tables.CategoriesTable;
+import pl.jakubmiodunka.database.models.tables.ChangeLogTable;
 import pl.jakubmiodunka.database.models.tables.ProductsTable;
 import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ChangeLogRepository;
 import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.database.snapshots.LocalSnapshot;
+import pl.jakubmiodunka.database.snapshots.exceptions.SnapshotFileException;
 
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Container for created repositories - the end point of backed core.
  * The goal was to keep only one instance of each repository to be used in the program.
+ * Container is safe to be shared by many threads - it is initialised only once and afterwards its components are
+ * obtained using single volatile read, without any locking. Closing stops background work and waits for queries
+ * in progress, so the program can exit without interrupting them.
  *
  * @author Jakub Miodunka
  * */
 public class Database {
-    // Repositories instances
-    private static ProductRepository productRepository;
-    private static CategoriesRepository categoriesRepository;
+    /**
+     * Components created during the initialisation.
+     * Instance is immutable and published only once fully created, so each thread sees either none or all of them.
+     *
+     * @param client               Database client used by the repositories.
+     * @param categoriesRepository Categories repository.
+     * @param productRepository    Product repository.
+     * @param eventBus             Bus, to which repositories publish performed changes.
+     * @param clientConfig         Configuration of the database client.
+     * @param changeLogConfig      Configuration of the change log.
+     * @param snapshotConfig       Configuration of local snapshot.
+     * @param journalConfig        Configuration of write journal.
+     * @param writeJournal         Write journal or null if write-behind mode is disabled.
+     * @param journalFlusher       Worker applying entries of write journal or null if write-behind mode is disabled.
+     * @author Jakub Miodunka
+     * */
+    private record Components(Client client, CategoriesRepository categoriesRepository,
+                              ProductRepository productRepository, RepositoryEventBus eventBus,
+                              ClientConfig clientConfig, ChangeLogConfig changeLogConfig, SnapshotConfig snapshotConfig,
+                              JournalConfig journalConfig, WriteJournal writeJournal, JournalFlusher journalFlusher) {}
+
+    // Lock guarding the initialisation and closing
+    private static final Object LIFECYCLE_LOCK = new Object();
+
+    // Components of the database or null if it was not initialised yet
+    private static volatile Components components;
+
+    // Flag indicating, that the database is closing or was closed
+    private static volatile boolean closed = false;
+
+    // Local snapshot - its configuration is one of the components
+    private static volatile LocalSnapshot localSnapshot;
+
+    // Flag indicating, if database was reachable during the last connection attempt
+    private static volatile boolean connected = false;
 
     /**
      * Explicit initialisation of the class.
+     * Initialisation is performed only once - subsequent calls do nothing, also when made concurrently.
      *
      * @throws ConfigFileParsingException When parsing config XML files fail.
+     * @throws JournalFileException       When loading of write journal fail.
+     * @throws DatabaseClosedException    When database was already closed.
      * */
     public static void initialise() {
+        synchronized (LIFECYCLE_LOCK) {
+            if (Database.closed) {
+                throw new DatabaseClosedException("Database already closed - it can not be initialised again.");
+            }
+
+            if (Database.components == null) {
+                Database.components = Database.createComponents();
+            }
+        }
+    }
+
+    /**
+     * Creates all components of the database.
+     *
+     * @return                            Created components.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * @throws JournalFileException       When loading of write journal fail.
+     * */
+    private static Components createComponents() {
         // Initialising logger
         Logger logger = LoggerFactory.getLogger(Database.class);
 
@@ -38,10 +117,42 @@ public class Database {
         DatabaseCredentials credentials = new DatabaseCredentials(credentialsXml);
         logger.debug("Database credentials model successfully created.");
 
+        Path clientConfigXml = Path.of("src/main/resources/config/database/client/client.xml");
+        logger.debug("Creating database client configuration model using '{}' file...", clientConfigXml);
+        ClientConfig clientConfig = new ClientConfig(clientConfigXml);
+        logger.debug("Database client configuration model successfully created.");
+
+        Path slowQueryLogConfigXml = Path.of("src/main/resources/config/database/slowQueryLog/slowQueryLog.xml");
+        logger.debug("Creating slow query log configuration model using '{}' file...", slowQueryLogConfigXml);
+        SlowQueryLogConfig slowQueryLogConfig = new SlowQueryLogConfig(slowQueryLogConfigXml);
+        logger.debug("Slow query log configuration model successfully created.");
+
         logger.info("Creating '{}' database client...", credentials.getUrl());
-        Client client = new Client(credentials);
+        Client client = new Client(credentials, clientConfig, slowQueryLogConfig);
         logger.info("Database client successfully created.");
 
+        // Publishing statistics of queries executed by the client over JMX
+        logger.debug("Publishing database client statistics...");
+        client.getMetrics().publish();
+
+        // Initialising change log repository
+        Path changeLogTableXml = Path.of("src/main/resources/config/database/structure/change_log_table.xml");
+        logger.debug("Creating model of change log table using '{}' file...", changeLogTableXml);
+        ChangeLogTable changeLogTable = new ChangeLogTable(changeLogTableXml);
+        logger.debug("Change log table model successfully created.");
+
+        Path changeLogConfigXml = Path.of("src/main/resources/config/database/changeLog/changeLog.xml");
+        logger.debug("Creating change log configuration model using '{}' file...", changeLogConfigXml);
+        ChangeLogConfig changeLogConfig = new ChangeLogConfig(changeLogConfigXml);
+        logger.debug("Change log configuration model successfully created.");
+
+        logger.info("Creating change log repository...");
+        ChangeLogRepository changeLogRepository = new ChangeLogRepository(client, changeLogTable, changeLogConfig);
+        logger.info("Change log repository successfully created.");
+
+        // Initialising bus, to which repositories publish performed changes
+        RepositoryEventBus eventBus = new RepositoryEventBus();
+
         // Initialising categories repository - step 1
         Path categoriesTableXml = Path.of("src/main/resources/config/database/structure/categories_table.xml");
         logger.debug("Creating model of categories table using '{}' file...", categoriesTableXml);
@@ -49,15 +160,22 @@ public class Database {
         logger.debug("Categories table model successfully created.");
 
         logger.info("Creating categories repository...");
-        CategoriesRepository categoriesRepository = new CategoriesRepository(client, categoriesTable);
+        CategoriesRepository categoriesRepository = new CategoriesRepository(client, categoriesTable, changeLogRepository,
+                eventBus);
 
         // Initialising products repository - step 1
         Path productsTableXml = Path.of("src/main/resources/config/database/structure/products_table.xml");
         logger.debug("Creating model of products table using '{}' file...", productsTableXml);
         ProductsTable productsTable = new ProductsTable(productsTableXml);
 
+        Path searchConfigXml = Path.of("src/main/resources/config/database/search/search.xml");
+        logger.debug("Creating search configuration model using '{}' file...", searchConfigXml);
+        SearchConfig searchConfig = new SearchConfig(searchConfigXml);
+        logger.debug("Search configuration model successfully created.");
+
         logger.info("Creating products repository...");
-        ProductRepository productRepository = new ProductRepository(client, productsTable, categoriesTable);
+        ProductRepository productRepository = new ProductRepository(client, productsTable, categoriesTable, changeLogRepository,
+                eventBus, searchConfig);
 
         // Finishing the initialisation of both repositories - step 2
         logger.debug("Providing instance of product repository to categories repository.");
@@ -66,28 +184,65 @@ public class Database {
 
         logger.debug("Providing instance of categories repository to product repository.");
         productRepository.setCategoriesRepository(categoriesRepository);
+        productRepository.subscribeToRepositoryEvents();
         logger.info("Products repository successfully created.");
 
-        // Setting static properties
-        Database.categoriesRepository = categoriesRepository;
-        Database.productRepository = productRepository;
+        // Initialising local snapshot configuration
+        Path snapshotConfigXml = Path.of("src/main/resources/config/database/snapshot/snapshot.xml");
+        logger.debug("Creating local snapshot configuration model using '{}' file...", snapshotConfigXml);
+        SnapshotConfig snapshotConfig = new SnapshotConfig(snapshotConfigXml);
+        logger.debug("Local snapshot configuration model successfully created.");
+
+        // Initialising write journal
+        Path journalConfigXml = Path.of("src/main/resources/config/database/journal/journal.xml");
+        logger.debug("Creating write journal configuration model using '{}' file...", journalConfigXml);
+        JournalConfig journalConfig = new JournalConfig(journalConfigXml);
+        logger.debug("Write journal configuration model successfully created.");
+
+        WriteJournal writeJournal = null;
+        JournalFlusher journalFlusher = null;
+
+        if (journalConfig.isEnabled()) {
+            logger.info("Opening write journal...");
+            writeJournal = new WriteJournal(journalConfig.getFile());
+            journalFlusher = new JournalFlusher(writeJournal, categoriesRepository, productRepository,
+                    journalConfig.getBatchSize());
+            logger.info("Write journal successfully opened.");
+        }
+
+        return new Components(client, categoriesRepository, productRepository, eventBus, clientConfig,
+                changeLogConfig, snapshotConfig, journalConfig, writeJournal, journalFlusher);
     }
 
     /**
-     * Returns categories repository.
-     * Initialises the class if it was not already done.
+     * Returns components of the database.
+     * Initialises the class if it was not already done - afterwards the lock is never taken.
      *
-     * @return                            Categories repository.
+     * @return                            Components of the database.
      * @throws ConfigFileParsingException When parsing config XML files fail.
+     * @throws DatabaseClosedException    When database was closed before its initialisation.
      * */
-    public static CategoriesRepository getCategoriesRepository() {
+    private static Components getComponents() {
+        Components components = Database.components;
+
         // Initializing the class if it was not already done
-        if (Database.categoriesRepository == null) {
+        if (components == null) {
             Database.initialise();
+            components = Database.components;
         }
 
-        // Returning the categories repository
-        return Database.categoriesRepository;
+        return components;
+    }
+
+    /**
+     * Returns categories repository.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Categories repository.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static CategoriesRepository getCategoriesRepository() {
+        return Database.getComponents().categoriesRepository();
     }
 
     /**
@@ -98,12 +253,283 @@ public class Database {
      * @throws ConfigFileParsingException When parsing config XML files fail.
      * */
     public static ProductRepository getProductRepository() {
-        // Initializing the class if it was not already done
-        if (Database.productRepository == null) {
-            Database.initialise();
+        return Database.getComponents().productRepository();
+    }
+
+    /**
+     * Returns bus, to which repositories publish performed changes.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Repository event bus.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static RepositoryEventBus getEventBus() {
+        return Database.getComponents().eventBus();
+    }
+
+    /**
+     * Returns registry of queries currently executed by the database client.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Query tracker.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static QueryTracker getQueryTracker() {
+        return Database.getComponents().client().getQueryTracker();
+    }
+
+    /**
+     * Returns database client configuration.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Database client configuration.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static ClientConfig getClientConfig() {
+        return Database.getComponents().clientConfig();
+    }
+
+    /**
+     * Returns change log configuration.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Change log configuration.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static ChangeLogConfig getChangeLogConfig() {
+        return Database.getComponents().changeLogConfig();
+    }
+
+    /**
+     * Returns local snapshot configuration.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Local snapshot configuration.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static SnapshotConfig getSnapshotConfig() {
+        return Database.getComponents().snapshotConfig();
+    }
+
+    /**
+     * Returns write journal configuration.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Write journal configuration.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static JournalConfig getJournalConfig() {
+        return Database.getComponents().journalConfig();
+    }
+
+    /**
+     * Returns write journal, through which writes performed using GUI should go in write-behind mode.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Write journal or null if write-behind mode is disabled.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static WriteJournal getWriteJournal() {
+        return Database.getComponents().writeJournal();
+    }
+
+    /**
+     * Returns worker applying entries of write journal to the database - periodic flushing has to be started
+     * explicitly, while it is stopped when the database is closed.
+     * Initialises the class if it was not already done.
+     *
+     * @return                            Journal flusher or null if write-behind mode is disabled.
+     * @throws ConfigFileParsingException When parsing config XML files fail.
+     * */
+    public static JournalFlusher getJournalFlusher() {
+        return Database.getComponents().journalFlusher();
+    }
+
+    /**
+     * Loads local snapshot from the file specified in configuration.
+     * Missing or corrupted snapshot file is not considered as an error - program simply starts without it.
+     *
+     * @return True if snapshot was loaded, false otherwise.
+     * */
+    public static boolean loadLocalSnapshot() {
+        Logger logger = LoggerFactory.getLogger(Database.class);
+        Path snapshotFile = Database.getSnapshotConfig().getFile();
+
+        try {
+            Database.localSnapshot = LocalSnapshot.load(snapshotFile);
+            return true;
+
+        } catch (SnapshotFileException exception) {
+            logger.warn("Local snapshot not loaded: {}", exception.getMessage());
+            return false;
         }
+    }
+
+    /**
+     * @return Local snapshot or null if it was not loaded.
+     * */
+    public static LocalSnapshot getLocalSnapshot() {
+        return Database.localSnapshot;
+    }
+
+    /**
+     * Checks if the database is reachable and updates the connection status accordingly.
+     *
+     * @return True if database is reachable, false otherwise.
+     * */
+    public static boolean connect() {
+        if (Database.closed) {
+            Database.connected = false;
+            return false;
+        }
+
+        try {
+            Database.getCategoriesRepository().getCurrentVersion();
+            Database.connected = true;
 
-        // Returning the product repository
-        return Database.productRepository;
+        } catch (RepositoryException exception) {
+            Database.connected = false;
+        }
+
+        return Database.connected;
+    }
+
+    /**
+     * Program works in offline mode, when database was not reached yet, but local snapshot is available.
+     * In this mode content is displayed using local snapshot.
+     *
+     * @return True if program works in offline mode, false otherwise.
+     * */
+    public static boolean isOffline() {
+        return !Database.connected && Database.localSnapshot != null;
+    }
+
+    /**
+     * Reports health of the database without querying it, so it can be called as often as needed -
+     * reachability is the one observed during the last connection attempt.
+     *
+     * @return Current health of the database.
+     * */
+    public static DatabaseHealth getHealth() {
+        Components components = Database.components;
+
+        if (components == null) {
+            return DatabaseHealth.notInitialised();
+        }
+
+        // Determining the status
+        DatabaseStatus status;
+
+        if (Database.closed) {
+            status = DatabaseStatus.CLOSED;
+        }
+        else if (Database.connected) {
+            status = DatabaseStatus.UP;
+        }
+        else if (Database.localSnapshot != null) {
+            status = DatabaseStatus.DEGRADED;
+        }
+        else {
+            status = DatabaseStatus.DOWN;
+        }
+
+        // Collecting statistics
+        Client client = components.client();
+        List<QueryTracker.InFlightQuery> inFlightQueries = client.getQueryTracker().getInFlightQueries();
+        long longestInFlightQueryMillis = inFlightQueries.isEmpty() ? 0 : inFlightQueries.get(0).getElapsedMillis();
+
+        WriteJournal writeJournal = components.writeJournal();
+        int pendingJournalEntriesQuantity = (writeJournal != null) ? writeJournal.getPendingEntriesQuantity() : 0;
+
+        SlowQueryLog slowQueryLog = client.getSlowQueryLog();
+        long slowQueriesQuantity = (slowQueryLog != null) ? slowQueryLog.getSlowQueriesQuantity() : 0;
+
+        return new DatabaseHealth(status, inFlightQueries.size(), longestInFlightQueryMillis,
+                pendingJournalEntriesQuantity, slowQueriesQuantity,
+                client.getMetrics().getConnections().getConnectionFailures());
+    }
+
+    /**
+     * Closes the database. Periodic flushing of write journal is stopped after completion of the flush in progress
+     * and refreshes of search snapshot are stopped, then new queries are rejected, while queries in progress
+     * are given the time to complete.
+     * Afterwards repositories are still available, but each of their operations fails.
+     * Subsequent calls do nothing.
+     *
+     * @param timeoutMillis Maximal time of waiting for the work in progress in milliseconds.
+     * */
+    public static void close(long timeoutMillis) {
+        synchronized (LIFECYCLE_LOCK) {
+            if (Database.closed) {
+                return;
+            }
+
+            Database.closed = true;
+            Database.connected = false;
+
+            Components components = Database.components;
+
+            if (components == null) {
+                return;
+            }
+
+            Logger logger = LoggerFactory.getLogger(Database.class);
+            logger.info("Closing the database...");
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+            if (components.journalFlusher() != null) {
+                logger.debug("Stopping write journal flushing...");
+                components.journalFlusher().stop(timeoutMillis);
+            }
+
+            logger.debug("Stopping search snapshot refreshes...");
+            components.productRepository().close(
+                    Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 0));
+
+            logger.debug("Closing database client...");
+            components.client().close(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 0));
+
+            logger.info("Database closed.");
+        }
+    }
+
+    /**
+     * Saves current content of the database to local snapshot file.
+     * Saving is skipped when versions of stored data are up-to-date.
+     *
+     * @throws SnapshotFileException When writing to the snapshot file fail.
+     * @throws RepositoryException   When import of the data from the database fail.
+     * */
+    public static synchronized void saveLocalSnapshot() {
+        Logger logger = LoggerFactory.getLogger(Database.class);
+
+        // Checking, if anything changed since the last save
+        long categoriesVersion = Database.getCategoriesRepository().getCurrentVersion();
+        long productsVersion = Database.getProductRepository().getCurrentVersion();
+        LocalSnapshot currentSnapshot = Database.localSnapshot;
+
+        if (currentSnapshot != null &&
+                currentSnapshot.getCategoriesVersion() == categoriesVersion &&
+                currentSnapshot.getProductsVersion() == productsVersion) {
+            logger.debug("Local snapshot is up-to-date - saving skipped.");
+            return;
+        }
+
+        // Saving and reloading the snapshot, so its versions reflect the stored content
+        Path snapshotFile = Database.getSnapshotConfig().getFile();
+        LocalSnapshot.save(snapshotFile, Database.getCategoriesRepository(), Database.getProductRepository());
+        Database.localSnapshot = LocalSnapshot.load(snapshotFile);
+    }
+
+    /**
+     * Removes old changes of categories and products from the change log - only configured number of the latest
+     * changes of each table is kept.
+     *
+     * @throws RepositoryException When execution of any query fail.
+     * */
+    public static void pruneChangeLog() {
+        Database.getCategoriesRepository().pruneChanges();
+        Database.getProductRepository().pruneChanges();
     }
 }
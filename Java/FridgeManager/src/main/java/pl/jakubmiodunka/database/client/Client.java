@@ -2,16 +2,33 @@ package pl.jakubmiodunka.database.client;
 
 import pl.jakubmiodunka.database.client.exceptions.DatabaseConnectionException;
 import pl.jakubmiodunka.database.client.exceptions.DatabaseQueryException;
+import pl.jakubmiodunka.database.client.exceptions.QueryCancelledException;
 import pl.jakubmiodunka.database.client.exceptions.QueryResultProcessingException;
+import pl.jakubmiodunka.database.client.interfaces.ResultSetConsumer;
+import pl.jakubmiodunka.database.metrics.ClientMetrics;
+import pl.jakubmiodunka.database.metrics.OperationMetrics;
+import pl.jakubmiodunka.database.models.ClientConfig;
 import pl.jakubmiodunka.database.models.DatabaseCredentials;
+import pl.jakubmiodunka.database.models.SlowQueryLogConfig;
+import pl.jakubmiodunka.utilities.jfr.QueryEvent;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,36 +45,223 @@ public class Client {
     // URL and credentials of supported database
     private final DatabaseCredentials credentials;
 
+    // Client configuration - query timeouts
+    private final ClientConfig config;
+
+    // Registry of queries currently in progress
+    private final QueryTracker queryTracker;
+
+    // Statistics of executed queries and established connections
+    private final ClientMetrics metrics;
+
+    // Log of queries exceeding configured duration or null if such queries are not logged
+    private final SlowQueryLog slowQueryLog;
+
+    // Flag indicating, that client was closed and no longer establishes connections
+    private volatile boolean closed;
+
     // Internally used logger
     private final Logger logger;
 
     /**
      * @param databaseCredentials Object containing database credentials.
+     * @param clientConfig        Configuration of the client.
+     */
+    public Client(DatabaseCredentials databaseCredentials, ClientConfig clientConfig) {
+        this(databaseCredentials, clientConfig, null);
+    }
+
+    /**
+     * @param databaseCredentials Object containing database credentials.
+     * @param clientConfig        Configuration of the client.
+     * @param slowQueryLogConfig  Configuration of the log of slow queries or null if such queries should not be logged.
      */
-    public Client(DatabaseCredentials databaseCredentials) {
+    public Client(DatabaseCredentials databaseCredentials, ClientConfig clientConfig,
+                  SlowQueryLogConfig slowQueryLogConfig) {
         // Properties init
         this.credentials = databaseCredentials;
+        this.config = clientConfig;
+        this.queryTracker = new QueryTracker();
+        this.metrics = new ClientMetrics();
+        this.slowQueryLog = (slowQueryLogConfig != null && slowQueryLogConfig.isEnabled()) ?
+                new SlowQueryLog(slowQueryLogConfig, this::explain) : null;
+        this.closed = false;
         this.logger = LoggerFactory.getLogger(Client.class);
     }
 
     /**
-     * Creates a new database connection.
+     * @return Registry of queries currently executed by the client.
+     * */
+    public QueryTracker getQueryTracker() {
+        return this.queryTracker;
+    }
+
+    /**
+     * @return Statistics of queries executed by the client and connections established by it.
+     * */
+    public ClientMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * @return Log of queries exceeding configured duration or null if such queries are not logged.
+     * */
+    public SlowQueryLog getSlowQueryLog() {
+        return this.slowQueryLog;
+    }
+
+    /**
+     * @return True if the client was closed, false otherwise.
+     * */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * Closes the client. New queries are rejected right away, while queries already in progress are given
+     * the time to complete - each of them uses its own connection, so connections are released along with them.
+     * Afterwards pending slow query log entries are written and statistics are removed from MBean server.
+     * Queries still in progress after the timeout are only logged, as they are limited by their own timeouts anyway.
+     *
+     * @param timeoutMillis Maximal time of waiting for queries in progress and slow query log in milliseconds.
+     * */
+    public void close(long timeoutMillis) {
+        // Rejecting new queries
+        this.closed = true;
+        this.logger.debug("Closing '{}' database client...", this.credentials.getUrl());
+
+        // Waiting for queries in progress
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        try {
+            while (this.queryTracker.getInFlightQueriesQuantity() > 0 && System.nanoTime() - deadline < 0) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<QueryTracker.InFlightQuery> remainingQueries = this.queryTracker.getInFlightQueries();
+
+        if (!remainingQueries.isEmpty()) {
+            this.logger.warn("{} queries still in progress after closing the client: {}", remainingQueries.size(),
+                    remainingQueries);
+        }
+
+        // Releasing remaining resources
+        if (this.slowQueryLog != null) {
+            this.slowQueryLog.close(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 0));
+        }
+
+        this.metrics.unpublish();
+        this.logger.debug("Database client closed.");
+    }
+
+    /**
+     * Unregisters completed query and records its statistics under the repository operation, that requested it.
+     *
+     * @param ticket       Ticket returned by query tracker when the query was started.
+     * @param event        Flight Recorder event started along with the query or null if the event is not recorded.
+     * @param kind         Kind of the query - import, update or insert.
+     * @param parameters   Values of the parameters of the query.
+     * @param rowsQuantity Number of rows returned or affected by the query or -1 if the query did not succeed.
+     * @param cancelled    True if the query was cancelled.
+     * */
+    private void finishQuery(long ticket, QueryEvent event, String kind, List<Object> parameters, long rowsQuantity,
+                             boolean cancelled) {
+        QueryTracker.InFlightQuery query = this.queryTracker.finish(ticket);
+        long durationNanos = System.nanoTime() - query.startNanos();
+
+        if (event != null) {
+            event.finish(kind, query.query(), query.caller(), rowsQuantity);
+        }
+
+        if (this.slowQueryLog != null && !cancelled) {
+            this.slowQueryLog.record(query.caller(), query.query(), parameters, durationNanos, rowsQuantity);
+        }
+
+        OperationMetrics operationMetrics = this.metrics.getOperation(query.caller());
+
+        if (rowsQuantity >= 0) {
+            operationMetrics.recordSuccess(durationNanos, rowsQuantity);
+        }
+        else if (cancelled) {
+            operationMetrics.recordCancellation();
+        }
+        else {
+            operationMetrics.recordError();
+        }
+    }
+
+    /**
+     * Creates a new database connection for the query.
      *
      * @return                             Newly established connection.
-     * @throws DatabaseConnectionException When attempt to connect to database fail.
+     * @throws DatabaseConnectionException When attempt to connect to database fail or the client was closed.
      */
     private Connection connect() {
+        return this.connect(false);
+    }
+
+    /**
+     * Creates a new database connection for the query.
+     *
+     * @param  cursorFetch                 True if the connection should fetch results of the queries from server-side
+     *                                     cursors, when fetch size of the statement is given.
+     * @return                             Newly established connection.
+     * @throws DatabaseConnectionException When attempt to connect to database fail or the client was closed.
+     */
+    private Connection connect(boolean cursorFetch) {
+        if (this.closed) {
+            throw new DatabaseConnectionException("Database client closed.");
+        }
+
+        return this.openConnection(cursorFetch);
+    }
+
+    /**
+     * Creates a new database connection regardless of the client being closed - meant for work, that is completed
+     * while the client is closing.
+     *
+     * @return                             Newly established connection.
+     * @throws DatabaseConnectionException When attempt to connect to database fail.
+     */
+    private Connection openConnection() {
+        return this.openConnection(false);
+    }
+
+    /**
+     * Creates a new database connection regardless of the client being closed.
+     *
+     * @param  cursorFetch                 True if the connection should fetch results of the queries from server-side
+     *                                     cursors, when fetch size of the statement is given.
+     * @return                             Newly established connection.
+     * @throws DatabaseConnectionException When attempt to connect to database fail.
+     */
+    private Connection openConnection(boolean cursorFetch) {
         // Extracting necessary values from credentials model
         String url = this.credentials.getUrl();
         String username = this.credentials.getUsername();
         String password = this.credentials.getPassword();
 
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+
+        // MySQL driver reads whole result into memory, unless cursor fetch is enabled - it is not enabled by default,
+        // as it makes the driver prepare each statement on the server, which costs additional round trip
+        if (cursorFetch && url.startsWith("jdbc:mysql:")) {
+            properties.setProperty("useCursorFetch", "true");
+        }
+
         // Logging
         this.logger.debug("Connecting to '{}' database as '{}'...", url, username);
 
         try {
             // Attempting to connect to the database
-            Connection newConnection = DriverManager.getConnection(url, username, password);
+            long connectionStart = System.nanoTime();
+            Connection newConnection = DriverManager.getConnection(url, properties);
+            this.metrics.getConnections().recordConnection(System.nanoTime() - connectionStart);
 
             // Logging
             this.logger.debug("Connected successfully.");
@@ -69,12 +273,78 @@ public class Client {
             // Logging
             String errorMessage = "Connection to database failed.";
             logger.error(errorMessage);
+            this.metrics.getConnections().recordFailure();
 
             // Exception wrapping
             throw new DatabaseConnectionException(errorMessage, exception);
         }
     }
 
+    /**
+     * Binds given values to the parameters of given statement.
+     *
+     * @param  statement    Statement, which parameters are bound.
+     * @param  parameters   Values of the parameters in order of their appearance in the query.
+     *                      Dates should be given as LocalDate instances and missing values as null.
+     * @throws SQLException When binding of any parameter fail.
+     * */
+    private static void bindParameters(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (int index = 0; index < parameters.size(); index++) {
+            Object parameter = parameters.get(index);
+
+            if (parameter == null) {
+                statement.setNull(index + 1, Types.NULL);
+            } else if (parameter instanceof LocalDate date) {
+                statement.setDate(index + 1, java.sql.Date.valueOf(date));
+            } else {
+                statement.setObject(index + 1, parameter);
+            }
+        }
+    }
+
+    /**
+     * Captures the plan of given 'SELECT' statement using 'EXPLAIN'.
+     * Meant to be used only by slow query log, so the query is neither tracked nor recorded in statistics.
+     *
+     * @param  query                       Explained query, with '?' in place of parameters.
+     * @param  parameters                  Values of the parameters in order of their appearance in the query.
+     * @return                             Rows of the plan - each one as a map of column names to their values.
+     * @throws DatabaseQueryException      When execution of 'EXPLAIN' statement fail.
+     * @throws DatabaseConnectionException When connection to database fail.
+     * */
+    private List<Map<String, String>> explain(String query, List<Object> parameters) {
+        // Logging
+        this.logger.debug("Capturing the plan of following query: {}", query);
+
+        try (Connection connection = this.openConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query)) {
+            statement.setQueryTimeout(this.config.getImportTimeoutSeconds());
+            bindParameters(statement, parameters);
+
+            List<Map<String, String>> plan = new ArrayList<>();
+
+            try (ResultSet planRows = statement.executeQuery()) {
+                ResultSetMetaData metaData = planRows.getMetaData();
+
+                while (planRows.next()) {
+                    Map<String, String> row = new LinkedHashMap<>();
+
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        row.put(metaData.getColumnLabel(column), String.valueOf(planRows.getObject(column)));
+                    }
+
+                    plan.add(row);
+                }
+            }
+
+            return plan;
+
+        } catch (SQLException exception) {
+            // Exception wrapping
+            throw new DatabaseQueryException("Failed to capture the plan of the query.", exception);
+        }
+    }
+
     /**
      * Meant to execute 'SELECT' statements to import the data from database.
      * Validation, if 'SELECT' statement is used in given query is not implemented.
@@ -88,26 +358,230 @@ public class Client {
      * @throws DatabaseConnectionException    When connection to database fail.
      */
     public List<Object> importData(String query, Function<ResultSet, List<Object>> queryResultConverter) {
+        return this.importData(query, queryResultConverter, new QueryHandle());
+    }
+
+    /**
+     * Meant to execute 'SELECT' statements to import the data from database.
+     * Validation, if 'SELECT' statement is used in given query is not implemented.
+     * Execution can be cancelled from another thread using given handle.
+     *
+     * @param  query                          Query, that will be used for data import.
+     * @param  queryResultConverter           Function used for conversion the query result into a list of objects.
+     *                                        In case of failure should throw QueryResultProcessingException.
+     * @param  handle                         Handle, that can be used to cancel the query.
+     * @return                                List of objects, generated by queryResultConverter.
+     * @throws QueryCancelledException        When query was cancelled using given handle.
+     * @throws DatabaseQueryException         When execution of given query fail or exceeds the timeout.
+     * @throws QueryResultProcessingException When conversion of imported data fail.
+     * @throws DatabaseConnectionException    When connection to database fail.
+     */
+    public List<Object> importData(String query, Function<ResultSet, List<Object>> queryResultConverter,
+                                   QueryHandle handle) {
+        return this.importData(query, List.of(), queryResultConverter, handle);
+    }
+
+    /**
+     * Meant to execute parametrised 'SELECT' statements to import the data from database.
+     * Values of parameters are passed to the database separately from the query, so they do not have to be escaped
+     * and the database can reuse the plan of the query.
+     * Execution can be cancelled from another thread using given handle.
+     *
+     * @param  query                          Query, that will be used for data import, with '?' in place of parameters.
+     * @param  parameters                     Values of the parameters in order of their appearance in the query.
+     *                                        Dates should be given as LocalDate instances.
+     * @param  queryResultConverter           Function used for conversion the query result into a list of objects.
+     *                                        In case of failure should throw QueryResultProcessingException.
+     * @param  handle                         Handle, that can be used to cancel the query.
+     * @return                                List of objects, generated by queryResultConverter.
+     * @throws QueryCancelledException        When query was cancelled using given handle.
+     * @throws DatabaseQueryException         When execution of given query fail or exceeds the timeout.
+     * @throws QueryResultProcessingException When conversion of imported data fail.
+     * @throws DatabaseConnectionException    When connection to database fail.
+     */
+    public List<Object> importData(String query, List<Object> parameters,
+                                   Function<ResultSet, List<Object>> queryResultConverter, QueryHandle handle) {
+        return this.executeImport(query, parameters, 0, queryResultConverter, List::size, handle);
+    }
+
+    /**
+     * Meant to execute parametrised 'SELECT' statements, which rows are passed one by one to given consumer instead
+     * of being converted into a list of objects.
+     * Execution can be cancelled from another thread using given handle.
+     *
+     * @param  query                          Query, that will be used for data import, with '?' in place of parameters.
+     * @param  parameters                     Values of the parameters in order of their appearance in the query.
+     *                                        Dates should be given as LocalDate instances.
+     * @param  rowConsumer                    Consumer, to which each imported row will be passed.
+     * @param  handle                         Handle, that can be used to cancel the query.
+     * @return                                Number of rows passed to the consumer.
+     * @throws QueryCancelledException        When query was cancelled using given handle.
+     * @throws DatabaseQueryException         When execution of given query fail or exceeds the timeout.
+     * @throws QueryResultProcessingException When passing of imported rows to the consumer fail.
+     * @throws DatabaseConnectionException    When connection to database fail.
+     */
+    public long importData(String query, List<Object> parameters, ResultSetConsumer rowConsumer, QueryHandle handle) {
+        return this.executeImport(query, parameters, 0,
+                queryResult -> passRows(queryResult, rowConsumer, handle, 0, 0), Long::longValue, handle);
+    }
+
+    /**
+     * Meant to execute parametrised 'SELECT' statements returning more rows, than could be held in memory.
+     * Rows are fetched from server-side cursor in batches of given size and passed one by one to given consumer,
+     * so any number of rows is imported in constant memory. The connection remains occupied until all rows
+     * are consumed.
+     * Execution, including fetching of the rows, can be cancelled from another thread using given handle
+     * and is limited by the timeout.
+     *
+     * @param  query                          Query, that will be used for data import, with '?' in place of parameters.
+     * @param  parameters                     Values of the parameters in order of their appearance in the query.
+     *                                        Dates should be given as LocalDate instances.
+     * @param  fetchSize                      Number of rows fetched from the database at once.
+     * @param  rowConsumer                    Consumer, to which each imported row will be passed.
+     * @param  handle                         Handle, that can be used to cancel the query.
+     * @return                                Number of rows passed to the consumer.
+     * @throws QueryCancelledException        When query was cancelled using given handle.
+     * @throws DatabaseQueryException         When execution of given query fail or, along with fetching of the rows,
+     *                                        exceeds the timeout.
+     * @throws QueryResultProcessingException When passing of imported rows to the consumer fail.
+     * @throws DatabaseConnectionException    When connection to database fail.
+     */
+    public long streamData(String query, List<Object> parameters, int fetchSize, ResultSetConsumer rowConsumer,
+                           QueryHandle handle) {
+        // Timeout of the statement covers only its execution, while rows are fetched during their consumption
+        long startNanos = System.nanoTime();
+        int timeoutSeconds = this.getImportTimeoutSeconds(handle);
+
+        return this.executeImport(query, parameters, fetchSize,
+                queryResult -> passRows(queryResult, rowConsumer, handle, startNanos, timeoutSeconds), Long::longValue,
+                handle);
+    }
+
+    /**
+     * Passes each row of given query result to given consumer.
+     * Passing is stopped once the import is cancelled - not every driver stops fetching of the rows already
+     * returned by the database.
+     *
+     * @param  queryResult                    Data imported from database.
+     * @param  rowConsumer                    Consumer, to which each row will be passed.
+     * @param  handle                         Handle, that can be used to cancel the import.
+     * @param  startNanos                     Start of the import, as returned by System.nanoTime.
+     * @param  timeoutSeconds                 Maximal duration of the import - 0 means no limit.
+     * @return                                Number of rows passed to the consumer.
+     * @throws QueryCancelledException        When the import was cancelled using given handle.
+     * @throws DatabaseQueryException         When the import exceeds the timeout.
+     * @throws QueryResultProcessingException When reading of the rows or their processing fail.
+     */
+    protected static long passRows(ResultSet queryResult, ResultSetConsumer rowConsumer, QueryHandle handle,
+                                   long startNanos, int timeoutSeconds) {
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        long passedRows = 0;
+
+        try (queryResult) {
+            while (queryResult.next()) {
+                if (handle.isCancelled()) {
+                    throw new QueryCancelledException("Query cancelled during import of its rows.");
+                }
+
+                if (timeoutSeconds > 0 && System.nanoTime() - startNanos > timeoutNanos) {
+                    throw new DatabaseQueryException("Import of the rows exceeded the timeout of " + timeoutSeconds +
+                            " seconds.");
+                }
+
+                rowConsumer.accept(queryResult);
+                passedRows++;
+            }
+
+        } catch (SQLException exception) {
+            // Wrapping occurred exception
+            String errorMessage = "Failed to pass query result to the consumer.";
+            throw new QueryResultProcessingException(errorMessage, exception);
+        }
+
+        return passedRows;
+    }
+
+    /**
+     * Executes parametrised 'SELECT' statement and passes its result to given converter.
+     *
+     * @param  query                          Query, that will be used for data import, with '?' in place of parameters.
+     * @param  parameters                     Values of the parameters in order of their appearance in the query.
+     * @param  fetchSize                      Number of rows fetched from server-side cursor at once - 0 means,
+     *                                        that the default of the driver is used, without the cursor.
+     * @param  queryResultConverter           Function used for conversion the query result.
+     * @param  rowsCounter                    Function returning number of rows imported by the converter, based
+     *                                        on its result.
+     * @param  handle                         Handle, that can be used to cancel the query.
+     * @param  <T>                            Type of the result of the converter.
+     * @return                                Result of queryResultConverter.
+     * @throws QueryCancelledException        When query was cancelled using given handle.
+     * @throws DatabaseQueryException         When execution of given query fail or exceeds the timeout.
+     * @throws QueryResultProcessingException When conversion of imported data fail.
+     * @throws DatabaseConnectionException    When connection to database fail.
+     */
+    private <T> T executeImport(String query, List<Object> parameters, int fetchSize,
+                                Function<ResultSet, T> queryResultConverter, ToLongFunction<T> rowsCounter,
+                                QueryHandle handle) {
         // Logging
-        this.logger.debug("Importing the data from '{}' database using following query: {}",
-                this.credentials.getUrl(), query);
+        this.logger.debug("Importing the data from '{}' database using following query: {} with parameters: {}",
+                this.credentials.getUrl(), query, parameters);
 
-        try (Connection connection = this.connect()) {
-            // Executing given query
-            Statement statement = connection.createStatement();
-            ResultSet importedData = statement.executeQuery(query);
+        // Checking if there is still any point in connecting to the database
+        if (handle.isCancelled()) {
+            throw new QueryCancelledException("Query cancelled before its execution.");
+        }
+
+        QueryEvent event = QueryEvent.start();
+        long ticket = this.queryTracker.start(query);
+        long rowsQuantity = -1;
+
+        try (Connection connection = this.connect(fetchSize > 0);
+             PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+            // Setting the timeout
+            statement.setQueryTimeout(this.getImportTimeoutSeconds(handle));
+
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+
+            // Binding the parameters
+            bindParameters(statement, parameters);
+
+            // Executing given query - rows fetched from the cursor are imported during the conversion, so in that case
+            // statement remains bound with the handle until the conversion is finished
+            ResultSet importedData;
+            handle.attach(statement);
+            long executionStart = System.nanoTime();
+
+            try {
+                importedData = statement.executeQuery();
+            } finally {
+                if (fetchSize == 0) {
+                    handle.detach();
+                }
+            }
+
+            long executionNanos = System.nanoTime() - executionStart;
 
             this.logger.debug("Import successful.");
 
             // Converting imported data into a list of objects
             this.logger.debug("Converting imported data into a list of objects...");
 
-            List<Object> convertedData;
+            T convertedData;
+            long conversionStart = System.nanoTime();
 
             try {
                 convertedData = queryResultConverter.apply((importedData));
             }
             catch (QueryResultProcessingException exception) {
+                // Checking if failure of fetching the rows is caused by requested cancellation
+                if (handle.isCancelled()) {
+                    this.logger.debug("Query cancelled during import of its rows.");
+                    throw new QueryCancelledException("Query cancelled during import of its rows.", exception);
+                }
+
                 // Logging
                 this.logger.error("Failed to convert imported data.");
                 this.logger.debug("Closing connection to database.");
@@ -117,13 +591,21 @@ public class Client {
             }
 
             this.logger.debug("Conversion successful.");
+            QueryTimes.ofCurrentThread().add(executionNanos, System.nanoTime() - conversionStart);
 
             // Returning converted data
             this.logger.debug("Closing connection to database.");
+            rowsQuantity = rowsCounter.applyAsLong(convertedData);
 
             return convertedData;
 
         } catch (SQLException exception) {
+            // Checking if failure is caused by requested cancellation
+            if (handle.isCancelled()) {
+                this.logger.debug("Query cancelled during its execution.");
+                throw new QueryCancelledException("Query cancelled during its execution.", exception);
+            }
+
             // Logging
             String errorMessage = "Failed to execute the query.";
             this.logger.error(errorMessage);
@@ -131,9 +613,20 @@ public class Client {
 
             // Exception wrapping
             throw new DatabaseQueryException(errorMessage, exception);
+        } finally {
+            handle.detach();
+            this.finishQuery(ticket, event, "import", parameters, rowsQuantity, handle.isCancelled());
         }
     }
 
+    /**
+     * @param  handle Handle, using which the import is performed.
+     * @return        Timeout of the import - the one specified by the handle takes precedence.
+     */
+    private int getImportTimeoutSeconds(QueryHandle handle) {
+        return (handle.getTimeoutSeconds() > 0) ? handle.getTimeoutSeconds() : this.config.getImportTimeoutSeconds();
+    }
+
     /**
      * Meant to update the database using statements like 'UPDATE', 'INSERT' or 'DELETE'.
      * Validation, if those statement is used in given query is not implemented.
@@ -146,13 +639,22 @@ public class Client {
         // Logging
         this.logger.debug("Updating the '{}' database using following query: {}", this.credentials.getUrl(), query);
 
+        QueryEvent event = QueryEvent.start();
+        long ticket = this.queryTracker.start(query);
+        long rowsQuantity = -1;
+
         try (Connection connection = this.connect()) {
             // Executing given query
             Statement statement = connection.createStatement();
-            statement.executeUpdate(query);
+            statement.setQueryTimeout(this.config.getUpdateTimeoutSeconds());
+
+            long executionStart = System.nanoTime();
+            int affectedRows = statement.executeUpdate(query);
+            QueryTimes.ofCurrentThread().add(System.nanoTime() - executionStart, 0);
 
             this.logger.debug("Update successful.");
             this.logger.debug("Closing connection to database.");
+            rowsQuantity = affectedRows;
 
         } catch (SQLException exception) {
             // Logging
@@ -162,9 +664,259 @@ public class Client {
 
             //Exception wrapping
             throw new DatabaseQueryException(errorMessage, exception);
+        } finally {
+            this.finishQuery(ticket, event, "update", List.of(), rowsQuantity, false);
         }
 
         // Logging
         this.logger.debug("Database update successful.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Meant to update the database using sequence of statements like 'UPDATE', 'INSERT' or 'DELETE'.
+     * All given queries are executed within single transaction using the same connection,
+     * so either all of them will be applied or none of them.
+     * As the same connection is used, functions like LAST_INSERT_ID() refer to previously executed queries.
+     *
+     * @param  queries                     Queries, that will be used for database update in given order.
+     * @throws DatabaseQueryException      When execution of any of given queries fail.
+     * @throws DatabaseConnectionException When connection to database fail.
+     */
+    public void updateData(List<String> queries) {
+        // Logging
+        this.logger.debug("Updating the '{}' database using {} queries within single transaction...",
+                this.credentials.getUrl(), queries.size());
+
+        QueryEvent event = QueryEvent.start();
+        long ticket = this.queryTracker.start(String.join("; ", queries));
+        long rowsQuantity = -1;
+
+        try (Connection connection = this.connect()) {
+            connection.setAutoCommit(false);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(this.config.getUpdateTimeoutSeconds());
+
+                // Executing given queries
+                long executionStart = System.nanoTime();
+                long affectedRows = 0;
+
+                for (String query: queries) {
+                    this.logger.debug("Executing following query: {}", query);
+                    affectedRows += statement.executeUpdate(query);
+                }
+
+                // Committing the transaction
+                connection.commit();
+                QueryTimes.ofCurrentThread().add(System.nanoTime() - executionStart, 0);
+                rowsQuantity = affectedRows;
+
+            } catch (SQLException exception) {
+                // Reverting already applied changes
+                this.logger.debug("Rolling back the transaction.");
+                connection.rollback();
+
+                // Rethrowing exception
+                throw exception;
+            }
+
+            this.logger.debug("Update successful.");
+            this.logger.debug("Closing connection to database.");
+
+        } catch (SQLException exception) {
+            // Logging
+            String errorMessage = "Failed to execute the transaction.";
+            this.logger.error(errorMessage);
+            this.logger.debug("Closing connection to database.");
+
+            //Exception wrapping
+            throw new DatabaseQueryException(errorMessage, exception);
+        } finally {
+            this.finishQuery(ticket, event, "update", List.of(), rowsQuantity, false);
+        }
+
+        // Logging
+        this.logger.debug("Database update successful.");
+    }
+
+    /**
+     * Meant to update or delete single record using 'UPDATE' or 'DELETE' statement followed by sequence
+     * of related update statements.
+     * All given queries are executed within single transaction in the same way as by updateData method,
+     * but remaining queries are executed only if the first one affected any rows - changes of records,
+     * which do not exist, are not followed by related updates.
+     *
+     * @param  queries                     Queries, that will be used for database update in given order -
+     *                                     the first one should update or delete the record.
+     * @return                             Number of rows affected by the first query.
+     * @throws DatabaseQueryException      When execution of any of given queries fail.
+     * @throws DatabaseConnectionException When connection to database fail.
+     */
+    public long updateRecord(List<String> queries) {
+        // Logging
+        this.logger.debug("Updating record in the '{}' database using {} queries within single transaction...",
+                this.credentials.getUrl(), queries.size());
+
+        long updatedRows;
+        QueryEvent event = QueryEvent.start();
+        long ticket = this.queryTracker.start(String.join("; ", queries));
+        long rowsQuantity = -1;
+
+        try (Connection connection = this.connect()) {
+            connection.setAutoCommit(false);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(this.config.getUpdateTimeoutSeconds());
+
+                // Executing updating query
+                long executionStart = System.nanoTime();
+                this.logger.debug("Executing following query: {}", queries.get(0));
+                updatedRows = statement.executeUpdate(queries.get(0));
+                long affectedRows = updatedRows;
+
+                // Executing remaining queries only if the record was changed
+                if (updatedRows > 0) {
+                    for (String query: queries.subList(1, queries.size())) {
+                        this.logger.debug("Executing following query: {}", query);
+                        affectedRows += statement.executeUpdate(query);
+                    }
+                } else {
+                    this.logger.debug("No rows affected - remaining queries skipped.");
+                }
+
+                // Committing the transaction
+                connection.commit();
+                QueryTimes.ofCurrentThread().add(System.nanoTime() - executionStart, 0);
+                rowsQuantity = affectedRows;
+
+            } catch (SQLException exception) {
+                // Reverting already applied changes
+                this.logger.debug("Rolling back the transaction.");
+                connection.rollback();
+
+                // Rethrowing exception
+                throw exception;
+            }
+
+            this.logger.debug("Update successful.");
+            this.logger.debug("Closing connection to database.");
+
+        } catch (SQLException exception) {
+            // Logging
+            String errorMessage = "Failed to execute the transaction.";
+            this.logger.error(errorMessage);
+            this.logger.debug("Closing connection to database.");
+
+            //Exception wrapping
+            throw new DatabaseQueryException(errorMessage, exception);
+        } finally {
+            this.finishQuery(ticket, event, "update", List.of(), rowsQuantity, false);
+        }
+
+        // Logging
+        this.logger.debug("Database update successful.");
+
+        return updatedRows;
+    }
+
+    /**
+     * Meant to insert new record using 'INSERT' statement followed by sequence of related update statements.
+     * All given queries are executed within single transaction in the same way as by updateData method,
+     * but ID generated by the database for record inserted by the first query is returned.
+     *
+     * @param  queries                     Queries, that will be used for database update in given order -
+     *                                     the first one should insert the record.
+     * @return                             ID generated for record inserted by the first query.
+     * @throws DatabaseQueryException      When execution of any of given queries fail or no ID was generated.
+     * @throws DatabaseConnectionException When connection to database fail.
+     */
+    public long insertData(List<String> queries) {
+        return this.insertData(queries, List.of());
+    }
+
+    /**
+     * Meant to insert new record using 'INSERT' statement followed by sequence of related update statements.
+     * Works in the same way as insertData method without parameters, but the inserting query is executed as
+     * prepared statement, so values provided by the user are never a part of the query itself.
+     *
+     * @param  queries                     Queries, that will be used for database update in given order -
+     *                                     the first one should insert the record, with '?' in place of parameters.
+     * @param  parameters                  Values of the parameters of the first query in order of their appearance.
+     * @return                             ID generated for record inserted by the first query.
+     * @throws DatabaseQueryException      When execution of any of given queries fail or no ID was generated.
+     * @throws DatabaseConnectionException When connection to database fail.
+     */
+    public long insertData(List<String> queries, List<Object> parameters) {
+        // Logging
+        this.logger.debug("Inserting record into the '{}' database using {} queries within single transaction...",
+                this.credentials.getUrl(), queries.size());
+
+        long generatedId;
+        QueryEvent event = QueryEvent.start();
+        long ticket = this.queryTracker.start(String.join("; ", queries));
+        long rowsQuantity = -1;
+
+        try (Connection connection = this.connect()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insertStatement = connection.prepareStatement(queries.get(0),
+                    Statement.RETURN_GENERATED_KEYS);
+                 Statement statement = connection.createStatement()) {
+                insertStatement.setQueryTimeout(this.config.getUpdateTimeoutSeconds());
+                statement.setQueryTimeout(this.config.getUpdateTimeoutSeconds());
+                bindParameters(insertStatement, parameters);
+
+                // Executing inserting query and extracting generated ID
+                long executionStart = System.nanoTime();
+                this.logger.debug("Executing following query: {}", queries.get(0));
+                long affectedRows = insertStatement.executeUpdate();
+
+                try (ResultSet generatedKeys = insertStatement.getGeneratedKeys()) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("No ID generated for inserted record.");
+                    }
+
+                    generatedId = generatedKeys.getLong(1);
+                }
+
+                // Executing remaining queries
+                for (String query: queries.subList(1, queries.size())) {
+                    this.logger.debug("Executing following query: {}", query);
+                    affectedRows += statement.executeUpdate(query);
+                }
+
+                // Committing the transaction
+                connection.commit();
+                QueryTimes.ofCurrentThread().add(System.nanoTime() - executionStart, 0);
+                rowsQuantity = affectedRows;
+
+            } catch (SQLException exception) {
+                // Reverting already applied changes
+                this.logger.debug("Rolling back the transaction.");
+                connection.rollback();
+
+                // Rethrowing exception
+                throw exception;
+            }
+
+            this.logger.debug("Insert successful.");
+            this.logger.debug("Closing connection to database.");
+
+        } catch (SQLException exception) {
+            // Logging
+            String errorMessage = "Failed to execute the transaction.";
+            this.logger.error(errorMessage);
+            this.logger.debug("Closing connection to database.");
+
+            //Exception wrapping
+            throw new DatabaseQueryException(errorMessage, exception);
+        } finally {
+            this.finishQuery(ticket, event, "insert", parameters, rowsQuantity, false);
+        }
+
+        // Logging
+        this.logger.debug("Record inserted with ID {}.", generatedId);
+
+        return generatedId;
+    }
+}
@@ -0,0 +1,100 @@
+package pl.jakubmiodunka.database.client;
+
+import pl.jakubmiodunka.database.client.exceptions.QueryCancelledException;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handle allowing to cancel the query executed by database client from another thread.
+ * Cancellation requested before the query started prevents its execution, while cancellation requested during
+ * its execution is passed to the database, so the query stops occupying it.
+ * Single handle can be used for several consecutive queries - once cancelled, all of them are cancelled.
+ *
+ * @author Jakub Miodunka
+ * */
+public class QueryHandle {
+    // Timeout of queries executed using the handle - 0 means, that default timeout of the client is used
+    private final int timeoutSeconds;
+
+    // Statement currently executed using the handle
+    private Statement statement;
+
+    // Flag indicating, if cancellation was requested
+    private boolean cancelled;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * Creates handle using default timeout of the client.
+     * */
+    public QueryHandle() {
+        this(0);
+    }
+
+    /**
+     * @param timeoutSeconds Timeout of queries executed using the handle.
+     * */
+    public QueryHandle(int timeoutSeconds) {
+        // Properties init
+        this.timeoutSeconds = timeoutSeconds;
+        this.statement = null;
+        this.cancelled = false;
+        this.logger = LoggerFactory.getLogger(QueryHandle.class);
+    }
+
+    /**
+     * Binds given statement with the handle until it is detached.
+     *
+     * @param  statement               Statement, which will be executed.
+     * @throws QueryCancelledException When cancellation was already requested.
+     * */
+    synchronized void attach(Statement statement) {
+        if (this.cancelled) {
+            throw new QueryCancelledException("Query cancelled before its execution.");
+        }
+
+        this.statement = statement;
+    }
+
+    /**
+     * Unbinds currently executed statement from the handle.
+     * */
+    synchronized void detach() {
+        this.statement = null;
+    }
+
+    /**
+     * Requests cancellation of queries executed using the handle.
+     * */
+    public synchronized void cancel() {
+        this.cancelled = true;
+
+        if (this.statement != null) {
+            this.logger.debug("Cancelling query in progress...");
+
+            try {
+                this.statement.cancel();
+            } catch (SQLException exception) {
+                this.logger.warn("Failed to cancel query in progress.", exception);
+            }
+        }
+    }
+
+    /**
+     * @return True if cancellation was requested, false otherwise.
+     * */
+    public synchronized boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * @return Timeout of queries executed using the handle - 0 means, that default timeout of the client is used.
+     * */
+    public int getTimeoutSeconds() {
+        return this.timeoutSeconds;
+    }
+}
@@ -0,0 +1,66 @@
+package pl.jakubmiodunka.database.client;
+
+/**
+ * Total time spent by the thread on queries executed by database client, split into execution of the queries
+ * and conversion of their results.
+ * Each thread has its own instance, so the time spent by given task can be measured as the difference of
+ * totals read before and after it, without any synchronisation.
+ *
+ * @author Jakub Miodunka
+ * */
+public class QueryTimes {
+    // Instances of all threads
+    private static final ThreadLocal<QueryTimes> CURRENT = ThreadLocal.withInitial(QueryTimes::new);
+
+    // Totals since the thread was started
+    private long executionNanos;
+    private long conversionNanos;
+    private long queriesQuantity;
+
+    private QueryTimes() {
+        // Properties init
+        this.executionNanos = 0;
+        this.conversionNanos = 0;
+        this.queriesQuantity = 0;
+    }
+
+    /**
+     * @return Times of current thread.
+     * */
+    public static QueryTimes ofCurrentThread() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds times of completed query.
+     *
+     * @param executionNanos  Time spent on execution of the query.
+     * @param conversionNanos Time spent on conversion of its result.
+     * */
+    void add(long executionNanos, long conversionNanos) {
+        this.executionNanos += executionNanos;
+        this.conversionNanos += conversionNanos;
+        this.queriesQuantity++;
+    }
+
+    /**
+     * @return Total time spent on execution of the queries in nanoseconds.
+     * */
+    public long getExecutionNanos() {
+        return this.executionNanos;
+    }
+
+    /**
+     * @return Total time spent on conversion of query results in nanoseconds.
+     * */
+    public long getConversionNanos() {
+        return this.conversionNanos;
+    }
+
+    /**
+     * @return Number of executed queries.
+     * */
+    public long getQueriesQuantity() {
+        return this.queriesQuantity;
+    }
+}
@@ -0,0 +1,96 @@
+package pl.jakubmiodunka.database.client;
+
+import pl.jakubmiodunka.utilities.jfr.RepositoryOperationEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of queries currently executed by database client.
+ * Each query is described by the repository operation, that requested it, so when the program stalls
+ * it is known which operation is in progress.
+ *
+ * @author Jakub Miodunka
+ * */
+public class QueryTracker {
+    // Queries currently in progress by their tickets
+    private final Map<Long, InFlightQuery> inFlightQueries;
+
+    // Source of tickets identifying started queries
+    private final AtomicLong ticketSequence;
+
+    /**
+     * Query in progress.
+     *
+     * @param caller     Repository method, that requested the query.
+     * @param query      Executed query.
+     * @param threadName Name of the thread executing the query.
+     * @param startNanos Moment, when query was started, taken from System.nanoTime().
+     * */
+    public record InFlightQuery(String caller, String query, String threadName, long startNanos) {
+        /**
+         * @return Time elapsed since the query was started in milliseconds.
+         * */
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startNanos);
+        }
+
+        @Override
+        public String toString() {
+            return this.caller + " on '" + this.threadName + "' for " + this.getElapsedMillis() + " ms: " + this.query;
+        }
+    }
+
+    public QueryTracker() {
+        // Properties init
+        this.inFlightQueries = new ConcurrentHashMap<>();
+        this.ticketSequence = new AtomicLong();
+    }
+
+    /**
+     * Registers the query started on current thread.
+     *
+     * @param  query Started query.
+     * @return       Ticket, that should be passed to finish method once the query is completed.
+     * */
+    long start(String query) {
+        long ticket = this.ticketSequence.incrementAndGet();
+
+        this.inFlightQueries.put(ticket, new InFlightQuery(RepositoryOperationEvent.getCurrentOperation(), query,
+                Thread.currentThread().getName(), System.nanoTime()));
+
+        return ticket;
+    }
+
+    /**
+     * Unregisters completed query.
+     *
+     * @param  ticket Ticket returned when the query was started.
+     * @return        Completed query.
+     * */
+    InFlightQuery finish(long ticket) {
+        return this.inFlightQueries.remove(ticket);
+    }
+
+    /**
+     * @return Number of queries currently in progress.
+     * */
+    public int getInFlightQueriesQuantity() {
+        return this.inFlightQueries.size();
+    }
+
+    /**
+     * @return Queries currently in progress - the longest running first.
+     * */
+    public List<InFlightQuery> getInFlightQueries() {
+        List<InFlightQuery> queries = new ArrayList<>(this.inFlightQueries.values());
+        queries.sort(Comparator.comparingLong(InFlightQuery::startNanos));
+
+        return queries;
+    }
+}
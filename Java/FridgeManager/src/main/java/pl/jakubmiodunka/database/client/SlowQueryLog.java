@@ -0,0 +1,307 @@
+package pl.jakubmiodunka.database.client;
+
+import pl.jakubmiodunka.database.models.SlowQueryLogConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Log of queries, which execution exceeded configured threshold.
+ * Each entry describes the statement along with its parameters, duration and repository method, that requested it.
+ * Plans of slow 'SELECT' statements are captured using 'EXPLAIN', but not more often than configured, so a burst of
+ * slow queries does not put additional load on already struggling database. Plans are checked for full table scans
+ * and sorting without index, which are marked in the entry, so missing indexes are easy to spot.
+ * Plans are captured and entries are written to the rotated log file on background thread, so the thread executing
+ * the query is never delayed by the log.
+ *
+ * @author Jakub Miodunka
+ * */
+public class SlowQueryLog {
+    // Maximal number of entries waiting to be written - entries exceeding this limit are dropped
+    private static final int QUEUE_CAPACITY = 256;
+
+    // Duration, after which the query is considered slow
+    private final long thresholdNanos;
+
+    // Minimal interval between captures of query plans along with the moment, when the next capture is allowed
+    private final long explainIntervalNanos;
+    private final AtomicLong nextExplainNanos;
+
+    // Function capturing the plan of given statement with given parameters - one map of columns per plan row
+    private final BiFunction<String, List<Object>, List<Map<String, String>>> planCollector;
+
+    // Location of the log file along with parameters of its rotation
+    private final Path file;
+    private final long maxFileSizeBytes;
+    private final int rotatedFilesQuantity;
+
+    // Executor capturing the plans and writing the entries
+    private final ThreadPoolExecutor executor;
+
+    // Statistics of the log
+    private final AtomicLong slowQueriesQuantity;
+    private final AtomicLong droppedEntriesQuantity;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param config        Configuration of the log.
+     * @param planCollector Function capturing the plan of given statement with given parameters - should return
+     *                      one map of columns per row of the plan and throw runtime exception in case of failure.
+     * */
+    public SlowQueryLog(SlowQueryLogConfig config,
+                        BiFunction<String, List<Object>, List<Map<String, String>>> planCollector) {
+        // Properties init
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getThresholdMillis());
+        this.explainIntervalNanos = TimeUnit.SECONDS.toNanos(config.getExplainIntervalSeconds());
+        this.nextExplainNanos = new AtomicLong(System.nanoTime());
+        this.planCollector = planCollector;
+        this.file = config.getFile();
+        this.maxFileSizeBytes = config.getMaxFileSizeKilobytes() * 1024L;
+        this.rotatedFilesQuantity = config.getRotatedFilesQuantity();
+        this.slowQueriesQuantity = new AtomicLong();
+        this.droppedEntriesQuantity = new AtomicLong();
+        this.logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+        // Single daemon thread is enough, as entries are rare and their order should be kept
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Logs given query, if its execution exceeded the threshold.
+     *
+     * @param caller        Repository method, that requested the query.
+     * @param query         Executed query.
+     * @param parameters    Values of the parameters of the query.
+     * @param durationNanos Duration of the query in nanoseconds.
+     * @param rowsQuantity  Number of rows returned or affected by the query or -1 if the query did not succeed.
+     * */
+    public void record(String caller, String query, List<Object> parameters, long durationNanos, long rowsQuantity) {
+        if (durationNanos < this.thresholdNanos) {
+            return;
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        this.slowQueriesQuantity.incrementAndGet();
+        this.logger.warn("Query requested by {} took {} ms.", caller, durationMillis);
+
+        // Plans are captured only for statements, which can be explained without side effects
+        boolean explain = isSelect(query) && this.tryAcquireExplain();
+        LocalDateTime timestamp = LocalDateTime.now();
+
+        try {
+            this.executor.execute(() -> this.write(timestamp, caller, query, parameters, durationMillis, rowsQuantity,
+                    explain));
+        } catch (RejectedExecutionException exception) {
+            this.droppedEntriesQuantity.incrementAndGet();
+            this.logger.debug("Slow query log entry dropped - too many entries waiting to be written.");
+        }
+    }
+
+    /**
+     * @param  query Checked query.
+     * @return       True if given query is a 'SELECT' statement, false otherwise.
+     * */
+    private static boolean isSelect(String query) {
+        String trimmedQuery = query.stripLeading();
+        return trimmedQuery.regionMatches(true, 0, "SELECT", 0, "SELECT".length());
+    }
+
+    /**
+     * @return True if capturing the plan is allowed by the rate limit, false otherwise.
+     * */
+    private boolean tryAcquireExplain() {
+        long now = System.nanoTime();
+        long allowedFrom = this.nextExplainNanos.get();
+
+        return now - allowedFrom >= 0 && this.nextExplainNanos.compareAndSet(allowedFrom, now + this.explainIntervalNanos);
+    }
+
+    /**
+     * Prepares the entry describing slow query and appends it to the log file - executed on background thread.
+     *
+     * @param timestamp      Moment, when the query was logged.
+     * @param caller         Repository method, that requested the query.
+     * @param query          Executed query.
+     * @param parameters     Values of the parameters of the query.
+     * @param durationMillis Duration of the query in milliseconds.
+     * @param rowsQuantity   Number of rows returned or affected by the query or -1 if the query did not succeed.
+     * @param explain        True if plan of the query should be captured.
+     * */
+    private void write(LocalDateTime timestamp, String caller, String query, List<Object> parameters,
+                       long durationMillis, long rowsQuantity, boolean explain) {
+        String lineSeparator = System.lineSeparator();
+        StringBuilder entry = new StringBuilder();
+
+        entry.append(timestamp).append(" | ").append(durationMillis).append(" ms | ")
+                .append((rowsQuantity >= 0) ? rowsQuantity + " rows" : "failed").append(" | ").append(caller)
+                .append(lineSeparator)
+                .append("    query:      ").append(query).append(lineSeparator)
+                .append("    parameters: ").append(parameters).append(lineSeparator);
+
+        if (isSelect(query)) {
+            if (explain) {
+                this.appendPlan(entry, query, parameters);
+            } else {
+                entry.append("    plan:       not captured - rate limited").append(lineSeparator);
+            }
+        }
+
+        this.append(entry.append(lineSeparator).toString());
+    }
+
+    /**
+     * Captures the plan of given query and appends it to the entry along with detected problems.
+     *
+     * @param entry      Prepared entry.
+     * @param query      Explained query.
+     * @param parameters Values of the parameters of the query.
+     * */
+    private void appendPlan(StringBuilder entry, String query, List<Object> parameters) {
+        String lineSeparator = System.lineSeparator();
+        List<Map<String, String>> plan;
+
+        try {
+            plan = this.planCollector.apply(query, parameters);
+        } catch (RuntimeException exception) {
+            this.logger.debug("Failed to capture plan of slow query.", exception);
+            entry.append("    plan:       not captured - ").append(exception.getMessage()).append(lineSeparator);
+            return;
+        }
+
+        entry.append("    plan:").append(lineSeparator);
+
+        for (Map<String, String> row: plan) {
+            entry.append("        ").append(row).append(lineSeparator);
+        }
+
+        // Marking access types indicating missing indexes
+        for (Map<String, String> row: plan) {
+            String table = row.get("table");
+            String extra = row.getOrDefault("Extra", "");
+
+            if ("ALL".equals(row.get("type"))) {
+                entry.append("    WARNING:    full scan of '").append(table).append("' table - no index used")
+                        .append(lineSeparator);
+                this.logger.warn("Slow query scans whole '{}' table - consider adding an index.", table);
+            }
+
+            if (extra != null && extra.contains("Using filesort")) {
+                entry.append("    WARNING:    rows of '").append(table).append("' table sorted without index")
+                        .append(lineSeparator);
+            }
+        }
+    }
+
+    /**
+     * Appends given entry to the log file, rotating the file first if it would exceed its maximal size.
+     * Failures are only logged, as the log is not essential for the program.
+     *
+     * @param entry Appended entry.
+     * */
+    private void append(String entry) {
+        byte[] content = entry.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            if (this.file.getParent() != null) {
+                Files.createDirectories(this.file.getParent());
+            }
+
+            if (Files.exists(this.file) && Files.size(this.file) + content.length > this.maxFileSizeBytes) {
+                this.rotate();
+            }
+
+            Files.write(this.file, content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+        } catch (IOException exception) {
+            this.logger.warn("Failed to write slow query log entry to '{}' file.", this.file, exception);
+        }
+    }
+
+    /**
+     * Shifts rotated log files by one - the oldest one is removed and the current one becomes the first rotated one.
+     *
+     * @throws IOException When moving or removing of any file fail.
+     * */
+    private void rotate() throws IOException {
+        this.logger.debug("Rotating '{}' slow query log file.", this.file);
+
+        Files.deleteIfExists(this.getRotatedFile(this.rotatedFilesQuantity));
+
+        for (int index = this.rotatedFilesQuantity - 1; index >= 1; index--) {
+            Path rotatedFile = this.getRotatedFile(index);
+
+            if (Files.exists(rotatedFile)) {
+                Files.move(rotatedFile, this.getRotatedFile(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        if (this.rotatedFilesQuantity > 0) {
+            Files.move(this.file, this.getRotatedFile(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(this.file);
+        }
+    }
+
+    /**
+     * @param  index Index of the rotated file - the lower the index, the newer the file.
+     * @return       Location of rotated log file with given index.
+     * */
+    private Path getRotatedFile(int index) {
+        return this.file.resolveSibling(this.file.getFileName() + "." + index);
+    }
+
+    /**
+     * Stops accepting new entries and waits until entries already waiting are written.
+     * Entries of queries reported afterwards are counted as dropped.
+     *
+     * @param timeoutMillis Maximal time of waiting in milliseconds.
+     * */
+    public void close(long timeoutMillis) {
+        this.executor.shutdown();
+
+        try {
+            if (!this.executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                this.logger.warn("Slow query log not closed in {} ms - {} entries not written.", timeoutMillis,
+                        this.executor.shutdownNow().size());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Number of queries, which exceeded the threshold.
+     * */
+    public long getSlowQueriesQuantity() {
+        return this.slowQueriesQuantity.get();
+    }
+
+    /**
+     * @return Number of entries dropped, because too many of them were waiting to be written.
+     * */
+    public long getDroppedEntriesQuantity() {
+        return this.droppedEntriesQuantity.get();
+    }
+}
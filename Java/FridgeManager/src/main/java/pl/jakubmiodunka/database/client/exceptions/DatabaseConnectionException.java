@@ -6,6 +6,10 @@ package pl.jakubmiodunka.database.client.exceptions;
  * @author Jakub Miodunka
  * */
 public class DatabaseConnectionException extends RuntimeException {
+    public DatabaseConnectionException(String message) {
+        super(message);
+    }
+
     public DatabaseConnectionException(String message, Throwable cause) {
         super(message, cause);
     }
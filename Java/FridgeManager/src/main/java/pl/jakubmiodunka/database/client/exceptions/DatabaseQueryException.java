@@ -6,6 +6,10 @@ package pl.jakubmiodunka.database.client.exceptions;
  * @author Jakub Miodunka
  * */
 public class DatabaseQueryException extends RuntimeException {
+    public DatabaseQueryException(String message) {
+        super(message);
+    }
+
     public DatabaseQueryException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -0,0 +1,16 @@
+package pl.jakubmiodunka.database.client.exceptions;
+
+/**
+ * Exception thrown when query was cancelled using its handle before or during its execution.
+ *
+ * @author Jakub Miodunka
+ * */
+public class QueryCancelledException extends DatabaseQueryException {
+    public QueryCancelledException(String message) {
+        super(message);
+    }
+
+    public QueryCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
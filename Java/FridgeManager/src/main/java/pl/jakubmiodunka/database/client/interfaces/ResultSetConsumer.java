@@ -0,0 +1,22 @@
+package pl.jakubmiodunka.database.client.interfaces;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Interface related with importing data without converting it into a list of objects.
+ * Meant to be implemented by consumers passing each imported record further (for example storing it in their own
+ * form), while the database client iterates over the query result and counts processed records.
+ *
+ * @author Jakub Miodunka
+ */
+@FunctionalInterface
+public interface ResultSetConsumer {
+    /**
+     * Should process the record, at which cursor of given query result is placed - cursor should not be moved.
+     *
+     * @param  queryResult  Data imported from database.
+     * @throws SQLException When reading the values of the record fail.
+     */
+    void accept(ResultSet queryResult) throws SQLException;
+}
@@ -0,0 +1,79 @@
+package pl.jakubmiodunka.database.events;
+
+import pl.jakubmiodunka.database.events.interfaces.RepositoryEventListener;
+import pl.jakubmiodunka.database.models.events.RepositoryEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process bus, to which repositories publish changes of their content.
+ * Subscribers can apply published changes to locally stored data instead of importing it again from the database.
+ * Only changes performed by this process are published - changes performed by someone else still have to be
+ * detected using change log.
+ *
+ * @author Jakub Miodunka
+ */
+public class RepositoryEventBus {
+    /**
+     * Listener along with type of events, it is interested in.
+     *
+     * @param eventType Type of observed events.
+     * @param listener  Listener, to which events of given type are passed.
+     * */
+    private record Subscription<E extends RepositoryEvent>(Class<E> eventType, RepositoryEventListener<E> listener) {
+        /**
+         * Passes given event to the listener, if it is of observed type.
+         *
+         * @param event Published event.
+         * */
+        void deliver(RepositoryEvent event) {
+            if (this.eventType.isInstance(event)) {
+                this.listener.changePerformed(this.eventType.cast(event));
+            }
+        }
+    }
+
+    // Active subscriptions - modified rarely, while iterated during each publication
+    private final List<Subscription<?>> subscriptions;
+
+    // Internally used logger
+    private final Logger logger;
+
+    public RepositoryEventBus() {
+        // Properties init
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        this.logger = LoggerFactory.getLogger(RepositoryEventBus.class);
+    }
+
+    /**
+     * Registers listener of events of given type.
+     *
+     * @param eventType Type of events, that should be passed to the listener.
+     * @param listener  Listener to be registered.
+     * @param <E>       Type of observed events.
+     * */
+    public <E extends RepositoryEvent> void subscribe(Class<E> eventType, RepositoryEventListener<E> listener) {
+        this.subscriptions.add(new Subscription<>(eventType, listener));
+    }
+
+    /**
+     * Passes given event to all listeners interested in it - executed on publishing thread.
+     * Failure of single listener is logged and does not prevent delivery to the others.
+     *
+     * @param event Event to be published.
+     * */
+    public void publish(RepositoryEvent event) {
+        this.logger.debug("Publishing {} of record with ID {}...", event.getClass().getSimpleName(), event.getRecordId());
+
+        for (Subscription<?> subscription: this.subscriptions) {
+            try {
+                subscription.deliver(event);
+            } catch (RuntimeException exception) {
+                this.logger.error("Repository event listener failed.", exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package pl.jakubmiodunka.database.events.interfaces;
+
+import pl.jakubmiodunka.database.models.events.RepositoryEvent;
+
+/**
+ * Interface related with observing changes performed by repositories.
+ * Methods are called from the thread, which performed the change, so implementations touching the GUI
+ * should pass the work to event dispatch thread.
+ *
+ * @param <E> Type of observed events.
+ * @author Jakub Miodunka
+ */
+@FunctionalInterface
+public interface RepositoryEventListener<E extends RepositoryEvent> {
+    /**
+     * Called after each change of observed type was committed to the database.
+     *
+     * @param event Description of performed change.
+     */
+    void changePerformed(E event);
+}
@@ -0,0 +1,12 @@
+package pl.jakubmiodunka.database.exceptions;
+
+/**
+ * Exception thrown when the database is used after it was closed.
+ *
+ * @author Jakub Miodunka
+ * */
+public class DatabaseClosedException extends RuntimeException {
+    public DatabaseClosedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,223 @@
+package pl.jakubmiodunka.database.journal;
+
+import pl.jakubmiodunka.database.journal.exceptions.JournalFileException;
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.journal.JournalEntry;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.database.repositories.exceptions.ForbiddenOperationException;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background worker applying entries recorded in write journal to the database.
+ * Entries are applied in order of their sequence numbers, in batches of limited size. Failure of the database
+ * stops the batch and the rest of entries waits for the next flush, while entries, that can not be applied due to
+ * conflict with changes performed meanwhile by someone else, are discarded and reported by the journal.
+ *
+ * @author Jakub Miodunka
+ * */
+public class JournalFlusher {
+    // Journal, which entries are applied
+    private final WriteJournal journal;
+
+    // Repositories, to which entries are applied
+    private final CategoriesRepository categoriesRepository;
+    private final ProductRepository productRepository;
+
+    // Maximal number of entries applied during single flush
+    private final int batchSize;
+
+    // Scheduler of periodic flushes or null if they were not started
+    private volatile ScheduledExecutorService scheduler;
+
+    // Logger instance
+    private final Logger logger;
+
+    /**
+     * @param journal              Journal, which entries should be applied.
+     * @param categoriesRepository Repository, to which category entries should be applied.
+     * @param productRepository    Repository, to which product entries should be applied.
+     * @param batchSize            Maximal number of entries applied during single flush.
+     * */
+    public JournalFlusher(WriteJournal journal, CategoriesRepository categoriesRepository,
+                          ProductRepository productRepository, int batchSize) {
+        // Properties init
+        this.journal = journal;
+        this.categoriesRepository = categoriesRepository;
+        this.productRepository = productRepository;
+        this.batchSize = batchSize;
+        this.scheduler = null;
+        this.logger = LoggerFactory.getLogger(JournalFlusher.class);
+    }
+
+    /**
+     * Applies category entry.
+     * Category with the same name added meanwhile by someone else is not treated as a conflict -
+     * pending products are simply assigned to the already existing category. The same applies to the category
+     * added by this entry, if the program stopped before the entry was removed from the journal,
+     * so replay of the entry never adds the category twice.
+     *
+     * @param  entry                Category entry.
+     * @throws RepositoryException  When database operation fail.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    private void applyCategory(JournalEntry entry) {
+        try {
+            this.categoriesRepository.addNewCategory(entry.getName());
+        } catch (ForbiddenOperationException exception) {
+            this.logger.info("Category '{}' already exists - merging pending entry with it.", entry.getName());
+        }
+
+        // Categories have unique names, so ID assigned by the database can be found using the name
+        List<Category> matchingCategories = this.categoriesRepository.getAllCategories().stream()
+                .filter(category -> category.getName().equals(entry.getName()))
+                .toList();
+
+        if (matchingCategories.isEmpty()) {
+            this.journal.discard(entry, "Category '" + entry.getName() + "' was removed right after its addition.");
+        }
+        else {
+            this.journal.completeCategory(entry, matchingCategories.get(0).getId());
+        }
+    }
+
+    /**
+     * Applies product entry.
+     * Product is added along with the key of the entry, so entry, which was already applied before the program
+     * stopped, is only removed from the journal instead of adding the product again.
+     *
+     * @param  entry                Product entry.
+     * @throws RepositoryException  When database operation fail.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    private void applyProduct(JournalEntry entry) {
+        if (this.productRepository.isAddedFromJournal(entry.getKey())) {
+            this.logger.info("Product '{}' was already added from journal entry {}.", entry.getName(),
+                    entry.getSequence());
+            this.journal.complete(entry);
+            return;
+        }
+
+        try {
+            this.productRepository.addNewProduct(entry.getName(), entry.getCategoryId(), entry.getExpirationDate(),
+                    entry.getKey());
+        } catch (ForbiddenOperationException exception) {
+            this.journal.discard(entry, "Category '" + entry.getCategoryName() + "' of product '" + entry.getName() +
+                    "' no longer exists.");
+            return;
+        }
+
+        this.journal.complete(entry);
+    }
+
+    /**
+     * Applies pending entries to the database.
+     *
+     * @return                      Number of entries removed from the journal (applied or discarded).
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    public synchronized int flush() {
+        List<JournalEntry> batch = this.journal.getPendingEntries().stream()
+                .limit(this.batchSize)
+                .toList();
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        this.logger.info("Applying {} journal entries to the database...", batch.size());
+
+        int processedEntries = 0;
+
+        for (JournalEntry batchEntry: batch) {
+            // Product entries are replaced once their category is applied, so current version of each entry is used
+            JournalEntry entry = this.journal.getPendingEntry(batchEntry.getSequence());
+
+            if (entry == null) {
+                continue;
+            }
+
+            try {
+                switch (entry.getOperation()) {
+                    case ADD_CATEGORY -> this.applyCategory(entry);
+                    case ADD_PRODUCT -> this.applyProduct(entry);
+                }
+            } catch (RepositoryException exception) {
+                this.logger.warn("Database not available - {} journal entries left pending.",
+                        this.journal.getPendingEntriesQuantity());
+                break;
+            }
+
+            processedEntries++;
+        }
+
+        this.logger.info("{} journal entries processed.", processedEntries);
+        return processedEntries;
+    }
+
+    /**
+     * Starts periodic flushing in background daemon thread.
+     * Does nothing if flushing was already started.
+     *
+     * @param intervalSeconds Interval between consecutive flushes.
+     * @param onProcessed     Action performed after each flush, that removed any entries from the journal.
+     * */
+    public void start(int intervalSeconds, Runnable onProcessed) {
+        ScheduledExecutorService scheduler;
+
+        synchronized (this) {
+            if (this.scheduler != null) {
+                return;
+            }
+
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler = scheduler;
+        }
+
+        // Exceptions are caught, as they would cancel further executions
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                if (this.flush() > 0) {
+                    onProcessed.run();
+                }
+            } catch (JournalFileException exception) {
+                this.logger.error("Failed to update journal file.", exception);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops periodic flushing and waits until flush in progress (if any) is completed, so no entry is left
+     * half-applied. Entries not applied yet stay in the journal until the next start of the program.
+     *
+     * @param timeoutMillis Maximal time of waiting in milliseconds.
+     * */
+    public void stop(long timeoutMillis) {
+        ScheduledExecutorService scheduler = this.scheduler;
+
+        if (scheduler == null) {
+            return;
+        }
+
+        scheduler.shutdown();
+
+        try {
+            if (!scheduler.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                this.logger.warn("Journal flush not completed in {} ms.", timeoutMillis);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package pl.jakubmiodunka.database.journal;
+
+import pl.jakubmiodunka.database.journal.exceptions.JournalFileException;
+import pl.jakubmiodunka.database.journal.interfaces.JournalListener;
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.database.models.journal.JournalEntry;
+import pl.jakubmiodunka.database.models.journal.JournalOperation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Durable journal of write operations performed using GUI, that were not yet applied to the database.
+ * Each entry is appended to the journal file and synchronised with the disk before the write is considered as done,
+ * so pending writes survive program crash and are replayed after restart.
+ * Applied entries are removed from the journal by rewriting the whole file - journal is expected to stay small.
+ *
+ * @author Jakub Miodunka
+ * */
+public class WriteJournal {
+    // Location of the journal file
+    private final Path file;
+
+    // Entries not yet applied to the database in order of their sequence numbers
+    private final List<JournalEntry> pendingEntries;
+
+    // Sequence number, that will be assigned to the next entry
+    private long nextSequence;
+
+    // Number of entries discarded due to conflicts since program startup
+    private int conflicts;
+
+    // Counter incremented on each change of pending entries - allows panels to detect, if they are up-to-date
+    private long revision;
+
+    // Listeners notified about changes of the journal state
+    private final List<JournalListener> listeners;
+
+    // Logger instance
+    private final Logger logger;
+
+    /**
+     * Opens the journal stored in given file - entries already stored in it are treated as pending ones.
+     * Record partially written due to the crash is dropped.
+     *
+     * @param  file                 Journal file. Created with first entry if it does not exist.
+     * @throws JournalFileException When reading of existing journal file fail.
+     * */
+    public WriteJournal(Path file) {
+        // Properties init
+        this.file = file.toAbsolutePath();
+        this.pendingEntries = new ArrayList<>();
+        this.nextSequence = 1;
+        this.conflicts = 0;
+        this.revision = 0;
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.logger = LoggerFactory.getLogger(WriteJournal.class);
+
+        // Loading already stored entries
+        if (Files.exists(this.file)) {
+            this.load();
+        }
+    }
+
+    /**
+     * Loads entries stored in journal file.
+     *
+     * @throws JournalFileException When reading of the journal file fail.
+     * */
+    private void load() {
+        this.logger.debug("Loading pending entries from '{}' journal file...", this.file);
+
+        boolean truncated = false;
+
+        try (DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(this.file)))) {
+            while (inputStream.available() > 0) {
+                try {
+                    this.pendingEntries.add(readEntry(inputStream));
+                } catch (EOFException exception) {
+                    truncated = true;
+                    break;
+                }
+            }
+
+        } catch (IOException | IllegalArgumentException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to load '" + this.file + "' journal file.";
+            throw new JournalFileException(errorMessage, exception);
+        }
+
+        if (!this.pendingEntries.isEmpty()) {
+            this.nextSequence = this.pendingEntries.get(this.pendingEntries.size() - 1).getSequence() + 1;
+        }
+
+        // Removing partially written record, so further entries can be appended
+        if (truncated) {
+            this.logger.warn("Partially written entry found at the end of journal file - dropping it.");
+            this.persist();
+        }
+
+        this.logger.info("{} pending entries loaded from journal file.", this.pendingEntries.size());
+    }
+
+    /**
+     * Decodes single entry.
+     *
+     * @param  inputStream Stream, from which entry should be read.
+     * @return             Decoded entry.
+     * @throws IOException When reading from the stream fail.
+     * */
+    private static JournalEntry readEntry(DataInputStream inputStream) throws IOException {
+        long sequence = inputStream.readLong();
+        String key = inputStream.readUTF();
+        JournalOperation operation = JournalOperation.valueOf(inputStream.readUTF());
+        String name = inputStream.readUTF();
+        long categoryId = inputStream.readLong();
+        String categoryName = inputStream.readUTF();
+        long expirationEpochDay = inputStream.readLong();
+        LocalDate expirationDate = (expirationEpochDay == Long.MIN_VALUE) ? null : LocalDate.ofEpochDay(expirationEpochDay);
+
+        return new JournalEntry(sequence, key, operation, name, categoryId, categoryName, expirationDate);
+    }
+
+    /**
+     * Encodes single entry.
+     *
+     * @param  entry Entry to be encoded.
+     * @return       Encoded entry.
+     * */
+    private static byte[] encodeEntry(JournalEntry entry) {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream outputStream = new DataOutputStream(byteStream)) {
+            outputStream.writeLong(entry.getSequence());
+            outputStream.writeUTF(entry.getKey());
+            outputStream.writeUTF(entry.getOperation().name());
+            outputStream.writeUTF(entry.getName());
+            outputStream.writeLong(entry.getCategoryId());
+            outputStream.writeUTF(entry.getCategoryName());
+            outputStream.writeLong(entry.getExpirationDate() == null ?
+                    Long.MIN_VALUE : entry.getExpirationDate().toEpochDay());
+
+        } catch (IOException exception) {
+            throw new JournalFileException("Failed to encode journal entry.", exception);    // Should not be possible
+        }
+
+        return byteStream.toByteArray();
+    }
+
+    /**
+     * Appends given entry to the journal file and waits until it is stored on the disk.
+     *
+     * @param  entry                Entry to be appended.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    private void append(JournalEntry entry) {
+        try {
+            Files.createDirectories(this.file.getParent());
+
+            try (FileOutputStream outputStream = new FileOutputStream(this.file.toFile(), true)) {
+                outputStream.write(encodeEntry(entry));
+                outputStream.getFD().sync();
+            }
+
+        } catch (IOException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to append entry to '" + this.file + "' journal file.";
+            throw new JournalFileException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * Replaces content of the journal file with currently pending entries.
+     *
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    private void persist() {
+        try {
+            Files.createDirectories(this.file.getParent());
+            Path temporaryFile = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(), ".tmp");
+
+            try (FileOutputStream outputStream = new FileOutputStream(temporaryFile.toFile())) {
+                for (JournalEntry entry: this.pendingEntries) {
+                    outputStream.write(encodeEntry(entry));
+                }
+                outputStream.getFD().sync();
+            }
+
+            Files.move(temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to rewrite '" + this.file + "' journal file.";
+            throw new JournalFileException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * Notifies listeners about changed set of pending entries.
+     * */
+    private void notifyListeners() {
+        this.revision++;
+
+        for (JournalListener listener: this.listeners) {
+            listener.journalChanged(this.pendingEntries.size(), this.conflicts);
+        }
+    }
+
+    /**
+     * Records addition of new product category.
+     *
+     * @param  categoryName         Name of new category.
+     * @return                      Recorded entry.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    public synchronized JournalEntry addCategory(String categoryName) {
+        JournalEntry entry = new JournalEntry(this.nextSequence, UUID.randomUUID().toString(),
+                JournalOperation.ADD_CATEGORY, categoryName, 0, "", null);
+
+        this.append(entry);
+        this.nextSequence++;
+        this.pendingEntries.add(entry);
+
+        this.logger.info("Addition of '{}' category recorded in journal.", categoryName);
+        this.notifyListeners();
+
+        return entry;
+    }
+
+    /**
+     * Records addition of new product.
+     *
+     * @param  productName          Name of new product.
+     * @param  categoryId           ID of category, to which product belongs to - negative for pending categories.
+     * @param  categoryName         Name of category, to which product belongs to.
+     * @param  expirationDate       Product expiration date.
+     * @return                      Recorded entry.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    public synchronized JournalEntry addProduct(String productName, long categoryId, String categoryName,
+                                                LocalDate expirationDate) {
+        JournalEntry entry = new JournalEntry(this.nextSequence, UUID.randomUUID().toString(),
+                JournalOperation.ADD_PRODUCT, productName, categoryId, categoryName, expirationDate);
+
+        this.append(entry);
+        this.nextSequence++;
+        this.pendingEntries.add(entry);
+
+        this.logger.info("Addition of '{}' product recorded in journal.", productName);
+        this.notifyListeners();
+
+        return entry;
+    }
+
+    /**
+     * Removes pending entry with the same sequence number as given one.
+     * Entries are identified by sequence numbers, as product entries are replaced once their category is applied.
+     *
+     * @param  entry Entry to be removed.
+     * @return       True if entry was pending, false otherwise.
+     * */
+    private boolean removePendingEntry(JournalEntry entry) {
+        return this.pendingEntries.removeIf(pendingEntry -> pendingEntry.getSequence() == entry.getSequence());
+    }
+
+    /**
+     * Removes given entry from the journal after it was applied to the database.
+     * Does nothing if entry is no longer pending.
+     *
+     * @param  entry                Applied entry.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    public synchronized void complete(JournalEntry entry) {
+        if (!this.removePendingEntry(entry)) {
+            return;
+        }
+
+        this.persist();
+        this.notifyListeners();
+    }
+
+    /**
+     * Removes given category entry from the journal after it was applied to the database.
+     * References to the pending category in product entries are replaced with given ID.
+     * Does nothing if entry is no longer pending.
+     *
+     * @param  entry                Applied category entry.
+     * @param  categoryId           ID assigned to the category by the database.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    public synchronized void completeCategory(JournalEntry entry, long categoryId) {
+        if (!this.removePendingEntry(entry)) {
+            return;
+        }
+
+        this.pendingEntries.replaceAll(pendingEntry -> (pendingEntry.getCategoryId() != entry.getPendingId()) ?
+                pendingEntry :
+                new JournalEntry(pendingEntry.getSequence(), pendingEntry.getKey(), pendingEntry.getOperation(),
+                        pendingEntry.getName(), categoryId, pendingEntry.getCategoryName(),
+                        pendingEntry.getExpirationDate()));
+
+        this.persist();
+        this.notifyListeners();
+    }
+
+    /**
+     * Removes given entry from the journal as it can not be applied to the database due to the conflict.
+     * Does nothing if entry is no longer pending.
+     *
+     * @param  entry                Conflicting entry.
+     * @param  reason               Description of the conflict.
+     * @throws JournalFileException When writing to the journal file fail.
+     * */
+    public synchronized void discard(JournalEntry entry, String reason) {
+        if (!this.removePendingEntry(entry)) {
+            return;
+        }
+
+        this.logger.warn("Journal entry {} discarded due to conflict: {}", entry.getSequence(), reason);
+
+        this.conflicts++;
+        this.persist();
+
+        for (JournalListener listener: this.listeners) {
+            listener.conflictDetected(entry, reason);
+        }
+
+        this.notifyListeners();
+    }
+
+    /**
+     * @param  sequence Sequence number of the entry.
+     * @return          Current version of pending entry with given sequence number or null if it is no longer pending.
+     * */
+    public synchronized JournalEntry getPendingEntry(long sequence) {
+        return this.pendingEntries.stream()
+                .filter(entry -> entry.getSequence() == sequence)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * @return Copy of entries not yet applied to the database in order of their sequence numbers.
+     * */
+    public synchronized List<JournalEntry> getPendingEntries() {
+        return new ArrayList<>(this.pendingEntries);
+    }
+
+    /**
+     * @return Product categories not yet applied to the database, identified by negative pending IDs.
+     * */
+    public synchronized List<Category> getPendingCategories() {
+        return this.pendingEntries.stream()
+                .filter(entry -> entry.getOperation() == JournalOperation.ADD_CATEGORY)
+                .map(entry -> new Category(entry.getPendingId(), entry.getName()))
+                .toList();
+    }
+
+    /**
+     * @return Products not yet applied to the database, identified by negative pending IDs.
+     * */
+    public synchronized List<Product> getPendingProducts() {
+        return this.pendingEntries.stream()
+                .filter(entry -> entry.getOperation() == JournalOperation.ADD_PRODUCT)
+                .map(entry -> new Product(entry.getPendingId(), entry.getName(), entry.getCategoryId(),
+                        entry.getCategoryName(), entry.getExpirationDate()))
+                .toList();
+    }
+
+    /**
+     * @return Number of entries not yet applied to the database.
+     * */
+    public synchronized int getPendingEntriesQuantity() {
+        return this.pendingEntries.size();
+    }
+
+    /**
+     * @return Number of entries discarded due to conflicts since program startup.
+     * */
+    public synchronized int getConflictsQuantity() {
+        return this.conflicts;
+    }
+
+    /**
+     * @return Counter incremented on each change of pending entries.
+     * */
+    public synchronized long getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * Registers given listener - it will be notified about each change of the journal state.
+     *
+     * @param listener Listener to be registered.
+     * */
+    public void addListener(JournalListener listener) {
+        this.listeners.add(listener);
+    }
+}
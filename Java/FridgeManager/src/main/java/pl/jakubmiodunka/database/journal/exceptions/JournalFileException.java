@@ -0,0 +1,16 @@
+package pl.jakubmiodunka.database.journal.exceptions;
+
+/**
+ * Exception thrown when reading or writing of write journal file fail.
+ *
+ * @author Jakub Miodunka
+ * */
+public class JournalFileException extends RuntimeException {
+    public JournalFileException(String message) {
+        super(message);
+    }
+
+    public JournalFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
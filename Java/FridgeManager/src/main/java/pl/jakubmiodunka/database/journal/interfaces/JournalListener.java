@@ -0,0 +1,28 @@
+package pl.jakubmiodunka.database.journal.interfaces;
+
+import pl.jakubmiodunka.database.models.journal.JournalEntry;
+
+/**
+ * Interface related with observing the state of write journal.
+ * Methods are called from the thread modifying the journal, so implementations touching the GUI
+ * should pass the work to event dispatch thread.
+ *
+ * @author Jakub Miodunka
+ */
+public interface JournalListener {
+    /**
+     * Called each time, when set of pending entries changed.
+     *
+     * @param pendingEntries Number of entries not yet applied to the database.
+     * @param conflicts      Number of entries discarded due to conflicts since program startup.
+     */
+    void journalChanged(int pendingEntries, int conflicts);
+
+    /**
+     * Called when entry could not be applied to the database due to conflict and was discarded.
+     *
+     * @param entry  Discarded entry.
+     * @param reason Description of the conflict.
+     */
+    void conflictDetected(JournalEntry entry, String reason);
+}
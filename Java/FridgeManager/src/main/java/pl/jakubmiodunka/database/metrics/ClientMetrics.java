@@ -0,0 +1,173 @@
+package pl.jakubmiodunka.database.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of statistics of queries executed by database client - statistics of each repository operation
+ * and of established connections.
+ * Once published, statistics are available as MXBeans under 'pl.jakubmiodunka.fridgemanager' domain,
+ * so they can be watched using standard JVM tooling (ex. JConsole or VisualVM). Statistics of operations performed
+ * for the first time after publication are published as soon as they are created.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ClientMetrics {
+    // Domain of published MXBeans
+    private static final String DOMAIN = "pl.jakubmiodunka.fridgemanager";
+
+    // Statistics of repository operations by their names
+    private final Map<String, OperationMetrics> operations;
+
+    // Statistics of established connections
+    private final ConnectionMetrics connections;
+
+    // Server, where statistics are published, or null if they are not published
+    private volatile MBeanServer mBeanServer;
+
+    // Internally used logger
+    private final Logger logger;
+
+    public ClientMetrics() {
+        // Properties init
+        this.operations = new ConcurrentHashMap<>();
+        this.connections = new ConnectionMetrics();
+        this.mBeanServer = null;
+        this.logger = LoggerFactory.getLogger(ClientMetrics.class);
+    }
+
+    /**
+     * Publishes all statistics in platform MBean server.
+     * Failures are only logged, as the statistics are not essential for the program.
+     * */
+    public synchronized void publish() {
+        if (this.mBeanServer != null) {
+            return;
+        }
+
+        this.logger.debug("Publishing query statistics as MXBeans in '{}' domain...", DOMAIN);
+        this.mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        this.register(this.connections, DOMAIN + ":type=Connections");
+
+        for (OperationMetrics operationMetrics: this.operations.values()) {
+            this.registerOperation(operationMetrics);
+        }
+    }
+
+    /**
+     * Removes all statistics from MBean server, in which they were published.
+     * Statistics are still collected and can be published again.
+     * */
+    public synchronized void unpublish() {
+        if (this.mBeanServer == null) {
+            return;
+        }
+
+        this.logger.debug("Removing query statistics MXBeans from '{}' domain...", DOMAIN);
+
+        this.unregister(DOMAIN + ":type=Connections");
+
+        for (OperationMetrics operationMetrics: this.operations.values()) {
+            this.unregister(DOMAIN + ":type=Operations,name=" + ObjectName.quote(operationMetrics.getOperation()));
+        }
+
+        this.mBeanServer = null;
+    }
+
+    /**
+     * @param  operation Name of the repository operation in 'Repository.method' form.
+     * @return           Statistics of given operation - created and published if they did not exist yet.
+     * */
+    public OperationMetrics getOperation(String operation) {
+        OperationMetrics operationMetrics = this.operations.get(operation);
+
+        // Statistics created by another thread meanwhile are not replaced
+        if (operationMetrics == null) {
+            OperationMetrics newOperationMetrics = new OperationMetrics(operation);
+            operationMetrics = this.operations.putIfAbsent(operation, newOperationMetrics);
+
+            if (operationMetrics == null) {
+                operationMetrics = newOperationMetrics;
+
+                synchronized (this) {
+                    if (this.mBeanServer != null) {
+                        this.registerOperation(operationMetrics);
+                    }
+                }
+            }
+        }
+
+        return operationMetrics;
+    }
+
+    /**
+     * @return Statistics of all operations performed so far.
+     * */
+    public List<OperationMetrics> getOperations() {
+        return List.copyOf(this.operations.values());
+    }
+
+    /**
+     * @return Statistics of established connections.
+     * */
+    public ConnectionMetrics getConnections() {
+        return this.connections;
+    }
+
+    /**
+     * Publishes statistics of given operation.
+     *
+     * @param operationMetrics Published statistics.
+     * */
+    private void registerOperation(OperationMetrics operationMetrics) {
+        this.register(operationMetrics,
+                DOMAIN + ":type=Operations,name=" + ObjectName.quote(operationMetrics.getOperation()));
+    }
+
+    /**
+     * Publishes given MXBean under given name.
+     *
+     * @param mxBean Published MXBean.
+     * @param name   Name of the MXBean.
+     * */
+    private void register(Object mxBean, String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+
+            // Operation created concurrently with the publication could be already published
+            if (this.mBeanServer.isRegistered(objectName)) {
+                return;
+            }
+
+            this.mBeanServer.registerMBean(mxBean, objectName);
+            this.logger.debug("Published '{}' MXBean.", name);
+        } catch (JMException exception) {
+            this.logger.warn("Failed to publish '{}' MXBean.", name, exception);
+        }
+    }
+
+    /**
+     * Removes MXBean published under given name.
+     *
+     * @param name Name of the MXBean.
+     * */
+    private void unregister(String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+
+            if (this.mBeanServer.isRegistered(objectName)) {
+                this.mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException exception) {
+            this.logger.warn("Failed to remove '{}' MXBean.", name, exception);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package pl.jakubmiodunka.database.metrics;
+
+import pl.jakubmiodunka.database.metrics.interfaces.ConnectionMetricsMXBean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of connections established by database client.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ConnectionMetrics implements ConnectionMetricsMXBean {
+    // Distribution of times of establishing the connection in microseconds
+    private final Histogram connectTimeMicros;
+
+    // Counter of failed connection attempts
+    private final AtomicLong failures;
+
+    public ConnectionMetrics() {
+        // Properties init
+        this.connectTimeMicros = new Histogram();
+        this.failures = new AtomicLong();
+    }
+
+    /**
+     * Records established connection.
+     *
+     * @param connectTimeNanos Time of establishing the connection.
+     * */
+    public void recordConnection(long connectTimeNanos) {
+        this.connectTimeMicros.record(TimeUnit.NANOSECONDS.toMicros(connectTimeNanos));
+    }
+
+    /**
+     * Records failed connection attempt.
+     * */
+    public void recordFailure() {
+        this.failures.incrementAndGet();
+    }
+
+    @Override
+    public long getConnections() {
+        return this.connectTimeMicros.getCount();
+    }
+
+    @Override
+    public long getConnectionFailures() {
+        return this.failures.get();
+    }
+
+    @Override
+    public double getConnectTimeP50Millis() {
+        return this.connectTimeMicros.getPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getConnectTimeP99Millis() {
+        return this.connectTimeMicros.getPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getConnectTimeMaxMillis() {
+        return this.connectTimeMicros.getMax() / 1e3;
+    }
+}
@@ -0,0 +1,127 @@
+package pl.jakubmiodunka.database.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non-negative values, that allows estimating their percentiles.
+ * Values are counted in buckets growing exponentially - each power of two is split into four buckets,
+ * so estimated percentile differs from the real one by less than 25%, while the histogram occupies constant memory
+ * regardless of the number of recorded values.
+ *
+ * @author Jakub Miodunka
+ * */
+public class Histogram {
+    // Number of buckets covering all non-negative long values
+    private static final int BUCKETS_QUANTITY = bucketIndex(Long.MAX_VALUE) + 1;
+
+    // Number of values recorded in each bucket
+    private final AtomicLongArray buckets;
+
+    // Number of recorded values along with their sum and maximum
+    private final AtomicLong count;
+    private final AtomicLong sum;
+    private final AtomicLong max;
+
+    public Histogram() {
+        // Properties init
+        this.buckets = new AtomicLongArray(BUCKETS_QUANTITY);
+        this.count = new AtomicLong();
+        this.sum = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * @param  value Non-negative value.
+     * @return       Index of bucket, where given value is counted.
+     * */
+    private static int bucketIndex(long value) {
+        // The smallest values have their own buckets
+        if (value < 4) {
+            return (int) value;
+        }
+
+        // Bucket is chosen by the most significant bit and two bits following it
+        int mostSignificantBit = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (mostSignificantBit - 2)) & 3);
+
+        return (mostSignificantBit - 1) * 4 + subBucket;
+    }
+
+    /**
+     * @param  index Index of the bucket.
+     * @return       The highest value counted in given bucket.
+     * */
+    private static long bucketUpperBound(int index) {
+        if (index < 4) {
+            return index;
+        }
+
+        int mostSignificantBit = index / 4 + 1;
+        long subBucket = index % 4;
+
+        return ((4 + subBucket + 1) << (mostSignificantBit - 2)) - 1;
+    }
+
+    /**
+     * Records given value - negative values are recorded as 0.
+     *
+     * @param value Recorded value.
+     * */
+    public void record(long value) {
+        long recordedValue = Math.max(0, value);
+
+        this.buckets.incrementAndGet(bucketIndex(recordedValue));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(recordedValue);
+        this.max.accumulateAndGet(recordedValue, Math::max);
+    }
+
+    /**
+     * @param  percentile Percentile from range [0, 100].
+     * @return            Estimate of given percentile of recorded values or 0 if nothing was recorded.
+     * */
+    public long getPercentile(double percentile) {
+        long recordedQuantity = this.count.get();
+
+        if (recordedQuantity == 0) {
+            return 0;
+        }
+
+        // Number of values, that should not be greater than the percentile
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recordedQuantity));
+        long countedQuantity = 0;
+
+        for (int index = 0; index < BUCKETS_QUANTITY; index++) {
+            countedQuantity += this.buckets.get(index);
+
+            if (countedQuantity >= rank) {
+                return Math.min(bucketUpperBound(index), this.max.get());
+            }
+        }
+
+        // Values recorded concurrently can make the buckets temporarily inconsistent with the count
+        return this.max.get();
+    }
+
+    /**
+     * @return Number of recorded values.
+     * */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * @return Sum of recorded values.
+     * */
+    public long getSum() {
+        return this.sum.get();
+    }
+
+    /**
+     * @return The highest recorded value or 0 if nothing was recorded.
+     * */
+    public long getMax() {
+        return this.max.get();
+    }
+}
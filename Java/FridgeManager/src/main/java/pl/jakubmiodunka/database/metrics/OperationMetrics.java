@@ -0,0 +1,117 @@
+package pl.jakubmiodunka.database.metrics;
+
+import pl.jakubmiodunka.database.metrics.interfaces.OperationMetricsMXBean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of queries performed by single repository operation - latency and rows distributions
+ * along with error counters.
+ *
+ * @author Jakub Miodunka
+ * */
+public class OperationMetrics implements OperationMetricsMXBean {
+    // Name of the operation in 'Repository.method' form
+    private final String operation;
+
+    // Distributions of latencies (in microseconds) and numbers of rows of successful queries
+    private final Histogram latencyMicros;
+    private final Histogram rows;
+
+    // Counters of unsuccessful queries
+    private final AtomicLong errors;
+    private final AtomicLong cancellations;
+
+    /**
+     * @param operation Name of the operation in 'Repository.method' form.
+     * */
+    public OperationMetrics(String operation) {
+        // Properties init
+        this.operation = operation;
+        this.latencyMicros = new Histogram();
+        this.rows = new Histogram();
+        this.errors = new AtomicLong();
+        this.cancellations = new AtomicLong();
+    }
+
+    /**
+     * Records successfully completed query.
+     *
+     * @param latencyNanos Latency of the query.
+     * @param rowsQuantity Number of rows returned or affected by the query.
+     * */
+    public void recordSuccess(long latencyNanos, long rowsQuantity) {
+        this.latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        this.rows.record(rowsQuantity);
+    }
+
+    /**
+     * Records failed query.
+     * */
+    public void recordError() {
+        this.errors.incrementAndGet();
+    }
+
+    /**
+     * Records cancelled query.
+     * */
+    public void recordCancellation() {
+        this.cancellations.incrementAndGet();
+    }
+
+    @Override
+    public String getOperation() {
+        return this.operation;
+    }
+
+    @Override
+    public long getSuccesses() {
+        return this.latencyMicros.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return this.errors.get();
+    }
+
+    @Override
+    public long getCancellations() {
+        return this.cancellations.get();
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return this.latencyMicros.getPercentile(50) / 1e3;
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return this.latencyMicros.getPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return this.latencyMicros.getMax() / 1e3;
+    }
+
+    @Override
+    public long getRowsP50() {
+        return this.rows.getPercentile(50);
+    }
+
+    @Override
+    public long getRowsP99() {
+        return this.rows.getPercentile(99);
+    }
+
+    @Override
+    public long getRowsMax() {
+        return this.rows.getMax();
+    }
+
+    @Override
+    public long getRowsTotal() {
+        return this.rows.getSum();
+    }
+}
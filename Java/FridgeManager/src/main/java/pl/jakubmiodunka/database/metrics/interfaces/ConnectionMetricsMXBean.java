@@ -0,0 +1,34 @@
+package pl.jakubmiodunka.database.metrics.interfaces;
+
+/**
+ * Management interface of statistics of connections established by database client, published over JMX.
+ * Times are given in milliseconds, percentiles are estimated with precision better than 25%.
+ *
+ * @author Jakub Miodunka
+ * */
+public interface ConnectionMetricsMXBean {
+    /**
+     * @return Number of established connections.
+     * */
+    long getConnections();
+
+    /**
+     * @return Number of failed connection attempts.
+     * */
+    long getConnectionFailures();
+
+    /**
+     * @return Median time of establishing the connection.
+     * */
+    double getConnectTimeP50Millis();
+
+    /**
+     * @return 99th percentile of time of establishing the connection.
+     * */
+    double getConnectTimeP99Millis();
+
+    /**
+     * @return Maximal time of establishing the connection.
+     * */
+    double getConnectTimeMaxMillis();
+}
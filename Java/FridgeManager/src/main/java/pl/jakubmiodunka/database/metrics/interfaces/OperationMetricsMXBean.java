@@ -0,0 +1,64 @@
+package pl.jakubmiodunka.database.metrics.interfaces;
+
+/**
+ * Management interface of statistics of single repository operation, published over JMX.
+ * Latencies are given in milliseconds, percentiles are estimated with precision better than 25%.
+ *
+ * @author Jakub Miodunka
+ * */
+public interface OperationMetricsMXBean {
+    /**
+     * @return Name of the operation in 'Repository.method' form.
+     * */
+    String getOperation();
+
+    /**
+     * @return Number of successfully completed queries.
+     * */
+    long getSuccesses();
+
+    /**
+     * @return Number of failed queries.
+     * */
+    long getErrors();
+
+    /**
+     * @return Number of cancelled queries.
+     * */
+    long getCancellations();
+
+    /**
+     * @return Median latency of successful queries.
+     * */
+    double getLatencyP50Millis();
+
+    /**
+     * @return 99th percentile of latency of successful queries.
+     * */
+    double getLatencyP99Millis();
+
+    /**
+     * @return Maximal latency of successful queries.
+     * */
+    double getLatencyMaxMillis();
+
+    /**
+     * @return Median number of rows returned or affected by successful queries.
+     * */
+    long getRowsP50();
+
+    /**
+     * @return 99th percentile of number of rows returned or affected by successful queries.
+     * */
+    long getRowsP99();
+
+    /**
+     * @return Maximal number of rows returned or affected by successful query.
+     * */
+    long getRowsMax();
+
+    /**
+     * @return Total number of rows returned or affected by successful queries.
+     * */
+    long getRowsTotal();
+}
@@ -0,0 +1,80 @@
+package pl.jakubmiodunka.database.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of change log configuration.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ChangeLogConfig {
+    // Maximal number of changes imported during single synchronisation - when exceeded, all records are imported
+    private final int maxImportedChanges;
+
+    // Number of the latest changes of each table, that are kept when the log is pruned
+    private final long retainedChanges;
+
+    // Interval between consecutive prunings of the log
+    private final int pruneIntervalSeconds;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing change log configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public ChangeLogConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "changeLog");
+
+            // Properties init
+            this.maxImportedChanges = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "maxImportedChanges"));
+            this.retainedChanges = Long.parseLong(XmlUtilities.getContentOfNode(rootElement, "retainedChanges"));
+            this.pruneIntervalSeconds = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rootElement, "pruneIntervalSeconds"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create change log configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @param maxImportedChanges   Maximal number of changes imported during single synchronisation.
+     * @param retainedChanges      Number of the latest changes of each table kept when the log is pruned.
+     * @param pruneIntervalSeconds Interval between consecutive prunings of the log.
+     * */
+    public ChangeLogConfig(int maxImportedChanges, long retainedChanges, int pruneIntervalSeconds) {
+        // Properties init
+        this.maxImportedChanges = maxImportedChanges;
+        this.retainedChanges = retainedChanges;
+        this.pruneIntervalSeconds = pruneIntervalSeconds;
+    }
+
+    /**
+     * @return Maximal number of changes imported during single synchronisation - when exceeded,
+     *         all records should be imported instead.
+     * */
+    public int getMaxImportedChanges() {
+        return maxImportedChanges;
+    }
+
+    /**
+     * @return Number of the latest changes of each table, that are kept when the log is pruned.
+     * */
+    public long getRetainedChanges() {
+        return retainedChanges;
+    }
+
+    /**
+     * @return Interval between consecutive prunings of the log.
+     * */
+    public int getPruneIntervalSeconds() {
+        return pruneIntervalSeconds;
+    }
+}
@@ -0,0 +1,79 @@
+package pl.jakubmiodunka.database.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of database client configuration.
+ * Timeouts equal to 0 mean no limit.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ClientConfig {
+    // Query timeouts
+    private final int importTimeoutSeconds;
+    private final int updateTimeoutSeconds;
+    private final int pageImportTimeoutSeconds;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing database client configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public ClientConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "client");
+
+            // Extracting sub-nodes
+            Element queryTimeoutsNode = XmlUtilities.getNode(rootElement, "queryTimeouts");
+
+            // Properties init
+            this.importTimeoutSeconds = Integer.parseInt(XmlUtilities.getContentOfNode(queryTimeoutsNode, "importSeconds"));
+            this.updateTimeoutSeconds = Integer.parseInt(XmlUtilities.getContentOfNode(queryTimeoutsNode, "updateSeconds"));
+            this.pageImportTimeoutSeconds = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(queryTimeoutsNode, "pageImportSeconds"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create database client configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @param importTimeoutSeconds     Default timeout of queries importing the data.
+     * @param updateTimeoutSeconds     Default timeout of queries updating the data.
+     * @param pageImportTimeoutSeconds Timeout of queries importing pages displayed in GUI.
+     * */
+    public ClientConfig(int importTimeoutSeconds, int updateTimeoutSeconds, int pageImportTimeoutSeconds) {
+        // Properties init
+        this.importTimeoutSeconds = importTimeoutSeconds;
+        this.updateTimeoutSeconds = updateTimeoutSeconds;
+        this.pageImportTimeoutSeconds = pageImportTimeoutSeconds;
+    }
+
+    /**
+     * @return Default timeout of queries importing the data.
+     * */
+    public int getImportTimeoutSeconds() {
+        return importTimeoutSeconds;
+    }
+
+    /**
+     * @return Default timeout of queries updating the data.
+     * */
+    public int getUpdateTimeoutSeconds() {
+        return updateTimeoutSeconds;
+    }
+
+    /**
+     * @return Timeout of queries importing pages displayed in GUI.
+     * */
+    public int getPageImportTimeoutSeconds() {
+        return pageImportTimeoutSeconds;
+    }
+}
@@ -0,0 +1,75 @@
+package pl.jakubmiodunka.database.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of write journal configuration.
+ *
+ * @author Jakub Miodunka
+ * */
+public class JournalConfig {
+    // Flag indicating, if writes performed using GUI should go through the journal
+    private final boolean enabled;
+
+    // Location of the journal file
+    private final Path file;
+
+    // Parameters of journal flushing
+    private final int flushIntervalSeconds;
+    private final int batchSize;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing write journal configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public JournalConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "journal");
+
+            // Properties init
+            this.enabled = Boolean.parseBoolean(XmlUtilities.getContentOfNode(rootElement, "enabled"));
+            this.file = Path.of(XmlUtilities.getContentOfNode(rootElement, "file"));
+            this.flushIntervalSeconds = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "flushIntervalSeconds"));
+            this.batchSize = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "batchSize"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create write journal configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @return True if write-behind mode is enabled, false otherwise.
+     * */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Location of the journal file.
+     * */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Interval between attempts of applying pending entries to the database.
+     * */
+    public int getFlushIntervalSeconds() {
+        return flushIntervalSeconds;
+    }
+
+    /**
+     * @return Maximal number of entries applied during single flush.
+     * */
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
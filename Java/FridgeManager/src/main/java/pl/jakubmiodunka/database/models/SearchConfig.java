@@ -0,0 +1,46 @@
+package pl.jakubmiodunka.database.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of product search configuration.
+ *
+ * @author Jakub Miodunka
+ * */
+public class SearchConfig {
+    // Interval between periodic refreshes of in-memory snapshot used for search
+    private final int snapshotRefreshIntervalSeconds;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing product search configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public SearchConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "search");
+
+            // Properties init
+            this.snapshotRefreshIntervalSeconds = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rootElement, "snapshotRefreshIntervalSeconds"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create search configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @return Interval between periodic refreshes of in-memory snapshot used for search, which notice changes
+     *         performed by someone else.
+     * */
+    public int getSnapshotRefreshIntervalSeconds() {
+        return snapshotRefreshIntervalSeconds;
+    }
+}
@@ -0,0 +1,100 @@
+package pl.jakubmiodunka.database.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of slow query log configuration.
+ *
+ * @author Jakub Miodunka
+ * */
+public class SlowQueryLogConfig {
+    // Flag indicating, if slow queries should be logged
+    private final boolean enabled;
+
+    // Duration, after which the query is considered slow
+    private final int thresholdMillis;
+
+    // Minimal interval between captures of query plans
+    private final int explainIntervalSeconds;
+
+    // Location of the log file along with parameters of its rotation
+    private final Path file;
+    private final int maxFileSizeKilobytes;
+    private final int rotatedFilesQuantity;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing slow query log configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public SlowQueryLogConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "slowQueryLog");
+
+            // Extracting sub-nodes
+            Element rotationNode = XmlUtilities.getNode(rootElement, "rotation");
+
+            // Properties init
+            this.enabled = Boolean.parseBoolean(XmlUtilities.getContentOfNode(rootElement, "enabled"));
+            this.thresholdMillis = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "thresholdMillis"));
+            this.explainIntervalSeconds = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rootElement, "explainIntervalSeconds"));
+            this.file = Path.of(XmlUtilities.getContentOfNode(rootElement, "file"));
+            this.maxFileSizeKilobytes = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rotationNode, "maxFileSizeKilobytes"));
+            this.rotatedFilesQuantity = Integer.parseInt(XmlUtilities.getContentOfNode(rotationNode, "rotatedFiles"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create slow query log configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @return True if slow queries should be logged, false otherwise.
+     * */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Duration, after which the query is considered slow.
+     * */
+    public int getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    /**
+     * @return Minimal interval between captures of query plans.
+     * */
+    public int getExplainIntervalSeconds() {
+        return explainIntervalSeconds;
+    }
+
+    /**
+     * @return Location of the log file.
+     * */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Size of the log file, after which it is rotated.
+     * */
+    public int getMaxFileSizeKilobytes() {
+        return maxFileSizeKilobytes;
+    }
+
+    /**
+     * @return Number of rotated log files kept along with the current one.
+     * */
+    public int getRotatedFilesQuantity() {
+        return rotatedFilesQuantity;
+    }
+}
@@ -0,0 +1,65 @@
+package pl.jakubmiodunka.database.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of local snapshot configuration.
+ *
+ * @author Jakub Miodunka
+ * */
+public class SnapshotConfig {
+    // Location of the snapshot file
+    private final Path file;
+
+    // Intervals of background activities
+    private final int saveIntervalSeconds;
+    private final int reconnectIntervalSeconds;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing local snapshot configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public SnapshotConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "snapshot");
+
+            // Properties init
+            this.file = Path.of(XmlUtilities.getContentOfNode(rootElement, "file"));
+            this.saveIntervalSeconds = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "saveIntervalSeconds"));
+            this.reconnectIntervalSeconds = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rootElement, "reconnectIntervalSeconds"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create snapshot configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @return Location of the snapshot file.
+     * */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return Interval between checks if snapshot file should be updated.
+     * */
+    public int getSaveIntervalSeconds() {
+        return saveIntervalSeconds;
+    }
+
+    /**
+     * @return Interval between attempts of connecting to the database, when it is not available.
+     * */
+    public int getReconnectIntervalSeconds() {
+        return reconnectIntervalSeconds;
+    }
+}
@@ -0,0 +1,46 @@
+package pl.jakubmiodunka.database.models.changes;
+
+/**
+ * Model of single change log entry imported from database.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ChangeLogEntry {
+    // Imported column values arranged as properties
+    private final long version;
+    private final long recordId;
+    private final ChangeOperation operation;
+
+    /**
+     * @param version   Change version - monotonically increasing number assigned to each change.
+     * @param recordId  ID of changed record.
+     * @param operation Type of performed operation.
+     * */
+    public ChangeLogEntry(long version, long recordId, ChangeOperation operation) {
+        // Properties init
+        this.version = version;
+        this.recordId = recordId;
+        this.operation = operation;
+    }
+
+    /**
+     * @return Change version - monotonically increasing number assigned to each change.
+     * */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return ID of changed record.
+     * */
+    public long getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * @return Type of performed operation.
+     * */
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+}
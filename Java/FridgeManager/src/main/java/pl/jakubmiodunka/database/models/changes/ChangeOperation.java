@@ -0,0 +1,12 @@
+package pl.jakubmiodunka.database.models.changes;
+
+/**
+ * Types of operations, that can be recorded in the change log.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum ChangeOperation {
+    INSERT,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,154 @@
+package pl.jakubmiodunka.database.models.changes;
+
+import pl.jakubmiodunka.database.models.content.Category;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set of changes performed on records stored in particular table since given version.
+ * Only the final state of each changed record is included - if record was inserted and then deleted,
+ * it will be reported only as deleted one.
+ * When changes can not be provided incrementally (those since given version were already pruned from the change log
+ * or there are too many of them), set does not contain any records, but indicates, that all records should be
+ * imported again.
+ *
+ * @param <T> Type of record models.
+ * @author Jakub Miodunka
+ * */
+public class ChangeSet<T extends Category> {
+    // Version of the last change included in the set
+    private final long version;
+
+    // Changed records
+    private final List<T> insertedRecords;
+    private final List<T> updatedRecords;
+    private final List<Long> deletedIds;
+
+    // Flag indicating, that changes are not available and all records should be imported again
+    private final boolean reloadRequired;
+
+    /**
+     * @param version         Version of the last change included in the set.
+     * @param insertedRecords Records inserted since requested version.
+     * @param updatedRecords  Records updated since requested version.
+     * @param deletedIds      IDs of records deleted since requested version.
+     * */
+    public ChangeSet(long version, List<T> insertedRecords, List<T> updatedRecords, List<Long> deletedIds) {
+        // Properties init
+        this.version = version;
+        this.insertedRecords = insertedRecords;
+        this.updatedRecords = updatedRecords;
+        this.deletedIds = deletedIds;
+        this.reloadRequired = false;
+    }
+
+    /**
+     * @param version Version, since which changes were requested.
+     * */
+    private ChangeSet(long version) {
+        // Properties init
+        this.version = version;
+        this.insertedRecords = List.of();
+        this.updatedRecords = List.of();
+        this.deletedIds = List.of();
+        this.reloadRequired = true;
+    }
+
+    /**
+     * @param  version Version, since which changes were requested.
+     * @return         Set indicating, that changes since given version are not available
+     *                 and all records should be imported again.
+     * @param  <T>     Type of record models.
+     * */
+    public static <T extends Category> ChangeSet<T> reloadRequired(long version) {
+        return new ChangeSet<>(version);
+    }
+
+    /**
+     * @return Version of the last change included in the set.
+     *         Should be used as a starting point of next synchronisation.
+     * */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Records inserted since requested version.
+     * */
+    public List<T> getInsertedRecords() {
+        return insertedRecords;
+    }
+
+    /**
+     * @return Records updated since requested version.
+     * */
+    public List<T> getUpdatedRecords() {
+        return updatedRecords;
+    }
+
+    /**
+     * @return IDs of records deleted since requested version.
+     * */
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    /**
+     * @return True if changes are not available and all records should be imported again - in this case
+     *         the version of the set should not be used as a starting point of next synchronisation.
+     * */
+    public boolean isReloadRequired() {
+        return reloadRequired;
+    }
+
+    /**
+     * @return True if set does not contain any changes.
+     * */
+    public boolean isEmpty() {
+        return !reloadRequired && insertedRecords.isEmpty() && updatedRecords.isEmpty() && deletedIds.isEmpty();
+    }
+
+    /**
+     * Applies the changes to given, locally stored list of records.
+     * Deleted records are removed, updated ones are replaced in place and inserted ones are appended at the end.
+     *
+     * @param  records               List of records, which state correspond to the version, from which the changes
+     *                               were requested.
+     * @throws IllegalStateException When changes are not available and all records should be imported again.
+     * */
+    public void applyTo(List<T> records) {
+        if (this.reloadRequired) {
+            throw new IllegalStateException("Changes not available - all records should be imported again.");
+        }
+
+        // Removing deleted records
+        if (!this.deletedIds.isEmpty()) {
+            Set<Long> deletedIds = new HashSet<>(this.deletedIds);
+            records.removeIf(record -> deletedIds.contains(record.getId()));
+        }
+
+        // Replacing updated records - inserted records already present in the list are treated in the same way
+        Map<Long, T> replacements = new HashMap<>();
+        this.updatedRecords.forEach(record -> replacements.put(record.getId(), record));
+        this.insertedRecords.forEach(record -> replacements.put(record.getId(), record));
+
+        for (int index = 0; index < records.size() && !replacements.isEmpty(); index++) {
+            T replacement = replacements.remove(records.get(index).getId());
+
+            if (replacement != null) {
+                records.set(index, replacement);
+            }
+        }
+
+        // Appending inserted records
+        for (T record: this.insertedRecords) {
+            if (replacements.containsKey(record.getId())) {
+                records.add(record);
+            }
+        }
+    }
+}
@@ -10,24 +10,34 @@ import java.time.LocalDate;
  */
 public class Product extends Category {
     // Imported column values arranged as properties
+    private final long categoryId;
     private final String category;
     private final LocalDate expirationDate;
 
     /**
      * @param id             Product ID.
      * @param name           Product name.
+     * @param categoryId     ID of category, to which product belongs to.
      * @param category       Name of category, to which product belongs to.
      * @param expirationDate Date of product expiration.
      */
-    public Product(long id, String name, String category, LocalDate expirationDate) {
+    public Product(long id, String name, long categoryId, String category, LocalDate expirationDate) {
         // Parent class contractor call
         super(id, name);
 
         // Further initialization of properties
+        this.categoryId = categoryId;
         this.category = category;
         this.expirationDate = expirationDate;
     }
 
+    /**
+     * @return ID of category, to which product belongs to.
+     */
+    public long getCategoryId() {
+        return categoryId;
+    }
+
     /**
      * @return Name of category, to which product belongs to.
      */
@@ -0,0 +1,31 @@
+package pl.jakubmiodunka.database.models.events;
+
+import pl.jakubmiodunka.database.models.content.Category;
+
+/**
+ * Event published by categories repository after new category was added to the database.
+ *
+ * @author Jakub Miodunka
+ */
+public class CategoryAddedEvent extends RepositoryEvent {
+    // Added category
+    private final Category category;
+
+    /**
+     * @param category Added category along with ID assigned by the database.
+     * */
+    public CategoryAddedEvent(Category category) {
+        // Parent class constructor call
+        super(category.getId());
+
+        // Properties init
+        this.category = category;
+    }
+
+    /**
+     * @return Added category.
+     * */
+    public Category getCategory() {
+        return category;
+    }
+}
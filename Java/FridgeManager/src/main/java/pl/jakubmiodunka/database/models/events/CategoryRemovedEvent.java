@@ -0,0 +1,16 @@
+package pl.jakubmiodunka.database.models.events;
+
+/**
+ * Event published by categories repository after category was removed from the database.
+ *
+ * @author Jakub Miodunka
+ */
+public class CategoryRemovedEvent extends RepositoryEvent {
+    /**
+     * @param categoryId ID of removed category.
+     * */
+    public CategoryRemovedEvent(long categoryId) {
+        // Parent class constructor call
+        super(categoryId);
+    }
+}
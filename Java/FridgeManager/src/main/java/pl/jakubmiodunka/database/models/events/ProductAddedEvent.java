@@ -0,0 +1,31 @@
+package pl.jakubmiodunka.database.models.events;
+
+import pl.jakubmiodunka.database.models.content.Product;
+
+/**
+ * Event published by product repository after new product was added to the database.
+ *
+ * @author Jakub Miodunka
+ */
+public class ProductAddedEvent extends RepositoryEvent {
+    // Added product
+    private final Product product;
+
+    /**
+     * @param product Added product along with ID assigned by the database.
+     * */
+    public ProductAddedEvent(Product product) {
+        // Parent class constructor call
+        super(product.getId());
+
+        // Properties init
+        this.product = product;
+    }
+
+    /**
+     * @return Added product.
+     * */
+    public Product getProduct() {
+        return product;
+    }
+}
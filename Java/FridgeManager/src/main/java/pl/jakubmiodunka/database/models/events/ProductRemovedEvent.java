@@ -0,0 +1,16 @@
+package pl.jakubmiodunka.database.models.events;
+
+/**
+ * Event published by product repository after product was removed from the database.
+ *
+ * @author Jakub Miodunka
+ */
+public class ProductRemovedEvent extends RepositoryEvent {
+    /**
+     * @param productId ID of removed product.
+     * */
+    public ProductRemovedEvent(long productId) {
+        // Parent class constructor call
+        super(productId);
+    }
+}
@@ -0,0 +1,26 @@
+package pl.jakubmiodunka.database.models.events;
+
+/**
+ * Base of events published by repositories after successful change of their content.
+ *
+ * @author Jakub Miodunka
+ */
+public abstract class RepositoryEvent {
+    // ID of changed record
+    protected final long recordId;
+
+    /**
+     * @param recordId ID of changed record.
+     * */
+    protected RepositoryEvent(long recordId) {
+        // Properties init
+        this.recordId = recordId;
+    }
+
+    /**
+     * @return ID of changed record.
+     * */
+    public long getRecordId() {
+        return recordId;
+    }
+}
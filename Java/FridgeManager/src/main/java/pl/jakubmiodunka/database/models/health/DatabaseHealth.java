@@ -0,0 +1,33 @@
+package pl.jakubmiodunka.database.models.health;
+
+/**
+ * Health of the database at particular moment - meant to be reported by health checks and diagnostics.
+ *
+ * @param status                        State of the database.
+ * @param inFlightQueriesQuantity       Number of queries currently in progress.
+ * @param longestInFlightQueryMillis    Time elapsed since the start of the longest running query in progress
+ *                                      in milliseconds - 0 if there are no queries in progress.
+ * @param pendingJournalEntriesQuantity Number of writes recorded in write journal and not applied yet -
+ *                                      0 if write-behind mode is disabled.
+ * @param slowQueriesQuantity           Number of queries, which exceeded the threshold of slow query log -
+ *                                      0 if such queries are not logged.
+ * @param connectionFailuresQuantity    Number of failed attempts to connect to the database.
+ * @author Jakub Miodunka
+ * */
+public record DatabaseHealth(DatabaseStatus status, int inFlightQueriesQuantity, long longestInFlightQueryMillis,
+                             int pendingJournalEntriesQuantity, long slowQueriesQuantity,
+                             long connectionFailuresQuantity) {
+    /**
+     * @return Health of the database, which was not initialised yet.
+     * */
+    public static DatabaseHealth notInitialised() {
+        return new DatabaseHealth(DatabaseStatus.NOT_INITIALISED, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * @return True if content can be served - either from the database or from local snapshot.
+     * */
+    public boolean isAvailable() {
+        return this.status == DatabaseStatus.UP || this.status == DatabaseStatus.DEGRADED;
+    }
+}
@@ -0,0 +1,23 @@
+package pl.jakubmiodunka.database.models.health;
+
+/**
+ * States of the database, as seen by the program.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum DatabaseStatus {
+    // Database was not initialised yet
+    NOT_INITIALISED,
+
+    // Database was reachable during the last connection attempt
+    UP,
+
+    // Database is not reachable, but content is available from local snapshot
+    DEGRADED,
+
+    // Database is not reachable and there is no local snapshot
+    DOWN,
+
+    // Database is closing or was closed - no further queries are executed
+    CLOSED
+}
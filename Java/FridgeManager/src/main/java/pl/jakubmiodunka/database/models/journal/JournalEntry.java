@@ -0,0 +1,100 @@
+package pl.jakubmiodunka.database.models.journal;
+
+import java.time.LocalDate;
+
+/**
+ * Model of single write operation recorded in write journal, that was not yet applied to the database.
+ * Categories added through the journal are referenced by pending products using negative IDs equal to the negated
+ * sequence number of the category entry - those references are replaced with real IDs once category is applied.
+ * Each entry has also a randomly generated key, which is stored along with added product, so replay of the entry
+ * can detect, that it was already applied.
+ *
+ * @author Jakub Miodunka
+ * */
+public class JournalEntry {
+    // Recorded values arranged as properties
+    private final long sequence;
+    private final String key;
+    private final JournalOperation operation;
+    private final String name;
+    private final long categoryId;
+    private final String categoryName;
+    private final LocalDate expirationDate;
+
+    /**
+     * @param sequence       Sequence number of the entry - monotonically increasing number assigned by the journal.
+     * @param key            Unique key of the entry.
+     * @param operation      Type of recorded operation.
+     * @param name           Name of added record.
+     * @param categoryId     ID of product category or 0 for category entries.
+     * @param categoryName   Name of product category or empty string for category entries.
+     * @param expirationDate Product expiration date or null for category entries.
+     * */
+    public JournalEntry(long sequence, String key, JournalOperation operation, String name,
+                        long categoryId, String categoryName, LocalDate expirationDate) {
+        // Properties init
+        this.sequence = sequence;
+        this.key = key;
+        this.operation = operation;
+        this.name = name;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.expirationDate = expirationDate;
+    }
+
+    /**
+     * @return Sequence number of the entry - monotonically increasing number assigned by the journal.
+     * */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return Unique key of the entry.
+     * */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return Type of recorded operation.
+     * */
+    public JournalOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return Name of added record.
+     * */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return ID of product category - negative, when category itself is still pending.
+     * */
+    public long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * @return Name of product category.
+     * */
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * @return Product expiration date.
+     * */
+    public LocalDate getExpirationDate() {
+        return expirationDate;
+    }
+
+    /**
+     * @return ID under which the pending record is presented until it is applied to the database.
+     * */
+    public long getPendingId() {
+        return -sequence;
+    }
+}
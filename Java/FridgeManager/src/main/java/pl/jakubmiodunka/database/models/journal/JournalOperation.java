@@ -0,0 +1,11 @@
+package pl.jakubmiodunka.database.models.journal;
+
+/**
+ * Types of write operations, that can be recorded in write journal.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum JournalOperation {
+    ADD_CATEGORY,
+    ADD_PRODUCT
+}
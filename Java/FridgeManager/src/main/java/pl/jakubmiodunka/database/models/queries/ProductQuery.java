@@ -0,0 +1,208 @@
+package pl.jakubmiodunka.database.models.queries;
+
+import pl.jakubmiodunka.database.models.content.Product;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Specification of products, that should be imported from product repository, along with their order.
+ * Instances are immutable - each 'with' method returns new specification extended with given criterion.
+ * Criteria, that are not specified, do not filter the products.
+ * Specification is meant to be executed by the database - products kept in memory (ex. pending ones) can be
+ * filtered and sorted the same way using matches and getComparator methods.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ProductQuery {
+    // Specification of all products sorted by their IDs
+    private static final ProductQuery ALL = new ProductQuery(null, null, null, null,
+            ProductSortKey.ID, SortDirection.ASCENDING);
+
+    // Filters
+    private final Long categoryId;
+    private final LocalDate expiringFrom;
+    private final LocalDate expiringTo;
+    private final String namePrefix;
+
+    // Order
+    private final ProductSortKey sortKey;
+    private final SortDirection sortDirection;
+
+    /**
+     * @param categoryId    ID of category, to which products belong, or null.
+     * @param expiringFrom  First day of expiration window (inclusive) or null.
+     * @param expiringTo    Last day of expiration window (inclusive) or null.
+     * @param namePrefix    Prefix of product names or null.
+     * @param sortKey       Property, by which products are sorted.
+     * @param sortDirection Direction, in which products are sorted.
+     * */
+    private ProductQuery(Long categoryId, LocalDate expiringFrom, LocalDate expiringTo, String namePrefix,
+                         ProductSortKey sortKey, SortDirection sortDirection) {
+        // Properties init
+        this.categoryId = categoryId;
+        this.expiringFrom = expiringFrom;
+        this.expiringTo = expiringTo;
+        this.namePrefix = namePrefix;
+        this.sortKey = sortKey;
+        this.sortDirection = sortDirection;
+    }
+
+    /**
+     * @return Specification of all products sorted in ascending order of their IDs.
+     * */
+    public static ProductQuery all() {
+        return ALL;
+    }
+
+    /**
+     * @param  categoryId ID of category, to which products should belong, or null to not filter by category.
+     * @return            Specification extended with given criterion.
+     * */
+    public ProductQuery withCategory(Long categoryId) {
+        return new ProductQuery(categoryId, this.expiringFrom, this.expiringTo, this.namePrefix,
+                this.sortKey, this.sortDirection);
+    }
+
+    /**
+     * @param  from First day of expiration window (inclusive) or null if window has no beginning.
+     * @param  to   Last day of expiration window (inclusive) or null if window has no end.
+     * @return      Specification extended with given criterion.
+     * */
+    public ProductQuery withExpirationBetween(LocalDate from, LocalDate to) {
+        return new ProductQuery(this.categoryId, from, to, this.namePrefix, this.sortKey, this.sortDirection);
+    }
+
+    /**
+     * @param  namePrefix Prefix, with which product names should start, or null to not filter by name.
+     * @return            Specification extended with given criterion.
+     * */
+    public ProductQuery withNamePrefix(String namePrefix) {
+        String prefix = (namePrefix == null || namePrefix.isEmpty()) ? null : namePrefix;
+        return new ProductQuery(this.categoryId, this.expiringFrom, this.expiringTo, prefix,
+                this.sortKey, this.sortDirection);
+    }
+
+    /**
+     * @param  sortKey       Property, by which products should be sorted - ties are resolved using product IDs.
+     * @param  sortDirection Direction, in which products should be sorted.
+     * @return               Specification with given order.
+     * */
+    public ProductQuery sortedBy(ProductSortKey sortKey, SortDirection sortDirection) {
+        return new ProductQuery(this.categoryId, this.expiringFrom, this.expiringTo, this.namePrefix,
+                sortKey, sortDirection);
+    }
+
+    /**
+     * @return True if specification does not filter the products.
+     * */
+    public boolean isUnfiltered() {
+        return this.categoryId == null && this.expiringFrom == null && this.expiringTo == null &&
+                this.namePrefix == null;
+    }
+
+    /**
+     * Name prefix is matched ignoring case, as it is done by the database under its default collation.
+     *
+     * @param  product Checked product.
+     * @return         True if given product satisfies all criteria of the specification, false otherwise.
+     * */
+    public boolean matches(Product product) {
+        return (this.categoryId == null || product.getCategoryId() == this.categoryId) &&
+                (this.expiringFrom == null || !product.getExpirationDate().isBefore(this.expiringFrom)) &&
+                (this.expiringTo == null || !product.getExpirationDate().isAfter(this.expiringTo)) &&
+                (this.namePrefix == null ||
+                        product.getName().regionMatches(true, 0, this.namePrefix, 0, this.namePrefix.length()));
+    }
+
+    /**
+     * @return Comparator ordering products in the same way as the database - ties are resolved using product IDs.
+     * */
+    public Comparator<Product> getComparator() {
+        Comparator<Product> byId = Comparator.comparingLong(Product::getId);
+
+        Comparator<Product> comparator = switch (this.sortKey) {
+            case ID -> byId;
+            case NAME -> Comparator.comparing(Product::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(byId);
+            case CATEGORY -> Comparator.comparing(Product::getCategory, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(byId);
+            case EXPIRATION_DATE -> Comparator.comparing(Product::getExpirationDate).thenComparing(byId);
+        };
+
+        return (this.sortDirection == SortDirection.ASCENDING) ? comparator : comparator.reversed();
+    }
+
+    /**
+     * @return ID of category, to which products belong, or null.
+     * */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * @return First day of expiration window (inclusive) or null.
+     * */
+    public LocalDate getExpiringFrom() {
+        return expiringFrom;
+    }
+
+    /**
+     * @return Last day of expiration window (inclusive) or null.
+     * */
+    public LocalDate getExpiringTo() {
+        return expiringTo;
+    }
+
+    /**
+     * @return Prefix of product names or null.
+     * */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /**
+     * @return Property, by which products are sorted.
+     * */
+    public ProductSortKey getSortKey() {
+        return sortKey;
+    }
+
+    /**
+     * @return Direction, in which products are sorted.
+     * */
+    public SortDirection getSortDirection() {
+        return sortDirection;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof ProductQuery query)) {
+            return false;
+        }
+
+        return Objects.equals(this.categoryId, query.categoryId) &&
+                Objects.equals(this.expiringFrom, query.expiringFrom) &&
+                Objects.equals(this.expiringTo, query.expiringTo) &&
+                Objects.equals(this.namePrefix, query.namePrefix) &&
+                this.sortKey == query.sortKey &&
+                this.sortDirection == query.sortDirection;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.categoryId, this.expiringFrom, this.expiringTo, this.namePrefix,
+                this.sortKey, this.sortDirection);
+    }
+
+    @Override
+    public String toString() {
+        return "ProductQuery{categoryId=" + this.categoryId + ", expiringFrom=" + this.expiringFrom +
+                ", expiringTo=" + this.expiringTo + ", namePrefix=" + this.namePrefix +
+                ", sortKey=" + this.sortKey + ", sortDirection=" + this.sortDirection + "}";
+    }
+}
@@ -0,0 +1,13 @@
+package pl.jakubmiodunka.database.models.queries;
+
+/**
+ * Properties of products, by which imported products can be sorted.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum ProductSortKey {
+    ID,
+    NAME,
+    CATEGORY,
+    EXPIRATION_DATE
+}
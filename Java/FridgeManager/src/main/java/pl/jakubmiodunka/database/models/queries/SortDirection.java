@@ -0,0 +1,11 @@
+package pl.jakubmiodunka.database.models.queries;
+
+/**
+ * Directions, in which imported records can be sorted.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum SortDirection {
+    ASCENDING,
+    DESCENDING
+}
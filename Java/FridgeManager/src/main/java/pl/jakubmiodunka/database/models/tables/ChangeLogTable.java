@@ -0,0 +1,98 @@
+package pl.jakubmiodunka.database.models.tables;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of database table, where changes performed on other tables are recorded.
+ * Store names of the table and its columns along with name of the table, where current version of each changed
+ * table is stored - its table name and version columns are named in the same way as in change log table.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ChangeLogTable {
+    // Name of the table in database
+    private final String tableName;
+
+    // Column names
+    private final String versionColumnName;
+    private final String tableNameColumnName;
+    private final String recordIdColumnName;
+    private final String operationColumnName;
+
+    // Name of the table storing current versions of changed tables
+    private final String versionsTableName;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing table name and names of its columns.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public ChangeLogTable(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "table");
+
+            // Extracting 'columns' node from root node
+            Element columnsNode = XmlUtilities.getNode(rootElement, "columns");
+
+            // Properties init
+            this.tableName = XmlUtilities.getContentOfNode(rootElement, "name");
+            this.versionColumnName = XmlUtilities.getContentOfNode(columnsNode, "version");
+            this.tableNameColumnName = XmlUtilities.getContentOfNode(columnsNode, "tableName");
+            this.recordIdColumnName = XmlUtilities.getContentOfNode(columnsNode, "recordId");
+            this.operationColumnName = XmlUtilities.getContentOfNode(columnsNode, "operation");
+            this.versionsTableName = XmlUtilities.getContentOfNode(rootElement, "versionsTableName");
+
+        } catch (XmlParsingException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create table model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @return Name of the table.
+     * */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return Name of column, where change version is stored.
+     * */
+    public String getVersionColumnName() {
+        return versionColumnName;
+    }
+
+    /**
+     * @return Name of column, where name of changed table is stored.
+     * */
+    public String getTableNameColumnName() {
+        return tableNameColumnName;
+    }
+
+    /**
+     * @return Name of column, where ID of changed record is stored.
+     * */
+    public String getRecordIdColumnName() {
+        return recordIdColumnName;
+    }
+
+    /**
+     * @return Name of column, where type of performed operation is stored.
+     * */
+    public String getOperationColumnName() {
+        return operationColumnName;
+    }
+
+    /**
+     * @return Name of the table, where current versions of changed tables are stored.
+     * */
+    public String getVersionsTableName() {
+        return versionsTableName;
+    }
+}
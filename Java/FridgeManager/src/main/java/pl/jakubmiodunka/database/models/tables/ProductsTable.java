@@ -17,6 +17,7 @@ public class ProductsTable extends CategoriesTable {
     // Column names
     private final String categoryIdColumnName;
     private final String expirationDateColumnName;
+    private final String journalKeyColumnName;
 
     /**
      * @param configXmlPath               Path to config XML file containing table name and names of its columns.
@@ -37,6 +38,7 @@ public class ProductsTable extends CategoriesTable {
             // Properties init
             this.categoryIdColumnName = XmlUtilities.getContentOfNode(columnsNode, "categoryId");
             this.expirationDateColumnName = XmlUtilities.getContentOfNode(columnsNode, "expirationDate");
+            this.journalKeyColumnName = XmlUtilities.getContentOfNode(columnsNode, "journalKey");
 
         } catch (XmlParsingException exception) {
             // Exception wrapping
@@ -58,4 +60,11 @@ public class ProductsTable extends CategoriesTable {
     public String getExpirationDateColumnName() {
         return expirationDateColumnName;
     }
+
+    /**
+     * @return Name of column, where key of write journal entry, from which product was added, is stored.
+     * */
+    public String getJournalKeyColumnName() {
+        return journalKeyColumnName;
+    }
 }
@@ -1,18 +1,32 @@
 package pl.jakubmiodunka.database.repositories;
 
 import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.client.QueryHandle;
 import pl.jakubmiodunka.database.client.exceptions.DatabaseConnectionException;
 import pl.jakubmiodunka.database.client.exceptions.DatabaseQueryException;
 import pl.jakubmiodunka.database.client.exceptions.QueryResultProcessingException;
+import pl.jakubmiodunka.database.client.interfaces.ResultSetConsumer;
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.models.changes.ChangeLogEntry;
+import pl.jakubmiodunka.database.models.changes.ChangeOperation;
+import pl.jakubmiodunka.database.models.changes.ChangeSet;
 import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.events.CategoryAddedEvent;
+import pl.jakubmiodunka.database.models.events.CategoryRemovedEvent;
 import pl.jakubmiodunka.database.models.tables.CategoriesTable;
 import pl.jakubmiodunka.database.repositories.exceptions.ForbiddenOperationException;
 import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.database.repositories.interfaces.CategoryColumnsConsumer;
+import pl.jakubmiodunka.utilities.jfr.RepositoryOperationEvent;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +41,12 @@ public class CategoriesRepository {
     private final Client client;
     private final CategoriesTable tableStructure;
 
+    // Change log repository used for recording performed changes
+    private final ChangeLogRepository changeLogRepository;
+
+    // Bus, to which performed changes are published
+    private final RepositoryEventBus eventBus;
+
     // Product repository used for checking if requested operations won't cause data integrity issues.
     private ProductRepository productRepository;
 
@@ -37,13 +57,18 @@ public class CategoriesRepository {
      * First stage of categories repository initialisation.
      * Please do not forget to provide also product repository instance using setProductRepository method.
      *
-     * @param client         Database client, that will be used by the repository.
-     * @param tableStructure Structure of the table, where product categories are stored.
+     * @param client              Database client, that will be used by the repository.
+     * @param tableStructure      Structure of the table, where product categories are stored.
+     * @param changeLogRepository Repository, where changes performed on the table will be recorded.
+     * @param eventBus            Bus, to which changes performed by the repository will be published.
      */
-    public CategoriesRepository(Client client, CategoriesTable tableStructure) {
+    public CategoriesRepository(Client client, CategoriesTable tableStructure, ChangeLogRepository changeLogRepository,
+                                RepositoryEventBus eventBus) {
         // Properties init
         this.client = client;
         this.tableStructure = tableStructure;
+        this.changeLogRepository = changeLogRepository;
+        this.eventBus = eventBus;
         this.logger = LoggerFactory.getLogger(CategoriesRepository.class);
     }
 
@@ -98,43 +123,107 @@ public class CategoriesRepository {
      *                             conversion from raw query result to the list of categories models.
      */
     public List<Category> getAllCategories() {
-        // Logging
-        this.logger.info("Importing all product categories from database...");
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.getAllCategories");
 
-        // Query generation
-        String tableName = this.tableStructure.getTableName();
-        String idColumnName = this.tableStructure.getIdColumnName();
-        String nameColumnName = this.tableStructure.getNameColumnName();
+        try {
+            // Logging
+            this.logger.info("Importing all product categories from database...");
 
-        String query = "SELECT " +
-                idColumnName + " AS 'id', " +
-                nameColumnName + " AS 'name' " +
-                "FROM " + tableName;
+            // Query generation
+            String tableName = this.tableStructure.getTableName();
+            String idColumnName = this.tableStructure.getIdColumnName();
+            String nameColumnName = this.tableStructure.getNameColumnName();
 
-        // Importing the data and converting it to the right format
-        List<Category> importedCategories;
+            String query = "SELECT " +
+                    idColumnName + " AS 'id', " +
+                    nameColumnName + " AS 'name' " +
+                    "FROM " + tableName;
 
-        try {
-            importedCategories = this.client
-                    .importData(query, CategoriesRepository::queryResultToListOfCategories)
-                    .stream()
-                    .map(category -> (Category)category)
-                    .toList();
+            // Importing the data and converting it to the right format
+            List<Category> importedCategories;
+
+            try {
+                importedCategories = this.client
+                        .importData(query, CategoriesRepository::queryResultToListOfCategories)
+                        .stream()
+                        .map(category -> (Category)category)
+                        .toList();
+
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to import product categories from database.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
 
-        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
             // Logging
-            String errorMessage = "Failed to import product categories from database.";
-            this.logger.error(errorMessage);
+            this.logger.info("Product categories imported successfully.");
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
+            // Returning processed query result
+            return importedCategories;
+        } finally {
+            RepositoryOperationEvent.finish(event);
         }
+    }
+
+    /**
+     * Imports raw column values of all product categories in ascending order of their IDs.
+     * Records are fetched from server-side cursor in batches of given size and passed one by one to given consumer,
+     * so no category models are created during the import.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param  fetchSize           Number of records fetched from the database at once.
+     * @param  consumer            Consumer, to which column values of each imported record will be passed.
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Number of imported records.
+     * @throws RepositoryException When execution of generated query fail or was cancelled, or there was an issue
+     *                             during passing imported records to given consumer.
+     */
+    public long exportCategoryColumns(int fetchSize, CategoryColumnsConsumer consumer, QueryHandle handle) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.exportCategoryColumns");
 
-        // Logging
-        this.logger.info("Product categories imported successfully.");
+        try {
+            // Logging
+            this.logger.debug("Exporting column values of all product categories...");
 
-        // Returning processed query result
-        return importedCategories;
+            // Query generation
+            String idColumnName = this.tableStructure.getIdColumnName();
+
+            String query = "SELECT " +
+                    idColumnName + " AS 'id', " +
+                    this.tableStructure.getNameColumnName() + " AS 'name' " +
+                    "FROM " + this.tableStructure.getTableName() +
+                    " ORDER BY " + idColumnName;
+
+            // Consumer passing column values of each imported record further
+            ResultSetConsumer rowConsumer = queryResult ->
+                    consumer.accept(queryResult.getLong("id"), queryResult.getString("name"));
+
+            // Importing the data
+            long importedRecords;
+
+            try {
+                importedRecords = this.client.streamData(query, List.of(), fetchSize, rowConsumer, handle);
+
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to export product categories column values from database.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            // Logging
+            this.logger.debug("Column values of {} product category(ies) exported successfully.", importedRecords);
+
+            // Returning number of imported records
+            return importedRecords;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
     }
 
     /**
@@ -145,47 +234,62 @@ public class CategoriesRepository {
      * @throws RepositoryException When execution of generated query fail.
      * */
     public boolean isInDatabase(long categoryId) {
-        // Logging
-        logger.debug("Checking if category with ID {} exist in database...", categoryId);
-
-        // Query generation
-        String tableName = this.tableStructure.getTableName();
-        String idColumnName = this.tableStructure.getIdColumnName();
-        String nameColumnName = this.tableStructure.getNameColumnName();
+        return this.getCategory(categoryId) != null;
+    }
 
-        String query = "SELECT " +
-                idColumnName + " AS 'id', " +
-                nameColumnName + " AS 'name' " +
-                "FROM " + tableName +
-                " WHERE id = " + categoryId;
+    /**
+     * Imports category with provided ID.
+     *
+     * @param  categoryId          Category ID.
+     * @return                     Category model or null if category with provided ID does not exist in database.
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public Category getCategory(long categoryId) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.getCategory");
 
-        // Importing data
-        List<Object> rawQueryResult;
         try {
-            rawQueryResult = this.client.importData(query, CategoriesRepository::queryResultToListOfCategories);
-
-        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
             // Logging
-            String errorMessage = "Failed to perform requested check.";
-            this.logger.error(errorMessage);
+            logger.debug("Checking if category with ID {} exist in database...", categoryId);
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
-        }
+            // Query generation
+            String tableName = this.tableStructure.getTableName();
+            String idColumnName = this.tableStructure.getIdColumnName();
+            String nameColumnName = this.tableStructure.getNameColumnName();
+
+            String query = "SELECT " +
+                    idColumnName + " AS 'id', " +
+                    nameColumnName + " AS 'name' " +
+                    "FROM " + tableName +
+                    " WHERE id = " + categoryId;
 
-        // Empty list means that category with specified name does not exist
-        boolean isCategoryExist = !(rawQueryResult.isEmpty());
+            // Importing data
+            List<Object> rawQueryResult;
+            try {
+                rawQueryResult = this.client.importData(query, CategoriesRepository::queryResultToListOfCategories);
 
-        // Logging
-        if (isCategoryExist) {
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to perform requested check.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            // Empty list means that category with specified ID does not exist
+            if (rawQueryResult.isEmpty()) {
+                this.logger.debug("Category with specified ID does not exist in database.");
+                return null;
+            }
+
+            // Logging
             this.logger.debug("Category with specified ID exist in database.");
-        }
-        else {
-            this.logger.debug("Category with specified ID does not exist in database.");
-        }
 
-        // Returning the check result
-        return isCategoryExist;
+            // Returning the check result
+            return (Category) rawQueryResult.get(0);
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
     }
 
     /**
@@ -196,47 +300,54 @@ public class CategoriesRepository {
      * @throws RepositoryException When execution of generated query fail.
      * */
     public boolean isInDatabase(String categoryName) {
-        // Logging
-        logger.debug("Checking if category called '{}' exist in database...", categoryName);
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.isInDatabase");
 
-        // Query generation
-        String tableName = this.tableStructure.getTableName();
-        String idColumnName = this.tableStructure.getIdColumnName();
-        String nameColumnName = this.tableStructure.getNameColumnName();
-
-        String query = "SELECT " +
-                idColumnName + " AS 'id', " +
-                nameColumnName + " AS 'name' " +
-                "FROM " + tableName +
-                " WHERE name = '" + categoryName + "'";
-
-        // Importing data
-        List<Object> rawQueryResult;
         try {
-            rawQueryResult = this.client.importData(query, CategoriesRepository::queryResultToListOfCategories);
-
-        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
             // Logging
-            String errorMessage = "Failed to perform requested check.";
-            this.logger.error(errorMessage);
+            logger.debug("Checking if category called '{}' exist in database...", categoryName);
+
+            // Query generation
+            String tableName = this.tableStructure.getTableName();
+            String idColumnName = this.tableStructure.getIdColumnName();
+            String nameColumnName = this.tableStructure.getNameColumnName();
+
+            String query = "SELECT " +
+                    idColumnName + " AS 'id', " +
+                    nameColumnName + " AS 'name' " +
+                    "FROM " + tableName +
+                    " WHERE " + nameColumnName + " = ?";
+
+            // Importing data
+            List<Object> rawQueryResult;
+            try {
+                rawQueryResult = this.client.importData(query, List.of(categoryName),
+                        CategoriesRepository::queryResultToListOfCategories, new QueryHandle());
+
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to perform requested check.";
+                this.logger.error(errorMessage);
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
-        }
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
 
-        // Empty list means that category with specified name does not exist
-        boolean isCategoryExist = !(rawQueryResult.isEmpty());
+            // Empty list means that category with specified name does not exist
+            boolean isCategoryExist = !(rawQueryResult.isEmpty());
 
-        // Logging
-        if (isCategoryExist) {
-            this.logger.debug("Category with specified name exist in database.");
-        }
-        else {
-            this.logger.debug("Category with specified name does not exist in database.");
-        }
+            // Logging
+            if (isCategoryExist) {
+                this.logger.debug("Category with specified name exist in database.");
+            }
+            else {
+                this.logger.debug("Category with specified name does not exist in database.");
+            }
 
-        // Returning the check result
-        return isCategoryExist;
+            // Returning the check result
+            return isCategoryExist;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
     }
 
     /**
@@ -248,104 +359,302 @@ public class CategoriesRepository {
      * @throws RepositoryException         When execution of generated query fail.
      */
     public void addNewCategory(String categoryName) {
-        // Logging
-        logger.info("Adding category named as '{}' to database...", categoryName);
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.addNewCategory");
 
-        // Checking if requested operation does not cause violation of data integrity
-        if (this.isInDatabase(categoryName)) {
+        try {
             // Logging
-            String errorMessage = "Operation considered as unsafe.";
-            this.logger.error(errorMessage);
+            logger.info("Adding category named as '{}' to database...", categoryName);
 
-            // Throwing an exception
-            throw new ForbiddenOperationException(errorMessage);
-        }
+            // Checking if requested operation does not cause violation of data integrity
+            if (this.isInDatabase(categoryName)) {
+                // Logging
+                String errorMessage = "Operation considered as unsafe.";
+                this.logger.error(errorMessage);
 
-        // Logging
-        this.logger.debug("Operation considered as safe.");
+                // Throwing an exception
+                throw new ForbiddenOperationException(errorMessage);
+            }
 
-        // Query generation
-        String tableName = this.tableStructure.getTableName();
-        String nameColumnName = this.tableStructure.getNameColumnName();
+            // Logging
+            this.logger.debug("Operation considered as safe.");
 
-        String query = "INSERT INTO " + tableName + " (" + nameColumnName + ") VALUES ('" + categoryName + "')";
+            // Query generation
+            String tableName = this.tableStructure.getTableName();
+            String nameColumnName = this.tableStructure.getNameColumnName();
 
-        // Execution of generated query
-        try {
-            this.client.updateData(query);
+            String query = "INSERT INTO " + tableName + " (" + nameColumnName + ") VALUES (?)";
+            List<String> queries = this.changeLogRepository.getRecordedChangeQueries(
+                    query, tableName, "LAST_INSERT_ID()", ChangeOperation.INSERT);
+
+            // Execution of generated queries within single transaction
+            long categoryId;
+
+            try {
+                categoryId = this.client.insertData(queries, List.of(categoryName));
+
+            } catch (DatabaseConnectionException | DatabaseQueryException exception) {
+                // Logging
+                String errorMessage = "Failed to add new category to database.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
 
-        } catch (DatabaseConnectionException | DatabaseQueryException exception) {
             // Logging
-            String errorMessage = "Failed to add new category to database.";
-            this.logger.error(errorMessage);
+            this.logger.info("Category successfully added to database.");
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
+            // Publishing performed change
+            this.eventBus.publish(new CategoryAddedEvent(new Category(categoryId, categoryName)));
+        } finally {
+            RepositoryOperationEvent.finish(event);
         }
-
-        // Logging
-        this.logger.info("Category successfully added to database.");
     }
 
     /**
      * Removes category from database.
      * It is not possible to remove category, to which some products are still belong to.
-     * If category with provided ID does not exist no exception will be thrown but
-     * generated query still will be executed.
+     * If category with provided ID does not exist no exception will be thrown, but the change is neither recorded
+     * nor published.
      *
      * @param  categoryId                  ID of category to be deleted.
      * @throws ForbiddenOperationException When to category with provided ID still belong some products.
      * @throws RepositoryException         When executions of generated queries fails.
      */
     public void removeCategory(long categoryId) {
-        // Logging
-        this.logger.info("Removing category with ID {} from database...", categoryId);
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.removeCategory");
 
-        // Checking if requested operation does not cause violation of data integrity
         try {
-            if (this.productRepository.productQuantityInCategory(categoryId) > 0) {
+            // Logging
+            this.logger.info("Removing category with ID {} from database...", categoryId);
+
+            // Checking if requested operation does not cause violation of data integrity
+            try {
+                if (this.productRepository.productQuantityInCategory(categoryId) > 0) {
+                    // Logging
+                    String errorMessage = "Removal of specified category not allowed " +
+                            "- there are still some products related to it.";
+                    this.logger.error(errorMessage);
+
+                    // Throwing an exception
+                    throw new ForbiddenOperationException(errorMessage);
+                }
+
+            } catch (NullPointerException exception) {
                 // Logging
-                String errorMessage = "Removal of specified category not allowed " +
-                        "- there are still some products related to it.";
+                String errorMessage = "Requested operation require to use instance of product repository," +
+                        "which was not provided during repository initialisation.";
                 this.logger.error(errorMessage);
 
-                // Throwing an exception
-                throw new ForbiddenOperationException(errorMessage);
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
             }
 
-        } catch (NullPointerException exception) {
             // Logging
-            String errorMessage = "Requested operation require to use instance of product repository," +
-                    "which was not provided during repository initialisation.";
-            this.logger.error(errorMessage);
+            this.logger.debug("Operation considered as safe.");
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
+            // Query generation
+            String tableName = this.tableStructure.getTableName();
+            String idColumnName = this.tableStructure.getIdColumnName();
+
+            String query = "DELETE FROM " + tableName + " WHERE " + idColumnName + " = " + categoryId;
+            List<String> queries = this.changeLogRepository.getRecordedChangeQueries(
+                    query, tableName, String.valueOf(categoryId), ChangeOperation.DELETE);
+
+            // Execution of generated queries within single transaction - change is recorded only if the record existed
+            long deletedRows;
+
+            try {
+                deletedRows = this.client.updateRecord(queries);
+
+            } catch (DatabaseConnectionException | DatabaseQueryException exception) {
+                // Logging
+                String errorMessage = "Failed to delete specified category from database.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            if (deletedRows == 0) {
+                this.logger.info("Specified category not present in database - nothing removed.");
+                return;
+            }
+
+            // Logging
+            this.logger.info("Specified category successfully removed from database.");
+
+            // Publishing performed change
+            this.eventBus.publish(new CategoryRemovedEvent(categoryId));
+        } finally {
+            RepositoryOperationEvent.finish(event);
         }
+    }
 
-        // Logging
-        this.logger.debug("Operation considered as safe.");
+    /**
+     * Imports product categories with given IDs.
+     *
+     * @param  categoryIds         IDs of requested categories.
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Map, where IDs of found categories are keys and category models are values.
+     *                             Categories not present in the database are omitted.
+     * @throws RepositoryException When execution of generated query fail or there was an issue during
+     *                             conversion from raw query result to the list of categories models.
+     */
+    private Map<Long, Category> getCategoriesWithIds(Collection<Long> categoryIds, QueryHandle handle) {
+        Map<Long, Category> importedCategories = new HashMap<>();
+
+        // Nothing to import
+        if (categoryIds.isEmpty()) {
+            return importedCategories;
+        }
 
         // Query generation
         String tableName = this.tableStructure.getTableName();
         String idColumnName = this.tableStructure.getIdColumnName();
+        String nameColumnName = this.tableStructure.getNameColumnName();
 
-        String query = "DELETE FROM " + tableName + " WHERE " + idColumnName + " = " + categoryId;
+        String query = "SELECT " +
+                idColumnName + " AS 'id', " +
+                nameColumnName + " AS 'name' " +
+                "FROM " + tableName +
+                " WHERE " + idColumnName + " IN (" +
+                categoryIds.stream().map(String::valueOf).collect(Collectors.joining(", ")) + ")";
 
-        // Execution of generated query
+        // Importing the data
         try {
-            this.client.updateData(query);
+            this.client
+                    .importData(query, CategoriesRepository::queryResultToListOfCategories, handle)
+                    .forEach(category -> importedCategories.put(((Category) category).getId(), (Category) category));
 
-        } catch (DatabaseConnectionException | DatabaseQueryException exception) {
+        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
             // Logging
-            String errorMessage = "Failed to delete specified category from database.";
+            String errorMessage = "Failed to import product categories from database.";
             this.logger.error(errorMessage);
 
             // Exception wrapping
             throw new RepositoryException(errorMessage, exception);
         }
 
-        // Logging
-        this.logger.info("Specified category successfully removed from database.");
+        // Returning processed query result
+        return importedCategories;
+    }
+
+    /**
+     * Checks the version of the last change performed on product categories.
+     * Can be used as starting point for further synchronisation using changesSince method.
+     * Should be checked before importing all categories, so no change will be missed.
+     *
+     * @return                     Version of the last change or 0 if categories were never changed.
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public long getCurrentVersion() {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.getCurrentVersion");
+
+        try {
+            return this.changeLogRepository.getCurrentVersion(this.tableStructure.getTableName());
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Removes old changes of product categories from the change log - only configured number of the latest
+     * changes is kept.
+     *
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public void pruneChanges() {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.pruneChanges");
+
+        try {
+            this.changeLogRepository.pruneChanges(this.tableStructure.getTableName());
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Imports only those product categories, that were inserted, updated or deleted since given version.
+     *
+     * @param  version             Version of the last change known to the caller.
+     * @return                     Set of changes performed since given version - when they are not available,
+     *                             set indicates, that all categories should be imported again.
+     * @throws RepositoryException When execution of generated queries fail or there was an issue during
+     *                             conversion of raw query results.
+     * */
+    public ChangeSet<Category> changesSince(long version) {
+        return this.changesSince(version, new QueryHandle());
+    }
+
+    /**
+     * Imports only those product categories, that were inserted, updated or deleted since given version.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param  version             Version of the last change known to the caller.
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Set of changes performed since given version - when they are not available,
+     *                             set indicates, that all categories should be imported again.
+     * @throws RepositoryException When execution of generated queries fail or was cancelled, or there was an issue
+     *                             during conversion of raw query results.
+     * */
+    public ChangeSet<Category> changesSince(long version, QueryHandle handle) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("CategoriesRepository.changesSince");
+
+        try {
+            // Logging
+            this.logger.debug("Importing product categories changed since version {}...", version);
+
+            // Importing recorded changes
+            List<ChangeLogEntry> entries = this.changeLogRepository.getChangesSince(this.tableStructure.getTableName(), version,
+                    handle);
+
+            if (entries == null) {
+                return ChangeSet.reloadRequired(version);
+            }
+
+            if (entries.isEmpty()) {
+                this.logger.debug("Product categories not changed since requested version.");
+                return new ChangeSet<>(version, List.of(), List.of(), List.of());
+            }
+
+            long newVersion = entries.get(entries.size() - 1).getVersion();
+            Map<Long, ChangeOperation> finalOperations = ChangeLogRepository.getFinalOperations(entries);
+
+            // Importing current state of records, that still should exist
+            List<Long> existingIds = finalOperations.entrySet().stream()
+                    .filter(entry -> entry.getValue() != ChangeOperation.DELETE)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            Map<Long, Category> importedCategories = this.getCategoriesWithIds(existingIds, handle);
+
+            // Sorting records according to performed operations
+            List<Category> insertedCategories = new ArrayList<>();
+            List<Category> updatedCategories = new ArrayList<>();
+            List<Long> deletedIds = new ArrayList<>();
+
+            finalOperations.forEach((categoryId, operation) -> {
+                Category category = importedCategories.get(categoryId);
+
+                if (category == null) {
+                    deletedIds.add(categoryId);     // Record deleted meanwhile
+                } else if (operation == ChangeOperation.INSERT) {
+                    insertedCategories.add(category);
+                } else {
+                    updatedCategories.add(category);
+                }
+            });
+
+            // Logging
+            this.logger.debug("Product categories changed since version {} imported successfully - " +
+                    "{} inserted, {} updated, {} deleted.",
+                    version, insertedCategories.size(), updatedCategories.size(), deletedIds.size());
+
+            // Returning the changes
+            return new ChangeSet<>(newVersion, insertedCategories, updatedCategories, deletedIds);
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
     }
-}
+}
\ No newline at end of file
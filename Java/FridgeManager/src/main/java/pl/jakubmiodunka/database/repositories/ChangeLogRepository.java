@@ -0,0 +1,352 @@
+package pl.jakubmiodunka.database.repositories;
+
+import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.client.exceptions.DatabaseConnectionException;
+import pl.jakubmiodunka.database.client.exceptions.DatabaseQueryException;
+import pl.jakubmiodunka.database.client.exceptions.QueryResultProcessingException;
+import pl.jakubmiodunka.database.models.changes.ChangeLogEntry;
+import pl.jakubmiodunka.database.models.ChangeLogConfig;
+import pl.jakubmiodunka.database.models.changes.ChangeOperation;
+import pl.jakubmiodunka.database.models.tables.ChangeLogTable;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Repository of changes performed on other tables.
+ * Each change gets version number, that is by one greater than the version of the previous change of the same table,
+ * so clients can synchronise locally stored records by requesting only changes performed since the last version
+ * they are aware of.
+ * Versions are taken from the row of versions table dedicated to the changed table, which is updated within
+ * the transaction performing the change. Row stays locked until the transaction ends, so concurrent changes of the same
+ * table get their versions in the order of their commits - once given version is visible, all previous ones
+ * are visible too, and a client never moves past the change, that is not committed yet.
+ * Only the latest changes are kept - older ones are pruned periodically, so clients, which are too far behind,
+ * have to import all records again.
+ * Meant to be used internally by products and categories repositories.
+ *
+ * @author Jakub Miodunka
+ */
+public class ChangeLogRepository {
+    // Database client used by the repository along with structure of the table
+    private final Client client;
+    private final ChangeLogTable tableStructure;
+
+    // Configuration of the change log
+    private final ChangeLogConfig config;
+
+    // Logger instance
+    private final Logger logger;
+
+    /**
+     * @param client         Database client, that will be used by the repository.
+     * @param tableStructure Structure of the table, where changes are recorded.
+     * @param config         Configuration of the change log.
+     */
+    public ChangeLogRepository(Client client, ChangeLogTable tableStructure, ChangeLogConfig config) {
+        // Properties init
+        this.client = client;
+        this.tableStructure = tableStructure;
+        this.config = config;
+        this.logger = LoggerFactory.getLogger(ChangeLogRepository.class);
+    }
+
+    /**
+     * Complements given query performing the change of specified record with queries recording the change -
+     * the first one assigns the next version of changed table, while the second one records the change
+     * under this version. All of them are meant to be executed within single transaction in returned order.
+     *
+     * @param  changeQuery        Query performing the change.
+     * @param  changedTableName   Name of the table, where changed record is stored.
+     * @param  recordIdExpression SQL expression evaluating to ID of changed record, ex. 'LAST_INSERT_ID()'.
+     * @param  operation          Type of performed operation.
+     * @return                    Given query followed by generated ones.
+     * */
+    public List<String> getRecordedChangeQueries(String changeQuery, String changedTableName,
+                                                 String recordIdExpression, ChangeOperation operation) {
+        // Query generation
+        String tableName = this.tableStructure.getTableName();
+        String versionColumnName = this.tableStructure.getVersionColumnName();
+        String tableNameColumnName = this.tableStructure.getTableNameColumnName();
+        String recordIdColumnName = this.tableStructure.getRecordIdColumnName();
+        String operationColumnName = this.tableStructure.getOperationColumnName();
+        String versionsTableName = this.tableStructure.getVersionsTableName();
+
+        // Row of the table is locked until the end of the transaction, so concurrent changes wait for the commit
+        String versionQuery = "INSERT INTO " + versionsTableName +
+                " (" + tableNameColumnName + ", " + versionColumnName + ")" +
+                " VALUES ('" + changedTableName + "', 1)" +
+                " ON DUPLICATE KEY UPDATE " + versionColumnName + " = " + versionColumnName + " + 1";
+
+        String recordQuery = "INSERT INTO " + tableName +
+                " (" + versionColumnName + ", " + tableNameColumnName + ", " + recordIdColumnName + ", " +
+                operationColumnName + ")" +
+                " SELECT " + versionColumnName + ", '" + changedTableName + "', " + recordIdExpression + ", '" +
+                operation.name() + "'" +
+                " FROM " + versionsTableName +
+                " WHERE " + tableNameColumnName + " = '" + changedTableName + "'";
+
+        return List.of(changeQuery, versionQuery, recordQuery);
+    }
+
+    /**
+     * Converts each record from given query result into a list of change log entries.
+     *
+     * @param  queryResult                    Raw data imported from database.
+     * @return                                List of change log entries.
+     * @throws QueryResultProcessingException When processing of given query result fails.
+     */
+    private static List<Object> queryResultToListOfEntries(ResultSet queryResult) {
+        // Creating result list
+        List<Object> importedEntries = new ArrayList<>();
+
+        try (queryResult) {
+            // Iterating through returned records
+            while (queryResult.next()) {
+                long version = queryResult.getLong("version");
+                long recordId = queryResult.getLong("record_id");
+                ChangeOperation operation = ChangeOperation.valueOf(queryResult.getString("operation"));
+
+                importedEntries.add(new ChangeLogEntry(version, recordId, operation));
+            }
+
+        } catch (SQLException | IllegalArgumentException exception) {
+            // Wrapping occurred exception
+            String errorMessage = "Failed to convert query result to a list of change log entries.";
+            throw new QueryResultProcessingException(errorMessage, exception);
+        }
+
+        // Returning filled list
+        return importedEntries;
+    }
+
+    /**
+     * Imports all changes performed on specified table since given version.
+     *
+     * @param  changedTableName    Name of the table, which changes should be imported.
+     * @param  version             Version, since which changes should be imported (exclusive).
+     * @return                     List of change log entries in ascending order of their versions or null,
+     *                             if changes are not available - see the variant accepting query handle.
+     * @throws RepositoryException When execution of generated query fail or there was an issue during
+     *                             conversion from raw query result to the list of change log entries.
+     */
+    public List<ChangeLogEntry> getChangesSince(String changedTableName, long version) {
+        return this.getChangesSince(changedTableName, version, new QueryHandle());
+    }
+
+    /**
+     * Imports all changes performed on specified table since given version.
+     * At most configured number of changes is imported - when there are more of them, importing all records
+     * is cheaper than applying the changes one by one. Changes are not available also when some of them were
+     * already pruned, which is recognised by the gap between given version and the first imported one.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param  changedTableName    Name of the table, which changes should be imported.
+     * @param  version             Version, since which changes should be imported (exclusive).
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     List of change log entries in ascending order of their versions or null,
+     *                             if changes are not available and all records should be imported instead.
+     * @throws RepositoryException When execution of generated query fail or was cancelled, or there was an issue
+     *                             during conversion from raw query result to the list of change log entries.
+     */
+    public List<ChangeLogEntry> getChangesSince(String changedTableName, long version, QueryHandle handle) {
+        // Logging
+        this.logger.debug("Importing changes performed on '{}' table since version {}...", changedTableName, version);
+
+        // Query generation
+        String tableName = this.tableStructure.getTableName();
+        String versionColumnName = this.tableStructure.getVersionColumnName();
+        String tableNameColumnName = this.tableStructure.getTableNameColumnName();
+        String recordIdColumnName = this.tableStructure.getRecordIdColumnName();
+        String operationColumnName = this.tableStructure.getOperationColumnName();
+
+        String query = "SELECT " +
+                versionColumnName + " AS 'version', " +
+                recordIdColumnName + " AS 'record_id', " +
+                operationColumnName + " AS 'operation' " +
+                "FROM " + tableName +
+                " WHERE " + tableNameColumnName + " = ?" +
+                " AND " + versionColumnName + " > ?" +
+                " ORDER BY " + versionColumnName +
+                " LIMIT ?";
+
+        // One change more than the limit is requested, so exceeding the limit can be recognised
+        int maxImportedChanges = this.config.getMaxImportedChanges();
+        List<Object> parameters = List.of(changedTableName, version, maxImportedChanges + 1);
+
+        // Importing the data and converting it to the right format
+        List<ChangeLogEntry> importedEntries;
+
+        try {
+            importedEntries = this.client
+                    .importData(query, parameters, ChangeLogRepository::queryResultToListOfEntries, handle)
+                    .stream()
+                    .map(entry -> (ChangeLogEntry)entry)
+                    .toList();
+
+        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+            // Logging
+            String errorMessage = "Failed to import changes from database.";
+            this.logger.error(errorMessage);
+
+            // Exception wrapping
+            throw new RepositoryException(errorMessage, exception);
+        }
+
+        // Checking if the changes can be applied incrementally
+        if (importedEntries.size() > maxImportedChanges) {
+            this.logger.info("More than {} changes performed on '{}' table since version {} - " +
+                    "all records should be imported.", maxImportedChanges, changedTableName, version);
+            return null;
+        }
+
+        if (!importedEntries.isEmpty() && importedEntries.get(0).getVersion() != version + 1) {
+            this.logger.info("Changes performed on '{}' table since version {} already pruned - " +
+                    "all records should be imported.", changedTableName, version);
+            return null;
+        }
+
+        // Logging
+        this.logger.debug("{} change(s) imported successfully.", importedEntries.size());
+
+        // Returning processed query result
+        return importedEntries;
+    }
+
+    /**
+     * Reduces given list of changes to the final operation performed on each record.
+     * Record inserted and then updated is treated as inserted one, while record deleted at the end
+     * is treated as deleted one regardless of previous operations.
+     *
+     * @param  entries Change log entries in ascending order of their versions.
+     * @return         Map, where IDs of changed records are keys and final operations are values.
+     *                 Order of the keys correspond to the order of first change of each record.
+     * */
+    public static Map<Long, ChangeOperation> getFinalOperations(List<ChangeLogEntry> entries) {
+        Map<Long, ChangeOperation> finalOperations = new LinkedHashMap<>();
+
+        for (ChangeLogEntry entry: entries) {
+            finalOperations.merge(entry.getRecordId(), entry.getOperation(), (previousOperation, nextOperation) ->
+                    (previousOperation == ChangeOperation.INSERT && nextOperation == ChangeOperation.UPDATE) ?
+                            ChangeOperation.INSERT : nextOperation);
+        }
+
+        return finalOperations;
+    }
+
+    /**
+     * Converts given query result to the change version.
+     *
+     * @param  queryResult                    Data imported from database.
+     * @return                                One element list where the version is stored.
+     * @throws QueryResultProcessingException When processing of given query result fails.
+     * */
+    private static List<Object> queryResultToVersion(ResultSet queryResult) {
+        try (queryResult) {
+            // Creating result list
+            List<Object> resultList = new ArrayList<>();
+
+            // Moving on to the result and extracting the value - missing row (no changes at all) is returned as 0
+            resultList.add(queryResult.next() ? queryResult.getLong("version") : 0L);
+
+            // Returning the value
+            return resultList;
+
+        } catch (SQLException exception) {
+            // Wrapping caught exception
+            String errorMessage = "Failed to extract change version from given query result.";
+            throw new QueryResultProcessingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * Checks the version of the last change performed on specified table.
+     *
+     * @param  changedTableName    Name of the table, which version should be checked.
+     * @return                     Version of the last change or 0 if table was never changed.
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public long getCurrentVersion(String changedTableName) {
+        // Logging
+        this.logger.debug("Checking current version of '{}' table...", changedTableName);
+
+        // Query generation
+        String versionColumnName = this.tableStructure.getVersionColumnName();
+        String tableNameColumnName = this.tableStructure.getTableNameColumnName();
+        String versionsTableName = this.tableStructure.getVersionsTableName();
+
+        String query = "SELECT " + versionColumnName + " AS 'version' " +
+                "FROM " + versionsTableName +
+                " WHERE " + tableNameColumnName + " = ?";
+
+        // Importing the data
+        long version;
+
+        try {
+            version = (long) this.client.importData(query, List.of(changedTableName),
+                    ChangeLogRepository::queryResultToVersion, new QueryHandle()).get(0);
+
+        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+            // Logging
+            String errorMessage = "Failed to perform requested check.";
+            this.logger.error(errorMessage);
+
+            // Exception wrapping
+            throw new RepositoryException(errorMessage, exception);
+        }
+
+        // Logging
+        this.logger.debug("Current version of '{}' table is {}.", changedTableName, version);
+
+        // Returning the value
+        return version;
+    }
+
+    /**
+     * Removes old changes performed on specified table - only configured number of the latest changes is kept.
+     * Clients, which are aware only of the removed versions, import all records during their next synchronisation.
+     *
+     * @param  changedTableName    Name of the table, which changes should be pruned.
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public void pruneChanges(String changedTableName) {
+        // Logging
+        this.logger.debug("Pruning changes performed on '{}' table...", changedTableName);
+
+        // Query generation
+        String tableName = this.tableStructure.getTableName();
+        String versionColumnName = this.tableStructure.getVersionColumnName();
+        String tableNameColumnName = this.tableStructure.getTableNameColumnName();
+        String versionsTableName = this.tableStructure.getVersionsTableName();
+
+        String query = "DELETE FROM " + tableName +
+                " WHERE " + tableNameColumnName + " = '" + changedTableName + "'" +
+                " AND " + versionColumnName + " <= (" +
+                "SELECT " + versionColumnName + " FROM " + versionsTableName +
+                " WHERE " + tableNameColumnName + " = '" + changedTableName + "') - " + this.config.getRetainedChanges();
+
+        // Executing the query
+        try {
+            this.client.updateData(query);
+
+        } catch (DatabaseConnectionException | DatabaseQueryException exception) {
+            // Logging
+            String errorMessage = "Failed to prune the changes.";
+            this.logger.error(errorMessage);
+
+            // Exception wrapping
+            throw new RepositoryException(errorMessage, exception);
+        }
+
+        // Logging
+        this.logger.debug("Changes performed on '{}' table pruned successfully.", changedTableName);
+    }
+}
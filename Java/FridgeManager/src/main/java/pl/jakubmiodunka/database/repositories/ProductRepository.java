@@ -1,14 +1,29 @@
 package pl.jakubmiodunka.database.repositories;
 
 import pl.jakubmiodunka.database.client.Client;
+import pl.jakubmiodunka.database.client.QueryHandle;
 import pl.jakubmiodunka.database.client.exceptions.DatabaseConnectionException;
 import pl.jakubmiodunka.database.client.exceptions.DatabaseQueryException;
 import pl.jakubmiodunka.database.client.exceptions.QueryResultProcessingException;
+import pl.jakubmiodunka.database.client.interfaces.ResultSetConsumer;
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.models.SearchConfig;
+import pl.jakubmiodunka.database.models.changes.ChangeLogEntry;
+import pl.jakubmiodunka.database.models.changes.ChangeOperation;
+import pl.jakubmiodunka.database.models.changes.ChangeSet;
+import pl.jakubmiodunka.database.models.content.Category;
 import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.database.models.events.ProductAddedEvent;
+import pl.jakubmiodunka.database.models.events.ProductRemovedEvent;
+import pl.jakubmiodunka.database.models.queries.ProductQuery;
+import pl.jakubmiodunka.database.models.queries.SortDirection;
 import pl.jakubmiodunka.database.models.tables.CategoriesTable;
 import pl.jakubmiodunka.database.models.tables.ProductsTable;
 import pl.jakubmiodunka.database.repositories.exceptions.ForbiddenOperationException;
 import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.database.repositories.interfaces.ProductColumnsConsumer;
+import pl.jakubmiodunka.database.snapshots.InventorySnapshot;
+import pl.jakubmiodunka.utilities.jfr.RepositoryOperationEvent;
 
 import java.sql.Date;
 import java.sql.ResultSet;
@@ -17,7 +32,17 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,25 +58,56 @@ public class ProductRepository {
     private final ProductsTable productsTable;
     private final CategoriesTable categoriesTable;
 
+    // Change log repository used for recording performed changes
+    private final ChangeLogRepository changeLogRepository;
+
+    // Bus, to which performed changes are published
+    private final RepositoryEventBus eventBus;
+
     // Categories repository used for checking if requested operations won't cause data integrity issues.
     private CategoriesRepository categoriesRepository;
 
+    // In-memory snapshot, where product names are indexed for search, along with scheduler keeping it up-to-date
+    // Snapshot is imported in background with the first search - until then database is searched directly
+    // Afterwards it is refreshed in background after changes published by this process and periodically,
+    // so changes performed by someone else are noticed as well - searches only read it
+    private volatile InventorySnapshot searchSnapshot;
+    private ScheduledExecutorService searchSnapshotRefresher;
+    private final AtomicBoolean searchSnapshotRefreshPending;
+    private final int searchSnapshotRefreshIntervalSeconds;
+
+    // True if the repository was closed - search snapshot is no longer refreshed afterwards
+    private boolean closed;
+
     // Logger instance
     private final Logger logger;
 
     /**
      * First stage of products repository initialisation.
-     * Please do not forget to provide also product repository instance using setCategoriesRepository method.
+     * Please do not forget to provide also product repository instance using setCategoriesRepository method
+     * and to subscribe the repository to published changes using subscribeToRepositoryEvents method.
      *
-     * @param client          Database client, that will be used by the repository.
-     * @param productsTable   Structure of the table, where product are stored.
-     * @param categoriesTable Structure of the table, where product categories are stored.
+     * @param client              Database client, that will be used by the repository.
+     * @param productsTable       Structure of the table, where product are stored.
+     * @param categoriesTable     Structure of the table, where product categories are stored.
+     * @param changeLogRepository Repository, where changes performed on products table will be recorded.
+     * @param eventBus            Bus, to which changes performed by the repository will be published.
+     * @param searchConfig        Configuration of product search.
      */
-    public ProductRepository(Client client, ProductsTable productsTable, CategoriesTable categoriesTable) {
+    public ProductRepository(Client client, ProductsTable productsTable, CategoriesTable categoriesTable,
+                             ChangeLogRepository changeLogRepository, RepositoryEventBus eventBus,
+                             SearchConfig searchConfig) {
         // Properties init
         this.client = client;
         this.productsTable = productsTable;
         this.categoriesTable = categoriesTable;
+        this.changeLogRepository = changeLogRepository;
+        this.eventBus = eventBus;
+        this.searchSnapshot = null;
+        this.searchSnapshotRefresher = null;
+        this.searchSnapshotRefreshPending = new AtomicBoolean();
+        this.searchSnapshotRefreshIntervalSeconds = searchConfig.getSnapshotRefreshIntervalSeconds();
+        this.closed = false;
         this.logger = LoggerFactory.getLogger(ProductRepository.class);
     }
 
@@ -68,6 +124,17 @@ public class ProductRepository {
         this.categoriesRepository = categoriesRepository;
     }
 
+    /**
+     * Subscribes the repository to changes published to its event bus, so changes performed by this process
+     * are applied to the search snapshot right away.
+     * Subscription is performed separately from the constructor, so the bus never refers to partially created
+     * repository.
+     */
+    public void subscribeToRepositoryEvents() {
+        this.eventBus.subscribe(ProductAddedEvent.class, event -> this.requestSearchSnapshotRefresh());
+        this.eventBus.subscribe(ProductRemovedEvent.class, event -> this.requestSearchSnapshotRefresh());
+    }
+
     /**
      * Conversion method between java.sql.Date and java.time.LocalDate.
      * Found that usage of java.util.Date is not recommended since introduction of java.time.
@@ -100,10 +167,11 @@ public class ProductRepository {
                 // Converting record from query result to product model and filling the result list with it
                 long id = queryResult.getLong("id");
                 String name = queryResult.getString("name");
+                long categoryId = queryResult.getLong("category_id");
                 String category = queryResult.getString("category");
                 LocalDate expirationDate = convertToLocalDate(queryResult.getDate("expiration_date"));
 
-                importedProducts.add(new Product(id, name, category, expirationDate));
+                importedProducts.add(new Product(id, name, categoryId, category, expirationDate));
             }
 
         } catch (SQLException exception) {
@@ -126,54 +194,171 @@ public class ProductRepository {
      *                             conversion from raw query result to the list of products models.
      */
     public List<Product> getProducts(long startIndex, long numberOfProducts) {
-        // Logging
-        this.logger.info("Importing {} products from database starting from index {}...", numberOfProducts, startIndex);
+        return this.getProducts(startIndex, numberOfProducts, new QueryHandle());
+    }
 
-        // Query generation
+    /**
+     * Imports specified number of products currently present in the database starting from given index.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param startIndex           Index, from which record importing should be started.
+     * @param numberOfProducts     Number of records to import starting from index given previously.
+     * @param handle               Handle, that can be used to cancel the import.
+     * @return                     List of products sized according to given parameters in ascending order of their IDs.
+     * @throws RepositoryException When execution of generated query fail or was cancelled, or there was an issue
+     *                             during conversion from raw query result to the list of products models.
+     */
+    public List<Product> getProducts(long startIndex, long numberOfProducts, QueryHandle handle) {
+        return this.getProducts(ProductQuery.all(), startIndex, numberOfProducts, handle);
+    }
+
+    /**
+     * Query compiled from product query specification.
+     *
+     * @param sql        Query text with '?' in place of parameters.
+     * @param parameters Values of the parameters in order of their appearance in the query.
+     * */
+    private record CompiledQuery(String sql, List<Object> parameters) {}
+
+    /**
+     * Compiles filters of given specification into WHERE clause.
+     * Each filter is expressed as comparison of bare column with parameter (equality, range or prefix match),
+     * so indexes created on filtered columns can be used by the database.
+     *
+     * @param  query Specification of requested products.
+     * @return       WHERE clause (empty if specification does not filter the products) along with its parameters.
+     * */
+    private CompiledQuery compileFilters(ProductQuery query) {
         String productsTableName = this.productsTable.getTableName();
-        String productsIdColumnName = this.productsTable.getIdColumnName();
-        String productsNameColumnName = this.productsTable.getNameColumnName();
-        String productCategoryIdColumnName = this.productsTable.getCategoryIdColumnName();
-        String productExpirationDateColumnName = this.productsTable.getExpirationDateColumnName();
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
 
-        String categoriesTableName = this.categoriesTable.getTableName();
-        String categoriesIdColumnName = this.categoriesTable.getIdColumnName();
-        String categoriesNameColumnName = this.categoriesTable.getNameColumnName();
+        if (query.getCategoryId() != null) {
+            conditions.add(productsTableName + "." + this.productsTable.getCategoryIdColumnName() + " = ?");
+            parameters.add(query.getCategoryId());
+        }
 
-        String query = "SELECT " +
-                productsTableName + "." + productsIdColumnName + " AS 'id', " +
-                productsTableName + "." + productsNameColumnName + " AS 'name', " +
-                categoriesTableName + "." + categoriesNameColumnName + " AS 'category', " +
-                productsTableName + "." + productExpirationDateColumnName + " AS 'expiration_date' " +
-                "FROM " + productsTableName + " INNER JOIN " + categoriesTableName + " ON " +
-                productsTableName + "." + productCategoryIdColumnName + " = " +
-                categoriesTableName + "." + categoriesIdColumnName +
-                " LIMIT " + startIndex + ", " + numberOfProducts;
+        if (query.getExpiringFrom() != null) {
+            conditions.add(productsTableName + "." + this.productsTable.getExpirationDateColumnName() + " >= ?");
+            parameters.add(query.getExpiringFrom());
+        }
 
-        // Importing the data and converting it to the right format
-        List<Product> importedProducts;
+        if (query.getExpiringTo() != null) {
+            conditions.add(productsTableName + "." + this.productsTable.getExpirationDateColumnName() + " <= ?");
+            parameters.add(query.getExpiringTo());
+        }
 
-        try {
-            importedProducts = this.client
-                    .importData(query, ProductRepository::queryResultToListOfProducts)
-                    .stream()
-                    .map(product -> (Product)product)
-                    .toList();
+        if (query.getNamePrefix() != null) {
+            conditions.add(productsTableName + "." + this.productsTable.getNameColumnName() + " LIKE ?");
+            parameters.add(escapeLikePattern(query.getNamePrefix()) + "%");
+        }
 
-        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+        String whereClause = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        return new CompiledQuery(whereClause, parameters);
+    }
+
+    /**
+     * Compiles order of given specification into ORDER BY clause.
+     * Ties are resolved using product IDs, so the order is stable between imports of consecutive ranges.
+     *
+     * @param  query Specification of requested products.
+     * @return       ORDER BY clause.
+     * */
+    private String compileOrder(ProductQuery query) {
+        String productsTableName = this.productsTable.getTableName();
+        String idColumn = productsTableName + "." + this.productsTable.getIdColumnName();
+        String direction = (query.getSortDirection() == SortDirection.ASCENDING) ? "ASC" : "DESC";
+
+        String sortColumn = switch (query.getSortKey()) {
+            case ID -> idColumn;
+            case NAME -> productsTableName + "." + this.productsTable.getNameColumnName();
+            case CATEGORY -> this.categoriesTable.getTableName() + "." + this.categoriesTable.getNameColumnName();
+            case EXPIRATION_DATE -> productsTableName + "." + this.productsTable.getExpirationDateColumnName();
+        };
+
+        return sortColumn.equals(idColumn) ?
+                " ORDER BY " + idColumn + " " + direction :
+                " ORDER BY " + sortColumn + " " + direction + ", " + idColumn + " " + direction;
+    }
+
+    /**
+     * Imports specified number of products matching given specification starting from given index.
+     * Filtering and sorting are performed by the database.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param query                Specification of requested products along with their order.
+     * @param startIndex           Index, from which record importing should be started.
+     * @param numberOfProducts     Number of records to import starting from index given previously.
+     * @param handle               Handle, that can be used to cancel the import.
+     * @return                     List of matching products sized according to given parameters.
+     * @throws RepositoryException When execution of generated query fail or was cancelled, or there was an issue
+     *                             during conversion from raw query result to the list of products models.
+     */
+    public List<Product> getProducts(ProductQuery query, long startIndex, long numberOfProducts, QueryHandle handle) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.getProducts");
+
+        try {
             // Logging
-            String errorMessage = "Failed to import products from database.";
-            this.logger.error(errorMessage);
+            this.logger.info("Importing {} products matching {} from database starting from index {}...",
+                    numberOfProducts, query, startIndex);
+
+            // Query generation
+            String productsTableName = this.productsTable.getTableName();
+            String productsIdColumnName = this.productsTable.getIdColumnName();
+            String productsNameColumnName = this.productsTable.getNameColumnName();
+            String productCategoryIdColumnName = this.productsTable.getCategoryIdColumnName();
+            String productExpirationDateColumnName = this.productsTable.getExpirationDateColumnName();
+
+            String categoriesTableName = this.categoriesTable.getTableName();
+            String categoriesIdColumnName = this.categoriesTable.getIdColumnName();
+            String categoriesNameColumnName = this.categoriesTable.getNameColumnName();
+
+            CompiledQuery filters = this.compileFilters(query);
+
+            String sql = "SELECT " +
+                    productsTableName + "." + productsIdColumnName + " AS 'id', " +
+                    productsTableName + "." + productsNameColumnName + " AS 'name', " +
+                    productsTableName + "." + productCategoryIdColumnName + " AS 'category_id', " +
+                    categoriesTableName + "." + categoriesNameColumnName + " AS 'category', " +
+                    productsTableName + "." + productExpirationDateColumnName + " AS 'expiration_date' " +
+                    "FROM " + productsTableName + " INNER JOIN " + categoriesTableName + " ON " +
+                    productsTableName + "." + productCategoryIdColumnName + " = " +
+                    categoriesTableName + "." + categoriesIdColumnName +
+                    filters.sql() +
+                    this.compileOrder(query) +
+                    " LIMIT ?, ?";
+
+            List<Object> parameters = new ArrayList<>(filters.parameters());
+            parameters.add(startIndex);
+            parameters.add(numberOfProducts);
+
+            // Importing the data and converting it to the right format
+            List<Product> importedProducts;
+
+            try {
+                importedProducts = this.client
+                        .importData(sql, parameters, ProductRepository::queryResultToListOfProducts, handle)
+                        .stream()
+                        .map(product -> (Product)product)
+                        .toList();
+
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to import products from database.";
+                this.logger.error(errorMessage);
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
-        }
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
 
-        // Logging
-        this.logger.info("Products imported successfully.");
+            // Logging
+            this.logger.info("Products imported successfully.");
 
-        // Returning processed query result
-        return importedProducts;
+            // Returning processed query result
+            return importedProducts;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
     }
 
     /**
@@ -188,55 +373,8 @@ public class ProductRepository {
      *                             conversion from raw query result to the list of products models.
      */
     public List<Product> getExpiredProducts(LocalDate date, long startIndex, long numberOfProducts) {
-        // Logging
-        this.logger.info("Importing {} products, that would be expired on {} starting from index {}...",
-                numberOfProducts, date, startIndex);
-
-        // Query generation
-        String productsTableName = this.productsTable.getTableName();
-        String productsIdColumnName = this.productsTable.getIdColumnName();
-        String productsNameColumnName = this.productsTable.getNameColumnName();
-        String productExpirationDateColumnName = this.productsTable.getExpirationDateColumnName();
-
-        String categoriesTableName = this.categoriesTable.getTableName();
-        String categoriesIdColumnName = this.categoriesTable.getIdColumnName();
-        String categoriesNameColumnName = this.categoriesTable.getNameColumnName();
-
-        String query = "SELECT " +
-                productsTableName + "." + productsIdColumnName + " AS 'id', " +
-                productsTableName + "." + productsNameColumnName + " AS 'name', " +
-                categoriesTableName + "." + categoriesNameColumnName + " AS 'category'," +
-                productsTableName + "." + productExpirationDateColumnName + " AS 'expiration_date'" +
-                "FROM " + productsTableName + " INNER JOIN " + categoriesTableName + " ON " +
-                productsTableName + "." + productsIdColumnName + " = " +
-                categoriesTableName + "." + categoriesIdColumnName +
-                " WHERE expiration_date <= " + "'" + date + "'" +
-                " LIMIT " + startIndex + ", " + numberOfProducts;
-
-        // Importing the data and converting it to the right format
-        List<Product> importedProducts;
-
-        try {
-            importedProducts = this.client
-                    .importData(query, ProductRepository::queryResultToListOfProducts)
-                    .stream()
-                    .map(product -> (Product)product)
-                    .toList();
-
-        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
-            // Logging
-            String errorMessage = "Failed to import products from database.";
-            this.logger.error(errorMessage);
-
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
-        }
-
-        // Logging
-        this.logger.info("Products imported successfully.");
-
-        // Returning processed query result
-        return importedProducts;
+        return this.getProducts(ProductQuery.all().withExpirationBetween(null, date), startIndex, numberOfProducts,
+                new QueryHandle());
     }
 
     /**
@@ -272,40 +410,251 @@ public class ProductRepository {
      * @throws RepositoryException When execution of generated query fail.
      * */
     public long productQuantityInCategory(long categoryId) {
-        // Logging
-        this.logger.debug("Checking how many products belong to category with ID {}", categoryId);
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.productQuantityInCategory");
 
-        // Query generation
-        String tableName = this.productsTable.getTableName();
-        String idColumnName = this.productsTable.getIdColumnName();
-        String filterColumn = this.productsTable.getCategoryIdColumnName();
+        try {
+            // Logging
+            this.logger.debug("Checking how many products belong to category with ID {}", categoryId);
 
-        String query = "SELECT COUNT(" + idColumnName + ") AS 'quantity' " +
-                "FROM " + tableName +
-                " WHERE " + filterColumn + " = " + categoryId;
+            // Query generation
+            String tableName = this.productsTable.getTableName();
+            String idColumnName = this.productsTable.getIdColumnName();
+            String filterColumn = this.productsTable.getCategoryIdColumnName();
 
-        // Importing the data
-        List<Object> queryResult;
+            String query = "SELECT COUNT(" + idColumnName + ") AS 'quantity' " +
+                    "FROM " + tableName +
+                    " WHERE " + filterColumn + " = " + categoryId;
+
+            // Importing the data
+            List<Object> queryResult;
+
+            try {
+                queryResult = this.client.importData(query, ProductRepository::queryResultToQuantityOfProducts);
+            } catch (DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to perform requested check.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            // Extracting the exact value from query result
+            long productsQuantity = (long) queryResult.get(0);
+
+            // Logging
+            this.logger.debug("There is(are) {} product(s) that belong to specified category.", productsQuantity);
+
+            // Returning the value
+            return productsQuantity;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Checks how many products are currently stored in the database.
+     *
+     * @return                     Check result.
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public long getProductsQuantity() {
+        return this.getProductsQuantity(new QueryHandle());
+    }
+
+    /**
+     * Checks how many products are currently stored in the database.
+     * Check can be cancelled from another thread using given handle.
+     *
+     * @param  handle              Handle, that can be used to cancel the check.
+     * @return                     Check result.
+     * @throws RepositoryException When execution of generated query fail or was cancelled.
+     * */
+    public long getProductsQuantity(QueryHandle handle) {
+        return this.getProductsQuantity(ProductQuery.all(), handle);
+    }
+
+    /**
+     * Checks how many products matching given specification are currently stored in the database.
+     * Check can be cancelled from another thread using given handle.
+     *
+     * @param  query               Specification of counted products - their order is ignored.
+     * @param  handle              Handle, that can be used to cancel the check.
+     * @return                     Check result.
+     * @throws RepositoryException When execution of generated query fail or was cancelled.
+     * */
+    public long getProductsQuantity(ProductQuery query, QueryHandle handle) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.getProductsQuantity");
 
         try {
-            queryResult = this.client.importData(query, ProductRepository::queryResultToQuantityOfProducts);
-        } catch (DatabaseQueryException | QueryResultProcessingException exception) {
             // Logging
-            String errorMessage = "Failed to perform requested check.";
-            this.logger.error(errorMessage);
+            this.logger.debug("Checking how many products matching {} are stored in database...", query);
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
+            // Query generation
+            String tableName = this.productsTable.getTableName();
+            String idColumnName = this.productsTable.getIdColumnName();
+
+            CompiledQuery filters = this.compileFilters(query);
+            String sql = "SELECT COUNT(" + tableName + "." + idColumnName + ") AS 'quantity' FROM " + tableName +
+                    filters.sql();
+
+            // Importing the data
+            List<Object> queryResult;
+
+            try {
+                queryResult = this.client.importData(sql, filters.parameters(),
+                        ProductRepository::queryResultToQuantityOfProducts, handle);
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to perform requested check.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            // Extracting the exact value from query result
+            long productsQuantity = (long) queryResult.get(0);
+
+            // Logging
+            this.logger.debug("There is(are) {} matching product(s) stored in database.", productsQuantity);
+
+            // Returning the value
+            return productsQuantity;
+        } finally {
+            RepositoryOperationEvent.finish(event);
         }
+    }
 
-        // Extracting the exact value from query result
-        long productsQuantity = (long) queryResult.get(0);
+    /**
+     * Imports raw column values of specified number of products, which ID is greater than given one.
+     * Records are imported in ascending order of their IDs and passed one by one to given consumer,
+     * so no product models are created during the import.
+     *
+     * @param  lastImportedId      ID of the last product, that was already imported. Records with greater IDs will be imported.
+     * @param  numberOfProducts    Maximal number of records to import.
+     * @param  consumer            Consumer, to which column values of each imported record will be passed.
+     * @return                     Number of imported records.
+     * @throws RepositoryException When execution of generated query fail or there was an issue during
+     *                             passing imported records to given consumer.
+     */
+    public long importProductColumns(long lastImportedId, long numberOfProducts, ProductColumnsConsumer consumer) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.importProductColumns");
+
+        try {
+            // Logging
+            this.logger.debug("Importing column values of {} products with ID greater than {}...",
+                    numberOfProducts, lastImportedId);
+
+            // Query generation
+            String tableName = this.productsTable.getTableName();
+            String idColumnName = this.productsTable.getIdColumnName();
+            String nameColumnName = this.productsTable.getNameColumnName();
+            String categoryIdColumnName = this.productsTable.getCategoryIdColumnName();
+            String expirationDateColumnName = this.productsTable.getExpirationDateColumnName();
+
+            String query = "SELECT " +
+                    idColumnName + " AS 'id', " +
+                    nameColumnName + " AS 'name', " +
+                    categoryIdColumnName + " AS 'category_id', " +
+                    expirationDateColumnName + " AS 'expiration_date' " +
+                    "FROM " + tableName +
+                    " WHERE " + idColumnName + " > " + lastImportedId +
+                    " ORDER BY " + idColumnName +
+                    " LIMIT " + numberOfProducts;
+
+            // Importing the data
+            long importedRecords;
+
+            try {
+                importedRecords = this.client.importData(query, List.of(), toColumnsConsumer(consumer), new QueryHandle());
+
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to import products column values from database.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            // Logging
+            this.logger.debug("Column values of {} product(s) imported successfully.", importedRecords);
+
+            // Returning number of imported records
+            return importedRecords;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Imports raw column values of all products in ascending order of their IDs using single query.
+     * Records are fetched from server-side cursor in batches of given size and passed one by one to given consumer,
+     * so any number of products is imported in constant memory.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param  fetchSize           Number of records fetched from the database at once.
+     * @param  consumer            Consumer, to which column values of each imported record will be passed.
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Number of imported records.
+     * @throws RepositoryException When execution of generated query fail or was cancelled, or there was an issue
+     *                             during passing imported records to given consumer.
+     */
+    public long exportProductColumns(int fetchSize, ProductColumnsConsumer consumer, QueryHandle handle) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.exportProductColumns");
+
+        try {
+            // Logging
+            this.logger.debug("Exporting column values of all products...");
+
+            // Query generation
+            String query = "SELECT " +
+                    this.productsTable.getIdColumnName() + " AS 'id', " +
+                    this.productsTable.getNameColumnName() + " AS 'name', " +
+                    this.productsTable.getCategoryIdColumnName() + " AS 'category_id', " +
+                    this.productsTable.getExpirationDateColumnName() + " AS 'expiration_date' " +
+                    "FROM " + this.productsTable.getTableName() +
+                    " ORDER BY " + this.productsTable.getIdColumnName();
+
+            // Importing the data
+            long importedRecords;
+
+            try {
+                importedRecords = this.client.streamData(query, List.of(), fetchSize, toColumnsConsumer(consumer), handle);
+
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to export products column values from database.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
 
-        // Logging
-        this.logger.debug("There is(are) {} product(s) that belong to specified category.", productsQuantity);
+            // Logging
+            this.logger.debug("Column values of {} product(s) exported successfully.", importedRecords);
 
-        // Returning the value
-        return productsQuantity;
+            // Returning number of imported records
+            return importedRecords;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * @param  consumer Consumer, to which column values of each imported record will be passed.
+     * @return          Consumer passing column values of each imported record to given consumer.
+     * */
+    private static ResultSetConsumer toColumnsConsumer(ProductColumnsConsumer consumer) {
+        return queryResult -> {
+            long id = queryResult.getLong("id");
+            String name = queryResult.getString("name");
+            long categoryId = queryResult.getLong("category_id");
+            long expirationEpochDay = convertToLocalDate(queryResult.getDate("expiration_date")).toEpochDay();
+
+            consumer.accept(id, name, categoryId, expirationEpochDay);
+        };
     }
 
     /**
@@ -319,92 +668,595 @@ public class ProductRepository {
      * @throws RepositoryException         When execution of generated query fail.
      */
     public void addNewProduct(String productName, long categoryId, LocalDate expirationDate) {
-        // Logging
-        logger.info("Adding product named as '{}' to database...", productName);
+        this.addNewProduct(productName, categoryId, expirationDate, null);
+    }
+
+    /**
+     * Adds new product recorded in write journal into database.
+     * Key of the journal entry is stored along with the product, so replay of the entry can detect,
+     * that it was already applied - see isAddedFromJournal method.
+     *
+     * @param  productName                 Name of the product.
+     * @param  categoryId                  ID of category, to which product belong to.
+     * @param  expirationDate              Date of product expiration.
+     * @param  journalKey                  Key of journal entry, from which product is added or null if it is not.
+     * @throws ForbiddenOperationException When category, to which provided category belong does not exist in database.
+     * @throws RepositoryException         When execution of generated query fail.
+     */
+    public void addNewProduct(String productName, long categoryId, LocalDate expirationDate, String journalKey) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.addNewProduct");
 
-        // Checking if requested operation does not cause violation of data integrity
         try {
-            if (this.categoriesRepository.isInDatabase(categoryId)) {
+            // Logging
+            logger.info("Adding product named as '{}' to database...", productName);
+
+            // Checking if requested operation does not cause violation of data integrity - category is imported,
+            // as its name is a part of published change
+            Category category;
+
+            try {
+                category = this.categoriesRepository.getCategory(categoryId);
+
+                if (category != null) {
+                    // Logging
+                    this.logger.debug("Operation considered as safe.");
+                } else {
+                    // Logging
+                    String errorMessage = "Operation considered as unsafe for data integrity.";
+                    this.logger.error(errorMessage);
+
+                    // Throwing an exception
+                    throw new ForbiddenOperationException(errorMessage);
+                }
+
+            } catch (NullPointerException exception) {
                 // Logging
-                this.logger.debug("Operation considered as safe.");
-            } else {
+                String errorMessage = "Requested operation require to use instance of categories repository," +
+                        "which was not provided during repository initialisation.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            // Query generation
+            String tableName = this.productsTable.getTableName();
+            String nameColumnName = this.productsTable.getNameColumnName();
+            String categoryIdColumnName = this.productsTable.getCategoryIdColumnName();
+            String expirationDateColumnName = this.productsTable.getExpirationDateColumnName();
+            String journalKeyColumnName = this.productsTable.getJournalKeyColumnName();
+
+            String query = "INSERT INTO " + tableName +
+                    " (" + nameColumnName + ", " + categoryIdColumnName + ", " + expirationDateColumnName + ", " +
+                    journalKeyColumnName + ") VALUES (?, ?, ?, ?)";
+            List<String> queries = this.changeLogRepository.getRecordedChangeQueries(
+                    query, tableName, "LAST_INSERT_ID()", ChangeOperation.INSERT);
+
+            // Execution of generated queries within single transaction
+            long productId;
+
+            try {
+                productId = this.client.insertData(queries,
+                        Arrays.asList(productName, categoryId, expirationDate, journalKey));
+
+            } catch (DatabaseConnectionException | DatabaseQueryException exception) {
                 // Logging
-                String errorMessage = "Operation considered as unsafe for data integrity.";
+                String errorMessage = "Failed to add new product to database.";
                 this.logger.error(errorMessage);
 
-                // Throwing an exception
-                throw new ForbiddenOperationException(errorMessage);
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
             }
 
-        } catch (NullPointerException exception) {
             // Logging
-            String errorMessage = "Requested operation require to use instance of categories repository," +
-                    "which was not provided during repository initialisation.";
-            this.logger.error(errorMessage);
+            this.logger.info("Product successfully added to database.");
 
-            // Exception wrapping
-            throw new RepositoryException(errorMessage, exception);
+            // Publishing performed change
+            this.eventBus.publish(new ProductAddedEvent(
+                    new Product(productId, productName, categoryId, category.getName(), expirationDate)));
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Checks if product recorded in write journal entry with given key was already added to the database.
+     * Meant to be used before replaying the entry, as the program could stop after the product was added,
+     * but before the entry was removed from the journal.
+     *
+     * @param  journalKey          Key of the journal entry.
+     * @return                     True or false depending on the check result.
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public boolean isAddedFromJournal(String journalKey) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.isAddedFromJournal");
+
+        try {
+            // Logging
+            this.logger.debug("Checking if product from journal entry '{}' exist in database...", journalKey);
+
+            // Query generation
+            String tableName = this.productsTable.getTableName();
+            String idColumnName = this.productsTable.getIdColumnName();
+            String journalKeyColumnName = this.productsTable.getJournalKeyColumnName();
+
+            String query = "SELECT COUNT(" + idColumnName + ") AS 'quantity' " +
+                    "FROM " + tableName +
+                    " WHERE " + journalKeyColumnName + " = ?";
+
+            // Importing the data
+            List<Object> queryResult;
+
+            try {
+                queryResult = this.client.importData(query, List.of(journalKey),
+                        ProductRepository::queryResultToQuantityOfProducts, new QueryHandle());
+            } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
+                // Logging
+                String errorMessage = "Failed to perform requested check.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            // Key is unique, so at most one product can be found
+            boolean isProductAdded = (long) queryResult.get(0) > 0;
+
+            // Logging
+            this.logger.debug("Product from specified journal entry {} in database.", isProductAdded ? "exist" : "does not exist");
+
+            // Returning the check result
+            return isProductAdded;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Removes product from database.
+     * If product with provided ID does not exist no exception will be thrown, but the change is neither recorded
+     * nor published.
+     *
+     * @param  productId                   ID of product to be deleted.
+     * @throws RepositoryException         When executions of generated queries fails.
+     */
+    public void removeProduct(long productId) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.removeProduct");
+
+        try {
+            // Logging
+            this.logger.info("Removing product with ID {} from database...", productId);
+
+            // Query generation
+            String tableName = this.productsTable.getTableName();
+            String idColumnName = this.productsTable.getIdColumnName();
+
+            String query = "DELETE FROM " + tableName + " WHERE " + idColumnName + " = " + productId;
+            List<String> queries = this.changeLogRepository.getRecordedChangeQueries(
+                    query, tableName, String.valueOf(productId), ChangeOperation.DELETE);
+
+            // Execution of generated queries within single transaction - change is recorded only if the record existed
+            long deletedRows;
+
+            try {
+                deletedRows = this.client.updateRecord(queries);
+
+            } catch (DatabaseConnectionException | DatabaseQueryException exception) {
+                // Logging
+                String errorMessage = "Failed to delete specified product from database.";
+                this.logger.error(errorMessage);
+
+                // Exception wrapping
+                throw new RepositoryException(errorMessage, exception);
+            }
+
+            if (deletedRows == 0) {
+                this.logger.info("Specified product not present in database - nothing removed.");
+                return;
+            }
+
+            // Logging
+            this.logger.info("Specified product successfully removed from database.");
+
+            // Publishing performed change
+            this.eventBus.publish(new ProductRemovedEvent(productId));
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Imports products with given IDs.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param  productIds          IDs of requested products.
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Map, where IDs of found products are keys and product models are values.
+     *                             Products not present in the database are omitted.
+     * @throws RepositoryException When execution of generated query fail or was cancelled, or there was an issue
+     *                             during conversion from raw query result to the list of products models.
+     */
+    private Map<Long, Product> getProductsWithIds(Collection<Long> productIds, QueryHandle handle) {
+        Map<Long, Product> importedProducts = new HashMap<>();
+
+        // Nothing to import
+        if (productIds.isEmpty()) {
+            return importedProducts;
         }
 
         // Query generation
-        String tableName = this.productsTable.getTableName();
-        String nameColumnName = this.productsTable.getNameColumnName();
-        String categoryIdColumnName = this.productsTable.getCategoryIdColumnName();
-        String expirationDateColumnName = this.productsTable.getExpirationDateColumnName();
+        String productsTableName = this.productsTable.getTableName();
+        String productsIdColumnName = this.productsTable.getIdColumnName();
+        String productsNameColumnName = this.productsTable.getNameColumnName();
+        String productCategoryIdColumnName = this.productsTable.getCategoryIdColumnName();
+        String productExpirationDateColumnName = this.productsTable.getExpirationDateColumnName();
 
-        String query = "INSERT INTO " + tableName +
-                " (" + nameColumnName + ", " + categoryIdColumnName + ", " + expirationDateColumnName +
-                ") VALUES ('" + productName + "', " + categoryId + ", '" + expirationDate + "')";
+        String categoriesTableName = this.categoriesTable.getTableName();
+        String categoriesIdColumnName = this.categoriesTable.getIdColumnName();
+        String categoriesNameColumnName = this.categoriesTable.getNameColumnName();
+
+        String query = "SELECT " +
+                productsTableName + "." + productsIdColumnName + " AS 'id', " +
+                productsTableName + "." + productsNameColumnName + " AS 'name', " +
+                productsTableName + "." + productCategoryIdColumnName + " AS 'category_id', " +
+                categoriesTableName + "." + categoriesNameColumnName + " AS 'category', " +
+                productsTableName + "." + productExpirationDateColumnName + " AS 'expiration_date' " +
+                "FROM " + productsTableName + " INNER JOIN " + categoriesTableName + " ON " +
+                productsTableName + "." + productCategoryIdColumnName + " = " +
+                categoriesTableName + "." + categoriesIdColumnName +
+                " WHERE " + productsTableName + "." + productsIdColumnName + " IN (" +
+                productIds.stream().map(String::valueOf).collect(Collectors.joining(", ")) + ")";
 
-        // Execution of generated query
+        // Importing the data
         try {
-            this.client.updateData(query);
+            this.client
+                    .importData(query, ProductRepository::queryResultToListOfProducts, handle)
+                    .forEach(product -> importedProducts.put(((Product) product).getId(), (Product) product));
 
-        } catch (DatabaseConnectionException | DatabaseQueryException exception) {
+        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
             // Logging
-            String errorMessage = "Failed to add new product to database.";
+            String errorMessage = "Failed to import products from database.";
             this.logger.error(errorMessage);
 
             // Exception wrapping
             throw new RepositoryException(errorMessage, exception);
         }
 
-        // Logging
-        this.logger.info("Product successfully added to database.");
+        // Returning processed query result
+        return importedProducts;
     }
 
     /**
-     * Removes product from database.
-     * If product with provided ID does not exist no exception will be thrown but
-     * generated query still will be executed.
+     * Escapes given text, so it is matched literally, when used in the pattern of LIKE operator.
      *
-     * @param  productId                   ID of product to be deleted.
-     * @throws RepositoryException         When executions of generated queries fails.
-     */
-    public void removeProduct(long productId) {
-        // Logging
-        this.logger.info("Removing product with ID {} from database...", productId);
+     * @param  text Text to be escaped.
+     * @return      Escaped text.
+     * */
+    private static String escapeLikePattern(String text) {
+        return text
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 
+    /**
+     * Searches the database for products, which names contain given phrase.
+     * Used when in-memory snapshot is not yet imported.
+     *
+     * @param  phrase              Searched phrase.
+     * @param  maxResults          Maximal number of products to find.
+     * @param  handle              Handle, that can be used to cancel the search.
+     * @return                     Found products in ascending order of their IDs.
+     * @throws RepositoryException When execution of generated query fail or was cancelled, or there was an issue
+     *                             during conversion from raw query result to the list of products models.
+     * */
+    private List<Product> searchProductsInDatabase(String phrase, int maxResults, QueryHandle handle) {
         // Query generation
-        String tableName = this.productsTable.getTableName();
-        String idColumnName = this.productsTable.getIdColumnName();
+        String productsTableName = this.productsTable.getTableName();
+        String productsIdColumnName = this.productsTable.getIdColumnName();
+        String productsNameColumnName = this.productsTable.getNameColumnName();
+        String productCategoryIdColumnName = this.productsTable.getCategoryIdColumnName();
+        String productExpirationDateColumnName = this.productsTable.getExpirationDateColumnName();
 
-        String query = "DELETE FROM " + tableName + " WHERE " + idColumnName + " = " + productId;
+        String categoriesTableName = this.categoriesTable.getTableName();
+        String categoriesIdColumnName = this.categoriesTable.getIdColumnName();
+        String categoriesNameColumnName = this.categoriesTable.getNameColumnName();
 
-        // Execution of generated query
+        String query = "SELECT " +
+                productsTableName + "." + productsIdColumnName + " AS 'id', " +
+                productsTableName + "." + productsNameColumnName + " AS 'name', " +
+                productsTableName + "." + productCategoryIdColumnName + " AS 'category_id', " +
+                categoriesTableName + "." + categoriesNameColumnName + " AS 'category', " +
+                productsTableName + "." + productExpirationDateColumnName + " AS 'expiration_date' " +
+                "FROM " + productsTableName + " INNER JOIN " + categoriesTableName + " ON " +
+                productsTableName + "." + productCategoryIdColumnName + " = " +
+                categoriesTableName + "." + categoriesIdColumnName +
+                " WHERE " + productsTableName + "." + productsNameColumnName + " LIKE ?" +
+                " ORDER BY " + productsTableName + "." + productsIdColumnName +
+                " LIMIT ?";
+
+        List<Object> parameters = List.of("%" + escapeLikePattern(phrase) + "%", maxResults);
+
+        // Importing the data and converting it to the right format
         try {
-            this.client.updateData(query);
+            return this.client
+                    .importData(query, parameters, ProductRepository::queryResultToListOfProducts, handle)
+                    .stream()
+                    .map(product -> (Product) product)
+                    .toList();
 
-        } catch (DatabaseConnectionException | DatabaseQueryException exception) {
+        } catch (DatabaseConnectionException | DatabaseQueryException | QueryResultProcessingException exception) {
             // Logging
-            String errorMessage = "Failed to delete specified product from database.";
+            String errorMessage = "Failed to search products in database.";
             this.logger.error(errorMessage);
 
             // Exception wrapping
             throw new RepositoryException(errorMessage, exception);
         }
+    }
+
+    /**
+     * Starts import of in-memory snapshot used for search in background, followed by its periodic refreshes.
+     * Does nothing if it was already started or the repository was closed. If import fails, it is retried with
+     * the next periodic refresh.
+     * */
+    private synchronized void startSearchSnapshotRefresher() {
+        if (this.searchSnapshotRefresher != null || this.closed) {
+            return;
+        }
+
+        this.searchSnapshotRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ProductRepository-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.searchSnapshotRefresher.scheduleWithFixedDelay(this::refreshSearchSnapshot,
+                0, this.searchSnapshotRefreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedules refresh of in-memory snapshot used for search, unless it is not used (yet or anymore) or its refresh
+     * is already scheduled - changes published meanwhile are applied by the scheduled refresh together.
+     * */
+    private synchronized void requestSearchSnapshotRefresh() {
+        if (this.searchSnapshotRefresher != null && !this.closed &&
+                this.searchSnapshotRefreshPending.compareAndSet(false, true)) {
+            this.searchSnapshotRefresher.execute(() -> {
+                this.searchSnapshotRefreshPending.set(false);
+                this.refreshSearchSnapshot();
+            });
+        }
+    }
+
+    /**
+     * Imports in-memory snapshot used for search or applies changes performed since its previous refresh.
+     * Executed by the refresher thread only - exceptions are caught, as they would cancel further refreshes.
+     * */
+    private void refreshSearchSnapshot() {
+        InventorySnapshot snapshot = this.searchSnapshot;
+
+        try {
+            if (snapshot == null) {
+                snapshot = new InventorySnapshot(this);
+                snapshot.refresh(new QueryHandle());
+                this.searchSnapshot = snapshot;
+            } else {
+                snapshot.refresh(new QueryHandle());
+            }
 
-        // Logging
-        this.logger.info("Specified product successfully removed from database.");
+        } catch (RepositoryException exception) {
+            if (this.searchSnapshot == null) {
+                this.logger.warn("Failed to import products for search - database will be searched directly.",
+                        exception);
+            } else {
+                this.logger.warn("Failed to refresh products used for search - previous ones are kept.", exception);
+            }
+        } catch (RuntimeException exception) {
+            this.logger.error("Unexpected failure of search snapshot refresh - retrying with the next one.", exception);
+        }
+    }
+
+    /**
+     * Stops refreshing in-memory snapshot used for search - refresh in progress is interrupted and awaited,
+     * so it does not use the database client after it is closed. Searches performed afterwards use already imported
+     * snapshot or the database directly.
+     * Subsequent calls do nothing.
+     *
+     * @param timeoutMillis Maximal time of waiting for the refresh in progress in milliseconds.
+     * */
+    public void close(long timeoutMillis) {
+        ScheduledExecutorService refresher;
+
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+            refresher = this.searchSnapshotRefresher;
+        }
+
+        if (refresher == null) {
+            return;
+        }
+
+        refresher.shutdownNow();
+
+        try {
+            if (!refresher.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                this.logger.warn("Search snapshot refresh not completed in {} ms.", timeoutMillis);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Searches for products, which names contain given phrase, ignoring the case.
+     * Search is performed using names indexed in memory, kept in sync with the database in background using
+     * the change log - until they are imported after the first search, database is searched directly.
+     * Indexed names are only read, so the search takes single query importing found products, which omits
+     * products removed since the last refresh of the index.
+     * Search can be cancelled from another thread using given handle.
+     *
+     * @param  phrase              Searched phrase.
+     * @param  maxResults          Maximal number of products to find.
+     * @param  handle              Handle, that can be used to cancel the search.
+     * @return                     Found products in ascending order of their IDs.
+     * @throws RepositoryException When execution of generated queries fail or was cancelled, or there was an issue
+     *                             during conversion of raw query results.
+     * */
+    public List<Product> searchProducts(String phrase, int maxResults, QueryHandle handle) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.searchProducts");
+
+        try {
+            // Logging
+            this.logger.info("Searching for at most {} products, which name contains '{}'...", maxResults, phrase);
+
+            InventorySnapshot snapshot = this.searchSnapshot;
+            List<Product> foundProducts;
+
+            if (snapshot == null) {
+                this.startSearchSnapshotRefresher();
+                foundProducts = this.searchProductsInDatabase(phrase, maxResults, handle);
+            }
+            else {
+                long[] foundIds = snapshot.searchByName(phrase, maxResults);
+                Map<Long, Product> importedProducts =
+                        this.getProductsWithIds(Arrays.stream(foundIds).boxed().toList(), handle);
+
+                // Products removed meanwhile are omitted
+                foundProducts = Arrays.stream(foundIds)
+                        .mapToObj(importedProducts::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+            }
+
+            // Logging
+            this.logger.info("{} product(s) found.", foundProducts.size());
+
+            // Returning found products
+            return foundProducts;
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Checks the version of the last change performed on products.
+     * Can be used as starting point for further synchronisation using changesSince method.
+     * Should be checked before importing the products, so no change will be missed.
+     *
+     * @return                     Version of the last change or 0 if products were never changed.
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public long getCurrentVersion() {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.getCurrentVersion");
+
+        try {
+            return this.changeLogRepository.getCurrentVersion(this.productsTable.getTableName());
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Removes old changes of products from the change log - only configured number of the latest changes is kept.
+     *
+     * @throws RepositoryException When execution of generated query fail.
+     * */
+    public void pruneChanges() {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.pruneChanges");
+
+        try {
+            this.changeLogRepository.pruneChanges(this.productsTable.getTableName());
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
+    }
+
+    /**
+     * Imports only those products, that were inserted, updated or deleted since given version.
+     *
+     * @param  version             Version of the last change known to the caller.
+     * @return                     Set of changes performed since given version - when they are not available,
+     *                             set indicates, that all products should be imported again.
+     * @throws RepositoryException When execution of generated queries fail or there was an issue during
+     *                             conversion of raw query results.
+     * */
+    public ChangeSet<Product> changesSince(long version) {
+        return this.changesSince(version, new QueryHandle());
+    }
+
+    /**
+     * Imports only those products, that were inserted, updated or deleted since given version.
+     * Import can be cancelled from another thread using given handle.
+     *
+     * @param  version             Version of the last change known to the caller.
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Set of changes performed since given version - when they are not available,
+     *                             set indicates, that all products should be imported again.
+     * @throws RepositoryException When execution of generated queries fail or was cancelled, or there was an issue
+     *                             during conversion of raw query results.
+     * */
+    public ChangeSet<Product> changesSince(long version, QueryHandle handle) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.start("ProductRepository.changesSince");
+
+        try {
+            // Logging
+            this.logger.debug("Importing products changed since version {}...", version);
+
+            // Importing recorded changes
+            List<ChangeLogEntry> entries = this.changeLogRepository.getChangesSince(this.productsTable.getTableName(), version,
+                    handle);
+
+            if (entries == null) {
+                return ChangeSet.reloadRequired(version);
+            }
+
+            if (entries.isEmpty()) {
+                this.logger.debug("Products not changed since requested version.");
+                return new ChangeSet<>(version, List.of(), List.of(), List.of());
+            }
+
+            long newVersion = entries.get(entries.size() - 1).getVersion();
+            Map<Long, ChangeOperation> finalOperations = ChangeLogRepository.getFinalOperations(entries);
+
+            // Importing current state of records, that still should exist
+            List<Long> existingIds = finalOperations.entrySet().stream()
+                    .filter(entry -> entry.getValue() != ChangeOperation.DELETE)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            Map<Long, Product> importedProducts = this.getProductsWithIds(existingIds, handle);
+
+            // Sorting records according to performed operations
+            List<Product> insertedProducts = new ArrayList<>();
+            List<Product> updatedProducts = new ArrayList<>();
+            List<Long> deletedIds = new ArrayList<>();
+
+            finalOperations.forEach((productId, operation) -> {
+                Product product = importedProducts.get(productId);
+
+                if (product == null) {
+                    deletedIds.add(productId);      // Record deleted meanwhile
+                } else if (operation == ChangeOperation.INSERT) {
+                    insertedProducts.add(product);
+                } else {
+                    updatedProducts.add(product);
+                }
+            });
+
+            // Logging
+            this.logger.debug("Products changed since version {} imported successfully - " +
+                    "{} inserted, {} updated, {} deleted.",
+                    version, insertedProducts.size(), updatedProducts.size(), deletedIds.size());
+
+            // Returning the changes
+            return new ChangeSet<>(newVersion, insertedProducts, updatedProducts, deletedIds);
+        } finally {
+            RepositoryOperationEvent.finish(event);
+        }
     }
-}
+}
\ No newline at end of file
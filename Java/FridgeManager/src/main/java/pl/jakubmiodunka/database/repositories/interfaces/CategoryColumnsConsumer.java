@@ -0,0 +1,18 @@
+package pl.jakubmiodunka.database.repositories.interfaces;
+
+/**
+ * Interface related with importing raw column values of product categories without creating category models.
+ * Meant to be implemented by structures, that pass imported categories further without storing them.
+ *
+ * @author Jakub Miodunka
+ */
+@FunctionalInterface
+public interface CategoryColumnsConsumer {
+    /**
+     * Should accept column values of single category record.
+     *
+     * @param id   Category ID.
+     * @param name Category name.
+     */
+    void accept(long id, String name);
+}
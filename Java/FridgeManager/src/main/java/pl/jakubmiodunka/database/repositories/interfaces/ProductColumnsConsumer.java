@@ -0,0 +1,20 @@
+package pl.jakubmiodunka.database.repositories.interfaces;
+
+/**
+ * Interface related with importing raw column values of products without creating product models.
+ * Meant to be implemented by structures, that store imported products in their own, more compact form.
+ *
+ * @author Jakub Miodunka
+ */
+@FunctionalInterface
+public interface ProductColumnsConsumer {
+    /**
+     * Should accept column values of single product record.
+     *
+     * @param id                     Product ID.
+     * @param name                   Product name.
+     * @param categoryId             ID of category, to which product belongs to.
+     * @param expirationEpochDay     Date of product expiration expressed as number of days since epoch.
+     */
+    void accept(long id, String name, long categoryId, long expirationEpochDay);
+}
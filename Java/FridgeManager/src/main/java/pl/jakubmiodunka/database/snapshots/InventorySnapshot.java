@@ -0,0 +1,849 @@
+package pl.jakubmiodunka.database.snapshots;
+
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.models.changes.ChangeSet;
+import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory, column oriented snapshot of products stored in the database, meant to be used for fast analytics.
+ *
+ * Instead of keeping the list of product models, column values of each product are stored in primitive arrays
+ * indexed by row number. Product names and category IDs are dictionary encoded, so each row stores only the code
+ * of the value. Rows are kept in ascending order of product IDs.
+ * After the initial import the snapshot is kept in sync using changes recorded in the change log.
+ * Scans and aggregations are performed in parallel using fork-join framework.
+ * Product names are additionally indexed by their fragments (trigrams), so products can be searched by any part
+ * of their names without checking every name in the dictionary.
+ *
+ * @author Jakub Miodunka
+ * */
+public class InventorySnapshot {
+    // Number of rows processed sequentially by single fork-join task
+    private static final int SEQUENTIAL_SCAN_THRESHOLD = 16_384;
+
+    // Maximal number of records imported by single query during refresh
+    private static final long IMPORT_BATCH_SIZE = 10_000;
+
+    // Initial capacity of the columns
+    private static final int INITIAL_CAPACITY = 1_024;
+
+    // Version value meaning that no products were imported yet
+    private static final long NOT_IMPORTED = -1;
+
+    // Length of name fragments, by which product names are indexed
+    private static final int NAME_FRAGMENT_LENGTH = 3;
+
+    // Share of names in the dictionary not used by any row, above which the dictionary is rebuilt
+    private static final double MAX_UNUSED_NAMES_SHARE = 0.5;
+
+    // Repository, from which the snapshot is filled
+    private final ProductRepository productRepository;
+
+    // Columns
+    private long[] ids;
+    private int[] nameCodes;
+    private int[] categoryCodes;
+    private int[] expirationEpochDays;
+
+    // Number of rows currently stored in the columns
+    private int size;
+
+    // Dictionary of product names
+    private final List<String> names;
+    private final Map<String, Integer> nameCodesByName;
+
+    // Lower-cased product names by their codes along with codes of names containing given lower-cased fragment
+    // Names are removed only by rebuilding the whole dictionary, so codes are appended to the fragments
+    // in ascending order
+    private final List<String> lowerCaseNames;
+    private final Map<String, NameCodes> nameCodesByFragment;
+
+    // Dictionary of category IDs
+    private long[] categoryIds;
+    private final Map<Long, Integer> categoryCodesById;
+
+    // ID of the last imported product - used as starting point of the import
+    private long lastImportedId;
+
+    // Version of the last change applied to the snapshot
+    private long version;
+
+    // Lock protecting the columns from being modified during scans
+    private final ReadWriteLock lock;
+
+    // Pool, in which parallel scans are executed
+    private final ForkJoinPool pool;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * Creates empty snapshot. To fill it with the data please use refresh method.
+     *
+     * @param productRepository Repository, from which the snapshot will be filled.
+     * */
+    public InventorySnapshot(ProductRepository productRepository) {
+        // Properties init
+        this.productRepository = productRepository;
+
+        this.ids = new long[INITIAL_CAPACITY];
+        this.nameCodes = new int[INITIAL_CAPACITY];
+        this.categoryCodes = new int[INITIAL_CAPACITY];
+        this.expirationEpochDays = new int[INITIAL_CAPACITY];
+        this.size = 0;
+
+        this.names = new ArrayList<>();
+        this.nameCodesByName = new HashMap<>();
+        this.lowerCaseNames = new ArrayList<>();
+        this.nameCodesByFragment = new HashMap<>();
+        this.categoryIds = new long[0];
+        this.categoryCodesById = new HashMap<>();
+
+        this.lastImportedId = 0;
+        this.version = NOT_IMPORTED;
+        this.lock = new ReentrantReadWriteLock();
+        this.pool = ForkJoinPool.commonPool();
+        this.logger = LoggerFactory.getLogger(InventorySnapshot.class);
+    }
+
+    /**
+     * Makes sure, that columns are able to store at least one additional row.
+     * */
+    private void ensureCapacity() {
+        if (this.size < this.ids.length) {
+            return;
+        }
+
+        int newCapacity = this.ids.length * 2;
+        this.ids = Arrays.copyOf(this.ids, newCapacity);
+        this.nameCodes = Arrays.copyOf(this.nameCodes, newCapacity);
+        this.categoryCodes = Arrays.copyOf(this.categoryCodes, newCapacity);
+        this.expirationEpochDays = Arrays.copyOf(this.expirationEpochDays, newCapacity);
+    }
+
+    /**
+     * Returns the code of given product name, adding it to the dictionary if necessary.
+     *
+     * @param  name Product name.
+     * @return      Code of given name.
+     * */
+    private int encodeName(String name) {
+        return this.nameCodesByName.computeIfAbsent(name, newName -> {
+            this.names.add(newName);
+            this.indexName(newName, this.names.size() - 1);
+            return this.names.size() - 1;
+        });
+    }
+
+    /**
+     * Adds given product name to the index of name fragments.
+     *
+     * @param name     Product name added to the dictionary.
+     * @param nameCode Code of given name.
+     * */
+    private void indexName(String name, int nameCode) {
+        String lowerCaseName = name.toLowerCase(Locale.ROOT);
+        this.lowerCaseNames.add(lowerCaseName);
+
+        // Each distinct fragment of the name refers to the name once
+        Set<String> fragments = new HashSet<>();
+
+        for (int start = 0; start + NAME_FRAGMENT_LENGTH <= lowerCaseName.length(); start++) {
+            fragments.add(lowerCaseName.substring(start, start + NAME_FRAGMENT_LENGTH));
+        }
+
+        for (String fragment: fragments) {
+            this.nameCodesByFragment.computeIfAbsent(fragment, newFragment -> new NameCodes()).add(nameCode);
+        }
+    }
+
+    /**
+     * Removes all names from the dictionary of product names along with the index of their fragments.
+     * */
+    private void clearNames() {
+        this.names.clear();
+        this.nameCodesByName.clear();
+        this.lowerCaseNames.clear();
+        this.nameCodesByFragment.clear();
+    }
+
+    /**
+     * Rebuilds the dictionary of product names without names, that are no longer used by any row, once their share
+     * exceeds the threshold - names of removed products would otherwise stay in memory and be checked by each search.
+     * Used names keep the order of their codes, so codes of the fragments stay in ascending order.
+     * */
+    private void compactNames() {
+        BitSet usedNameCodes = new BitSet(this.names.size());
+
+        for (int row = 0; row < this.size; row++) {
+            usedNameCodes.set(this.nameCodes[row]);
+        }
+
+        int unusedNames = this.names.size() - usedNameCodes.cardinality();
+
+        if (unusedNames <= this.names.size() * MAX_UNUSED_NAMES_SHARE) {
+            return;
+        }
+
+        // Assigning consecutive codes to used names
+        int[] newNameCodes = new int[this.names.size()];
+        List<String> usedNames = new ArrayList<>(usedNameCodes.cardinality());
+
+        for (int nameCode = usedNameCodes.nextSetBit(0); nameCode >= 0;
+             nameCode = usedNameCodes.nextSetBit(nameCode + 1)) {
+            newNameCodes[nameCode] = usedNames.size();
+            usedNames.add(this.names.get(nameCode));
+        }
+
+        // Rebuilding the dictionary - names are encoded in order of their new codes
+        this.clearNames();
+        usedNames.forEach(this::encodeName);
+
+        for (int row = 0; row < this.size; row++) {
+            this.nameCodes[row] = newNameCodes[this.nameCodes[row]];
+        }
+
+        // Logging
+        this.logger.debug("{} unused name(s) removed from the dictionary of product names.", unusedNames);
+    }
+
+    /**
+     * Returns the code of given category ID, adding it to the dictionary if necessary.
+     *
+     * @param  categoryId Category ID.
+     * @return            Code of given category ID.
+     * */
+    private int encodeCategoryId(long categoryId) {
+        return this.categoryCodesById.computeIfAbsent(categoryId, newCategoryId -> {
+            int newCode = this.categoryIds.length;
+            this.categoryIds = Arrays.copyOf(this.categoryIds, newCode + 1);
+            this.categoryIds[newCode] = newCategoryId;
+            return newCode;
+        });
+    }
+
+    /**
+     * Appends given product as the last row of the snapshot.
+     * Meant to be used as products columns consumer during the import.
+     *
+     * @param id                 Product ID.
+     * @param name               Product name.
+     * @param categoryId         ID of category, to which product belongs to.
+     * @param expirationEpochDay Date of product expiration expressed as number of days since epoch.
+     * */
+    private void append(long id, String name, long categoryId, long expirationEpochDay) {
+        this.ensureCapacity();
+
+        this.ids[this.size] = id;
+        this.nameCodes[this.size] = this.encodeName(name);
+        this.categoryCodes[this.size] = this.encodeCategoryId(categoryId);
+        this.expirationEpochDays[this.size] = (int) expirationEpochDay;
+        this.size++;
+
+        this.lastImportedId = id;
+    }
+
+    /**
+     * Removes all rows, which product IDs are present in given, ascending ordered array.
+     *
+     * @param  removedIds IDs of products to be removed in ascending order.
+     * @return            Number of removed rows.
+     * */
+    private int removeAll(long[] removedIds) {
+        int writeIndex = 0;
+        int removedIndex = 0;
+
+        // Both sequences are sorted, so rows can be compacted in single pass
+        for (int readIndex = 0; readIndex < this.size; readIndex++) {
+            long id = this.ids[readIndex];
+
+            while (removedIndex < removedIds.length && removedIds[removedIndex] < id) {
+                removedIndex++;
+            }
+
+            if (removedIndex < removedIds.length && removedIds[removedIndex] == id) {
+                continue;
+            }
+
+            this.ids[writeIndex] = id;
+            this.nameCodes[writeIndex] = this.nameCodes[readIndex];
+            this.categoryCodes[writeIndex] = this.categoryCodes[readIndex];
+            this.expirationEpochDays[writeIndex] = this.expirationEpochDays[readIndex];
+            writeIndex++;
+        }
+
+        int removedRows = this.size - writeIndex;
+        this.size = writeIndex;
+        return removedRows;
+    }
+
+    /**
+     * Stores given product in the snapshot.
+     * If product is already stored its row is overwritten, otherwise new row is created.
+     *
+     * @param product Product to be stored.
+     * */
+    private void store(Product product) {
+        long expirationEpochDay = product.getExpirationDate().toEpochDay();
+        int row = Arrays.binarySearch(this.ids, 0, this.size, product.getId());
+
+        // Product not stored yet - new IDs are usually greater than already imported ones
+        if (row < 0 && product.getId() > this.lastImportedId) {
+            this.append(product.getId(), product.getName(), product.getCategoryId(), expirationEpochDay);
+            return;
+        }
+
+        // Product not stored yet, but its row has to be placed between already stored ones to keep the order
+        if (row < 0) {
+            row = -(row + 1);
+            this.ensureCapacity();
+
+            int rowsToShift = this.size - row;
+            System.arraycopy(this.ids, row, this.ids, row + 1, rowsToShift);
+            System.arraycopy(this.nameCodes, row, this.nameCodes, row + 1, rowsToShift);
+            System.arraycopy(this.categoryCodes, row, this.categoryCodes, row + 1, rowsToShift);
+            System.arraycopy(this.expirationEpochDays, row, this.expirationEpochDays, row + 1, rowsToShift);
+
+            this.ids[row] = product.getId();
+            this.size++;
+        }
+
+        // Overwriting already stored row
+        this.nameCodes[row] = this.encodeName(product.getName());
+        this.categoryCodes[row] = this.encodeCategoryId(product.getCategoryId());
+        this.expirationEpochDays[row] = (int) expirationEpochDay;
+    }
+
+    /**
+     * Imports all products currently stored in the database.
+     *
+     * @throws RepositoryException When import of the data from repository fail.
+     * */
+    private void importAll() {
+        // Version checked before the import, so changes performed during the import will not be missed
+        this.version = this.productRepository.getCurrentVersion();
+
+        long importedRecords;
+
+        do {
+            importedRecords = this.productRepository.importProductColumns(
+                    this.lastImportedId, IMPORT_BATCH_SIZE, this::append);
+        } while (importedRecords == IMPORT_BATCH_SIZE);
+    }
+
+    /**
+     * Applies changes performed since last refresh.
+     *
+     * @param  handle              Handle, that can be used to cancel import of the changes.
+     * @throws RepositoryException When import of the data from repository fail or was cancelled.
+     * */
+    private void applyChanges(QueryHandle handle) {
+        ChangeSet<Product> changes = this.productRepository.changesSince(this.version, handle);
+
+        // Changes not available - stored rows along with dictionaries are dropped and all products are imported again
+        if (changes.isReloadRequired()) {
+            this.logger.info("Changes since version {} not available - importing all products again...",
+                    this.version);
+
+            this.size = 0;
+            this.lastImportedId = 0;
+            this.clearNames();
+            this.categoryIds = new long[0];
+            this.categoryCodesById.clear();
+            this.importAll();
+            return;
+        }
+
+        // Dropping deleted products
+        long[] deletedIds = changes.getDeletedIds().stream().mapToLong(Long::longValue).sorted().toArray();
+        int removedRows = this.removeAll(deletedIds);
+
+        // Storing inserted and updated products - appended rows have to keep ascending order of IDs
+        changes.getUpdatedRecords().forEach(this::store);
+        changes.getInsertedRecords().stream()
+                .sorted(Comparator.comparingLong(Product::getId))
+                .forEach(this::store);
+
+        this.version = changes.getVersion();
+
+        // Names of removed or renamed products may be no longer used
+        if (removedRows > 0 || !changes.getUpdatedRecords().isEmpty()) {
+            this.compactNames();
+        }
+
+        // Logging
+        this.logger.debug("Changes applied to the snapshot - {} inserted, {} updated, {} removed.",
+                changes.getInsertedRecords().size(), changes.getUpdatedRecords().size(), removedRows);
+    }
+
+    /**
+     * Incrementally synchronises the snapshot with the database.
+     * During the first refresh all products are imported, while further ones apply only changes
+     * performed since previous refresh.
+     *
+     * @throws RepositoryException When import of the data from repository fail.
+     * */
+    public void refresh() {
+        this.refresh(new QueryHandle());
+    }
+
+    /**
+     * Incrementally synchronises the snapshot with the database.
+     * Works in the same way as refresh method without parameters, but import of changes performed since previous
+     * refresh can be cancelled from another thread using given handle.
+     *
+     * @param  handle              Handle, that can be used to cancel import of the changes.
+     * @throws RepositoryException When import of the data from repository fail or was cancelled.
+     * */
+    public void refresh(QueryHandle handle) {
+        // Logging
+        this.logger.info("Refreshing inventory snapshot...");
+
+        this.lock.writeLock().lock();
+        try {
+            if (this.version == NOT_IMPORTED) {
+                this.importAll();
+            } else {
+                this.applyChanges(handle);
+            }
+
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        // Logging
+        this.logger.info("Inventory snapshot refreshed - {} product(s) stored.", this.size);
+    }
+
+    /**
+     * @return Number of products stored in the snapshot.
+     * */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts how many products belong to each category.
+     *
+     * @return Map where category IDs are keys and quantities of products are values.
+     *         Categories without any products are not included.
+     * */
+    public Map<Long, Long> countByCategory() {
+        this.lock.readLock().lock();
+        try {
+            // Counting the products using category codes as array indexes
+            long[] counters = this.pool.invoke(new CountByCategoryTask(0, this.size));
+
+            // Translating category codes back to category IDs
+            Map<Long, Long> result = new LinkedHashMap<>();
+
+            for (int categoryCode = 0; categoryCode < counters.length; categoryCode++) {
+                if (counters[categoryCode] > 0) {
+                    result.put(this.categoryIds[categoryCode], counters[categoryCode]);
+                }
+            }
+
+            return result;
+
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches for products, which expiration date is placed in given window.
+     *
+     * @param  from First day of the window (inclusive).
+     * @param  to   Last day of the window (inclusive).
+     * @return      IDs of found products in ascending order.
+     * */
+    public long[] getProductsExpiringBetween(LocalDate from, LocalDate to) {
+        this.lock.readLock().lock();
+        try {
+            int fromEpochDay = (int) from.toEpochDay();
+            int toEpochDay = (int) to.toEpochDay();
+
+            return this.pool.invoke(new ExpiringBetweenTask(0, this.size, fromEpochDay, toEpochDay));
+
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches for products with the earliest expiration dates.
+     *
+     * @param  numberOfProducts Maximal number of products to find.
+     * @return                  IDs of found products ordered by their expiration dates (the oldest first).
+     * */
+    public long[] getOldestProducts(int numberOfProducts) {
+        this.lock.readLock().lock();
+        try {
+            int[] rows = this.pool.invoke(new OldestTask(0, this.size, numberOfProducts));
+
+            long[] result = new long[rows.length];
+            for (int index = 0; index < rows.length; index++) {
+                result[index] = this.ids[rows[index]];
+            }
+
+            return result;
+
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches for codes of product names containing given phrase.
+     * Only names containing the rarest fragment of the phrase are checked - phrases shorter than single fragment
+     * are checked against all names in the dictionary.
+     *
+     * @param  lowerCasePhrase Searched phrase in lower case.
+     * @return                 Set of codes of matching names.
+     * */
+    private BitSet findNameCodes(String lowerCasePhrase) {
+        BitSet matchingNameCodes = new BitSet(this.names.size());
+
+        if (lowerCasePhrase.length() < NAME_FRAGMENT_LENGTH) {
+            for (int nameCode = 0; nameCode < this.lowerCaseNames.size(); nameCode++) {
+                if (this.lowerCaseNames.get(nameCode).contains(lowerCasePhrase)) {
+                    matchingNameCodes.set(nameCode);
+                }
+            }
+
+            return matchingNameCodes;
+        }
+
+        // Choosing the fragment contained by the lowest number of names
+        NameCodes candidates = null;
+
+        for (int start = 0; start + NAME_FRAGMENT_LENGTH <= lowerCasePhrase.length(); start++) {
+            NameCodes fragmentNameCodes =
+                    this.nameCodesByFragment.get(lowerCasePhrase.substring(start, start + NAME_FRAGMENT_LENGTH));
+
+            // No name contains this fragment, so no name contains the phrase
+            if (fragmentNameCodes == null) {
+                return matchingNameCodes;
+            }
+
+            if (candidates == null || fragmentNameCodes.size < candidates.size) {
+                candidates = fragmentNameCodes;
+            }
+        }
+
+        // Names containing all fragments do not have to contain the phrase, so each candidate is verified
+        for (int index = 0; index < candidates.size; index++) {
+            int nameCode = candidates.codes[index];
+
+            if (this.lowerCaseNames.get(nameCode).contains(lowerCasePhrase)) {
+                matchingNameCodes.set(nameCode);
+            }
+        }
+
+        return matchingNameCodes;
+    }
+
+    /**
+     * Searches for products, which names contain given phrase, ignoring the case.
+     *
+     * @param  phrase     Searched phrase.
+     * @param  maxResults Maximal number of products to find.
+     * @return            IDs of found products in ascending order.
+     * */
+    public long[] searchByName(String phrase, int maxResults) {
+        this.lock.readLock().lock();
+        try {
+            BitSet matchingNameCodes = this.findNameCodes(phrase.toLowerCase(Locale.ROOT));
+
+            // Rows are ordered by product IDs, so the first matching rows contain the lowest IDs
+            long[] result = new long[Math.min(maxResults, this.size)];
+            int found = 0;
+
+            if (!matchingNameCodes.isEmpty()) {
+                for (int row = 0; row < this.size && found < result.length; row++) {
+                    if (matchingNameCodes.get(this.nameCodes[row])) {
+                        result[found++] = this.ids[row];
+                    }
+                }
+            }
+
+            return Arrays.copyOf(result, found);
+
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the name of product with given ID.
+     *
+     * @param  productId Product ID.
+     * @return           Name of the product or null if product with given ID is not stored in the snapshot.
+     * */
+    public String getProductName(long productId) {
+        this.lock.readLock().lock();
+        try {
+            int row = Arrays.binarySearch(this.ids, 0, this.size, productId);
+            return row < 0 ? null : this.names.get(this.nameCodes[row]);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Growable, ascending ordered list of product name codes.
+     * */
+    private static class NameCodes {
+        // Stored codes
+        private int[] codes = new int[4];
+        private int size = 0;
+
+        /**
+         * @param nameCode Code greater than all already stored ones.
+         * */
+        void add(int nameCode) {
+            if (this.size == this.codes.length) {
+                this.codes = Arrays.copyOf(this.codes, this.size * 2);
+            }
+
+            this.codes[this.size++] = nameCode;
+        }
+    }
+
+    /**
+     * Fork-join task counting products in each category within given range of rows.
+     * */
+    private class CountByCategoryTask extends RecursiveTask<long[]> {
+        // Range of rows
+        private final int from;
+        private final int to;
+
+        /**
+         * @param from First row of the range (inclusive).
+         * @param to   Last row of the range (exclusive).
+         * */
+        CountByCategoryTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            // Splitting the range if it is too big to be processed sequentially
+            if (this.to - this.from > SEQUENTIAL_SCAN_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+
+                CountByCategoryTask left = new CountByCategoryTask(this.from, middle);
+                left.fork();
+                long[] rightResult = new CountByCategoryTask(middle, this.to).compute();
+                long[] leftResult = left.join();
+
+                for (int categoryCode = 0; categoryCode < leftResult.length; categoryCode++) {
+                    leftResult[categoryCode] += rightResult[categoryCode];
+                }
+
+                return leftResult;
+            }
+
+            // Sequential scan
+            long[] counters = new long[categoryIds.length];
+
+            for (int row = this.from; row < this.to; row++) {
+                counters[categoryCodes[row]]++;
+            }
+
+            return counters;
+        }
+    }
+
+    /**
+     * Fork-join task searching for products expiring in given window within given range of rows.
+     * */
+    private class ExpiringBetweenTask extends RecursiveTask<long[]> {
+        // Range of rows
+        private final int from;
+        private final int to;
+
+        // Searched window expressed in epoch days
+        private final int fromEpochDay;
+        private final int toEpochDay;
+
+        /**
+         * @param from         First row of the range (inclusive).
+         * @param to           Last row of the range (exclusive).
+         * @param fromEpochDay First day of the window (inclusive).
+         * @param toEpochDay   Last day of the window (inclusive).
+         * */
+        ExpiringBetweenTask(int from, int to, int fromEpochDay, int toEpochDay) {
+            this.from = from;
+            this.to = to;
+            this.fromEpochDay = fromEpochDay;
+            this.toEpochDay = toEpochDay;
+        }
+
+        @Override
+        protected long[] compute() {
+            // Splitting the range if it is too big to be processed sequentially
+            if (this.to - this.from > SEQUENTIAL_SCAN_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+
+                ExpiringBetweenTask left = new ExpiringBetweenTask(this.from, middle, this.fromEpochDay, this.toEpochDay);
+                left.fork();
+                long[] rightResult = new ExpiringBetweenTask(middle, this.to, this.fromEpochDay, this.toEpochDay).compute();
+                long[] leftResult = left.join();
+
+                // Left range contains lower IDs, so concatenation keeps the ascending order
+                long[] result = Arrays.copyOf(leftResult, leftResult.length + rightResult.length);
+                System.arraycopy(rightResult, 0, result, leftResult.length, rightResult.length);
+                return result;
+            }
+
+            // Sequential scan
+            long[] result = new long[16];
+            int found = 0;
+
+            for (int row = this.from; row < this.to; row++) {
+                int epochDay = expirationEpochDays[row];
+
+                if (epochDay >= this.fromEpochDay && epochDay <= this.toEpochDay) {
+                    if (found == result.length) {
+                        result = Arrays.copyOf(result, found * 2);
+                    }
+                    result[found++] = ids[row];
+                }
+            }
+
+            return Arrays.copyOf(result, found);
+        }
+    }
+
+    /**
+     * Fork-join task searching for rows with the earliest expiration dates within given range of rows.
+     * */
+    private class OldestTask extends RecursiveTask<int[]> {
+        // Range of rows
+        private final int from;
+        private final int to;
+
+        // Maximal number of rows to find
+        private final int limit;
+
+        /**
+         * @param from  First row of the range (inclusive).
+         * @param to    Last row of the range (exclusive).
+         * @param limit Maximal number of rows to find.
+         * */
+        OldestTask(int from, int to, int limit) {
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+        }
+
+        /**
+         * Checks if product stored in the first row expires before the one stored in the second row.
+         * Ties are resolved using product IDs.
+         *
+         * @param  firstRow  Index of the first compared row.
+         * @param  secondRow Index of the second compared row.
+         * @return           True or false depending on the check result.
+         * */
+        private boolean isOlder(int firstRow, int secondRow) {
+            int firstEpochDay = expirationEpochDays[firstRow];
+            int secondEpochDay = expirationEpochDays[secondRow];
+
+            return firstEpochDay < secondEpochDay || (firstEpochDay == secondEpochDay && ids[firstRow] < ids[secondRow]);
+        }
+
+        /**
+         * Inserts given row into the sorted array of found rows, keeping at most 'limit' rows.
+         *
+         * @param  found         Array of already found rows ordered by expiration dates.
+         * @param  numberOfFound Number of meaningful elements in given array.
+         * @param  row           Index of inserted row.
+         * @return               Number of rows in the array after insertion.
+         * */
+        private int insert(int[] found, int numberOfFound, int row) {
+            // Row newer than all already found ones, while there is no free space left
+            if (numberOfFound == this.limit && !this.isOlder(row, found[numberOfFound - 1])) {
+                return numberOfFound;
+            }
+
+            // Shifting newer rows to make place for inserted one
+            int position = Math.min(numberOfFound, this.limit - 1);
+            while (position > 0 && this.isOlder(row, found[position - 1])) {
+                found[position] = found[position - 1];
+                position--;
+            }
+            found[position] = row;
+
+            return Math.min(numberOfFound + 1, this.limit);
+        }
+
+        @Override
+        protected int[] compute() {
+            if (this.limit <= 0) {
+                return new int[0];
+            }
+
+            // Splitting the range if it is too big to be processed sequentially
+            if (this.to - this.from > SEQUENTIAL_SCAN_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+
+                OldestTask left = new OldestTask(this.from, middle, this.limit);
+                left.fork();
+                int[] rightResult = new OldestTask(middle, this.to, this.limit).compute();
+                int[] leftResult = left.join();
+
+                // Merging two sorted partial results
+                int[] merged = new int[Math.min(this.limit, leftResult.length + rightResult.length)];
+                int leftIndex = 0;
+                int rightIndex = 0;
+
+                for (int index = 0; index < merged.length; index++) {
+                    boolean takeLeft = rightIndex == rightResult.length ||
+                            (leftIndex < leftResult.length && this.isOlder(leftResult[leftIndex], rightResult[rightIndex]));
+
+                    merged[index] = takeLeft ? leftResult[leftIndex++] : rightResult[rightIndex++];
+                }
+
+                return merged;
+            }
+
+            // Sequential scan
+            int[] found = new int[Math.min(this.limit, this.to - this.from)];
+            int numberOfFound = 0;
+
+            for (int row = this.from; row < this.to; row++) {
+                numberOfFound = this.insert(found, numberOfFound, row);
+            }
+
+            return Arrays.copyOf(found, numberOfFound);
+        }
+    }
+}
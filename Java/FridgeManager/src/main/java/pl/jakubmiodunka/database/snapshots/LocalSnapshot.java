@@ -0,0 +1,355 @@
+package pl.jakubmiodunka.database.snapshots;
+
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.database.snapshots.exceptions.SnapshotFileException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact, binary copy of categories and products stored on the local disk.
+ * Allows to display the content right after program startup, before the database responds or when it is not
+ * available at all. Snapshot file is read through memory mapping - only the offsets of product records are computed
+ * during loading, while product models are decoded on demand, when particular page is requested.
+ *
+ * File layout (big-endian):
+ *      int   magic number
+ *      int   format version
+ *      long  version of categories (see change log)
+ *      long  version of products (see change log)
+ *      int   number of categories
+ *            per category: long ID, short name length, name as UTF-8 bytes
+ *      int   number of products
+ *            per product: long ID, long category ID, int expiration epoch day, short name length, name as UTF-8 bytes
+ *
+ * @author Jakub Miodunka
+ * */
+public class LocalSnapshot {
+    // Values identifying the file format
+    private static final int MAGIC_NUMBER = 0x46524447;     // 'FRDG'
+    private static final int FORMAT_VERSION = 1;
+
+    // Size of the header preceding the categories section
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+    // Number of products imported by single query during snapshot creation
+    private static final long IMPORT_BATCH_SIZE = 10_000;
+
+    // Versions of the data stored in the snapshot
+    private final long categoriesVersion;
+    private final long productsVersion;
+
+    // Decoded categories along with lookup of their names
+    private final List<Category> categories;
+    private final Map<Long, String> categoryNames;
+
+    // Memory mapped snapshot file and offsets of product records within it
+    private final MappedByteBuffer buffer;
+    private final int[] productOffsets;
+
+    /**
+     * @param categoriesVersion Version of categories stored in the snapshot.
+     * @param productsVersion   Version of products stored in the snapshot.
+     * @param categories        Categories stored in the snapshot.
+     * @param buffer            Memory mapped snapshot file.
+     * @param productOffsets    Offsets of product records within the snapshot file.
+     * */
+    private LocalSnapshot(long categoriesVersion, long productsVersion, List<Category> categories,
+                          MappedByteBuffer buffer, int[] productOffsets) {
+        // Properties init
+        this.categoriesVersion = categoriesVersion;
+        this.productsVersion = productsVersion;
+        this.categories = categories;
+        this.buffer = buffer;
+        this.productOffsets = productOffsets;
+
+        this.categoryNames = new HashMap<>();
+        categories.forEach(category -> this.categoryNames.put(category.getId(), category.getName()));
+    }
+
+    /**
+     * Decodes the string stored at given offset of the buffer.
+     *
+     * @param  buffer Buffer, from which string should be decoded.
+     * @param  offset Offset, at which string length is stored.
+     * @return        Decoded string.
+     * */
+    private static String readString(ByteBuffer buffer, int offset) {
+        int length = Short.toUnsignedInt(buffer.getShort(offset));
+        byte[] bytes = new byte[length];
+        buffer.get(offset + Short.BYTES, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes given string preceded by its length.
+     *
+     * @param  outputStream Stream, to which the string should be written.
+     * @param  string       String to be written.
+     * @throws IOException  When writing to the stream fail.
+     * */
+    private static void writeString(DataOutputStream outputStream, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeShort(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    /**
+     * Loads the snapshot from given file.
+     *
+     * @param  file                  Snapshot file.
+     * @return                       Loaded snapshot.
+     * @throws SnapshotFileException When file does not exist, can not be read or its content is invalid.
+     * */
+    public static LocalSnapshot load(Path file) {
+        Logger logger = LoggerFactory.getLogger(LocalSnapshot.class);
+        logger.debug("Loading local snapshot from '{}' file...", file);
+
+        // Mapping the file into memory - mapping stays valid after the channel is closed
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+        } catch (IOException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to map '" + file + "' snapshot file.";
+            throw new SnapshotFileException(errorMessage, exception);
+        }
+
+        try {
+            // Validating the header
+            if (buffer.getInt(0) != MAGIC_NUMBER || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                throw new SnapshotFileException("Unsupported format of '" + file + "' snapshot file.");
+            }
+
+            long categoriesVersion = buffer.getLong(2 * Integer.BYTES);
+            long productsVersion = buffer.getLong(2 * Integer.BYTES + Long.BYTES);
+
+            // Decoding categories
+            int offset = HEADER_SIZE;
+            int numberOfCategories = buffer.getInt(offset);
+            offset += Integer.BYTES;
+
+            List<Category> categories = new ArrayList<>(numberOfCategories);
+
+            for (int index = 0; index < numberOfCategories; index++) {
+                long id = buffer.getLong(offset);
+                String name = readString(buffer, offset + Long.BYTES);
+                categories.add(new Category(id, name));
+
+                offset += Long.BYTES + Short.BYTES + Short.toUnsignedInt(buffer.getShort(offset + Long.BYTES));
+            }
+
+            // Computing offsets of product records
+            int numberOfProducts = buffer.getInt(offset);
+            offset += Integer.BYTES;
+
+            int[] productOffsets = new int[numberOfProducts];
+            int nameLengthOffset = 2 * Long.BYTES + Integer.BYTES;
+
+            for (int index = 0; index < numberOfProducts; index++) {
+                productOffsets[index] = offset;
+                offset += nameLengthOffset + Short.BYTES + Short.toUnsignedInt(buffer.getShort(offset + nameLengthOffset));
+            }
+
+            // Logging
+            logger.debug("Local snapshot loaded - {} categories and {} products available.",
+                    numberOfCategories, numberOfProducts);
+
+            // Returning loaded snapshot
+            return new LocalSnapshot(categoriesVersion, productsVersion, categories, buffer, productOffsets);
+
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException exception) {
+            // Exception wrapping
+            String errorMessage = "Content of '" + file + "' snapshot file is corrupted.";
+            throw new SnapshotFileException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * Saves current content of the database to given file.
+     * Snapshot is written to temporary file first and then moved to the target location,
+     * so already existing snapshot file is never left in partially written state.
+     * Products are streamed directly to the file without creating product models.
+     *
+     * @param  file                  Snapshot file.
+     * @param  categoriesRepository  Repository, from which categories will be imported.
+     * @param  productRepository     Repository, from which products will be imported.
+     * @throws SnapshotFileException When writing to the file fail.
+     * @throws RepositoryException   When import of the data from repositories fail.
+     * */
+    public static void save(Path file, CategoriesRepository categoriesRepository, ProductRepository productRepository) {
+        Logger logger = LoggerFactory.getLogger(LocalSnapshot.class);
+        logger.debug("Saving local snapshot to '{}' file...", file);
+
+        // Versions checked before the import - changes performed during the import will be applied during reconciliation
+        long categoriesVersion = categoriesRepository.getCurrentVersion();
+        long productsVersion = productRepository.getCurrentVersion();
+        List<Category> categories = categoriesRepository.getAllCategories();
+
+        Path temporaryFile = null;
+
+        try {
+            Path absoluteFile = file.toAbsolutePath();
+            Files.createDirectories(absoluteFile.getParent());
+            temporaryFile = Files.createTempFile(absoluteFile.getParent(), file.getFileName().toString(), ".tmp");
+
+            // Writing the content
+            int productsCountOffset;
+            int[] numberOfProducts = {0};
+
+            try (DataOutputStream outputStream = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                // Header
+                outputStream.writeInt(MAGIC_NUMBER);
+                outputStream.writeInt(FORMAT_VERSION);
+                outputStream.writeLong(categoriesVersion);
+                outputStream.writeLong(productsVersion);
+
+                // Categories
+                outputStream.writeInt(categories.size());
+
+                for (Category category: categories) {
+                    outputStream.writeLong(category.getId());
+                    writeString(outputStream, category.getName());
+                }
+
+                // Products - number of products is not known upfront, so it is patched after writing all of them
+                productsCountOffset = outputStream.size();
+                outputStream.writeInt(0);
+
+                long[] lastImportedId = {0};
+                long importedRecords;
+
+                do {
+                    importedRecords = productRepository.importProductColumns(lastImportedId[0], IMPORT_BATCH_SIZE,
+                            (id, name, categoryId, expirationEpochDay) -> {
+                                try {
+                                    outputStream.writeLong(id);
+                                    outputStream.writeLong(categoryId);
+                                    outputStream.writeInt((int) expirationEpochDay);
+                                    writeString(outputStream, name);
+                                } catch (IOException exception) {
+                                    throw new SnapshotFileException("Failed to write product record.", exception);
+                                }
+
+                                lastImportedId[0] = id;
+                                numberOfProducts[0]++;
+                            });
+                } while (importedRecords == IMPORT_BATCH_SIZE);
+            }
+
+            // Patching number of products
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+                ByteBuffer numberOfProductsBuffer = ByteBuffer.allocate(Integer.BYTES).putInt(0, numberOfProducts[0]);
+                channel.write(numberOfProductsBuffer, productsCountOffset);
+            }
+
+            // Replacing previous snapshot
+            Files.move(temporaryFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // Logging
+            logger.debug("Local snapshot saved - {} categories and {} products stored.",
+                    categories.size(), numberOfProducts[0]);
+
+        } catch (IOException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to save local snapshot to '" + file + "' file.";
+            throw new SnapshotFileException(errorMessage, exception);
+        } finally {
+            // Temporary file is left only by failed save - otherwise it was already moved
+            if (temporaryFile != null) {
+                deleteTemporaryFile(temporaryFile, logger);
+            }
+        }
+    }
+
+    /**
+     * Removes temporary file left by failed save, so repeated failures do not accumulate files in snapshot directory.
+     * Does nothing if the file does not exist.
+     *
+     * @param temporaryFile Temporary snapshot file.
+     * @param logger        Logger used for reporting the failure of removal.
+     * */
+    private static void deleteTemporaryFile(Path temporaryFile, Logger logger) {
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException exception) {
+            logger.warn("Failed to remove temporary snapshot file '{}'.", temporaryFile, exception);
+        }
+    }
+
+    /**
+     * @return Version of categories stored in the snapshot.
+     * */
+    public long getCategoriesVersion() {
+        return categoriesVersion;
+    }
+
+    /**
+     * @return Version of products stored in the snapshot.
+     * */
+    public long getProductsVersion() {
+        return productsVersion;
+    }
+
+    /**
+     * @return All product categories stored in the snapshot.
+     * */
+    public List<Category> getAllCategories() {
+        return categories;
+    }
+
+    /**
+     * Decodes specified number of products stored in the snapshot starting from given index.
+     *
+     * @param  startIndex       Index, from which products decoding should be started.
+     * @param  numberOfProducts Number of products to decode starting from index given previously.
+     * @return                  List of products sized according to given parameters.
+     * */
+    public List<Product> getProducts(long startIndex, long numberOfProducts) {
+        int fromIndex = (int) Math.min(startIndex, this.productOffsets.length);
+        int toIndex = (int) Math.min(startIndex + numberOfProducts, this.productOffsets.length);
+
+        return Arrays.stream(this.productOffsets, fromIndex, toIndex)
+                .mapToObj(offset -> {
+                    long id = this.buffer.getLong(offset);
+                    long categoryId = this.buffer.getLong(offset + Long.BYTES);
+                    LocalDate expirationDate = LocalDate.ofEpochDay(this.buffer.getInt(offset + 2 * Long.BYTES));
+                    String name = readString(this.buffer, offset + 2 * Long.BYTES + Integer.BYTES);
+
+                    return new Product(id, name, categoryId, this.categoryNames.get(categoryId), expirationDate);
+                })
+                .toList();
+    }
+
+    /**
+     * @return Number of products stored in the snapshot.
+     * */
+    public int getProductsQuantity() {
+        return productOffsets.length;
+    }
+}
@@ -0,0 +1,16 @@
+package pl.jakubmiodunka.database.snapshots.exceptions;
+
+/**
+ * Exception thrown when reading or writing of local snapshot file fail.
+ *
+ * @author Jakub Miodunka
+ * */
+public class SnapshotFileException extends RuntimeException {
+    public SnapshotFileException(String message) {
+        super(message);
+    }
+
+    public SnapshotFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
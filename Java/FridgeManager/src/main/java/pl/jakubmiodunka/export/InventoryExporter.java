@@ -0,0 +1,238 @@
+package pl.jakubmiodunka.export;
+
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.export.models.ExportConfig;
+import pl.jakubmiodunka.export.models.ExportFormat;
+import pl.jakubmiodunka.http.json.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exporter writing all categories and products into given stream in chosen format.
+ * Records are read from server-side cursors and written one by one through fixed size buffer, so neither the records
+ * nor their encoded form are held in memory - memory use does not depend on the size of the inventory.
+ * Categories and products are read by separate queries, so changes performed during the export may be included
+ * only partially.
+ *
+ * @author Jakub Miodunka
+ * */
+public class InventoryExporter {
+    // Header line of CSV export
+    private static final String CSV_HEADER = "type,id,name,category_id,expiration_date";
+
+    // Line separator of CSV export (RFC 4180)
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    // Repositories, from which the records are read
+    private final CategoriesRepository categoriesRepository;
+    private final ProductRepository productRepository;
+
+    // Configuration of the export
+    private final ExportConfig config;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param categoriesRepository Repository of categories.
+     * @param productRepository    Repository of products.
+     * @param config               Configuration of the export.
+     * */
+    public InventoryExporter(CategoriesRepository categoriesRepository, ProductRepository productRepository,
+                             ExportConfig config) {
+        // Properties init
+        this.categoriesRepository = categoriesRepository;
+        this.productRepository = productRepository;
+        this.config = config;
+        this.logger = LoggerFactory.getLogger(InventoryExporter.class);
+    }
+
+    /**
+     * Writer of exported records in chosen format.
+     *
+     * @author Jakub Miodunka
+     * */
+    private static class RecordWriter {
+        // Destination of the records along with JSON encoder writing into it
+        private final Writer writer;
+        private final JsonWriter jsonWriter;
+
+        // Format of the records
+        private final ExportFormat format;
+
+        /**
+         * @param writer Destination of the records - should be buffered, as it is written in small pieces.
+         * @param format Format of the records.
+         * */
+        private RecordWriter(Writer writer, ExportFormat format) {
+            // Properties init
+            this.writer = writer;
+            this.jsonWriter = new JsonWriter(writer);
+            this.format = format;
+        }
+
+        /**
+         * Writes header of the export, if the format has one.
+         *
+         * @throws IOException When writing to the stream fail.
+         * */
+        private void writeHeader() throws IOException {
+            if (this.format == ExportFormat.CSV) {
+                this.writer.write(CSV_HEADER);
+                this.writer.write(CSV_LINE_SEPARATOR);
+            }
+        }
+
+        /**
+         * @param  id          Category ID.
+         * @param  name        Category name.
+         * @throws IOException When writing to the stream fail.
+         * */
+        private void writeCategory(long id, String name) throws IOException {
+            if (this.format == ExportFormat.CSV) {
+                this.writer.write("category,");
+                this.writer.write(Long.toString(id));
+                this.writer.write(',');
+                this.writeCsvField(name);
+                this.writer.write(",,");
+                this.writer.write(CSV_LINE_SEPARATOR);
+            }
+            else {
+                this.jsonWriter.beginObject()
+                        .name("type").value("category")
+                        .name("id").value(id)
+                        .name("name").value(name)
+                        .endObject()
+                        .endLine();
+            }
+        }
+
+        /**
+         * @param  id                 Product ID.
+         * @param  name               Product name.
+         * @param  categoryId         ID of category, to which product belongs to.
+         * @param  expirationEpochDay Date of product expiration expressed as number of days since epoch.
+         * @throws IOException        When writing to the stream fail.
+         * */
+        private void writeProduct(long id, String name, long categoryId, long expirationEpochDay) throws IOException {
+            String expirationDate = LocalDate.ofEpochDay(expirationEpochDay).toString();
+
+            if (this.format == ExportFormat.CSV) {
+                this.writer.write("product,");
+                this.writer.write(Long.toString(id));
+                this.writer.write(',');
+                this.writeCsvField(name);
+                this.writer.write(',');
+                this.writer.write(Long.toString(categoryId));
+                this.writer.write(',');
+                this.writer.write(expirationDate);
+                this.writer.write(CSV_LINE_SEPARATOR);
+            }
+            else {
+                this.jsonWriter.beginObject()
+                        .name("type").value("product")
+                        .name("id").value(id)
+                        .name("name").value(name)
+                        .name("categoryId").value(categoryId)
+                        .name("expirationDate").value(expirationDate)
+                        .endObject()
+                        .endLine();
+            }
+        }
+
+        /**
+         * Writes given text as CSV field - it is quoted, if it contains separators or quotes.
+         *
+         * @param  text        Written text.
+         * @throws IOException When writing to the stream fail.
+         * */
+        private void writeCsvField(String text) throws IOException {
+            boolean quoted = false;
+
+            for (int index = 0; index < text.length() && !quoted; index++) {
+                char character = text.charAt(index);
+                quoted = character == ',' || character == '"' || character == '\r' || character == '\n';
+            }
+
+            if (quoted) {
+                this.writer.write('"');
+                this.writer.write(text.replace("\"", "\"\""));
+                this.writer.write('"');
+            }
+            else {
+                this.writer.write(text);
+            }
+        }
+    }
+
+    /**
+     * Writes all categories followed by all products into given stream. The stream is flushed, but not closed.
+     * Export can be cancelled from another thread using given handle.
+     *
+     * @param  output              Destination of the export.
+     * @param  format              Format of the export.
+     * @param  handle              Handle, that can be used to cancel the export.
+     * @return                     Number of exported records.
+     * @throws IOException         When writing to the stream fail - the export is aborted.
+     * @throws RepositoryException When reading of the records fail or was cancelled.
+     * */
+    public long export(OutputStream output, ExportFormat format, QueryHandle handle) throws IOException {
+        // Logging
+        this.logger.info("Exporting the inventory in {} format...", format);
+
+        long exportStart = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8),
+                this.config.getBufferBytes());
+        RecordWriter recordWriter = new RecordWriter(writer, format);
+        recordWriter.writeHeader();
+
+        long categoriesQuantity;
+        long productsQuantity;
+
+        // Consumers of the repositories can not throw checked exceptions, so failures of the stream are tunnelled
+        try {
+            categoriesQuantity = this.categoriesRepository.exportCategoryColumns(this.config.getFetchSize(),
+                    (id, name) -> {
+                        try {
+                            recordWriter.writeCategory(id, name);
+                        } catch (IOException exception) {
+                            throw new UncheckedIOException(exception);
+                        }
+                    }, handle);
+
+            productsQuantity = this.productRepository.exportProductColumns(this.config.getFetchSize(),
+                    (id, name, categoryId, expirationEpochDay) -> {
+                        try {
+                            recordWriter.writeProduct(id, name, categoryId, expirationEpochDay);
+                        } catch (IOException exception) {
+                            throw new UncheckedIOException(exception);
+                        }
+                    }, handle);
+
+        } catch (UncheckedIOException exception) {
+            this.logger.warn("Export aborted, as writing of the records failed.");
+            throw exception.getCause();
+        }
+
+        writer.flush();
+
+        // Logging
+        this.logger.info("Exported {} categories and {} products in {} ms.", categoriesQuantity, productsQuantity,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - exportStart));
+
+        return categoriesQuantity + productsQuantity;
+    }
+}
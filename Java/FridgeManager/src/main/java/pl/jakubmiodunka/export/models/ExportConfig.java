@@ -0,0 +1,79 @@
+package pl.jakubmiodunka.export.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of inventory export configuration.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ExportConfig {
+    // Number of records fetched from the database at once
+    private final int fetchSize;
+
+    // Size of the buffer, through which exported records are written
+    private final int bufferBytes;
+
+    // Timeout of export queries - depending on the driver it may include reading of all the records
+    private final int queryTimeoutSeconds;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing export configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public ExportConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "export");
+
+            // Properties init
+            this.fetchSize = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "fetchSize"));
+            this.bufferBytes = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "bufferBytes"));
+            this.queryTimeoutSeconds = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rootElement, "queryTimeoutSeconds"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create export configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @param fetchSize           Number of records fetched from the database at once.
+     * @param bufferBytes         Size of the buffer, through which exported records are written.
+     * @param queryTimeoutSeconds Timeout of export queries.
+     * */
+    public ExportConfig(int fetchSize, int bufferBytes, int queryTimeoutSeconds) {
+        // Properties init
+        this.fetchSize = fetchSize;
+        this.bufferBytes = bufferBytes;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    /**
+     * @return Number of records fetched from the database at once.
+     * */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * @return Size of the buffer, through which exported records are written.
+     * */
+    public int getBufferBytes() {
+        return bufferBytes;
+    }
+
+    /**
+     * @return Timeout of export queries - depending on the driver it may include reading of all the records.
+     * */
+    public int getQueryTimeoutSeconds() {
+        return queryTimeoutSeconds;
+    }
+}
@@ -0,0 +1,43 @@
+package pl.jakubmiodunka.export.models;
+
+/**
+ * Formats, in which the inventory can be exported.
+ * Both of them contain one record per line - categories first, then products, each in ascending order of IDs.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum ExportFormat {
+    // Comma separated values with header line - fields containing separators or quotes are quoted
+    CSV("text/csv; charset=utf-8", "csv"),
+
+    // Newline delimited JSON - one JSON object per line
+    NDJSON("application/x-ndjson; charset=utf-8", "ndjson");
+
+    // Media type of exported content along with extension of exported files
+    private final String contentType;
+    private final String fileExtension;
+
+    /**
+     * @param contentType   Media type of exported content.
+     * @param fileExtension Extension of exported files.
+     * */
+    ExportFormat(String contentType, String fileExtension) {
+        // Properties init
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * @return Media type of exported content.
+     * */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return Extension of exported files.
+     * */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
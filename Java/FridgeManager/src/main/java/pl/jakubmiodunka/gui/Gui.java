@@ -1,14 +1,26 @@
 package pl.jakubmiodunka.gui;
 
+import pl.jakubmiodunka.database.Database;
+import pl.jakubmiodunka.database.journal.WriteJournal;
+import pl.jakubmiodunka.database.journal.interfaces.JournalListener;
+import pl.jakubmiodunka.database.models.journal.JournalEntry;
+import pl.jakubmiodunka.gui.diagnostics.DiagnosticsDialog;
+import pl.jakubmiodunka.gui.diagnostics.EdtWatchdog;
 import pl.jakubmiodunka.gui.panels.CategoryAdder;
 import pl.jakubmiodunka.gui.panels.CategoryBrowser;
+import pl.jakubmiodunka.gui.panels.interfaces.RefreshablePanel;
 import pl.jakubmiodunka.gui.panels.models.config.*;
 import pl.jakubmiodunka.gui.panels.ProductAdder;
 import pl.jakubmiodunka.gui.panels.ProductBrowser;
+import pl.jakubmiodunka.gui.panels.utilities.InvalidationScheduler;
 
 import java.awt.BorderLayout;
+import java.awt.Component;
 import javax.swing.*;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,7 +30,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Jakub Miodunka
  * */
-public class Gui extends JFrame {
+public class Gui extends JFrame implements JournalListener {
     // Panels in product explorer mode
     private final JPanel productExplorerModeLeftPanel;
     private final JPanel productExplorerModeCenterPanel;
@@ -27,6 +39,21 @@ public class Gui extends JFrame {
     private final JPanel categoryExplorerModeLeftPanel;
     private final JPanel categoryExplorerModeCenterPanel;
 
+    // Panels displaying the content of repositories along with their first refresh
+    private final List<RefreshablePanel> refreshablePanels;
+    private final CompletableFuture<Void> initialRefresh;
+
+    // Scheduler coalescing refreshes of the panels and deferring refreshes of panels, that are not shown
+    private final InvalidationScheduler invalidationScheduler;
+
+    // Watchdog detecting stalls of event dispatch thread along with dialog presenting diagnostic statistics
+    private final EdtWatchdog edtWatchdog;
+    private final DiagnosticsDialog diagnosticsDialog;
+
+    // Indicator of writes recorded in write journal, but not yet applied to the database
+    private final JLabel pendingWritesIndicator;
+    private final String pendingWritesIndicatorFormat;
+
     // Internally used logger
     private final Logger logger;
 
@@ -40,6 +67,9 @@ public class Gui extends JFrame {
         // Initialising logger
         this.logger = LoggerFactory.getLogger(Gui.class);
 
+        // Preparing scheduler of panel refreshes shared by all panels
+        this.invalidationScheduler = new InvalidationScheduler(config.getRefreshDebounceMillis());
+
         // Preparing panels used in product explorer mode
         Path productBrowserConfigXml = Path.of("src/main/resources/config/gui/panels/productBrowser.xml");
         this.logger.debug("Creating product browser panel configuration model using '{}' file...", productBrowserConfigXml);
@@ -47,7 +77,7 @@ public class Gui extends JFrame {
         this.logger.debug("Product browser panel configuration model successfully created.");
 
         this.logger.info("Creating product browser panel...");
-        ProductBrowser productBrowser = ProductBrowser.getNewPanel(productBrowserConfig);
+        ProductBrowser productBrowser = ProductBrowser.getNewPanel(productBrowserConfig, this.invalidationScheduler);
         this.logger.info("Product browser panel successfully created.");
         this.productExplorerModeCenterPanel = productBrowser;
 
@@ -57,7 +87,7 @@ public class Gui extends JFrame {
         this.logger.debug("Product adder panel configuration model successfully created.");
 
         this.logger.info("Creating product adder panel...");
-        ProductAdder productAdder = ProductAdder.getNewPanel(productAdderConfig);
+        ProductAdder productAdder = ProductAdder.getNewPanel(productAdderConfig, this.invalidationScheduler);
         productAdder.addDependentPanel(productBrowser);
         this.logger.info("Product adder panel successfully created.");
         this.productExplorerModeLeftPanel = productAdder;
@@ -69,8 +99,7 @@ public class Gui extends JFrame {
         this.logger.debug("Category browser panel configuration model successfully created.");
 
         this.logger.info("Creating category browser panel...");
-        CategoryBrowser categoryBrowser = CategoryBrowser.getNewPanel(categoryBrowserConfig);
-        categoryBrowser.addDependentPanel(productAdder);
+        CategoryBrowser categoryBrowser = CategoryBrowser.getNewPanel(categoryBrowserConfig, this.invalidationScheduler);
         this.logger.info("Category browser panel successfully created.");
         this.categoryExplorerModeCenterPanel = categoryBrowser;
 
@@ -80,12 +109,14 @@ public class Gui extends JFrame {
         this.logger.debug("Category adder panel configuration model successfully created.");
 
         this.logger.info("Creating category adder panel...");
-        CategoryAdder categoryAdder = CategoryAdder.getNewPanel(categoryAdderConfig);
+        CategoryAdder categoryAdder = CategoryAdder.getNewPanel(categoryAdderConfig, this.invalidationScheduler);
         categoryAdder.addDependentPanel(categoryBrowser);
         categoryAdder.addDependentPanel(productAdder);
         this.logger.info("Category adder panel successfully created.");
         this.categoryExplorerModeLeftPanel = categoryAdder;
 
+        this.refreshablePanels = List.of(productBrowser, productAdder, categoryBrowser);
+
         // Setting up frame properties
         this.setTitle(config.getTitle());
         this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -103,8 +134,36 @@ public class Gui extends JFrame {
         categoryExplorerSwitch.addActionListener(event -> this.setCategoryExplorerMode());
         modeMenu.add(categoryExplorerSwitch);
 
+        this.edtWatchdog = new EdtWatchdog(config.getEdtStallThresholdMillis(), Database.getQueryTracker());
+        this.diagnosticsDialog = new DiagnosticsDialog(this, config.getDiagnosticsMenuTitle(), this.edtWatchdog,
+                () -> this.refreshablePanels.stream().map(RefreshablePanel::getRefreshTimings).toList(),
+                productBrowser.getBlockCache(), Database.getQueryTracker());
+
+        JMenu diagnosticsMenu = new JMenu(config.getDiagnosticsMenuTitle());
+
+        JMenuItem showDiagnosticsItem = new JMenuItem(config.getShowDiagnosticsTitle());
+        showDiagnosticsItem.addActionListener(event -> this.diagnosticsDialog.showDialog());
+        diagnosticsMenu.add(showDiagnosticsItem);
+
         JMenuBar menuBar = new JMenuBar();
         menuBar.add(modeMenu);
+        menuBar.add(diagnosticsMenu);
+
+        // Adding pending writes indicator - visible only in write-behind mode
+        this.pendingWritesIndicatorFormat = config.getPendingWritesIndicatorFormat();
+        this.pendingWritesIndicator = new JLabel();
+        menuBar.add(Box.createHorizontalGlue());
+        menuBar.add(this.pendingWritesIndicator);
+
+        WriteJournal writeJournal = Database.getWriteJournal();
+
+        if (writeJournal != null) {
+            this.updatePendingWritesIndicator(writeJournal.getPendingEntriesQuantity(), writeJournal.getConflictsQuantity());
+            writeJournal.addListener(this);
+        }
+        else {
+            this.pendingWritesIndicator.setVisible(false);
+        }
 
         this.setJMenuBar(menuBar);
 
@@ -113,6 +172,22 @@ public class Gui extends JFrame {
 
         // Making frame visible
         this.setVisible(true);
+
+        // Watching for stalls of event dispatch thread
+        this.edtWatchdog.start();
+
+        // Importing content of the panels in background - panels of inactive mode are refreshed once they are shown
+        List<CompletableFuture<Void>> shownPanelsRefreshes = new ArrayList<>();
+
+        for (RefreshablePanel panel: this.refreshablePanels) {
+            CompletableFuture<Void> refresh = this.invalidationScheduler.invalidate(panel);
+
+            if (((Component) panel).isShowing()) {
+                shownPanelsRefreshes.add(refresh);
+            }
+        }
+
+        this.initialRefresh = CompletableFuture.allOf(shownPanelsRefreshes.toArray(CompletableFuture[]::new));
     }
 
     /**
@@ -157,4 +232,60 @@ public class Gui extends JFrame {
 
         this.logger.info("GUI successfully switched to category explorer mode.");
     }
+
+    /**
+     * Requests refresh of all panels displaying the content of repositories.
+     * Panels, that are not shown, are refreshed once they are shown.
+     * Meant to be called on event dispatch thread, ex. when source of displayed content changed.
+     *
+     * @return Future completed once all panels display refreshed content.
+     * */
+    public CompletableFuture<Void> refreshPanels() {
+        this.logger.info("Invalidating all panels...");
+
+        return CompletableFuture.allOf(this.refreshablePanels.stream()
+                .map(this.invalidationScheduler::invalidate)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * @return Future completed once all initially shown panels display content imported by their first refresh.
+     * */
+    public CompletableFuture<Void> getInitialRefresh() {
+        return this.initialRefresh;
+    }
+
+    /**
+     * Updates the text of pending writes indicator.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param pendingEntries Number of writes not yet applied to the database.
+     * @param conflicts      Number of writes discarded due to conflicts.
+     * */
+    private void updatePendingWritesIndicator(int pendingEntries, int conflicts) {
+        this.pendingWritesIndicator.setText(String.format(this.pendingWritesIndicatorFormat, pendingEntries, conflicts));
+    }
+
+    /**
+     * Updates pending writes indicator - called by write journal.
+     *
+     * @param pendingEntries Number of entries not yet applied to the database.
+     * @param conflicts      Number of entries discarded due to conflicts since program startup.
+     * */
+    @Override
+    public void journalChanged(int pendingEntries, int conflicts) {
+        SwingUtilities.invokeLater(() -> this.updatePendingWritesIndicator(pendingEntries, conflicts));
+    }
+
+    /**
+     * Informs the user about write discarded due to conflict - called by write journal.
+     *
+     * @param entry  Discarded entry.
+     * @param reason Description of the conflict.
+     */
+    @Override
+    public void conflictDetected(JournalEntry entry, String reason) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                "Write of '" + entry.getName() + "' discarded: " + reason, "Conflict", JOptionPane.WARNING_MESSAGE));
+    }
 }
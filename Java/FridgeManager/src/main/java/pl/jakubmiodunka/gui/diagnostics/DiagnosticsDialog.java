@@ -0,0 +1,134 @@
+package pl.jakubmiodunka.gui.diagnostics;
+
+import pl.jakubmiodunka.database.client.QueryTracker;
+import pl.jakubmiodunka.gui.panels.utilities.BlockCache;
+
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.awt.Frame;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+
+/**
+ * Dialog presenting diagnostic statistics of the GUI - stalls of event dispatch thread, durations of panel refreshes
+ * split into phases, effectiveness of the cache of products presented in product browser and queries currently
+ * in progress.
+ * Statistics are gathered when the dialog is opened or when the user requests it.
+ * Meant to be accessed only on event dispatch thread.
+ *
+ * @author Jakub Miodunka
+ * */
+public class DiagnosticsDialog extends JDialog {
+    // Sources of presented statistics
+    private final EdtWatchdog watchdog;
+    private final Supplier<List<RefreshTimings>> refreshTimings;
+    private final BlockCache<?> productBlockCache;
+    private final QueryTracker queryTracker;
+
+    // Area, where statistics are presented
+    private final JTextArea reportArea;
+
+    /**
+     * @param owner             Frame owning the dialog.
+     * @param title             Title of the dialog.
+     * @param watchdog          Watchdog of event dispatch thread.
+     * @param refreshTimings    Source of refresh statistics of all panels.
+     * @param productBlockCache Cache of blocks of products presented in product browser.
+     * @param queryTracker      Registry of queries in progress.
+     * */
+    public DiagnosticsDialog(Frame owner, String title, EdtWatchdog watchdog,
+                             Supplier<List<RefreshTimings>> refreshTimings, BlockCache<?> productBlockCache,
+                             QueryTracker queryTracker) {
+        // Parent class constructor call
+        super(owner, title, false);
+
+        // Properties init
+        this.watchdog = watchdog;
+        this.refreshTimings = refreshTimings;
+        this.productBlockCache = productBlockCache;
+        this.queryTracker = queryTracker;
+
+        // Preparing components
+        this.reportArea = new JTextArea();
+        this.reportArea.setEditable(false);
+        this.reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JButton updateButton = new JButton("Update");
+        updateButton.addActionListener(event -> this.update());
+
+        // Setting up the layout
+        this.setLayout(new BorderLayout());
+        this.add(new JScrollPane(this.reportArea), BorderLayout.CENTER);
+        this.add(updateButton, BorderLayout.SOUTH);
+        this.setSize(800, 500);
+        this.setLocationRelativeTo(owner);
+    }
+
+    /**
+     * Gathers current statistics and presents the dialog.
+     * */
+    public void showDialog() {
+        this.update();
+        this.setVisible(true);
+    }
+
+    /**
+     * Replaces presented statistics with current ones.
+     * */
+    private void update() {
+        StringBuilder report = new StringBuilder();
+
+        // Stalls of event dispatch thread
+        report.append("EVENT DISPATCH THREAD\n")
+                .append(String.format("  Stall threshold: %d ms%n", this.watchdog.getThresholdMillis()))
+                .append(String.format("  Stalls detected: %d%n", this.watchdog.getStallsQuantity()))
+                .append(String.format("  Longest stall:   %d ms%n", this.watchdog.getLongestStallMillis()));
+
+        String lastStallReport = this.watchdog.getLastStallReport();
+
+        if (lastStallReport != null) {
+            report.append("  Last stall report:\n");
+            lastStallReport.lines().forEach(line -> report.append("    ").append(line).append('\n'));
+        }
+
+        // Durations of panel refreshes
+        report.append("\nPANEL REFRESHES (last / average / max in ms)\n");
+
+        for (RefreshTimings timings: this.refreshTimings.get()) {
+            report.append(String.format("  %s - %d refreshes%n", timings.getPanelName(),
+                    timings.getRefreshesQuantity()));
+
+            for (RefreshTimings.Phase phase: RefreshTimings.Phase.values()) {
+                report.append(String.format("    %-20s %8.1f / %8.1f / %8.1f%n", phase.getDescription(),
+                        timings.getLastMillis(phase), timings.getAverageMillis(phase), timings.getMaxMillis(phase)));
+            }
+        }
+
+        // Effectiveness of product blocks cache
+        report.append("\nPRODUCT BLOCK CACHE\n")
+                .append(String.format("  Hit rate:           %.2f (%d hits, %d misses)%n",
+                        this.productBlockCache.getHitRate(), this.productBlockCache.getHits(),
+                        this.productBlockCache.getMisses()))
+                .append(String.format("  Prefetched blocks:  %d%n", this.productBlockCache.getPrefetchedBlocks()))
+                .append(String.format("  Wasted prefetches:  %d%n", this.productBlockCache.getWastedPrefetches()));
+
+        // Queries in progress
+        List<QueryTracker.InFlightQuery> inFlightQueries = this.queryTracker.getInFlightQueries();
+        report.append("\nQUERIES IN PROGRESS\n");
+
+        if (inFlightQueries.isEmpty()) {
+            report.append("  none\n");
+        }
+
+        for (QueryTracker.InFlightQuery query: inFlightQueries) {
+            report.append("  ").append(query).append('\n');
+        }
+
+        this.reportArea.setText(report.toString());
+        this.reportArea.setCaretPosition(0);
+    }
+}
@@ -0,0 +1,200 @@
+package pl.jakubmiodunka.gui.diagnostics;
+
+import pl.jakubmiodunka.database.client.QueryTracker;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watchdog detecting stalls of event dispatch thread.
+ * Background thread periodically posts a probe to the event queue - when the probe is not executed within the
+ * threshold, stack of event dispatch thread is logged along with queries in progress, so it is known which operation
+ * blocked the GUI. Duration of the stall is recorded, once the probe is finally executed.
+ *
+ * @author Jakub Miodunka
+ * */
+public class EdtWatchdog {
+    // Duration, after which the event dispatch thread is considered stalled
+    private final long thresholdNanos;
+
+    // Interval between the checks
+    private final long checkIntervalMillis;
+
+    // Registry of queries in progress reported along with the stall
+    private final QueryTracker queryTracker;
+
+    // Thread performing the checks
+    private final Thread watchdogThread;
+
+    // Event dispatch thread - known once the first probe is executed
+    private volatile Thread eventDispatchThread;
+
+    // Moment, when pending probe was posted, or -1 if no probe is pending
+    private volatile long probePostedNanos;
+
+    // Flag indicating, if current stall was already reported
+    private boolean stallReported;
+
+    // Statistics of detected stalls along with the report of the last one
+    private long stallsQuantity;
+    private long longestStallMillis;
+    private String lastStallReport;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param thresholdMillis Duration, after which the event dispatch thread is considered stalled.
+     * @param queryTracker    Registry of queries in progress, that will be reported along with the stall.
+     * */
+    public EdtWatchdog(int thresholdMillis, QueryTracker queryTracker) {
+        // Properties init
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.checkIntervalMillis = Math.max(10, thresholdMillis / 4);
+        this.queryTracker = queryTracker;
+        this.probePostedNanos = -1;
+        this.stallReported = false;
+        this.stallsQuantity = 0;
+        this.longestStallMillis = 0;
+        this.lastStallReport = null;
+        this.logger = LoggerFactory.getLogger(EdtWatchdog.class);
+
+        this.watchdogThread = new Thread(this::watch, "edt-watchdog");
+        this.watchdogThread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the event dispatch thread.
+     * */
+    public void start() {
+        this.logger.info("Watching event dispatch thread for stalls longer than {} ms.",
+                TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos));
+
+        this.watchdogThread.start();
+    }
+
+    /**
+     * Posts the probes and checks, if they are executed in time - executed on watchdog thread.
+     * */
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(this.checkIntervalMillis);
+
+                long postedNanos = this.probePostedNanos;
+
+                if (postedNanos < 0) {
+                    this.postProbe();
+                }
+                else if (System.nanoTime() - postedNanos > this.thresholdNanos) {
+                    this.reportStall(postedNanos);
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Posts the probe to the event queue.
+     * */
+    private void postProbe() {
+        long postedNanos = System.nanoTime();
+        this.probePostedNanos = postedNanos;
+
+        SwingUtilities.invokeLater(() -> {
+            this.eventDispatchThread = Thread.currentThread();
+            this.probeExecuted(System.nanoTime() - postedNanos);
+        });
+    }
+
+    /**
+     * Records the stall finished by execution of the probe - executed on event dispatch thread.
+     *
+     * @param delayNanos Time, that passed between posting and execution of the probe.
+     * */
+    private synchronized void probeExecuted(long delayNanos) {
+        if (delayNanos > this.thresholdNanos) {
+            long stallMillis = TimeUnit.NANOSECONDS.toMillis(delayNanos);
+
+            this.stallsQuantity++;
+            this.longestStallMillis = Math.max(this.longestStallMillis, stallMillis);
+            this.logger.warn("Event dispatch thread recovered after stall lasting {} ms.", stallMillis);
+        }
+
+        this.stallReported = false;
+        this.probePostedNanos = -1;
+    }
+
+    /**
+     * Logs the stack of event dispatch thread along with queries in progress, unless current stall was already
+     * reported - executed on watchdog thread.
+     *
+     * @param postedNanos Moment, when the probe, that was not executed yet, was posted.
+     * */
+    private synchronized void reportStall(long postedNanos) {
+        // The probe could be executed meanwhile
+        if (this.stallReported || this.probePostedNanos != postedNanos) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("Event dispatch thread stalled for ")
+                .append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - postedNanos))
+                .append(" ms.");
+
+        List<QueryTracker.InFlightQuery> inFlightQueries = this.queryTracker.getInFlightQueries();
+        report.append(System.lineSeparator()).append("Queries in progress: ")
+                .append(inFlightQueries.isEmpty() ? "none" : "");
+
+        for (QueryTracker.InFlightQuery query: inFlightQueries) {
+            report.append(System.lineSeparator()).append("    ").append(query);
+        }
+
+        Thread eventDispatchThread = this.eventDispatchThread;
+
+        if (eventDispatchThread != null) {
+            report.append(System.lineSeparator()).append("Stack of '").append(eventDispatchThread.getName())
+                    .append("':");
+
+            for (StackTraceElement frame: eventDispatchThread.getStackTrace()) {
+                report.append(System.lineSeparator()).append("    at ").append(frame);
+            }
+        }
+
+        this.lastStallReport = report.toString();
+        this.stallReported = true;
+        this.logger.warn(this.lastStallReport);
+    }
+
+    /**
+     * @return Number of finished stalls.
+     * */
+    public synchronized long getStallsQuantity() {
+        return this.stallsQuantity;
+    }
+
+    /**
+     * @return Duration of the longest finished stall in milliseconds.
+     * */
+    public synchronized long getLongestStallMillis() {
+        return this.longestStallMillis;
+    }
+
+    /**
+     * @return Report of the last detected stall or null if no stall was detected.
+     * */
+    public synchronized String getLastStallReport() {
+        return this.lastStallReport;
+    }
+
+    /**
+     * @return Duration, after which the event dispatch thread is considered stalled, in milliseconds.
+     * */
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos);
+    }
+}
@@ -0,0 +1,124 @@
+package pl.jakubmiodunka.gui.diagnostics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Statistics of durations of panel refreshes, split into phases.
+ * Recorded by the refresher of the panel and read by diagnostics, so access is synchronised.
+ *
+ * @author Jakub Miodunka
+ * */
+public class RefreshTimings {
+    /**
+     * Phases of single refresh in order of their occurrence.
+     * */
+    public enum Phase {
+        QUERY("query execution"),
+        CONVERSION("result conversion"),
+        PROCESSING("other loading"),
+        EDT_WAIT("waiting for EDT"),
+        UPDATE("component update");
+
+        // Human-readable description of the phase
+        private final String description;
+
+        /**
+         * @param description Human-readable description of the phase.
+         * */
+        Phase(String description) {
+            this.description = description;
+        }
+
+        /**
+         * @return Human-readable description of the phase.
+         * */
+        public String getDescription() {
+            return this.description;
+        }
+    }
+
+    // Name of the refreshed panel
+    private final String panelName;
+
+    // Number of recorded refreshes
+    private long refreshesQuantity;
+
+    // Durations of the phases in nanoseconds - summed over all refreshes, maximal ones and the ones of the last refresh
+    private final Map<Phase, Long> totalNanos;
+    private final Map<Phase, Long> maxNanos;
+    private final Map<Phase, Long> lastNanos;
+
+    /**
+     * @param panelName Name of the refreshed panel.
+     * */
+    public RefreshTimings(String panelName) {
+        // Properties init
+        this.panelName = panelName;
+        this.refreshesQuantity = 0;
+        this.totalNanos = new EnumMap<>(Phase.class);
+        this.maxNanos = new EnumMap<>(Phase.class);
+        this.lastNanos = new EnumMap<>(Phase.class);
+
+        for (Phase phase: Phase.values()) {
+            this.totalNanos.put(phase, 0L);
+            this.maxNanos.put(phase, 0L);
+            this.lastNanos.put(phase, 0L);
+        }
+    }
+
+    /**
+     * Records durations of the phases of completed refresh.
+     *
+     * @param durationsNanos Durations of the phases in nanoseconds - missing phases are treated as instant.
+     * */
+    public synchronized void record(Map<Phase, Long> durationsNanos) {
+        this.refreshesQuantity++;
+
+        for (Phase phase: Phase.values()) {
+            long duration = durationsNanos.getOrDefault(phase, 0L);
+
+            this.totalNanos.merge(phase, duration, Long::sum);
+            this.maxNanos.merge(phase, duration, Math::max);
+            this.lastNanos.put(phase, duration);
+        }
+    }
+
+    /**
+     * @return Name of the refreshed panel.
+     * */
+    public String getPanelName() {
+        return this.panelName;
+    }
+
+    /**
+     * @return Number of recorded refreshes.
+     * */
+    public synchronized long getRefreshesQuantity() {
+        return this.refreshesQuantity;
+    }
+
+    /**
+     * @param  phase Phase of the refresh.
+     * @return       Average duration of given phase in milliseconds or 0 if nothing was recorded yet.
+     * */
+    public synchronized double getAverageMillis(Phase phase) {
+        return (this.refreshesQuantity == 0) ? 0 : this.totalNanos.get(phase) / 1e6 / this.refreshesQuantity;
+    }
+
+    /**
+     * @param  phase Phase of the refresh.
+     * @return       Maximal duration of given phase in milliseconds.
+     * */
+    public synchronized double getMaxMillis(Phase phase) {
+        return this.maxNanos.get(phase) / 1e6;
+    }
+
+    /**
+     * @param  phase Phase of the refresh.
+     * @return       Duration of given phase during the last refresh in milliseconds.
+     * */
+    public synchronized double getLastMillis(Phase phase) {
+        return this.lastNanos.get(phase) / 1e6;
+    }
+}
@@ -1,10 +1,12 @@
 package pl.jakubmiodunka.gui.panels;
 
 import pl.jakubmiodunka.database.Database;
+import pl.jakubmiodunka.database.journal.WriteJournal;
 import pl.jakubmiodunka.database.repositories.exceptions.ForbiddenOperationException;
-import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
 import pl.jakubmiodunka.gui.panels.interfaces.RefreshablePanel;
 import pl.jakubmiodunka.gui.panels.models.config.CategoryAdderConfig;
+import pl.jakubmiodunka.gui.panels.utilities.BackgroundWriter;
+import pl.jakubmiodunka.gui.panels.utilities.InvalidationScheduler;
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
@@ -34,13 +36,17 @@ public class CategoryAdder extends JPanel {
     // List of panels that will be refreshed when new category will be added to repository
     protected final List<RefreshablePanel> dependentPanels;
 
+    // Scheduler, by which refreshes of dependent panels are requested
+    protected final InvalidationScheduler invalidationScheduler;
+
     // Internally used logger
     protected final Logger logger;
 
     /**
-     * @param  config   Configuration of the panel, that will be used during initialisation.
+     * @param  config                Configuration of the panel, that will be used during initialisation.
+     * @param  invalidationScheduler Scheduler, by which refreshes of dependent panels will be requested.
      * */
-    protected CategoryAdder(CategoryAdderConfig config) {
+    protected CategoryAdder(CategoryAdderConfig config, InvalidationScheduler invalidationScheduler) {
         // Parent class constructor call
         super();
 
@@ -53,6 +59,7 @@ public class CategoryAdder extends JPanel {
 
         // Initialising other properties
         this.dependentPanels = new ArrayList<>();
+        this.invalidationScheduler = invalidationScheduler;
     }
 
     /**
@@ -99,8 +106,7 @@ public class CategoryAdder extends JPanel {
 
     /**
      * Adds a product category, which name is currently stored in 'name' text field to repository.
-     *
-     * @throws RepositoryException         When adding new product to repository fail.
+     * Addition is performed in background - failures are reported to the user.
      * */
     private void addCategory() {
         // Logging
@@ -120,28 +126,47 @@ public class CategoryAdder extends JPanel {
             return;
         }
 
-        // Adding product category to repository
-        try {
-            Database.getCategoriesRepository().addNewCategory(name);
-        } catch (ForbiddenOperationException exception) {
-            String errorMessage = "Category with provided name already exists.";
-
-            // Showing pop-up window and exiting
-            JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
-            return;
-        }
-
-        // Logging
-        this.logger.info("New product category named as '{}' successfully added to repository.", name);
-
-        // Refreshing panels, that are dependent on performed action
-        this.logger.debug("Refreshing the panels, that are dependent on performed action...");
-
-        for (RefreshablePanel panel: this.dependentPanels) {
-            panel.refresh();
-        }
-
-        this.logger.debug("All panels refreshed successfully.");
+        // Adding product category to repository in background - in write-behind mode addition is only recorded
+        // in the journal and category with the same name added meanwhile is merged with the new one during journal flush
+        WriteJournal writeJournal = Database.getWriteJournal();
+        this.addButton.setEnabled(false);
+
+        BackgroundWriter.submit(
+                () -> {
+                    if (writeJournal != null) {
+                        writeJournal.addCategory(name);
+                    }
+                    else {
+                        Database.getCategoriesRepository().addNewCategory(name);
+                    }
+                },
+                () -> {
+                    this.addButton.setEnabled(true);
+
+                    // Logging
+                    this.logger.info("New product category named as '{}' successfully added to repository.", name);
+
+                    // Addition applied to the database is published by the repository, so dependent panels update
+                    // themselves - addition recorded only in the journal requires refresh of dependent panels
+                    if (writeJournal != null) {
+                        this.logger.debug("Refreshing the panels, that are dependent on performed action...");
+
+                        for (RefreshablePanel panel: this.dependentPanels) {
+                            this.invalidationScheduler.invalidate(panel);
+                        }
+                    }
+                },
+                exception -> {
+                    this.addButton.setEnabled(true);
+
+                    // Logging
+                    String errorMessage = (exception instanceof ForbiddenOperationException) ?
+                            "Category with provided name already exists." : "Failed to add new product category.";
+                    this.logger.error(errorMessage, exception);
+
+                    // Showing pop-up window
+                    JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
+                });
     }
 
     /**
@@ -155,11 +180,12 @@ public class CategoryAdder extends JPanel {
     /**
      * Factory method, meant to be used externally to create new class instances.
      *
-     * @param config               Configuration of the panel, that will be used during initialisation.
+     * @param config                Configuration of the panel, that will be used during initialisation.
+     * @param invalidationScheduler Scheduler, by which refreshes of dependent panels will be requested.
      * */
-    public static CategoryAdder getNewPanel(CategoryAdderConfig config) {
+    public static CategoryAdder getNewPanel(CategoryAdderConfig config, InvalidationScheduler invalidationScheduler) {
         // Creating new categories adder panel
-        CategoryAdder newPanel = new CategoryAdder(config);
+        CategoryAdder newPanel = new CategoryAdder(config, invalidationScheduler);
 
         // Further panel initialisation
         newPanel.setLayout(config);
@@ -170,7 +196,10 @@ public class CategoryAdder extends JPanel {
     }
 
     /**
-     * Adds given panel to the pool of panels, that will be refreshed after each addition of record to repository.
+     * Adds given panel to the pool of panels, that will be refreshed after each addition of record to write journal.
+     * Refreshes are requested using invalidation scheduler, so several additions performed in short time
+     * result with single refresh of each dependent panel. Additions applied directly to the database are
+     * published by repositories, so they do not require refreshes.
      *
      * @param panel Refreshable panel, which state is dependent on the action of adding the record to repository
      *              by the instance of this class.
@@ -1,22 +1,40 @@
 package pl.jakubmiodunka.gui.panels;
 
 import pl.jakubmiodunka.database.Database;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.journal.WriteJournal;
+import pl.jakubmiodunka.database.models.changes.ChangeSet;
 import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.events.CategoryAddedEvent;
+import pl.jakubmiodunka.database.models.events.CategoryRemovedEvent;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
 import pl.jakubmiodunka.database.repositories.exceptions.ForbiddenOperationException;
 import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
-import pl.jakubmiodunka.gui.panels.exceptions.OutOfSpaceException;
+import pl.jakubmiodunka.database.snapshots.LocalSnapshot;
+import pl.jakubmiodunka.gui.diagnostics.RefreshTimings;
 import pl.jakubmiodunka.gui.panels.interfaces.RefreshablePanel;
 import pl.jakubmiodunka.gui.panels.models.config.CategoryBrowserConfig;
-import pl.jakubmiodunka.gui.panels.utilities.ButtonColumn;
-import pl.jakubmiodunka.gui.panels.utilities.LabelColumn;
+import pl.jakubmiodunka.gui.panels.utilities.AsyncRefresher;
+import pl.jakubmiodunka.gui.panels.utilities.BackgroundWriter;
+import pl.jakubmiodunka.gui.panels.utilities.ButtonCellRenderer;
+import pl.jakubmiodunka.gui.panels.utilities.CategoryTableModel;
+import pl.jakubmiodunka.gui.panels.utilities.InvalidationScheduler;
+import pl.jakubmiodunka.gui.panels.utilities.RecordTableModel;
 
 import java.awt.BorderLayout;
-import java.awt.GridLayout;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.JLabel;
 import javax.swing.JOptionPane;
-import javax.swing.JButton;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableCellRenderer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,62 +46,69 @@ import org.slf4j.LoggerFactory;
  * the product and category models, this class was designed in the way, that makes inheriting its functionalities
  * easier by other similar classes.
  *
+ * Records are presented in scrollable table, which renders only visible rows, so the number of records
+ * does not affect the cost of displaying them.
+ *
  * @author Jakub Miodunka
  * */
 public class CategoryBrowser extends JPanel implements RefreshablePanel {
-    // Column where content of given records is presented
-    protected final LabelColumn idColumn;
-    protected final LabelColumn nameColumn;
-    protected final ButtonColumn deleteButtonsColumn;
-
-    // Number of rows in each column
-    protected final int numberOfRows;
+    // Table, where content of given records is presented, along with its model
+    protected final JTable table;
+    protected final RecordTableModel<? extends Category> tableModel;
 
-    // Title of each button in delete buttons column
-    protected final String deleteButtonsTitle;
+    // Scheduler, by which refreshes are requested when published change can not be applied locally
+    protected final InvalidationScheduler invalidationScheduler;
 
-    // Buttons used for navigation between pages
-    protected final JButton nextPageButton;
-    protected final JButton previousPageButton;
+    // Handle of queries executed during the latest refresh
+    private QueryHandle currentQuery;
 
-    // Current page number
-    protected long page;
+    // Helper performing refreshes in background
+    protected final AsyncRefresher refresher;
 
-    // List of panels that will be refreshed when record will be deleted from repository
-    protected final List<RefreshablePanel> dependentPanels;
+    // List where all available in repository product categories are stored along with version of the last change
+    // reflected in it - kept in sync using changes performed in repository instead of importing everything each time
+    private List<Category> allCategories;
+    private long categoriesVersion;
 
     // Internally used logger
     protected final Logger logger;
 
     /**
-     * @param config Configuration of the panel, that will be used during initialisation.
+     * @param tableModel            Model of the table, where records will be presented.
+     * @param invalidationScheduler Scheduler, by which refreshes will be requested when published change
+     *                              can not be applied locally.
      * */
-    protected CategoryBrowser(CategoryBrowserConfig config) {
+    protected CategoryBrowser(RecordTableModel<? extends Category> tableModel,
+                              InvalidationScheduler invalidationScheduler) {
         // Parent class constructor call
         super();
 
         // Initialising logger
         this.logger = LoggerFactory.getLogger(this.getClass());
 
-        // Basic properties init
-        this.numberOfRows = config.getNumberOfRows();
-        this.deleteButtonsTitle = config.getDeleteButtonsTitle();
+        // Creating the table
+        this.tableModel = tableModel;
+        this.table = new JTable(this.tableModel);
 
-        // Creating columns
-        this.idColumn = new LabelColumn(this.numberOfRows, config.getIdColumnTitle());
-        this.nameColumn = new LabelColumn(this.numberOfRows, config.getNameColumnTitle());
-        this.deleteButtonsColumn = new ButtonColumn(this.numberOfRows, config.getDeleteButtonsColumnTitle());
-
-        // Creating buttons
-        this.nextPageButton = new JButton(config.getNextPageButtonTitle());
-        this.previousPageButton = new JButton(config.getPreviousPageButtonTitle());
+        // Initialising other properties
+        this.invalidationScheduler = invalidationScheduler;
+        this.refresher = new AsyncRefresher(this.getClass().getSimpleName());
+    }
 
-        // Initialising things related with paging
-        this.page = 0;                              // Initially set to first page
-        this.previousPageButton.setEnabled(false);  // Initially disabled as moving to page -1 makes no sense
+    /**
+     * @param config                Configuration of the panel, that will be used during initialisation.
+     * @param invalidationScheduler Scheduler, by which refreshes will be requested when published change
+     *                              can not be applied locally.
+     * */
+    protected CategoryBrowser(CategoryBrowserConfig config, InvalidationScheduler invalidationScheduler) {
+        this(new CategoryTableModel(config), invalidationScheduler);
+    }
 
-        // Initialising other properties
-        this.dependentPanels = new ArrayList<>();
+    /**
+     * @return Model of the table, where product categories are presented.
+     * */
+    private CategoryTableModel getCategoryTableModel() {
+        return (CategoryTableModel) this.tableModel;
     }
 
     /**
@@ -94,249 +119,314 @@ public class CategoryBrowser extends JPanel implements RefreshablePanel {
         // Setting the panel layout
         this.setLayout(new BorderLayout());
 
-        // Preparing sub-panel, where details about imported records will be displayed
-        JPanel columnPanel = new JPanel();
-        columnPanel.setLayout(new GridLayout(1, 5));
-        columnPanel.add(this.idColumn);
-        columnPanel.add(this.nameColumn);
-        columnPanel.add(this.deleteButtonsColumn);
-        this.add(columnPanel, BorderLayout.CENTER);
-
-        // Preparing sub-panel, where navigation buttons will be placed
-        JPanel navigationPanel = new JPanel();
-        navigationPanel.setLayout(new GridLayout(1, 2));
-        navigationPanel.add(this.nextPageButton);
-        navigationPanel.add(this.previousPageButton);
-        this.add(navigationPanel, BorderLayout.SOUTH);
-    }
+        // Preparing the table, where details about imported records will be displayed
+        DefaultTableCellRenderer centeredCellRenderer = new DefaultTableCellRenderer();
+        centeredCellRenderer.setHorizontalAlignment(JLabel.CENTER);
 
-    /**
-     * Moves displayed explorer content to the next page.
-     *
-     * @throws RepositoryException When import of the data from repository fail.
-     * */
-    protected void moveToNextPage() {
-        // Logging
-        this.logger.info("Moving to the next page...");
-
-        this.page += 1;                             // Increment page counter
-        this.previousPageButton.setEnabled(true);   // Make sure that 'previous page' button is enabled
-        this.refresh();                             // Import the data and refresh displayed content
+        this.table.setDefaultRenderer(Object.class, centeredCellRenderer);
+        this.table.getColumnModel().getColumn(this.tableModel.getDeleteButtonsColumn())
+                .setCellRenderer(new ButtonCellRenderer());
+        this.table.getTableHeader().setReorderingAllowed(false);
+        this.table.setFillsViewportHeight(true);
+        this.add(new JScrollPane(this.table), BorderLayout.CENTER);
 
-        this.logger.info("Next page loaded successfully.");
+        // Adding loading indicator above the table
+        this.add(this.refresher.getLoadingIndicator(), BorderLayout.NORTH);
     }
 
     /**
-     * Moves displayed explorer content to the previous page.
-     *
-     * @throws RepositoryException When import of the data from repository fail.
+     * Assigns functionality to buttons placed in delete buttons column.
+     * Buttons are only painted by the table, so clicks are detected by the table itself.
+     * Meant to be used only once during instance initialisation.
      * */
-    protected void moveToPreviousPage() {
-        // Logging
-        this.logger.info("Moving to the previous page...");
-
-        this.page -= 1;                                                 // Decrement page counter
-        if (this.page == 0) this.previousPageButton.setEnabled(false);  // If it is first page disable 'previous page' button
-        this.refresh();                                                 // Import the data and refresh displayed content
-
-        this.logger.info("Previous page loaded successfully.");
-
+    protected void setDeleteButtonsFunction() {
+        this.table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent event) {
+                int row = table.rowAtPoint(event.getPoint());
+                int column = table.columnAtPoint(event.getPoint());
+
+                if (row < 0 || column < 0 ||
+                        table.convertColumnIndexToModel(column) != tableModel.getDeleteButtonsColumn()) {
+                    return;
+                }
+
+                // Rows, which records are not imported yet, have no button
+                Category record = tableModel.getRecord(table.convertRowIndexToModel(row));
+
+                if (record != null) {
+                    removeRecordFromRepository(record);
+                }
+            }
+        });
     }
 
     /**
-     * Assigns functionalities to navigation buttons.
-     * Meant to be used only once during instance initialisation.
+     * Used as action, that is performed when 'delete' button is clicked.
+     *
+     * @param record Record, that is requested to be removed from repository.
      * */
-    protected void setNavigationButtonsFunctions() {
-        // Assigning functionalities to navigation buttons
-        this.nextPageButton.addActionListener(event -> this.moveToNextPage());
-        this.previousPageButton.addActionListener(event -> this.moveToPreviousPage());
+    protected void removeRecordFromRepository(Category record) {
+        this.removeCategoryFromRepository(record);
     }
 
     /**
-     * Used as action, that is passed to the 'delete' buttons.
+     * Removes given product category from repository.
+     *
+     * Removal is performed in background - failures are reported to the user.
      *
      * @param  category            Product category, that is requested to be removed from repository.
-     * @throws RepositoryException When category removal fail.
      * */
     private void removeCategoryFromRepository(Category category) {
         // Logging
         this.logger.info("Received removal request of product category with ID {} from repository.", category.getId());
 
-        // Removing specified product from repository
-        try {
-            Database.getCategoriesRepository().removeCategory(category.getId());
-        } catch (ForbiddenOperationException exception) {
-            // Logging
-            String errorMessage = "Unable to remove specified category as there are still some products assigned to it.";
-            this.logger.warn(errorMessage);
-
-            // Showing pop-up window and exiting
-            JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
+        // Records recorded in write journal can not be removed until they are applied to the database
+        if (isPending(category)) {
+            showPendingRecordRemovalWarning();
             return;
         }
 
-        this.logger.info("Product category removed successfully.");
+        // Removing specified product from repository
+        BackgroundWriter.submit(
+                () -> Database.getCategoriesRepository().removeCategory(category.getId()),
+                // Removal is published by the repository, so displayed content is updated by the event
+                () -> this.logger.info("Product category removed successfully."),
+                exception -> {
+                    // Logging
+                    String errorMessage = (exception instanceof ForbiddenOperationException) ?
+                            "Unable to remove specified category as there are still some products assigned to it." :
+                            "Failed to remove specified category.";
+                    this.logger.warn(errorMessage, exception);
+
+                    // Showing pop-up window
+                    JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
+                });
+    }
 
-        // Refreshing panels, that are dependent on performed action
-        this.logger.debug("Refreshing the panels, that are dependent on performed action...");
+    /**
+     * @param  record Record to be checked.
+     * @return        True if given record is recorded in write journal, but not yet applied to the database.
+     * */
+    protected static boolean isPending(Category record) {
+        return record.getId() < 0;
+    }
 
-        for (RefreshablePanel panel: this.dependentPanels) {
-            panel.refresh();
-        }
+    /**
+     * Informs the user, that record recorded in write journal can not be removed yet.
+     * */
+    protected void showPendingRecordRemovalWarning() {
+        // Logging
+        String errorMessage = "Record not yet saved in the database - try again after it is saved.";
+        this.logger.warn(errorMessage);
 
-        this.logger.debug("All panels refreshed successfully.");
+        // Showing pop-up window
+        JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
+    }
+
+    /**
+     * Prepares handle for queries executed during new refresh.
+     * Queries of previous refresh are cancelled, as their results would be outdated anyway - this way only queries
+     * related with the latest refresh occupy the database.
+     *
+     * @return Handle, that should be used for queries executed during new refresh.
+     * */
+    protected QueryHandle startQuery() {
+        if (this.currentQuery != null) {
+            this.currentQuery.cancel();
+        }
 
-        // Refreshing content of the panel
-        this.refresh();
+        this.currentQuery = new QueryHandle(Database.getClientConfig().getPageImportTimeoutSeconds());
+        return this.currentQuery;
     }
 
     /**
-     * Displays given product category at the last row.
+     * Synchronises locally stored list of product categories with the repository.
+     * All categories are imported only during the first synchronisation - further ones import only the changes.
      *
-     * @param  category            Product category, that will be displayed as single row.
-     * @throws OutOfSpaceException When already all available rows are full of content.
+     * @param  handle              Handle, that can be used to cancel import of the changes.
+     * @throws RepositoryException When import of the data from repository fail.
      * */
-    private void add(Category category) {
-        // Logging
-        this.logger.debug("Adding the product category with ID {} to the category browser...", category.getId());
+    private void synchroniseCategories(QueryHandle handle) {
+        CategoriesRepository categoriesRepository = Database.getCategoriesRepository();
+
+        if (Database.isOffline()) {
+            // Database not reachable yet - content of local snapshot is used and reconciled after connecting
+            if (this.allCategories == null) {
+                this.logger.debug("Filling product categories list using local snapshot...");
+
+                LocalSnapshot localSnapshot = Database.getLocalSnapshot();
+                this.categoriesVersion = localSnapshot.getCategoriesVersion();
+                this.allCategories = new ArrayList<>(localSnapshot.getAllCategories());
+            }
+        }
+        else if (this.allCategories == null) {
+            this.logger.debug("Importing all product categories from repository...");
+
+            this.categoriesVersion = categoriesRepository.getCurrentVersion();
+            this.allCategories = new ArrayList<>(categoriesRepository.getAllCategories());
+
+            this.logger.debug("Product categories imported successfully.");
+        }
+        else {
+            this.logger.debug("Importing changes of product categories performed since version {}...",
+                    this.categoriesVersion);
+
+            ChangeSet<Category> changes = categoriesRepository.changesSince(this.categoriesVersion, handle);
 
-        // Updating each text columns with corresponding content of given record
-        this.idColumn.add(String.valueOf(category.getId()));
-        this.nameColumn.add(category.getName());
-        this.deleteButtonsColumn.add(this.deleteButtonsTitle, event -> this.removeCategoryFromRepository(category));
+            if (changes.isReloadRequired()) {
+                // Changes not available - all categories are imported again
+                this.categoriesVersion = categoriesRepository.getCurrentVersion();
+                this.allCategories = new ArrayList<>(categoriesRepository.getAllCategories());
+            } else {
+                changes.applyTo(this.allCategories);
+                this.categoriesVersion = changes.getVersion();
+            }
 
-        this.logger.debug("Product category successfully added.");
+            this.logger.debug("Product categories synchronised successfully.");
+        }
     }
 
     /**
-     * Remove all displayed content.
+     * Imports product categories, that should be displayed - executed on background thread.
+     *
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Categories stored in repository followed by categories recorded in write journal.
+     * @throws RepositoryException When import of the data from repository fail.
      * */
-    protected void clear() {
-        // Logging
-        this.logger.debug("Erasing the columns content...");
+    protected List<Category> loadCategories(QueryHandle handle) {
+        // Synchronising locally stored product categories with repository
+        this.synchroniseCategories(handle);
+        List<Category> importedCategories = new ArrayList<>(this.allCategories);
 
-        // Removing all rows from every column
-        this.idColumn.clear();
-        this.nameColumn.clear();
-        this.deleteButtonsColumn.clear();
+        // Appending categories recorded in write journal
+        WriteJournal writeJournal = Database.getWriteJournal();
 
-        // Logging
-        this.logger.debug("Content of columns erased.");
+        if (writeJournal != null) {
+            importedCategories.addAll(writeJournal.getPendingCategories());
+        }
+
+        return importedCategories;
     }
 
     /**
-     * Import the data and refresh displayed content.
+     * Import the data in background and refresh displayed content.
+     * Query of the previous refresh is cancelled, as its result would be outdated anyway.
      *
-     * @throws RepositoryException When import of the data from repository fail.
+     * @return Future completed once imported data is displayed.
      * */
-    public void refresh() {
+    public CompletableFuture<Void> refresh() {
         // Logging
         this.logger.info("Refreshing the panel...");
 
-        // Erasing the content of columns
-        this.clear();
-
-        // Importing product categories from repository
-        this.logger.debug("Importing product categories requested to be displayed from repository...");
-
-        List<Category> importedCategories = Database.getCategoriesRepository().getAllCategories();
+        QueryHandle handle = this.startQuery();
+        return this.refresher.refresh(() -> this.loadCategories(handle), this::display);
+    }
 
-        this.logger.debug("Product categories imported successfully.");
+    /**
+     * @return Statistics of durations of refreshes displayed by the panel.
+     * */
+    @Override
+    public RefreshTimings getRefreshTimings() {
+        return this.refresher.getTimings();
+    }
 
+    /**
+     * Displays given product categories.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param importedCategories All categories, that should be displayed.
+     * */
+    private void display(List<Category> importedCategories) {
         // Checking if there is at least one product category in repository
         if (importedCategories.isEmpty()) {
-            // Logging
-            this.logger.warn("No categories available in repository - aborting the panel refresh.");
-
-            // Exiting as further methods execution makes no sense
-            return;
+            this.logger.warn("No categories available in repository.");
         }
 
-        // Determining from which and to which index, list of imported categories should be sliced, to match the number
-        // of currently displayed page
-        int startIndex = (int)(this.page * this.numberOfRows);  // Inclusive. Long to int mapping potentially hazardous,
-                                                                // but List.subList() method accept integers only.
-        int endIndex = startIndex + this.numberOfRows;          // Exclusive
+        // Updating the table
+        this.getCategoryTableModel().setCategories(importedCategories);
 
-        // Determining if 'next page' navigation button should be enabled
-        if (endIndex >= importedCategories.size() ) {          // Check if page requested to be displayed is the last one
-            this.logger.debug("Displaying next page impossible " +
-                    "- disabling 'next page' button.");
+        // Logging
+        this.logger.info("Panel successfully refreshed.");
+    }
 
-            this.nextPageButton.setEnabled(false);             // If yes disable the navigation button
-            endIndex = importedCategories.size();              // And make sure that the end index does not exceed
-        }                                                      // the size of categories list.
-        else {
-            // Logging
-            this.logger.debug("Displaying next page still possible" +
-                    " - enabling 'next page' button.");
+    /**
+     * @param  records Records in order, in which they are displayed.
+     * @return         Index, at which record added to repository should be inserted - before records recorded
+     *                 in write journal, as they are always displayed after records stored in repository.
+     * */
+    protected static int insertionIndex(List<? extends Category> records) {
+        int index = 0;
 
-            this.nextPageButton.setEnabled(true);              // Keep the navigation button enabled if end index fits
-        }                                                      // into the limits.
+        while (index < records.size() && !isPending(records.get(index))) {
+            index++;
+        }
 
-        // Detecting if categories list slicing will result with empty page
-        if (startIndex == endIndex) {
-            // Moving to the previous page as there is no point to display empty page
-            this.logger.info("No records to be displayed on current page" +
-                    " - attempting to move to the previous page.");
+        return index;
+    }
 
-            this.moveToPreviousPage();
+    /**
+     * Displays category added to repository without importing the content again.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param category Added category.
+     * */
+    private void applyCategoryAddition(Category category) {
+        List<Category> displayedCategories = this.getCategoryTableModel().getCategories();
+
+        // Category was already imported by the last refresh
+        if (displayedCategories.stream().anyMatch(displayed -> displayed.getId() == category.getId())) {
             return;
         }
 
-        // Slicing the categories list to sub-list of records, that should be displayed on currently selected page
-        List<Category> toUpdate;
-        try {
-            toUpdate = importedCategories.subList(startIndex, endIndex);
-        } catch (IndexOutOfBoundsException exception) {
-            // Logging
-            String errorMessage = "Invalid indexing during categories list slicing.";   // Should not be possible
-            this.logger.error(errorMessage, exception);
-
-            // Exception wrapping
-            throw new RuntimeException(errorMessage, exception);
-        }
+        this.logger.debug("Applying addition of product category with ID {}...", category.getId());
 
-        // Adding records to the columns
-        this.logger.debug("Adding imported products categories to the displayed table...");
+        this.getCategoryTableModel().insertCategory(insertionIndex(displayedCategories), category);
+    }
 
-        for (Category category: toUpdate) {
-            this.add(category);
+    /**
+     * Stops displaying category removed from repository without importing the content again.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param categoryId ID of removed category.
+     * */
+    private void applyCategoryRemoval(long categoryId) {
+        if (this.getCategoryTableModel().removeCategory(categoryId)) {
+            this.logger.debug("Removal of product category with ID {} applied.", categoryId);
         }
+    }
 
-        this.logger.debug("Products categories successfully added to the table.");
+    /**
+     * Subscribes the panel to changes published by repositories, that affect its content.
+     * Meant to be used only once during instance initialisation.
+     * */
+    protected void subscribeToRepositoryEvents() {
+        RepositoryEventBus eventBus = Database.getEventBus();
 
-        // Logging
-        this.logger.info("Panel successfully refreshed.");
+        eventBus.subscribe(CategoryAddedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyCategoryAddition(event.getCategory())));
+        eventBus.subscribe(CategoryRemovedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyCategoryRemoval(event.getRecordId())));
     }
 
     /**
      * Factory method, meant to be used externally to create categories browser instances.
+     * Created panel is empty - its content is imported by the first refresh.
      *
-     * @param config               Configuration of the panel, that will be used during initialisation.
-     * @throws RepositoryException When import of the data from repository fail.
+     * @param config                Configuration of the panel, that will be used during initialisation.
+     * @param invalidationScheduler Scheduler, by which refreshes will be requested when published change
+     *                              can not be applied locally.
      * */
-    public static CategoryBrowser getNewPanel(CategoryBrowserConfig config) {
+    public static CategoryBrowser getNewPanel(CategoryBrowserConfig config, InvalidationScheduler invalidationScheduler) {
         // Creating new categories browser panel
-        CategoryBrowser newPanel = new CategoryBrowser(config);
+        CategoryBrowser newPanel = new CategoryBrowser(config, invalidationScheduler);
 
         // Further panel initialisation
         newPanel.setLayout();
-        newPanel.setNavigationButtonsFunctions();
-        newPanel.refresh();
+        newPanel.setDeleteButtonsFunction();
+        newPanel.subscribeToRepositoryEvents();
 
         // Returning created panel as ready to use
         return newPanel;
     }
-
-    /**
-     * Adds given panel to the pool of panels, that will be refreshed after each removal of record from repository.
-     *
-     * @param panel Refreshable panel, which state is dependent on the action of removing the record from repository
-     *              by the instance of this class.
-     * */
-    public void addDependentPanel(RefreshablePanel panel) {
-        this.dependentPanels.add(panel);
-    }
 }
@@ -1,25 +1,38 @@
 package pl.jakubmiodunka.gui.panels;
 
 import pl.jakubmiodunka.database.Database;
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.journal.WriteJournal;
+import pl.jakubmiodunka.database.models.changes.ChangeSet;
 import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.events.CategoryAddedEvent;
+import pl.jakubmiodunka.database.models.events.CategoryRemovedEvent;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
 import pl.jakubmiodunka.database.repositories.exceptions.ForbiddenOperationException;
 import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.database.snapshots.LocalSnapshot;
 import pl.jakubmiodunka.exceptions.InvalidConfigValueException;
+import pl.jakubmiodunka.gui.diagnostics.RefreshTimings;
 import pl.jakubmiodunka.gui.panels.interfaces.RefreshablePanel;
 import pl.jakubmiodunka.gui.panels.models.config.ProductAdderConfig;
+import pl.jakubmiodunka.gui.panels.utilities.AsyncRefresher;
+import pl.jakubmiodunka.gui.panels.utilities.BackgroundWriter;
+import pl.jakubmiodunka.gui.panels.utilities.CategorySelector;
+import pl.jakubmiodunka.gui.panels.utilities.InvalidationScheduler;
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
-import javax.swing.JComboBox;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JTextField;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 
 /**
  * A panel that allows the user to add products to the repository.
@@ -31,26 +44,37 @@ import javax.swing.JOptionPane;
  * */
 public class ProductAdder extends CategoryAdder implements RefreshablePanel {
     // Additional components used on the panel
-    private final JComboBox<String> categoriesComboBox;
+    private final CategorySelector categorySelector;
     private final JTextField expirationDateTextField;
 
     // Date formatter used to convert timestamp given by the user to LocalDate objects
     private final DateTimeFormatter expirationDateFormatter;
 
-    // List where all available in repository product categories are stored
+    // List where all available in repository product categories are stored - accessed only during the import
     private List<Category> allCategories;
 
+    // Version of the last categories change reflected in internal categories list
+    private long categoriesVersion;
+
+    // Revision of write journal reflected in category selector - accessed only during the import
+    private long journalRevision;
+
+    // Helper performing refreshes in background
+    private final AsyncRefresher refresher;
+
     /**
      * @param  config                      Configuration of the panel, that will be used during initialisation.
+     * @param  invalidationScheduler       Scheduler, by which refreshes of dependent panels will be requested.
      * @throws InvalidConfigValueException When product expiration date format given in config is invalid.
      * */
-    protected ProductAdder(ProductAdderConfig config) {
+    protected ProductAdder(ProductAdderConfig config, InvalidationScheduler invalidationScheduler) {
         // Parent class constructor call
-        super(config);
+        super(config, invalidationScheduler);
 
         // Preparing additional components
         this.expirationDateTextField = new JTextField();
-        this.categoriesComboBox = new JComboBox<>();
+        this.categorySelector = new CategorySelector(config.getMaxCategorySuggestions());
+        this.refresher = new AsyncRefresher(ProductAdder.class.getSimpleName());
 
         // Initialising other additional properties
         try {
@@ -83,13 +107,15 @@ public class ProductAdder extends CategoryAdder implements RefreshablePanel {
         centerPanel.add(new JLabel());    // Spacer
 
         centerPanel.add(titleLabelFactory(config.getCategoriesComboBoxTitle()));
-        centerPanel.add(this.categoriesComboBox);
+        centerPanel.add(this.categorySelector);
         centerPanel.add(new JLabel());    // Spacer
 
         centerPanel.add(titleLabelFactory(config.getExpirationDateTextFieldTitle()));
         centerPanel.add(this.expirationDateTextField);
         centerPanel.add(new JLabel());    // Spacer
 
+        centerPanel.add(this.refresher.getLoadingIndicator());
+
         this.add(centerPanel, JLabel.CENTER);
 
         // Adding the 'add' button as a footer
@@ -98,9 +124,8 @@ public class ProductAdder extends CategoryAdder implements RefreshablePanel {
 
     /**
      * Adds a product, which properties are currently stored in panel components to repository.
+     * Addition is performed in background - failures are reported to the user.
      *
-     * @throws RepositoryException         When adding new product to repository fail.
-     * @throws RuntimeException            When some unexpected error occur.
      * */
     private void addProduct() {
         // Logging
@@ -120,24 +145,22 @@ public class ProductAdder extends CategoryAdder implements RefreshablePanel {
             return;
         }
 
-        // Getting product category from combo box
-        String categoryName = (String) this.categoriesComboBox.getSelectedItem();
-        long categoryId;
-        try {
-            categoryId = this.allCategories.stream()
-                    .filter(category -> category.getName().equals(categoryName))
-                    .map(Category::getId)
-                    .findFirst()    // Assuming that categories have unique names
-                    .orElseThrow();
-        } catch (NoSuchElementException exception) {
+        // Getting product category from category selector - categories are looked up by their unique names
+        Category category = this.categorySelector.getSelectedCategory();
+
+        if (category == null) {
             // Logging
-            String errorMessage = "State of categories combo box not synchronised with internal categories list.";
+            String errorMessage = "No existing product category selected.";
             this.logger.error(errorMessage);
 
-            // Throwing an exception
-            throw new RuntimeException(errorMessage, exception);   // Should not be possible
+            // Showing pop-up window and exiting
+            JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
+            return;
         }
 
+        long categoryId = category.getId();
+        String categoryName = category.getName();
+
         // Getting product expiration date from text box
         String expirationDateAsString = this.expirationDateTextField.getText();
 
@@ -155,29 +178,47 @@ public class ProductAdder extends CategoryAdder implements RefreshablePanel {
             return;
         }
 
-        // Adding product to repository
-        try {
-            Database.getProductRepository().addNewProduct(name, categoryId, expirationDate);
-        } catch (ForbiddenOperationException exception) {
-            // Logging
-            String errorMessage = "Invalid category selected.";
-            this.logger.error(errorMessage);
-
-            // Exception wrapping
-            throw new RuntimeException(errorMessage, exception);    // Should not be possible
-        }
-
-        // Logging
-        this.logger.info("New product successfully added to repository.");
-
-        // Refreshing panels, that are dependent on performed action
-        this.logger.debug("Refreshing the panels, that are dependent on performed action...");
-
-        for (RefreshablePanel panel: this.dependentPanels) {
-            panel.refresh();
-        }
-
-        this.logger.debug("All panels refreshed successfully.");
+        // Adding product to repository in background - in write-behind mode addition is only recorded in the journal
+        // and conflicts are detected during journal flush
+        WriteJournal writeJournal = Database.getWriteJournal();
+        this.addButton.setEnabled(false);
+
+        BackgroundWriter.submit(
+                () -> {
+                    if (writeJournal != null) {
+                        writeJournal.addProduct(name, categoryId, categoryName, expirationDate);
+                    }
+                    else {
+                        Database.getProductRepository().addNewProduct(name, categoryId, expirationDate);
+                    }
+                },
+                () -> {
+                    this.addButton.setEnabled(true);
+
+                    // Logging
+                    this.logger.info("New product successfully added to repository.");
+
+                    // Addition applied to the database is published by the repository, so dependent panels update
+                    // themselves - addition recorded only in the journal requires refresh of dependent panels
+                    if (writeJournal != null) {
+                        this.logger.debug("Refreshing the panels, that are dependent on performed action...");
+
+                        for (RefreshablePanel panel: this.dependentPanels) {
+                            this.invalidationScheduler.invalidate(panel);
+                        }
+                    }
+                },
+                exception -> {
+                    this.addButton.setEnabled(true);
+
+                    // Logging - selected category could be removed meanwhile
+                    String errorMessage = (exception instanceof ForbiddenOperationException) ?
+                            "Selected category no longer exists." : "Failed to add new product.";
+                    this.logger.error(errorMessage, exception);
+
+                    // Showing pop-up window
+                    JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
+                });
     }
 
     /**
@@ -189,45 +230,179 @@ public class ProductAdder extends CategoryAdder implements RefreshablePanel {
     }
 
     /**
-     * Import the data and refresh displayed content.
+     * @return True if pending entries recorded in write journal changed since the last combo box update.
+     * */
+    private boolean isJournalChanged() {
+        WriteJournal writeJournal = Database.getWriteJournal();
+        return writeJournal != null && writeJournal.getRevision() != this.journalRevision;
+    }
+
+    /**
+     * Imports product categories, that should be available for selection - executed on background thread.
      *
+     * @return                     Categories stored in repository followed by categories recorded in write journal
+     *                             or null if categories available for selection are up-to-date.
      * @throws RepositoryException When import of the data from repository fail.
      * */
-    public void refresh() {
+    private List<Category> loadCategories() {
+        // Updating the locally stored list of all available categories
+        CategoriesRepository categoriesRepository = Database.getCategoriesRepository();
+
+        if (Database.isOffline()) {
+            // Database not reachable yet - content of local snapshot is used and reconciled after connecting
+            if (this.allCategories != null && !this.isJournalChanged()) {
+                this.logger.info("Database not available - panel content kept unchanged.");
+                return null;
+            }
+
+            if (this.allCategories == null) {
+                this.logger.debug("Filling internal categories list with categories stored in local snapshot...");
+
+                LocalSnapshot localSnapshot = Database.getLocalSnapshot();
+                this.categoriesVersion = localSnapshot.getCategoriesVersion();
+                this.allCategories = new ArrayList<>(localSnapshot.getAllCategories());
+
+                this.logger.debug("Internal categories list filled.");
+            }
+        }
+        else if (this.allCategories == null) {
+            this.logger.debug("Filling internal categories list with all categories available in repository...");
+
+            this.categoriesVersion = categoriesRepository.getCurrentVersion();
+            this.allCategories = new ArrayList<>(categoriesRepository.getAllCategories());
+
+            this.logger.debug("Internal categories list filled.");
+        }
+        else {
+            this.logger.debug("Importing changes of categories performed since version {}...", this.categoriesVersion);
+
+            ChangeSet<Category> changes = categoriesRepository.changesSince(this.categoriesVersion);
+
+            // Checking if there is anything to update
+            if (changes.isEmpty() && !this.isJournalChanged()) {
+                this.logger.info("Categories not changed since last refresh - panel content up to date.");
+                return null;
+            }
+
+            if (changes.isReloadRequired()) {
+                // Changes not available - all categories are imported again
+                this.categoriesVersion = categoriesRepository.getCurrentVersion();
+                this.allCategories = new ArrayList<>(categoriesRepository.getAllCategories());
+            } else {
+                changes.applyTo(this.allCategories);
+                this.categoriesVersion = changes.getVersion();
+            }
+
+            this.logger.debug("Internal categories list synchronised with repository.");
+        }
+
+        // Appending categories recorded in write journal
+        WriteJournal writeJournal = Database.getWriteJournal();
+        List<Category> importedCategories = new ArrayList<>(this.allCategories);
+
+        if (writeJournal != null) {
+            this.journalRevision = writeJournal.getRevision();
+            importedCategories.addAll(writeJournal.getPendingCategories());
+        }
+
+        return importedCategories;
+    }
+
+    /**
+     * Import the data in background and refresh displayed content.
+     *
+     * @return Future completed once imported data is displayed.
+     * */
+    public CompletableFuture<Void> refresh() {
         // Logging
         this.logger.info("Refreshing the panel...");
 
-        // Updating the locally stored list of all available categories
-        this.logger.debug("Filling internal categories list with all categories available in repository...");
+        return this.refresher.refresh(this::loadCategories, this::display);
+    }
 
-        this.allCategories = Database.getCategoriesRepository().getAllCategories();
+    /**
+     * @return Statistics of durations of refreshes displayed by the panel.
+     * */
+    @Override
+    public RefreshTimings getRefreshTimings() {
+        return this.refresher.getTimings();
+    }
 
-        this.logger.debug("Internal categories list filled.");
+    /**
+     * Updates category selector with given categories - list of the selector is filled once the user uses it.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param importedCategories Categories, that should be available for selection or null if selector is up-to-date.
+     * */
+    private void display(List<Category> importedCategories) {
+        // Nothing changed since the last refresh
+        if (importedCategories == null) {
+            return;
+        }
 
-        // Updating the categories combo box
-        this.logger.debug("Synchronising categories combo box with internal categories list...");
+        // Updating the category selector
+        this.logger.debug("Synchronising category selector with internal categories list...");
 
-        this.categoriesComboBox.removeAllItems();
-        this.allCategories.forEach(category -> this.categoriesComboBox.addItem(category.getName()));
+        this.categorySelector.setCategories(importedCategories);
 
         // Logging
         this.logger.debug("Synchronisation successful.");
         this.logger.info("Panel successfully refreshed.");
     }
 
+    /**
+     * Makes category added to repository available for selection without importing categories again.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param category Added category.
+     * */
+    private void applyCategoryAddition(Category category) {
+        // Category already imported by the last refresh is not added again
+        if (this.categorySelector.addCategory(category)) {
+            this.logger.debug("Category with ID {} added to category selector.", category.getId());
+        }
+    }
+
+    /**
+     * Makes category removed from repository no longer available for selection without importing categories again.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param categoryId ID of removed category.
+     * */
+    private void applyCategoryRemoval(long categoryId) {
+        if (this.categorySelector.removeCategory(categoryId)) {
+            this.logger.debug("Category with ID {} removed from category selector.", categoryId);
+        }
+    }
+
+    /**
+     * Subscribes the panel to changes published by repositories, that affect its content.
+     * Meant to be used only once during instance initialisation.
+     * */
+    private void subscribeToRepositoryEvents() {
+        RepositoryEventBus eventBus = Database.getEventBus();
+
+        eventBus.subscribe(CategoryAddedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyCategoryAddition(event.getCategory())));
+        eventBus.subscribe(CategoryRemovedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyCategoryRemoval(event.getRecordId())));
+    }
+
     /**
      * Factory method, meant to be used externally to create new class instances.
+     * Created panel has no categories available - they are imported by the first refresh.
      *
-     * @param config               Configuration of the panel, that will be used during initialisation.
+     * @param config                Configuration of the panel, that will be used during initialisation.
+     * @param invalidationScheduler Scheduler, by which refreshes of dependent panels will be requested.
      * */
-    public static ProductAdder getNewPanel(ProductAdderConfig config) {
+    public static ProductAdder getNewPanel(ProductAdderConfig config, InvalidationScheduler invalidationScheduler) {
         // Creating new categories adder panel
-        ProductAdder newPanel = new ProductAdder(config);
+        ProductAdder newPanel = new ProductAdder(config, invalidationScheduler);
 
         // Further panel initialisation
         newPanel.setLayout(config);
         newPanel.setAddButtonFunction();
-        newPanel.refresh();
+        newPanel.subscribeToRepositoryEvents();
 
         // Returning created panel as ready to use
         return newPanel;
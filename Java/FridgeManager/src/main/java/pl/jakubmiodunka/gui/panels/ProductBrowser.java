@@ -1,225 +1,583 @@
 package pl.jakubmiodunka.gui.panels;
 
 import pl.jakubmiodunka.database.Database;
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.journal.WriteJournal;
+import pl.jakubmiodunka.database.models.content.Category;
 import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.database.models.events.CategoryAddedEvent;
+import pl.jakubmiodunka.database.models.events.CategoryRemovedEvent;
+import pl.jakubmiodunka.database.models.events.ProductAddedEvent;
+import pl.jakubmiodunka.database.models.events.ProductRemovedEvent;
+import pl.jakubmiodunka.database.models.queries.ProductQuery;
+import pl.jakubmiodunka.database.models.queries.ProductSortKey;
+import pl.jakubmiodunka.database.models.queries.SortDirection;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
 import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
-import pl.jakubmiodunka.gui.panels.exceptions.OutOfSpaceException;
-import pl.jakubmiodunka.gui.panels.interfaces.RefreshablePanel;
+import pl.jakubmiodunka.database.snapshots.LocalSnapshot;
+import pl.jakubmiodunka.exceptions.InvalidConfigValueException;
+import pl.jakubmiodunka.gui.panels.interfaces.ProductBlockLoader;
 import pl.jakubmiodunka.gui.panels.models.config.ProductBrowserConfig;
-import pl.jakubmiodunka.gui.panels.utilities.LabelColumn;
+import pl.jakubmiodunka.gui.panels.utilities.BackgroundWriter;
+import pl.jakubmiodunka.gui.panels.utilities.BlockCache;
+import pl.jakubmiodunka.gui.panels.utilities.CategorySelector;
+import pl.jakubmiodunka.gui.panels.utilities.InvalidationScheduler;
+import pl.jakubmiodunka.gui.panels.utilities.ProductTableModel;
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
 
 /**
  * Panel, where product stored in repository can be browsed.
  *
  * Extends category browser as some properties are common in
  * both cases - for more details refer to docstrings placed in CategoryBrowser class.
+ * Refresh imports only the number of stored products - products themselves are imported in blocks by table model,
+ * once they are scrolled to. When searched phrase is typed, only products which names contain it are presented.
+ * Products can be filtered by category, expiration window and name prefix and sorted by chosen property - filters
+ * and order are executed by the database, so only requested products are imported.
  *
  * @author Jakub Miodunka
  * */
 public class ProductBrowser extends CategoryBrowser {
-    // Additional columns, where content of given records is presented
-    private final LabelColumn categoryColumn;
-    private final LabelColumn expirationDateColumn;
+    // Field, where searched phrase is typed, along with its title
+    private final JTextField searchField;
+    private final String searchFieldTitle;
+
+    // Maximal number of products presented as search result
+    private final int maxSearchResults;
+
+    // Controls, by which presented products are filtered and sorted
+    private final CategorySelector categoryFilter;
+    private final JTextField expiringFromFilter;
+    private final JTextField expiringToFilter;
+    private final JTextField namePrefixFilter;
+    private final JComboBox<ProductSortKey> sortKeySelector;
+    private final JComboBox<SortDirection> sortDirectionSelector;
+
+    // Titles of filtering and sorting controls in order of their placement
+    private final List<String> filterTitles;
+
+    // Date formatter used to convert dates typed in expiration date filters to LocalDate objects
+    private final DateTimeFormatter expirationDateFormatter;
+
+    // Specification of products, that were imported during the last refresh
+    private volatile ProductQuery displayedQuery;
+
+    // Searched phrase, for which products were imported during the last refresh - empty if all products are presented
+    private volatile String displayedPhrase;
+
+    // Version of products, that was current during the last refresh
+    // Written on event dispatch thread, while read during the import in background
+    private volatile long displayedVersion;
+
+    // Revision of write journal, that was current during the last refresh
+    private volatile long displayedJournalRevision;
 
     /**
-     * @param config Configuration of the panel, that will be used during initialisation.
+     * @param config                Configuration of the panel, that will be used during initialisation.
+     * @param invalidationScheduler Scheduler, by which refreshes will be requested when published change
+     *                              can not be applied locally.
      * */
-    protected ProductBrowser(ProductBrowserConfig config) {
+    protected ProductBrowser(ProductBrowserConfig config, InvalidationScheduler invalidationScheduler) {
         // Parent class constructor call
-        super(config);
+        super(new ProductTableModel(config, Database.getClientConfig().getPageImportTimeoutSeconds()),
+                invalidationScheduler);
+
+        // Preparing search field
+        this.searchField = new JTextField();
+        this.searchFieldTitle = config.getSearchFieldTitle();
+        this.maxSearchResults = config.getMaxSearchResults();
+
+        // Preparing filtering and sorting controls
+        this.categoryFilter = new CategorySelector(config.getMaxCategorySuggestions());
+        this.expiringFromFilter = new JTextField();
+        this.expiringToFilter = new JTextField();
+        this.namePrefixFilter = new JTextField();
+        this.sortKeySelector = new JComboBox<>(ProductSortKey.values());
+        this.sortDirectionSelector = new JComboBox<>(SortDirection.values());
+        this.filterTitles = List.of(config.getCategoryFilterTitle(), config.getExpiringFromFilterTitle(),
+                config.getExpiringToFilterTitle(), config.getNamePrefixFilterTitle(), config.getSortKeyTitle(),
+                config.getSortDirectionTitle());
+
+        try {
+            this.expirationDateFormatter = DateTimeFormatter.ofPattern(config.getExpirationDateFormat());
+        } catch (IllegalArgumentException exception) {
+            // Exception wrapping
+            throw new InvalidConfigValueException("Invalid format of product expiration date given.", exception);
+        }
 
-        // Creating additional columns
-        this.categoryColumn = new LabelColumn(this.numberOfRows, config.getCategoryColumnTitle());
-        this.expirationDateColumn = new LabelColumn(this.numberOfRows, config.getExpirationDateColumnTitle());
+        // Initially nothing is displayed
+        this.displayedVersion = -1;
+        this.displayedJournalRevision = -1;
+        this.displayedPhrase = "";
+        this.displayedQuery = ProductQuery.all();
     }
 
     /**
-     * Sets the layout of product browser panel.
+     * Sets the layout of product browser panel - search field is placed above the table next to loading indicator,
+     * while filtering and sorting controls are placed below the table.
      * Meant to be used only once during instance initialisation.
      * */
     @Override
     protected void setLayout() {
-        // Setting the panel layout
-        this.setLayout(new BorderLayout());
+        // Parent class layout
+        super.setLayout();
+
+        // Preparing sub-panel, where search field is placed
+        JPanel searchPanel = new JPanel();
+        searchPanel.setLayout(new BorderLayout());
+        searchPanel.add(new JLabel(this.searchFieldTitle), BorderLayout.WEST);
+        searchPanel.add(this.searchField, BorderLayout.CENTER);
+        searchPanel.add(this.refresher.getLoadingIndicator(), BorderLayout.EAST);
 
-        // Preparing sub-panel, where details about imported records will be displayed
-        JPanel columnPanel = new JPanel();
-        columnPanel.setLayout(new GridLayout(1, 5));
-        columnPanel.add(this.idColumn);
-        columnPanel.add(this.nameColumn);
-        columnPanel.add(this.categoryColumn);
-        columnPanel.add(this.expirationDateColumn);
-        columnPanel.add(this.deleteButtonsColumn);
-        this.add(columnPanel, BorderLayout.CENTER);
+        this.add(searchPanel, BorderLayout.NORTH);
 
-        // Preparing sub-panel, where navigation buttons will be placed
-        JPanel navigationPanel = new JPanel();
-        navigationPanel.setLayout(new GridLayout(1, 2));
-        navigationPanel.add(this.nextPageButton);
-        navigationPanel.add(this.previousPageButton);
-        this.add(navigationPanel, BorderLayout.SOUTH);
+        // Preparing sub-panel, where filtering and sorting controls are placed below their titles
+        JPanel filterPanel = new JPanel();
+        filterPanel.setLayout(new GridLayout(2, this.filterTitles.size()));
+
+        for (String title: this.filterTitles) {
+            filterPanel.add(new JLabel(title));
+        }
+
+        filterPanel.add(this.categoryFilter);
+        filterPanel.add(this.expiringFromFilter);
+        filterPanel.add(this.expiringToFilter);
+        filterPanel.add(this.namePrefixFilter);
+        filterPanel.add(this.sortKeySelector);
+        filterPanel.add(this.sortDirectionSelector);
+
+        this.add(filterPanel, BorderLayout.SOUTH);
     }
 
     /**
-     * Used as action, that is passed to the 'delete' buttons.
-     *
-     * @param  product             Product that is requested to be removed from repository.
-     * @throws RepositoryException When product removal fail.
+     * Makes the panel refreshed whenever searched phrase, filters or order change - refreshes are coalesced
+     * by invalidation scheduler, so typing several characters results with single import.
+     * Meant to be used only once during instance initialisation.
      * */
-    private void removeProductFromRepository(Product product) {
-        // Logging
-        this.logger.info("Received removal request of product with ID {} from repository.", product.getId());
+    private void setFilteringFunctions() {
+        DocumentListener invalidatingListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent event) {
+                ProductBrowser.this.invalidationScheduler.invalidate(ProductBrowser.this);
+            }
 
-        // Removing specified product from repository
-        Database.getProductRepository().removeProduct(product.getId());
+            @Override
+            public void removeUpdate(DocumentEvent event) {
+                ProductBrowser.this.invalidationScheduler.invalidate(ProductBrowser.this);
+            }
 
-        this.logger.info("Product removed successfully.");
+            @Override
+            public void changedUpdate(DocumentEvent event) {}
+        };
 
-        // Refreshing panels, that are dependent on performed action
-        this.logger.debug("Refreshing the panels, that are dependent on performed action...");
+        JTextComponent categoryFilterEditor = (JTextComponent) this.categoryFilter.getEditor().getEditorComponent();
 
-        for (RefreshablePanel panel: this.dependentPanels) {
-            panel.refresh();
+        for (JTextComponent textComponent: List.of(this.searchField, categoryFilterEditor, this.expiringFromFilter,
+                this.expiringToFilter, this.namePrefixFilter)) {
+            textComponent.getDocument().addDocumentListener(invalidatingListener);
         }
 
-        this.logger.debug("All panels refreshed successfully.");
+        this.sortKeySelector.addActionListener(event -> this.invalidationScheduler.invalidate(this));
+        this.sortDirectionSelector.addActionListener(event -> this.invalidationScheduler.invalidate(this));
+    }
+
+    /**
+     * @param  dateField Field, where date is typed.
+     * @return           Typed date or null if the field is empty or typed text is not a valid date yet.
+     * */
+    private LocalDate getTypedDate(JTextField dateField) {
+        String typedText = dateField.getText().trim();
+
+        if (typedText.isEmpty()) {
+            return null;
+        }
 
-        // Refreshing content of the panel
-        this.refresh();
+        try {
+            return LocalDate.parse(typedText, this.expirationDateFormatter);
+        } catch (DateTimeParseException exception) {
+            // Date is most likely still being typed - filter is applied once it becomes valid
+            this.logger.debug("Ignoring invalid date '{}' typed in expiration date filter.", typedText);
+            return null;
+        }
     }
 
     /**
-     * Displays given product at the last row.
+     * Builds the specification of products from current state of filtering and sorting controls.
+     * Filters with empty or invalid content are not applied.
+     * Meant to be called on event dispatch thread.
      *
-     * @param  product             Product, that will be displayed as single row.
-     * @throws OutOfSpaceException When already all available rows are full of content.
+     * @return Specification of products, that should be presented.
      * */
-    private void add(Product product) {
-        // Logging
-        this.logger.debug("Adding the product with ID {} to the product explorer...", product.getId());
+    private ProductQuery getRequestedQuery() {
+        Category category = this.categoryFilter.getSelectedCategory();
+
+        return ProductQuery.all()
+                .withCategory((category == null) ? null : category.getId())
+                .withExpirationBetween(this.getTypedDate(this.expiringFromFilter),
+                        this.getTypedDate(this.expiringToFilter))
+                .withNamePrefix(this.namePrefixFilter.getText().trim())
+                .sortedBy((ProductSortKey) this.sortKeySelector.getSelectedItem(),
+                        (SortDirection) this.sortDirectionSelector.getSelectedItem());
+    }
 
-        // Updating each text columns with corresponding content of given record
-        this.idColumn.add(String.valueOf(product.getId()));
-        this.nameColumn.add(product.getName());
-        this.categoryColumn.add(product.getCategory());
-        this.expirationDateColumn.add(product.getExpirationDate().toString());
-        this.deleteButtonsColumn.add(this.deleteButtonsTitle, event -> this.removeProductFromRepository(product));
+    /**
+     * @param  product Checked product.
+     * @param  phrase  Searched phrase or empty string if all products are presented.
+     * @return         True if name of given product contains given phrase ignoring the case, false otherwise.
+     * */
+    private static boolean matches(Product product, String phrase) {
+        return product.getName().toLowerCase(Locale.ROOT).contains(phrase.toLowerCase(Locale.ROOT));
+    }
 
-        this.logger.debug("Product added successfully.");
+    /**
+     * @param  products Products, that are already imported.
+     * @return          Source providing blocks of given products.
+     * */
+    private static ProductBlockLoader listLoader(List<Product> products) {
+        return (startIndex, numberOfProducts, handle) -> products.subList(
+                (int) Math.min(startIndex, products.size()),
+                (int) Math.min(startIndex + numberOfProducts, products.size()));
     }
 
     /**
-     * Remove all displayed content.
+     * @return Table model presenting products.
+     * */
+    private ProductTableModel getProductTableModel() {
+        return (ProductTableModel) this.tableModel;
+    }
+
+    /**
+     * @return Cache of imported blocks of presented products, along with its statistics.
+     * */
+    public BlockCache<Product> getBlockCache() {
+        return this.getProductTableModel().getBlockCache();
+    }
+
+    /**
+     * Used as action, that is performed when 'delete' button is clicked.
+     *
+     * @param record Product, that is requested to be removed from repository.
      * */
     @Override
-    protected void clear() {
+    protected void removeRecordFromRepository(Category record) {
+        this.removeProductFromRepository((Product) record);
+    }
+
+    /**
+     * Removes given product from repository.
+     *
+     * Removal is performed in background - failures are reported to the user.
+     *
+     * @param  product             Product that is requested to be removed from repository.
+     * */
+    private void removeProductFromRepository(Product product) {
         // Logging
-        this.logger.debug("Erasing the columns content...");
+        this.logger.info("Received removal request of product with ID {} from repository.", product.getId());
 
-        // Removing all rows from every column
-        // Super.clear not used due to logg formatting issues (message duplication).
-        this.idColumn.clear();
-        this.nameColumn.clear();
-        this.deleteButtonsColumn.clear();
-        this.categoryColumn.clear();
-        this.expirationDateColumn.clear();
+        // Records recorded in write journal can not be removed until they are applied to the database
+        if (isPending(product)) {
+            this.showPendingRecordRemovalWarning();
+            return;
+        }
 
-        // Logging
-        this.logger.debug("Content of columns erased.");
+        // Removing specified product from repository
+        BackgroundWriter.submit(
+                () -> Database.getProductRepository().removeProduct(product.getId()),
+                // Removal is published by the repository, so displayed content is updated by the event
+                () -> this.logger.info("Product removed successfully."),
+                exception -> {
+                    // Logging
+                    String errorMessage = "Failed to remove specified product.";
+                    this.logger.warn(errorMessage, exception);
+
+                    // Showing pop-up window
+                    JOptionPane.showMessageDialog(this, errorMessage, "Warning", JOptionPane.WARNING_MESSAGE);
+                });
     }
 
     /**
-     * Import the data and refresh displayed content.
+     * State of products imported in background.
      *
+     * @param storedProductsQuantity Number of products stored in repository.
+     * @param pendingProducts        Products recorded in write journal.
+     * @param blockLoader            Source, from which blocks of stored products should be imported.
+     * @param version                Version of products, that was current during the import.
+     * @param journalRevision        Revision of write journal, that was current during the import.
+     * @param phrase                 Searched phrase or empty string if all products were imported.
+     * @param query                  Specification of imported products.
+     * @param categories             Categories, by which products can be filtered.
+     * */
+    private record ProductsState(int storedProductsQuantity, List<Product> pendingProducts,
+                                 ProductBlockLoader blockLoader, long version, long journalRevision, String phrase,
+                                 ProductQuery query, List<Category> categories) {}
+
+    /**
+     * Imports the number of stored products matching given specification along with pending ones
+     * - executed on background thread.
+     * If searched phrase is given, only matching products are imported, all at once - in this case search results
+     * are filtered and sorted locally, as their number is limited anyway.
+     *
+     * @param  phrase              Searched phrase or empty string if all products should be presented.
+     * @param  query               Specification of products, that should be presented.
+     * @param  handle              Handle, that can be used to cancel the import.
+     * @return                     Imported state or null if displayed content is up-to-date.
      * @throws RepositoryException When import of the data from repository fail.
      * */
+    private ProductsState loadState(String phrase, ProductQuery query, QueryHandle handle) {
+        // Choosing the source of products - local snapshot is used until the database becomes reachable
+        boolean offline = Database.isOffline();
+        LocalSnapshot localSnapshot = Database.getLocalSnapshot();
+        ProductRepository productRepository = Database.getProductRepository();
+
+        // Checking if products changed since the last refresh
+        long currentVersion = offline ? localSnapshot.getProductsVersion() : productRepository.getCurrentVersion();
+
+        WriteJournal writeJournal = Database.getWriteJournal();
+        long journalRevision = (writeJournal == null) ? 0 : writeJournal.getRevision();
+
+        if (currentVersion == this.displayedVersion && journalRevision == this.displayedJournalRevision &&
+                phrase.equals(this.displayedPhrase) && query.equals(this.displayedQuery)) {
+            this.logger.info("Products not changed since last refresh - panel content up to date.");
+            return null;
+        }
+
+        // Categories, by which products can be filtered
+        List<Category> categories = this.loadCategories(handle);
+
+        // Products recorded in write journal are displayed after all products stored in repository
+        List<Product> pendingProducts = ((writeJournal == null) ? List.<Product>of() :
+                writeJournal.getPendingProducts()).stream()
+                .filter(query::matches)
+                .sorted(query.getComparator())
+                .toList();
+
+        // Searching for matching products - search results are imported at once
+        if (!phrase.isEmpty()) {
+            List<Product> foundProducts = offline ?
+                    localSnapshot.getProducts(0, localSnapshot.getProductsQuantity()).stream()
+                            .filter(product -> matches(product, phrase))
+                            .limit(this.maxSearchResults)
+                            .toList() :
+                    productRepository.searchProducts(phrase, this.maxSearchResults, handle);
+
+            List<Product> matchingProducts = foundProducts.stream()
+                    .filter(query::matches)
+                    .sorted(query.getComparator())
+                    .toList();
+
+            List<Product> foundPendingProducts = pendingProducts.stream()
+                    .filter(product -> matches(product, phrase))
+                    .toList();
+
+            return new ProductsState(matchingProducts.size(), foundPendingProducts, listLoader(matchingProducts),
+                    currentVersion, journalRevision, phrase, query, categories);
+        }
+
+        // Local snapshot does not execute specifications, so its products are filtered and sorted in memory
+        if (offline && !query.equals(ProductQuery.all())) {
+            List<Product> matchingProducts =
+                    localSnapshot.getProducts(0, localSnapshot.getProductsQuantity()).stream()
+                            .filter(query::matches)
+                            .sorted(query.getComparator())
+                            .toList();
+
+            return new ProductsState(matchingProducts.size(), pendingProducts, listLoader(matchingProducts),
+                    currentVersion, journalRevision, phrase, query, categories);
+        }
+
+        // Importing the number of products - products themselves are imported on demand
+        this.logger.debug("Importing the number of products matching {} stored in repository...", query);
+
+        int storedProductsQuantity = offline ?
+                localSnapshot.getProductsQuantity() : (int) productRepository.getProductsQuantity(query, handle);
+
+        // Blocks are imported using handles provided by table model, as handle of the refresh is cancelled
+        // by the next one
+        ProductBlockLoader blockLoader = offline ?
+                (startIndex, numberOfProducts, blockHandle) -> localSnapshot.getProducts(startIndex, numberOfProducts) :
+                (startIndex, numberOfProducts, blockHandle) -> productRepository.getProducts(
+                        query, startIndex, numberOfProducts, blockHandle);
+
+        this.logger.debug("Number of products imported successfully.");
+
+        return new ProductsState(storedProductsQuantity, pendingProducts, blockLoader, currentVersion, journalRevision,
+                phrase, query, categories);
+    }
+
+    /**
+     * Import the data in background and refresh displayed content.
+     * Query of the previous refresh is cancelled, as its result would be outdated anyway.
+     *
+     * @return Future completed once imported data is displayed.
+     * */
     @Override
-    public void refresh() {
+    public CompletableFuture<Void> refresh() {
         // Logging
         this.logger.info("Refreshing the panel...");
 
-        // Erasing the content of columns
-        this.clear();
+        String phrase = this.searchField.getText().trim();
+        ProductQuery query = this.getRequestedQuery();
+        QueryHandle handle = this.startQuery();
 
-        // Computing from which index records should be imported
-        this.logger.debug("Importing products requested to be displayed from repository...");
+        return this.refresher.refresh(() -> this.loadState(phrase, query, handle), this::display);
+    }
 
-        long startIndex = this.page * this.numberOfRows;
-        int numberOfRecordsToImport = this.numberOfRows + 1;    // Importing one additional record to determine
-        // if moving to the next page makes any sense
-        // Importing products from repository
-        List<Product> importedProducts = Database.getProductRepository().getProducts(startIndex, numberOfRecordsToImport);
+    /**
+     * Presents imported state of products.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param importedState Imported state or null if displayed content is up-to-date.
+     * */
+    private void display(ProductsState importedState) {
+        // Nothing changed since the last refresh
+        if (importedState == null) {
+            return;
+        }
 
-        this.logger.debug("Products imported successfully.");
+        this.getProductTableModel().reset(importedState.storedProductsQuantity(), importedState.pendingProducts(),
+                importedState.blockLoader());
+        this.categoryFilter.setCategories(importedState.categories());
 
-        // Checking if the current page is empty ex. due to the meanwhile product removal from repository
-        if (importedProducts.isEmpty()) {
-            // Moving to the previous page if possible
-            this.logger.info("No records to be displayed on current page" +
-                    " - checking if moving to the previous page is possible...");
+        // Remembering what is currently displayed
+        this.displayedVersion = importedState.version();
+        this.displayedJournalRevision = importedState.journalRevision();
+        this.displayedPhrase = importedState.phrase();
+        this.displayedQuery = importedState.query();
 
-            if (this.page > 0) {
-                this.logger.info("Moving to the previous page possible - performing.");
+        // Logging
+        this.logger.info("Panel successfully refreshed.");
+    }
 
-                this.moveToPreviousPage();
-                return;
-            }
-            else {
-                this.logger.warn("Moving to the previous page not possible - product repository is empty.");
-            }
+    /**
+     * Presents product added to repository without importing the products again.
+     * When products are displayed in order of their addition, the new one is appended after stored ones.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param product Added product.
+     * */
+    private void applyProductAddition(Product product) {
+        ProductTableModel model = this.getProductTableModel();
+
+        // Product will be displayed by the first refresh, was already imported by the last one
+        // or does not match searched phrase or filters
+        if (!model.isInitialised() || model.containsProduct(product.getId()) ||
+                !matches(product, this.displayedPhrase) || !this.displayedQuery.matches(product)) {
+            return;
         }
 
-        // Determining if there are some records, that can be displayed on the next page
-        List<Product> toUpdate; // List of records, that content will be put into columns
+        // Search results are imported at once and position of the product among sorted ones is unknown,
+        // so matching product is presented after importing the products again
+        boolean sortedByAddition = this.displayedQuery.getSortKey() == ProductSortKey.ID &&
+                this.displayedQuery.getSortDirection() == SortDirection.ASCENDING;
 
-        logger.debug("Determining if displaying of nex page is still possible...");
+        if (!this.displayedPhrase.isEmpty() || !sortedByAddition) {
+            this.invalidationScheduler.invalidate(this);
+            return;
+        }
 
-        if (importedProducts.size() < numberOfRecordsToImport) {                    // If there is no records to display on next page
-            this.logger.debug("Displaying next page impossible " +
-                    "- disabling 'next page' button.");
+        this.logger.debug("Applying addition of product with ID {}...", product.getId());
 
-            this.nextPageButton.setEnabled(false);                                  // Disable the navigation button
-            toUpdate = importedProducts;                                            // And display content of all imported records
-        }
-        else {                                                                      // If there is at least one record that can be displayed on next page
-            this.logger.debug("Displaying next page still possible" +
-                    " - enabling 'next page' button.");
+        model.appendStoredProduct(product);
+    }
 
-            toUpdate = importedProducts.subList(0, numberOfRecordsToImport - 1);    // Display all imported records besides the last one
-            this.nextPageButton.setEnabled(true);                                   // And make sure that navigation button is enabled
+    /**
+     * Stops presenting product removed from repository without importing the products again.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param productId ID of removed product.
+     * */
+    private void applyProductRemoval(long productId) {
+        ProductTableModel model = this.getProductTableModel();
+
+        if (!model.isInitialised()) {
+            return;
         }
 
-        // Adding records to the columns
-        this.logger.debug("Adding imported products to the displayed table...");
+        this.logger.debug("Applying removal of product with ID {}...", productId);
 
-        for (Product product: toUpdate) {
-            this.add(product);
+        // Position of product, that was not imported yet, is unknown - the number of products has to be imported again
+        if (!model.removeStoredProduct(productId)) {
+            this.invalidationScheduler.invalidate(this);
         }
+    }
 
-        this.logger.debug("Products successfully added to the table.");
+    /**
+     * Makes category added to repository available in category filter without importing categories again.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param category Added category.
+     * */
+    private void applyFilterCategoryAddition(Category category) {
+        if (this.categoryFilter.addCategory(category)) {
+            this.logger.debug("Category with ID {} added to category filter.", category.getId());
+        }
+    }
 
-        // Logging
-        this.logger.info("Panel successfully refreshed.");
+    /**
+     * Makes category removed from repository no longer available in category filter.
+     * Meant to be called on event dispatch thread.
+     *
+     * @param categoryId ID of removed category.
+     * */
+    private void applyFilterCategoryRemoval(long categoryId) {
+        if (this.categoryFilter.removeCategory(categoryId)) {
+            this.logger.debug("Category with ID {} removed from category filter.", categoryId);
+        }
+    }
+
+    /**
+     * Subscribes the panel to changes published by repositories, that affect its content.
+     * Meant to be used only once during instance initialisation.
+     * */
+    @Override
+    protected void subscribeToRepositoryEvents() {
+        RepositoryEventBus eventBus = Database.getEventBus();
+
+        eventBus.subscribe(ProductAddedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyProductAddition(event.getProduct())));
+        eventBus.subscribe(ProductRemovedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyProductRemoval(event.getRecordId())));
+        eventBus.subscribe(CategoryAddedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyFilterCategoryAddition(event.getCategory())));
+        eventBus.subscribe(CategoryRemovedEvent.class,
+                event -> SwingUtilities.invokeLater(() -> this.applyFilterCategoryRemoval(event.getRecordId())));
     }
 
     /**
      * Factory method, meant to be used externally to create product browser instances.
+     * Created panel is empty - its content is imported by the first refresh.
      *
-     * @param config Configuration of the panel, that will be used during initialisation.
+     * @param config                Configuration of the panel, that will be used during initialisation.
+     * @param invalidationScheduler Scheduler, by which refreshes will be requested when published change
+     *                              can not be applied locally.
      * */
-    public static ProductBrowser getNewPanel(ProductBrowserConfig config) {
+    public static ProductBrowser getNewPanel(ProductBrowserConfig config, InvalidationScheduler invalidationScheduler) {
         // Creating new product browser panel
-        ProductBrowser newPanel = new ProductBrowser(config);
+        ProductBrowser newPanel = new ProductBrowser(config, invalidationScheduler);
 
         // Further panel initialisation
         newPanel.setLayout();
-        newPanel.setNavigationButtonsFunctions();
-        newPanel.refresh();
+        newPanel.setDeleteButtonsFunction();
+        newPanel.setFilteringFunctions();
+        newPanel.subscribeToRepositoryEvents();
 
         // Returning created panel as ready to use
         return newPanel;
@@ -0,0 +1,26 @@
+package pl.jakubmiodunka.gui.panels.interfaces;
+
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.models.content.Product;
+
+import java.util.List;
+
+/**
+ * Interface related with importing consecutive products presented in product browser.
+ * Implementations are called on background thread - queries of outdated imports are cancelled using given handle.
+ *
+ * @author Jakub Miodunka
+ */
+@FunctionalInterface
+public interface ProductBlockLoader {
+    /**
+     * Should import specified number of products starting from given index.
+     *
+     * @param  startIndex       Index, from which products should be imported.
+     * @param  numberOfProducts Number of products to import.
+     * @param  handle           Handle, that should be used for executed queries - cancelled, when presented products
+     *                          change and imported ones would be outdated.
+     * @return                  Imported products - fewer than requested if there are no more products.
+     */
+    List<Product> load(long startIndex, int numberOfProducts, QueryHandle handle);
+}
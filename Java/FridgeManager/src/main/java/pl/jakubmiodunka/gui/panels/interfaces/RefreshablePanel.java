@@ -1,14 +1,34 @@
 package pl.jakubmiodunka.gui.panels.interfaces;
 
+import pl.jakubmiodunka.gui.diagnostics.RefreshTimings;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface related with external refreshing the content of panels.
  * All panels, that contains data imported from database should implement this interface.
  *
+ * Refreshing is asynchronous - data is imported in background and only the update of displayed components
+ * is performed on event dispatch thread, so GUI stays responsive during the import.
+ *
  * @author Jakub Miodunka
  */
 public interface RefreshablePanel {
     /**
-     * Should import currently displayed data from the repository and refresh the content displayed on the panel.
+     * Should start import of currently displayed data from the repository in background and refresh the content
+     * displayed on the panel once it is imported. Result of the refresh superseded by the newer one before
+     * completion should never be displayed.
+     * Meant to be called on event dispatch thread.
+     *
+     * @return Future completed on event dispatch thread once imported data (or data imported by newer refresh)
+     *         is displayed. Completed exceptionally, when the import fail.
+     */
+    CompletableFuture<Void> refresh();
+
+    /**
+     * Should provide statistics of durations of refreshes displayed by the panel.
+     *
+     * @return Statistics of durations of displayed refreshes.
      */
-    void refresh();
+    RefreshTimings getRefreshTimings();
 }
@@ -14,17 +14,12 @@ import java.nio.file.Path;
  * @author Jakub Miodunka
  * */
 public class CategoryBrowserConfig {
-    // Layout
-    protected final int numberOfRows;
-
     // Column titles
     protected final String idColumnTitle;
     protected final String nameColumnTitle;
     protected final String deleteButtonsColumnTitle;
 
     // Button titles
-    protected final String nextPageButtonTitle;
-    protected final String previousPageButtonTitle;
     protected final String deleteButtonsTitle;
 
     /**
@@ -40,23 +35,18 @@ public class CategoryBrowserConfig {
             Element rootElement = XmlUtilities.getRootNode(configXmlPath, rootNodeName);
 
             // Extracting sub-nodes
-            Element layoutNode = XmlUtilities.getNode(rootElement, "layout");
             Element titlesNode = XmlUtilities.getNode(rootElement, "titles");
             Element columnsNode = XmlUtilities.getNode(titlesNode, "columns");
             Element buttonsNode = XmlUtilities.getNode(titlesNode, "buttons");
 
             // Properties init
-            this.numberOfRows = Integer.parseInt(XmlUtilities.getContentOfNode(layoutNode, "numberOfRows"));
-
             this.idColumnTitle= XmlUtilities.getContentOfNode(columnsNode, "idColumnTitle");
             this.nameColumnTitle= XmlUtilities.getContentOfNode(columnsNode, "nameColumnTitle");
             this.deleteButtonsColumnTitle= XmlUtilities.getContentOfNode(columnsNode, "deleteButtonsColumnTitle");
 
-            this.nextPageButtonTitle= XmlUtilities.getContentOfNode(buttonsNode, "nextPageButtonTitle");
-            this.previousPageButtonTitle= XmlUtilities.getContentOfNode(buttonsNode, "previousPageButtonTitle");
             this.deleteButtonsTitle = XmlUtilities.getContentOfNode(buttonsNode, "deleteButtonsTitle");
 
-        } catch (XmlParsingException | NumberFormatException exception) {
+        } catch (XmlParsingException exception) {
             // Exception wrapping
             String errorMessage = "Failed to create panel configuration model using '" + configXmlPath + "' file.";
             throw new ConfigFileParsingException(errorMessage, exception);
@@ -72,13 +62,6 @@ public class CategoryBrowserConfig {
         this(configXmlPath, "categoryBrowser");
     }
 
-    /**
-     * @return Number of rows in each column displayed in browser panel.
-     * */
-    public int getNumberOfRows() {
-        return numberOfRows;
-    }
-
     /**
      * @return Title of ID column.
      * */
@@ -107,18 +90,4 @@ public class CategoryBrowserConfig {
     public String getDeleteButtonsTitle() {
         return deleteButtonsTitle;
     }
-
-    /**
-     * @return Title of the button, dedicated to moving to the next page during browsing.
-     * */
-    public String getNextPageButtonTitle() {
-        return nextPageButtonTitle;
-    }
-
-    /**
-     * @return Title of the button, dedicated to moving to the previous page during browsing.
-     * */
-    public String getPreviousPageButtonTitle() {
-        return previousPageButtonTitle;
-    }
 }
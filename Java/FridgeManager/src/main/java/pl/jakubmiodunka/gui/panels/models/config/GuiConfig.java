@@ -24,6 +24,17 @@ public class GuiConfig {
     private final String modeMenuTitle;
     private final String productExplorerSwitchTitle;
     private final String categoryExplorerSwitchTitle;
+    private final String diagnosticsMenuTitle;
+    private final String showDiagnosticsTitle;
+
+    // Format of pending writes indicator placed in menu bar
+    private final String pendingWritesIndicatorFormat;
+
+    // Length of window, in which requested panel refreshes are coalesced
+    private final int refreshDebounceMillis;
+
+    // Duration, after which event dispatch thread is considered stalled
+    private final int edtStallThresholdMillis;
 
     /**
      * @param  configXmlPath              Path to config XML file containing GUI configuration.
@@ -39,6 +50,7 @@ public class GuiConfig {
             Element menuBarNode = XmlUtilities.getNode(rootElement, "menuBar");
             Element modeMenuNode = XmlUtilities.getNode(menuBarNode, "modeMenu");
             Element modeSwitchesNode = XmlUtilities.getNode(modeMenuNode, "switches");
+            Element diagnosticsMenuNode = XmlUtilities.getNode(menuBarNode, "diagnosticsMenu");
 
             // Properties init
             this.title = XmlUtilities.getContentOfNode(rootElement, "title");
@@ -47,6 +59,11 @@ public class GuiConfig {
             this.modeMenuTitle = XmlUtilities.getContentOfNode(modeMenuNode, "title");
             this.productExplorerSwitchTitle = XmlUtilities.getContentOfNode(modeSwitchesNode, "productExplorerSwitchTitle");
             this.categoryExplorerSwitchTitle = XmlUtilities.getContentOfNode(modeSwitchesNode, "categoryExplorerSwitchTitle");
+            this.diagnosticsMenuTitle = XmlUtilities.getContentOfNode(diagnosticsMenuNode, "title");
+            this.showDiagnosticsTitle = XmlUtilities.getContentOfNode(diagnosticsMenuNode, "showDiagnosticsTitle");
+            this.pendingWritesIndicatorFormat = XmlUtilities.getContentOfNode(menuBarNode, "pendingWritesIndicatorFormat");
+            this.refreshDebounceMillis = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "refreshDebounceMillis"));
+            this.edtStallThresholdMillis = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "edtStallThresholdMillis"));
 
         } catch (XmlParsingException | NumberFormatException exception) {
             // Exception wrapping
@@ -96,4 +113,39 @@ public class GuiConfig {
     public String getCategoryExplorerSwitchTitle() {
         return categoryExplorerSwitchTitle;
     }
+
+    /**
+     * @return Diagnostics menu title.
+     * */
+    public String getDiagnosticsMenuTitle() {
+        return diagnosticsMenuTitle;
+    }
+
+    /**
+     * @return Title of item in diagnostics menu, responsible for opening diagnostics dialog.
+     * */
+    public String getShowDiagnosticsTitle() {
+        return showDiagnosticsTitle;
+    }
+
+    /**
+     * @return Format of pending writes indicator - number of pending writes and conflicts are its arguments.
+     * */
+    public String getPendingWritesIndicatorFormat() {
+        return pendingWritesIndicatorFormat;
+    }
+
+    /**
+     * @return Length of window, in which requested panel refreshes are coalesced, in milliseconds.
+     * */
+    public int getRefreshDebounceMillis() {
+        return refreshDebounceMillis;
+    }
+
+    /**
+     * @return Duration, after which event dispatch thread is considered stalled, in milliseconds.
+     * */
+    public int getEdtStallThresholdMillis() {
+        return edtStallThresholdMillis;
+    }
 }
@@ -21,6 +21,9 @@ public class ProductAdderConfig extends CategoryAdderConfig{
     // Formatting
     private final String expirationDateFormat;
 
+    // Maximal number of categories suggested while typing category name
+    private final int maxCategorySuggestions;
+
     /**
      * @param  configXmlPath              Path to config XML file containing product adder panel configuration.
      * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
@@ -40,11 +43,14 @@ public class ProductAdderConfig extends CategoryAdderConfig{
             Element textFieldsTitlesNode = XmlUtilities.getNode(titlesNode, "textFields");
             Element comboBoxesTitlesNode = XmlUtilities.getNode(titlesNode, "comboBoxes");
             Element formattingNode = XmlUtilities.getNode(rootElement, "formatting");
+            Element categorySelectorNode = XmlUtilities.getNode(rootElement, "categorySelector");
 
             // Properties init
             this.expirationDateTextFieldTitle = XmlUtilities.getContentOfNode(textFieldsTitlesNode, "expirationDateTextField");
             this.categoriesComboBoxTitle = XmlUtilities.getContentOfNode(comboBoxesTitlesNode, "categoriesComboBoxTitle");
             this.expirationDateFormat = XmlUtilities.getContentOfNode(formattingNode, "expirationDateFormat");
+            this.maxCategorySuggestions = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(categorySelectorNode, "maxSuggestions"));
 
         } catch (XmlParsingException | NumberFormatException exception) {
             // Exception wrapping
@@ -74,4 +80,11 @@ public class ProductAdderConfig extends CategoryAdderConfig{
     public String getExpirationDateFormat() {
         return expirationDateFormat;
     }
+
+    /**
+     * @return Maximal number of categories suggested while typing category name.
+     * */
+    public int getMaxCategorySuggestions() {
+        return maxCategorySuggestions;
+    }
 }
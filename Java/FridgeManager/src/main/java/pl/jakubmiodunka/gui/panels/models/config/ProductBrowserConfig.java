@@ -18,6 +18,32 @@ public class ProductBrowserConfig extends CategoryBrowserConfig {
     private final String categoryColumnTitle;
     private final String expirationDateColumnTitle;
 
+    // Title of the field, where searched phrase is typed
+    private final String searchFieldTitle;
+
+    // Number of products imported at once while scrolling
+    private final int blockSize;
+
+    // Number of imported blocks kept in memory
+    private final int cachedBlocks;
+
+    // Maximal number of products presented as search result
+    private final int maxSearchResults;
+
+    // Titles of the controls, by which presented products are filtered and sorted
+    private final String categoryFilterTitle;
+    private final String expiringFromFilterTitle;
+    private final String expiringToFilterTitle;
+    private final String namePrefixFilterTitle;
+    private final String sortKeyTitle;
+    private final String sortDirectionTitle;
+
+    // Format of dates typed in expiration date filters
+    private final String expirationDateFormat;
+
+    // Maximal number of categories suggested in category filter
+    private final int maxCategorySuggestions;
+
     /**
      * @param  configXmlPath              Path to config XML file containing product browser panel configuration.
      * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
@@ -35,10 +61,26 @@ public class ProductBrowserConfig extends CategoryBrowserConfig {
             // Extracting sub-nodes
             Element titlesNode = XmlUtilities.getNode(rootElement, "titles");
             Element columnsNode = XmlUtilities.getNode(titlesNode, "columns");
+            Element loadingNode = XmlUtilities.getNode(rootElement, "loading");
+            Element searchNode = XmlUtilities.getNode(rootElement, "search");
+            Element filtersNode = XmlUtilities.getNode(rootElement, "filters");
 
             // Properties init
             this.categoryColumnTitle= XmlUtilities.getContentOfNode(columnsNode, "categoryColumnTitle");
             this.expirationDateColumnTitle= XmlUtilities.getContentOfNode(columnsNode, "expirationDateColumnTitle");
+            this.blockSize = Integer.parseInt(XmlUtilities.getContentOfNode(loadingNode, "blockSize"));
+            this.cachedBlocks = Integer.parseInt(XmlUtilities.getContentOfNode(loadingNode, "cachedBlocks"));
+            this.searchFieldTitle = XmlUtilities.getContentOfNode(searchNode, "searchFieldTitle");
+            this.maxSearchResults = Integer.parseInt(XmlUtilities.getContentOfNode(searchNode, "maxResults"));
+            this.categoryFilterTitle = XmlUtilities.getContentOfNode(filtersNode, "categoryFilterTitle");
+            this.expiringFromFilterTitle = XmlUtilities.getContentOfNode(filtersNode, "expiringFromFilterTitle");
+            this.expiringToFilterTitle = XmlUtilities.getContentOfNode(filtersNode, "expiringToFilterTitle");
+            this.namePrefixFilterTitle = XmlUtilities.getContentOfNode(filtersNode, "namePrefixFilterTitle");
+            this.sortKeyTitle = XmlUtilities.getContentOfNode(filtersNode, "sortKeyTitle");
+            this.sortDirectionTitle = XmlUtilities.getContentOfNode(filtersNode, "sortDirectionTitle");
+            this.expirationDateFormat = XmlUtilities.getContentOfNode(filtersNode, "expirationDateFormat");
+            this.maxCategorySuggestions =
+                    Integer.parseInt(XmlUtilities.getContentOfNode(filtersNode, "maxCategorySuggestions"));
 
         } catch (XmlParsingException | NumberFormatException exception) {
             // Exception wrapping
@@ -60,4 +102,88 @@ public class ProductBrowserConfig extends CategoryBrowserConfig {
     public String getExpirationDateColumnTitle() {
         return expirationDateColumnTitle;
     }
+
+    /**
+     * @return Number of products imported at once while scrolling.
+     * */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * @return Number of imported blocks kept in memory.
+     * */
+    public int getCachedBlocks() {
+        return cachedBlocks;
+    }
+
+    /**
+     * @return Title of the field, where searched phrase is typed.
+     * */
+    public String getSearchFieldTitle() {
+        return searchFieldTitle;
+    }
+
+    /**
+     * @return Maximal number of products presented as search result.
+     * */
+    public int getMaxSearchResults() {
+        return maxSearchResults;
+    }
+
+    /**
+     * @return Title of the control, where category of presented products is chosen.
+     * */
+    public String getCategoryFilterTitle() {
+        return categoryFilterTitle;
+    }
+
+    /**
+     * @return Title of the field, where the first day of expiration window is typed.
+     * */
+    public String getExpiringFromFilterTitle() {
+        return expiringFromFilterTitle;
+    }
+
+    /**
+     * @return Title of the field, where the last day of expiration window is typed.
+     * */
+    public String getExpiringToFilterTitle() {
+        return expiringToFilterTitle;
+    }
+
+    /**
+     * @return Title of the field, where prefix of product names is typed.
+     * */
+    public String getNamePrefixFilterTitle() {
+        return namePrefixFilterTitle;
+    }
+
+    /**
+     * @return Title of the control, where property used for sorting is chosen.
+     * */
+    public String getSortKeyTitle() {
+        return sortKeyTitle;
+    }
+
+    /**
+     * @return Title of the control, where sort direction is chosen.
+     * */
+    public String getSortDirectionTitle() {
+        return sortDirectionTitle;
+    }
+
+    /**
+     * @return Format of dates typed in expiration date filters.
+     * */
+    public String getExpirationDateFormat() {
+        return expirationDateFormat;
+    }
+
+    /**
+     * @return Maximal number of categories suggested in category filter.
+     * */
+    public int getMaxCategorySuggestions() {
+        return maxCategorySuggestions;
+    }
 }
@@ -0,0 +1,239 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import pl.jakubmiodunka.database.client.QueryTimes;
+import pl.jakubmiodunka.gui.diagnostics.RefreshTimings;
+import pl.jakubmiodunka.gui.diagnostics.RefreshTimings.Phase;
+import pl.jakubmiodunka.utilities.jfr.PanelRefreshEvent;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper performing asynchronous refreshes of single panel.
+ * Data is loaded on background thread dedicated to the panel, so consecutive loads never run concurrently and
+ * state used only during loading does not require synchronisation. Loaded data is displayed on event dispatch
+ * thread, but only if no newer refresh was started meanwhile - late results are discarded.
+ * Progress is presented using label, that is visible only while loading is in progress or when it failed.
+ * Duration of each displayed refresh is recorded split into phases - query execution, conversion of query results,
+ * remaining loading, waiting for event dispatch thread and update of displayed components.
+ *
+ * @author Jakub Miodunka
+ * */
+public class AsyncRefresher {
+    // Texts displayed by loading indicator
+    private static final String LOADING_TEXT = "Loading...";
+    private static final String FAILURE_TEXT = "Failed to load the content.";
+
+    // Thread, where data is loaded
+    private final ExecutorService executor;
+
+    // Label informing the user about loading progress
+    private final JLabel loadingIndicator;
+
+    // Number of the latest refresh along with its future
+    private final AtomicLong generation;
+    private volatile CompletableFuture<Void> latestRefresh;
+
+    // Statistics of durations of displayed refreshes
+    private final RefreshTimings timings;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param name Name of the refreshed panel - used for naming the background thread.
+     * */
+    public AsyncRefresher(String name) {
+        // Properties init
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.generation = new AtomicLong();
+        this.latestRefresh = CompletableFuture.completedFuture(null);
+        this.timings = new RefreshTimings(name);
+        this.logger = LoggerFactory.getLogger(AsyncRefresher.class);
+
+        // Preparing loading indicator
+        this.loadingIndicator = new JLabel(LOADING_TEXT);
+        this.loadingIndicator.setHorizontalAlignment(JLabel.CENTER);
+        this.loadingIndicator.setVisible(false);
+    }
+
+    /**
+     * @return Label informing the user about loading progress - meant to be placed on the refreshed panel.
+     * */
+    public JLabel getLoadingIndicator() {
+        return this.loadingIndicator;
+    }
+
+    /**
+     * @return Statistics of durations of refreshes displayed by the refresher.
+     * */
+    public RefreshTimings getTimings() {
+        return this.timings;
+    }
+
+    /**
+     * Loads the data measuring time spent on queries, conversion of their results and remaining loading.
+     * Executed on background thread.
+     *
+     * @param  loader    Function loading the data.
+     * @param  durations Map, where durations of loading phases will be put.
+     * @param  <T>       Type of loaded data.
+     * @return           Loaded data.
+     * */
+    private static <T> T load(Supplier<T> loader, Map<Phase, Long> durations) {
+        // Queries are executed on the same thread, so their times are found in totals of this thread
+        QueryTimes queryTimes = QueryTimes.ofCurrentThread();
+        long executionNanosBefore = queryTimes.getExecutionNanos();
+        long conversionNanosBefore = queryTimes.getConversionNanos();
+        long loadingStart = System.nanoTime();
+
+        try {
+            return loader.get();
+        } finally {
+            long loadingNanos = System.nanoTime() - loadingStart;
+            long executionNanos = queryTimes.getExecutionNanos() - executionNanosBefore;
+            long conversionNanos = queryTimes.getConversionNanos() - conversionNanosBefore;
+
+            durations.put(Phase.QUERY, executionNanos);
+            durations.put(Phase.CONVERSION, conversionNanos);
+            durations.put(Phase.PROCESSING, Math.max(0, loadingNanos - executionNanos - conversionNanos));
+        }
+    }
+
+    /**
+     * Records durations of displayed refresh and logs them.
+     *
+     * @param durations Durations of refresh phases.
+     * */
+    private void recordTimings(Map<Phase, Long> durations) {
+        this.timings.record(durations);
+
+        if (this.logger.isDebugEnabled()) {
+            StringBuilder breakdown = new StringBuilder();
+            long totalNanos = 0;
+
+            for (Phase phase: Phase.values()) {
+                long phaseNanos = durations.getOrDefault(phase, 0L);
+                totalNanos += phaseNanos;
+                breakdown.append(breakdown.isEmpty() ? "" : ", ")
+                        .append(String.format("%s %.1f ms", phase.getDescription(), phaseNanos / 1e6));
+            }
+
+            this.logger.debug("Refresh of {} took {} ms ({}).", this.timings.getPanelName(),
+                    String.format("%.1f", totalNanos / 1e6), breakdown);
+        }
+    }
+
+    /**
+     * Finishes Flight Recorder event of the refresh.
+     *
+     * @param event     Event started along with the refresh.
+     * @param outcome   Outcome of the refresh - displayed, superseded or failed.
+     * @param durations Durations of refresh phases measured so far.
+     * */
+    private void finishEvent(PanelRefreshEvent event, String outcome, Map<Phase, Long> durations) {
+        event.finish(this.timings.getPanelName(), outcome, durations.getOrDefault(Phase.QUERY, 0L),
+                durations.getOrDefault(Phase.CONVERSION, 0L), durations.getOrDefault(Phase.UPDATE, 0L));
+    }
+
+    /**
+     * Starts new refresh - results of all previously started refreshes will be discarded.
+     *
+     * @param  loader  Function loading the data - executed on background thread.
+     *                 Can return null if there is nothing to display.
+     * @param  display Function displaying loaded data - executed on event dispatch thread.
+     * @param  <T>     Type of loaded data.
+     * @return         Future completed once loaded data (or data loaded by newer refresh) is displayed.
+     * */
+    public <T> CompletableFuture<Void> refresh(Supplier<T> loader, Consumer<T> display) {
+        long refreshGeneration = this.generation.incrementAndGet();
+        CompletableFuture<Void> refresh = new CompletableFuture<>();
+        this.latestRefresh = refresh;
+
+        this.setLoadingText(LOADING_TEXT);
+
+        // Written on background thread before the data is passed to event dispatch thread
+        Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+
+        // Refresh is recorded by Flight Recorder from now till its outcome is known
+        PanelRefreshEvent event = new PanelRefreshEvent();
+        event.begin();
+
+        CompletableFuture.supplyAsync(() -> load(loader, durations), this.executor)
+                .whenComplete((data, failure) -> {
+                    long loadingEnd = System.nanoTime();
+
+                    SwingUtilities.invokeLater(() -> {
+                        durations.put(Phase.EDT_WAIT, System.nanoTime() - loadingEnd);
+
+                        // Discarding the result, as newer refresh was started meanwhile
+                        if (refreshGeneration != this.generation.get()) {
+                            this.logger.debug("Refresh superseded by the newer one - loaded data discarded.");
+                            this.finishEvent(event, "superseded", durations);
+                            this.latestRefresh.whenComplete((result, newerFailure) -> refresh.complete(null));
+                            return;
+                        }
+
+                        // Reporting the failure
+                        if (failure != null) {
+                            Throwable cause = (failure instanceof CompletionException) ? failure.getCause() : failure;
+                            this.logger.error("Failed to load the content of the panel.", cause);
+
+                            this.loadingIndicator.setText(FAILURE_TEXT);
+                            this.finishEvent(event, "failed", durations);
+                            refresh.completeExceptionally(cause);
+                            return;
+                        }
+
+                        // Displaying loaded data
+                        this.loadingIndicator.setVisible(false);
+
+                        try {
+                            long updateStart = System.nanoTime();
+                            display.accept(data);
+                            durations.put(Phase.UPDATE, System.nanoTime() - updateStart);
+
+                            this.recordTimings(durations);
+                            this.finishEvent(event, "displayed", durations);
+                            refresh.complete(null);
+                        } catch (RuntimeException exception) {
+                            this.logger.error("Failed to display the content of the panel.", exception);
+                            this.finishEvent(event, "failed", durations);
+                            refresh.completeExceptionally(exception);
+                        }
+                    });
+                });
+
+        return refresh;
+    }
+
+    /**
+     * Makes loading indicator visible with given text.
+     *
+     * @param text Text to be displayed.
+     * */
+    private void setLoadingText(String text) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            this.loadingIndicator.setText(text);
+            this.loadingIndicator.setVisible(true);
+        }
+        else {
+            SwingUtilities.invokeLater(() -> this.setLoadingText(text));
+        }
+    }
+}
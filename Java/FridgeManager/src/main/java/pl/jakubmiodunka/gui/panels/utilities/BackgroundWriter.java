@@ -0,0 +1,45 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Executor of write operations requested using GUI.
+ * Writes are performed one by one, in order of requests, on single background thread shared by all panels,
+ * while their outcome is handled on event dispatch thread.
+ *
+ * @author Jakub Miodunka
+ * */
+public class BackgroundWriter {
+    // Thread, where writes are performed
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gui-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Performs given write operation in background.
+     *
+     * @param write     Write operation - executed on background thread.
+     * @param onSuccess Action performed after successful write - executed on event dispatch thread.
+     * @param onFailure Action performed when write fail - executed on event dispatch thread.
+     * */
+    public static void submit(Runnable write, Runnable onSuccess, Consumer<RuntimeException> onFailure) {
+        CompletableFuture.runAsync(write, executor)
+                .whenComplete((result, failure) -> SwingUtilities.invokeLater(() -> {
+                    if (failure == null) {
+                        onSuccess.run();
+                        return;
+                    }
+
+                    Throwable cause = (failure instanceof CompletionException) ? failure.getCause() : failure;
+                    onFailure.accept((cause instanceof RuntimeException runtimeException) ?
+                            runtimeException : new RuntimeException(cause));
+                }));
+    }
+}
@@ -0,0 +1,229 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Least recently used cache of blocks of records presented by lazy table models.
+ * Besides blocks requested by the table, it stores blocks imported in advance (prefetched), and counts how often
+ * requested block was already in memory (hits) and how many prefetched blocks were discarded before being requested
+ * (wasted prefetches).
+ * Meant to be accessed only on event dispatch thread.
+ *
+ * @param <T> Type of cached records.
+ * @author Jakub Miodunka
+ * */
+public class BlockCache<T> {
+    // Maximal number of cached blocks
+    private final int capacity;
+
+    // Cached blocks by their indexes in access order - the least recently used one is the first
+    private final LinkedHashMap<Integer, List<T>> blocks;
+
+    // Prefetched blocks, that were not requested yet
+    private final Set<Integer> unusedPrefetchedBlocks;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long prefetchedBlocks;
+    private long wastedPrefetches;
+
+    /**
+     * @param capacity Maximal number of cached blocks.
+     * */
+    public BlockCache(int capacity) {
+        // Properties init
+        this.capacity = capacity;
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true);
+        this.unusedPrefetchedBlocks = new HashSet<>();
+        this.hits = 0;
+        this.misses = 0;
+        this.prefetchedBlocks = 0;
+        this.wastedPrefetches = 0;
+    }
+
+    /**
+     * Returns given block without affecting statistics or its position in eviction order.
+     *
+     * @param  block Index of the block.
+     * @return       Cached block or null, if it is not cached.
+     * */
+    public List<T> peek(int block) {
+        // Direct access to the entry does not count as its use
+        for (Map.Entry<Integer, List<T>> entry: this.blocks.entrySet()) {
+            if (entry.getKey() == block) {
+                return entry.getValue();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns given block as requested by the table - access is counted as hit or miss.
+     *
+     * @param  block Index of the block.
+     * @return       Cached block or null, if it is not cached.
+     * */
+    public List<T> request(int block) {
+        List<T> records = this.blocks.get(block);
+
+        if (records == null) {
+            this.misses++;
+        }
+        else {
+            this.hits++;
+            this.unusedPrefetchedBlocks.remove(block);
+        }
+
+        return records;
+    }
+
+    /**
+     * Returns given block as requested by the table without counting the access - meant to be used for the following
+     * accesses of the block already counted by {@link #request(int)}.
+     *
+     * @param  block Index of the block.
+     * @return       Cached block or null, if it is not cached.
+     * */
+    public List<T> get(int block) {
+        return this.blocks.get(block);
+    }
+
+    /**
+     * Stores given block - the least recently used block is evicted, if capacity is exceeded.
+     *
+     * @param block      Index of the block.
+     * @param records    Records belonging to the block.
+     * @param prefetched True if block was imported in advance, false if it was requested by the table.
+     * */
+    public void put(int block, List<T> records, boolean prefetched) {
+        this.blocks.put(block, records);
+
+        if (prefetched) {
+            this.prefetchedBlocks++;
+            this.unusedPrefetchedBlocks.add(block);
+        }
+
+        // Evicting the least recently used blocks
+        Iterator<Integer> iterator = this.blocks.keySet().iterator();
+
+        while (this.blocks.size() > this.capacity && iterator.hasNext()) {
+            int evictedBlock = iterator.next();
+            iterator.remove();
+            this.discard(evictedBlock);
+        }
+    }
+
+    /**
+     * @param  block Index of the block.
+     * @return       True if given block is cached, false otherwise.
+     * */
+    public boolean contains(int block) {
+        return this.blocks.containsKey(block);
+    }
+
+    /**
+     * Removes given block from the cache.
+     *
+     * @param block Index of the block.
+     * */
+    public void remove(int block) {
+        if (this.blocks.remove(block) != null) {
+            this.discard(block);
+        }
+    }
+
+    /**
+     * Removes all blocks, which indexes match given condition.
+     *
+     * @param condition Condition, that removed blocks satisfy.
+     * */
+    public void removeIf(IntPredicate condition) {
+        for (int block: new ArrayList<>(this.blocks.keySet())) {
+            if (condition.test(block)) {
+                this.remove(block);
+            }
+        }
+    }
+
+    /**
+     * Removes all blocks from the cache - meant to be used when cached records become outdated.
+     * */
+    public void clear() {
+        for (int block: this.blocks.keySet()) {
+            this.discard(block);
+        }
+
+        this.blocks.clear();
+    }
+
+    /**
+     * Updates statistics after given block was removed from the cache.
+     *
+     * @param block Index of removed block.
+     * */
+    private void discard(int block) {
+        if (this.unusedPrefetchedBlocks.remove(block)) {
+            this.wastedPrefetches++;
+        }
+    }
+
+    /**
+     * @return Indexes of cached blocks along with their records.
+     * */
+    public Set<Map.Entry<Integer, List<T>>> entries() {
+        return this.blocks.entrySet();
+    }
+
+    /**
+     * @return Records of all cached blocks.
+     * */
+    public Collection<List<T>> values() {
+        return this.blocks.values();
+    }
+
+    /**
+     * @return Number of block requests served from memory.
+     * */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return Number of block requests, that required the import.
+     * */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return Fraction of block requests served from memory or 0 if no block was requested yet.
+     * */
+    public double getHitRate() {
+        long requests = this.hits + this.misses;
+        return (requests == 0) ? 0 : (double) this.hits / requests;
+    }
+
+    /**
+     * @return Number of blocks imported in advance.
+     * */
+    public long getPrefetchedBlocks() {
+        return this.prefetchedBlocks;
+    }
+
+    /**
+     * @return Number of blocks imported in advance, that were discarded before being requested.
+     * */
+    public long getWastedPrefetches() {
+        return this.wastedPrefetches;
+    }
+}
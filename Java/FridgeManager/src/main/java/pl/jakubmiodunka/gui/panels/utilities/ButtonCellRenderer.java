@@ -0,0 +1,42 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import java.awt.Component;
+import javax.swing.JButton;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellRenderer;
+
+/**
+ * Renderer of table cells presented as buttons.
+ * Single button instance is used for painting all cells, so the number of rows does not affect the number of
+ * created components - clicks have to be handled by the table itself.
+ * Cells with empty value are rendered as empty ones.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ButtonCellRenderer implements TableCellRenderer {
+    // Component used for painting the buttons
+    private final JButton button;
+
+    // Component used for painting empty cells
+    private final DefaultTableCellRenderer emptyCellRenderer;
+
+    public ButtonCellRenderer() {
+        // Properties init
+        this.button = new JButton();
+        this.emptyCellRenderer = new DefaultTableCellRenderer();
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus,
+                                                   int row, int column) {
+        String text = (value == null) ? "" : value.toString();
+
+        if (text.isEmpty()) {
+            return this.emptyCellRenderer.getTableCellRendererComponent(table, "", isSelected, hasFocus, row, column);
+        }
+
+        this.button.setText(text);
+        return this.button;
+    }
+}
@@ -0,0 +1,212 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import pl.jakubmiodunka.database.models.content.Category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index of product categories, that allows finding categories by the prefix of their names.
+ * Categories are kept in array sorted by their names ignoring the case, so categories starting with given prefix
+ * form continuous range found by binary search. Additionally, categories are mapped by their names and IDs.
+ * Meant to be accessed only on event dispatch thread.
+ *
+ * @author Jakub Miodunka
+ * */
+public class CategoryIndex {
+    // Order of categories in the index
+    private static final Comparator<Category> ORDER =
+            Comparator.comparing((Category category) -> sortKey(category.getName())).thenComparing(Category::getName)
+                    .thenComparingLong(Category::getId);
+
+    // Categories sorted by their names
+    private final List<Category> sortedCategories;
+
+    // Categories by their names and IDs
+    private final Map<String, Category> categoriesByName;
+    private final Map<Long, Category> categoriesById;
+
+    // Number of modifications of the index - ranges found before modification are no longer valid
+    private long revision;
+
+    /**
+     * Range of indexes of categories in the index.
+     *
+     * @param from     Index of the first category in range.
+     * @param to       Index following the last category in range.
+     * @param revision Revision of the index, for which range was found.
+     * */
+    public record Range(int from, int to, long revision) {
+        /**
+         * @return Number of categories in range.
+         * */
+        public int size() {
+            return this.to - this.from;
+        }
+    }
+
+    public CategoryIndex() {
+        // Properties init
+        this.sortedCategories = new ArrayList<>();
+        this.categoriesByName = new HashMap<>();
+        this.categoriesById = new HashMap<>();
+        this.revision = 0;
+    }
+
+    /**
+     * @param  name Category name.
+     * @return      Key, by which categories are sorted.
+     * */
+    private static String sortKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Replaces content of the index with given categories.
+     *
+     * @param categories Categories, that should be indexed.
+     * */
+    public void rebuild(List<Category> categories) {
+        this.sortedCategories.clear();
+        this.categoriesByName.clear();
+        this.categoriesById.clear();
+
+        for (Category category: categories) {
+            this.categoriesByName.put(category.getName(), category);
+            this.categoriesById.put(category.getId(), category);
+        }
+
+        this.sortedCategories.addAll(this.categoriesById.values());
+        this.sortedCategories.sort(ORDER);
+        this.revision++;
+    }
+
+    /**
+     * Adds given category to the index.
+     *
+     * @param category Added category.
+     * */
+    public void add(Category category) {
+        int position = Collections.binarySearch(this.sortedCategories, category, ORDER);
+
+        this.sortedCategories.add((position < 0) ? -position - 1 : position, category);
+        this.categoriesByName.put(category.getName(), category);
+        this.categoriesById.put(category.getId(), category);
+        this.revision++;
+    }
+
+    /**
+     * Removes category with given ID from the index.
+     *
+     * @param  categoryId ID of removed category.
+     * @return            True if category was indexed, false otherwise.
+     * */
+    public boolean remove(long categoryId) {
+        Category category = this.categoriesById.remove(categoryId);
+
+        if (category == null) {
+            return false;
+        }
+
+        int position = Collections.binarySearch(this.sortedCategories, category, ORDER);
+        this.sortedCategories.remove(position);
+        this.categoriesByName.remove(category.getName());
+        this.revision++;
+
+        return true;
+    }
+
+    /**
+     * @param  categoryId Category ID.
+     * @return            True if category with given ID is indexed, false otherwise.
+     * */
+    public boolean contains(long categoryId) {
+        return this.categoriesById.containsKey(categoryId);
+    }
+
+    /**
+     * @param  name Exact category name.
+     * @return      Category with given name or null, if there is no such category.
+     * */
+    public Category get(String name) {
+        return this.categoriesByName.get(name);
+    }
+
+    /**
+     * Finds categories, which names start with given prefix ignoring the case.
+     * When the prefix extends the one, for which given range was found, search is narrowed to this range.
+     *
+     * @param  prefix      Prefix of category names.
+     * @param  searchRange Range containing all categories starting with given prefix or null to search the whole index.
+     *                     Ignored, when index was modified since it was found.
+     * @return             Range of categories starting with given prefix.
+     * */
+    public Range findByPrefix(String prefix, Range searchRange) {
+        int from = 0;
+        int to = this.sortedCategories.size();
+
+        if (searchRange != null && searchRange.revision() == this.revision) {
+            from = searchRange.from();
+            to = searchRange.to();
+        }
+
+        String key = sortKey(prefix);
+
+        // All keys starting with the prefix are placed between the prefix and the prefix followed by maximal character
+        int first = this.lowerBound(key, from, to);
+        int last = this.lowerBound(key + Character.MAX_VALUE, first, to);
+
+        return new Range(first, last, this.revision);
+    }
+
+    /**
+     * @param  key  Sort key.
+     * @param  from Index of the first searched category.
+     * @param  to   Index following the last searched category.
+     * @return      Index of the first category within given bounds, which sort key is not lower than given one.
+     * */
+    private int lowerBound(String key, int from, int to) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+
+            if (sortKey(this.sortedCategories.get(middle).getName()).compareTo(key) < 0) {
+                from = middle + 1;
+            }
+            else {
+                to = middle;
+            }
+        }
+
+        return from;
+    }
+
+    /**
+     * @param  range Range of categories found in the index.
+     * @param  limit Maximal number of returned names.
+     * @return       Names of the first categories in given range.
+     * */
+    public List<String> getNames(Range range, int limit) {
+        return this.sortedCategories.subList(range.from(), Math.min(range.to(), range.from() + limit)).stream()
+                .map(Category::getName)
+                .toList();
+    }
+
+    /**
+     * @return Number of modifications of the index - ranges found before modification are no longer valid.
+     * */
+    public long getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * @return Number of indexed categories.
+     * */
+    public int size() {
+        return this.sortedCategories.size();
+    }
+}
@@ -0,0 +1,237 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import pl.jakubmiodunka.database.models.content.Category;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
+import javax.swing.text.JTextComponent;
+
+/**
+ * Editable combo box, where product category is chosen by typing the beginning of its name.
+ * Categories are kept in prefix index - combo box list is filled lazily, only with limited number of categories
+ * matching typed text, once the user types or opens the list. As the user keeps typing, search is narrowed to
+ * categories matching previously typed text.
+ * Meant to be accessed only on event dispatch thread.
+ *
+ * @author Jakub Miodunka
+ * */
+public class CategorySelector extends JComboBox<String> {
+    // Index of categories available for selection
+    private final CategoryIndex index;
+
+    // Maximal number of categories presented in the list
+    private final int maxSuggestions;
+
+    // Model of the list presenting categories matching typed text
+    private final SuggestionsModel suggestions;
+
+    // Text, for which the list was filled most recently, along with range of matching categories in the index
+    private String filteredPrefix;
+    private CategoryIndex.Range filteredRange;
+
+    /**
+     * Model of combo box list, which content is replaced without affecting selected item and thus typed text.
+     * */
+    private static class SuggestionsModel extends AbstractListModel<String> implements ComboBoxModel<String> {
+        // Presented category names
+        private List<String> names = List.of();
+
+        // Name selected from the list or typed by the user
+        private Object selectedItem;
+
+        /**
+         * @param names Category names, that should be presented.
+         * */
+        private void setNames(List<String> names) {
+            int previousSize = this.names.size();
+            this.names = names;
+
+            if (previousSize > 0) {
+                this.fireIntervalRemoved(this, 0, previousSize - 1);
+            }
+
+            if (!names.isEmpty()) {
+                this.fireIntervalAdded(this, 0, names.size() - 1);
+            }
+        }
+
+        @Override
+        public int getSize() {
+            return this.names.size();
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return this.names.get(index);
+        }
+
+        @Override
+        public void setSelectedItem(Object item) {
+            if (!Objects.equals(this.selectedItem, item)) {
+                this.selectedItem = item;
+                this.fireContentsChanged(this, -1, -1);
+            }
+        }
+
+        @Override
+        public Object getSelectedItem() {
+            return this.selectedItem;
+        }
+    }
+
+    /**
+     * @param maxSuggestions Maximal number of categories presented in the list.
+     * */
+    public CategorySelector(int maxSuggestions) {
+        // Parent class constructor call
+        super();
+
+        // Properties init
+        this.index = new CategoryIndex();
+        this.maxSuggestions = maxSuggestions;
+        this.suggestions = new SuggestionsModel();
+        this.filteredPrefix = null;
+        this.filteredRange = null;
+
+        this.setModel(this.suggestions);
+        this.setEditable(true);
+        this.setFilteringFunctions();
+    }
+
+    /**
+     * @return Text component, where the user types category name.
+     * */
+    private JTextComponent getEditorComponent() {
+        return (JTextComponent) this.getEditor().getEditorComponent();
+    }
+
+    /**
+     * Makes the list filled whenever the user types or opens it.
+     * Meant to be used only once during instance initialisation.
+     * */
+    private void setFilteringFunctions() {
+        // Content of combo box can not be changed while the text is being modified, so filtering is postponed
+        this.getEditorComponent().getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent event) {
+                SwingUtilities.invokeLater(CategorySelector.this::filterTypedText);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent event) {
+                SwingUtilities.invokeLater(CategorySelector.this::filterTypedText);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent event) {}
+        });
+
+        this.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent event) {
+                CategorySelector.this.filter();
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent event) {}
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent event) {}
+        });
+    }
+
+    /**
+     * Fills the list with categories matching currently typed text, unless it is already filled.
+     * */
+    private void filter() {
+        String prefix = this.getEditorComponent().getText();
+
+        if (prefix.equals(this.filteredPrefix) && this.filteredRange.revision() == this.index.getRevision()) {
+            return;
+        }
+
+        // Categories matching extended text are subset of these matching previous one
+        boolean prefixExtended = this.filteredPrefix != null &&
+                prefix.toLowerCase(Locale.ROOT).startsWith(this.filteredPrefix.toLowerCase(Locale.ROOT));
+
+        this.filteredRange = this.index.findByPrefix(prefix, prefixExtended ? this.filteredRange : null);
+        this.filteredPrefix = prefix;
+        this.suggestions.setNames(this.index.getNames(this.filteredRange, this.maxSuggestions));
+    }
+
+    /**
+     * Fills the list with categories matching text typed by the user and presents it.
+     * */
+    private void filterTypedText() {
+        this.filter();
+
+        // Text set by selection from the list or text changed programmatically does not open the list
+        boolean typedByUser = this.getEditorComponent().hasFocus() &&
+                !this.filteredPrefix.equals(this.suggestions.getSelectedItem());
+
+        if (!this.isShowing() || !typedByUser) {
+            return;
+        }
+
+        // Reopening the list adjusts its size to the new content
+        this.hidePopup();
+
+        if (this.suggestions.getSize() > 0) {
+            this.showPopup();
+        }
+    }
+
+    /**
+     * Replaces categories available for selection.
+     *
+     * @param categories Categories available for selection.
+     * */
+    public void setCategories(List<Category> categories) {
+        this.index.rebuild(categories);
+
+        if (this.isPopupVisible()) {
+            this.filter();
+        }
+    }
+
+    /**
+     * Makes given category available for selection.
+     *
+     * @param  category Added category.
+     * @return          True if category was added, false if it was already available.
+     * */
+    public boolean addCategory(Category category) {
+        if (this.index.contains(category.getId())) {
+            return false;
+        }
+
+        this.index.add(category);
+        return true;
+    }
+
+    /**
+     * Makes category with given ID no longer available for selection.
+     *
+     * @param  categoryId ID of removed category.
+     * @return            True if category was removed, false if it was not available.
+     * */
+    public boolean removeCategory(long categoryId) {
+        return this.index.remove(categoryId);
+    }
+
+    /**
+     * @return Category, which name is currently typed or selected, or null if there is no such category.
+     * */
+    public Category getSelectedCategory() {
+        return this.index.get(this.getEditorComponent().getText());
+    }
+}
@@ -0,0 +1,92 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.gui.panels.models.config.CategoryBrowserConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table model presenting product categories in categories browser.
+ * All categories are kept in memory - table renders only visible rows, so their number does not affect rendering.
+ *
+ * @author Jakub Miodunka
+ * */
+public class CategoryTableModel extends RecordTableModel<Category> {
+    // Presented categories
+    private List<Category> categories;
+
+    /**
+     * @param config Configuration of categories browser panel, where column titles are defined.
+     * */
+    public CategoryTableModel(CategoryBrowserConfig config) {
+        // Parent class constructor call
+        super(List.of(config.getIdColumnTitle(), config.getNameColumnTitle(), config.getDeleteButtonsColumnTitle()),
+                config.getDeleteButtonsTitle());
+
+        // Properties init
+        this.categories = new ArrayList<>();
+    }
+
+    /**
+     * Replaces all presented categories.
+     *
+     * @param categories Categories to be presented.
+     * */
+    public void setCategories(List<Category> categories) {
+        this.categories = new ArrayList<>(categories);
+        this.fireTableDataChanged();
+    }
+
+    /**
+     * @return Presented categories in order of their presentation.
+     * */
+    public List<Category> getCategories() {
+        return Collections.unmodifiableList(this.categories);
+    }
+
+    /**
+     * Presents given category in given row - following rows are shifted.
+     *
+     * @param row      Index of the row.
+     * @param category Category to be presented.
+     * */
+    public void insertCategory(int row, Category category) {
+        this.categories.add(row, category);
+        this.fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Stops presenting category with given ID.
+     *
+     * @param  categoryId ID of the category.
+     * @return            True if category was presented, false otherwise.
+     * */
+    public boolean removeCategory(long categoryId) {
+        for (int row = 0; row < this.categories.size(); row++) {
+            if (this.categories.get(row).getId() == categoryId) {
+                this.categories.remove(row);
+                this.fireTableRowsDeleted(row, row);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Category getRecord(int row) {
+        return this.categories.get(row);
+    }
+
+    @Override
+    protected Object getColumnValue(Category record, int column) {
+        return (column == 0) ? recordIdLabel(record) : record.getName();
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.categories.size();
+    }
+}
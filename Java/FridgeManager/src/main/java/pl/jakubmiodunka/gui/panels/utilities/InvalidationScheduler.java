@@ -0,0 +1,135 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import pl.jakubmiodunka.gui.panels.interfaces.RefreshablePanel;
+
+import java.awt.Component;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scheduler of panel refreshes requested as a consequence of changes performed in repositories.
+ * Instead of refreshing panels right away, they are marked as invalid and refreshed together at the end of
+ * debounce window - panel invalidated several times within the window is refreshed only once.
+ * Refresh of panel, that is not currently shown (ex. belongs to inactive GUI mode) is deferred until it is shown.
+ * Refreshes are performed on event dispatch thread - invalidations are synchronised, as the first ones are requested
+ * during GUI initialisation.
+ *
+ * @author Jakub Miodunka
+ * */
+public class InvalidationScheduler {
+    // Invalidated panels waiting for the end of debounce window along with futures of their refreshes
+    private final Map<RefreshablePanel, CompletableFuture<Void>> invalidatedPanels;
+
+    // Invalidated panels waiting until they are shown
+    private final Map<RefreshablePanel, CompletableFuture<Void>> deferredPanels;
+
+    // Panels, which visibility is already observed
+    private final Set<RefreshablePanel> observedPanels;
+
+    // Timer marking the end of debounce window
+    private final Timer timer;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param debounceMillis Length of debounce window - time between the first invalidation and the refresh.
+     * */
+    public InvalidationScheduler(int debounceMillis) {
+        // Properties init
+        this.invalidatedPanels = new LinkedHashMap<>();
+        this.deferredPanels = new LinkedHashMap<>();
+        this.observedPanels = new HashSet<>();
+        this.logger = LoggerFactory.getLogger(InvalidationScheduler.class);
+
+        this.timer = new Timer(debounceMillis, event -> this.refreshInvalidatedPanels());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Marks given panel as invalid - it will be refreshed at the end of current debounce window.
+     *
+     * @param  panel Panel, which content is outdated.
+     * @return       Future completed once the panel displays refreshed content.
+     * */
+    public synchronized CompletableFuture<Void> invalidate(RefreshablePanel panel) {
+        // Panel already waiting for refresh
+        CompletableFuture<Void> pendingRefresh = this.invalidatedPanels.get(panel);
+
+        if (pendingRefresh == null) {
+            pendingRefresh = this.deferredPanels.remove(panel);
+        }
+
+        if (pendingRefresh == null) {
+            pendingRefresh = new CompletableFuture<>();
+        }
+
+        this.invalidatedPanels.put(panel, pendingRefresh);
+
+        // Opening debounce window, if it is not already opened
+        if (!this.timer.isRunning()) {
+            this.timer.start();
+        }
+
+        return pendingRefresh;
+    }
+
+    /**
+     * Refreshes all invalidated panels, that are currently shown, and defers the rest.
+     * */
+    private synchronized void refreshInvalidatedPanels() {
+        List<Map.Entry<RefreshablePanel, CompletableFuture<Void>>> entries =
+                new ArrayList<>(this.invalidatedPanels.entrySet());
+        this.invalidatedPanels.clear();
+
+        for (Map.Entry<RefreshablePanel, CompletableFuture<Void>> entry: entries) {
+            RefreshablePanel panel = entry.getKey();
+            CompletableFuture<Void> pendingRefresh = entry.getValue();
+
+            if (panel instanceof Component component && !component.isShowing()) {
+                this.logger.debug("{} not shown - refresh deferred.", panel.getClass().getSimpleName());
+
+                this.deferredPanels.put(panel, pendingRefresh);
+                this.observe(component, panel);
+                continue;
+            }
+
+            panel.refresh().whenComplete((result, failure) -> {
+                if (failure == null) {
+                    pendingRefresh.complete(null);
+                } else {
+                    pendingRefresh.completeExceptionally(failure);
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts observing visibility of given panel - deferred refresh is scheduled once it is shown.
+     *
+     * @param component Panel as GUI component.
+     * @param panel     Panel as refreshable one.
+     * */
+    private void observe(Component component, RefreshablePanel panel) {
+        if (!this.observedPanels.add(panel)) {
+            return;
+        }
+
+        component.addHierarchyListener(event -> {
+            boolean showingChanged = (event.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0;
+
+            if (showingChanged && component.isShowing() && this.deferredPanels.containsKey(panel)) {
+                this.invalidate(panel);
+            }
+        });
+    }
+}
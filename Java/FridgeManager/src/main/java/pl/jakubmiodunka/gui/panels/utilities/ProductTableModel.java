@@ -0,0 +1,341 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.gui.panels.interfaces.ProductBlockLoader;
+import pl.jakubmiodunka.gui.panels.models.config.ProductBrowserConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lazy table model presenting products in product browser.
+ * Only the number of products is known up front - products themselves are imported in blocks of fixed size on
+ * background thread, once any row of the block is requested by the table. As table requests only visible rows,
+ * only blocks, that were scrolled to, are ever imported. Once a block is displayed, the following one (or the preceding
+ * one, when scrolling backwards) is prefetched, and the least recently used blocks are kept in cache, so the common
+ * browsing flow renders from memory. Queries of blocks, that became outdated, are cancelled, so they do not delay imports
+ * of current ones.
+ * Products recorded in write journal are kept in memory and presented after products stored in repository.
+ * Meant to be accessed only on event dispatch thread.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ProductTableModel extends RecordTableModel<Product> {
+    // Number of products imported at once
+    private final int blockSize;
+
+    // Thread, where blocks are imported
+    private final ExecutorService executor;
+
+    // Source of products stored in repository - replaced during each reset
+    private ProductBlockLoader blockLoader;
+
+    // Number of the latest reset - blocks imported before it are discarded
+    private volatile long generation;
+
+    // Handle of block imports started since the latest reset - cancelled by the next one
+    private final int blockImportTimeoutSeconds;
+    private QueryHandle blocksHandle;
+
+    // Number of products stored in repository along with pending ones recorded in write journal
+    private int storedProductsQuantity;
+    private List<Product> pendingProducts;
+
+    // Cache of imported blocks of products stored in repository
+    private final BlockCache<Product> blocks;
+
+    // Blocks being imported, along with information if they were prefetched
+    private final Map<Integer, Boolean> requestedBlocks;
+
+    // Index of the block, which row was requested by the table most recently
+    private int lastAccessedBlock;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param config                    Configuration of product browser panel, where column titles and block loading
+     *                                  are defined.
+     * @param blockImportTimeoutSeconds Timeout of each query importing a block.
+     * */
+    public ProductTableModel(ProductBrowserConfig config, int blockImportTimeoutSeconds) {
+        // Parent class constructor call
+        super(List.of(config.getIdColumnTitle(), config.getNameColumnTitle(), config.getCategoryColumnTitle(),
+                        config.getExpirationDateColumnTitle(), config.getDeleteButtonsColumnTitle()),
+                config.getDeleteButtonsTitle());
+
+        // Properties init
+        this.blockSize = config.getBlockSize();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ProductBrowser-blocks");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.blockLoader = null;
+        this.generation = 0;
+        this.blockImportTimeoutSeconds = blockImportTimeoutSeconds;
+        this.blocksHandle = new QueryHandle(blockImportTimeoutSeconds);
+        this.storedProductsQuantity = 0;
+        this.pendingProducts = List.of();
+        this.blocks = new BlockCache<>(config.getCachedBlocks());
+        this.requestedBlocks = new HashMap<>();
+        this.lastAccessedBlock = -1;
+        this.logger = LoggerFactory.getLogger(ProductTableModel.class);
+    }
+
+    /**
+     * Discards all imported products and starts presenting products from given source.
+     *
+     * @param storedProductsQuantity Number of products stored in repository.
+     * @param pendingProducts        Products recorded in write journal, presented after stored ones.
+     * @param blockLoader            Source of products stored in repository.
+     * */
+    public void reset(int storedProductsQuantity, List<Product> pendingProducts, ProductBlockLoader blockLoader) {
+        this.startGeneration();
+        this.storedProductsQuantity = storedProductsQuantity;
+        this.pendingProducts = List.copyOf(pendingProducts);
+        this.blockLoader = blockLoader;
+        this.blocks.clear();
+        this.requestedBlocks.clear();
+        this.lastAccessedBlock = -1;
+
+        this.logger.debug("Block cache statistics: hit rate {}, {} of {} prefetched blocks wasted.",
+                this.blocks.getHitRate(), this.blocks.getWastedPrefetches(), this.blocks.getPrefetchedBlocks());
+
+        this.fireTableDataChanged();
+    }
+
+    /**
+     * Discards blocks being imported - their queries are cancelled and following blocks are imported using new handle.
+     * */
+    private void startGeneration() {
+        this.generation++;
+        this.blocksHandle.cancel();
+        this.blocksHandle = new QueryHandle(this.blockImportTimeoutSeconds);
+    }
+
+    /**
+     * @return True if source of products was provided by at least one reset.
+     * */
+    public boolean isInitialised() {
+        return this.blockLoader != null;
+    }
+
+    /**
+     * @return Cache of imported blocks, along with its statistics.
+     * */
+    public BlockCache<Product> getBlockCache() {
+        return this.blocks;
+    }
+
+    /**
+     * Starts import of given block in background, unless it is already being imported.
+     * Block, which import failed, is not imported again until the next reset.
+     *
+     * @param block      Index of the block.
+     * @param prefetched True if block is imported in advance, false if it is requested by the table.
+     * */
+    private void requestBlock(int block, boolean prefetched) {
+        Boolean requestedAsPrefetched = this.requestedBlocks.get(block);
+
+        if (requestedAsPrefetched != null) {
+            // Prefetch turned out to be needed
+            if (requestedAsPrefetched && !prefetched) {
+                this.requestedBlocks.put(block, false);
+            }
+
+            return;
+        }
+
+        this.requestedBlocks.put(block, prefetched);
+
+        long requestGeneration = this.generation;
+        ProductBlockLoader loader = this.blockLoader;
+        QueryHandle handle = this.blocksHandle;
+
+        CompletableFuture.supplyAsync(() -> {
+                    // Blocks requested before reset are outdated anyway
+                    if (requestGeneration != this.generation) {
+                        return null;
+                    }
+
+                    return loader.load((long) block * this.blockSize, this.blockSize, handle);
+                }, this.executor)
+                .whenComplete((products, failure) -> SwingUtilities.invokeLater(() -> {
+                    // Including blocks, which queries were cancelled
+                    if (requestGeneration != this.generation) {
+                        return;
+                    }
+
+                    if (failure != null) {
+                        Throwable cause = (failure instanceof CompletionException) ? failure.getCause() : failure;
+                        this.logger.error("Failed to import block {} of products.", block, cause);
+                        return;
+                    }
+
+                    boolean stillPrefetched = this.requestedBlocks.remove(block);
+                    this.blocks.put(block, new ArrayList<>(products), stillPrefetched);
+
+                    // Repainting rows of imported block
+                    int firstRow = block * this.blockSize;
+                    int lastRow = Math.min(firstRow + this.blockSize, this.storedProductsQuantity) - 1;
+
+                    if (lastRow >= firstRow) {
+                        this.fireTableRowsUpdated(firstRow, lastRow);
+                    }
+                }));
+    }
+
+    /**
+     * Starts import of given block in advance, unless it is already cached, being imported or does not exist.
+     *
+     * @param block Index of the block.
+     * */
+    private void prefetchBlock(int block) {
+        if (block < 0 || (long) block * this.blockSize >= this.storedProductsQuantity || this.blocks.contains(block)) {
+            return;
+        }
+
+        this.requestBlock(block, true);
+    }
+
+    /**
+     * @param  productId ID of the product.
+     * @return           True if product with given ID is already presented, false otherwise.
+     * */
+    public boolean containsProduct(long productId) {
+        return this.pendingProducts.stream().anyMatch(product -> product.getId() == productId) ||
+                this.blocks.values().stream()
+                        .flatMap(List::stream)
+                        .anyMatch(product -> product.getId() == productId);
+    }
+
+    /**
+     * Presents product added to repository after all already stored products.
+     *
+     * @param product Added product.
+     * */
+    public void appendStoredProduct(Product product) {
+        int row = this.storedProductsQuantity++;
+        int block = row / this.blockSize;
+        int offset = row % this.blockSize;
+        List<Product> products = this.blocks.peek(block);
+
+        // Product is added to already imported block or it starts the new one - otherwise it will be imported
+        // along with the rest of its block
+        if (products != null && products.size() == offset) {
+            products.add(product);
+        }
+        else if (products == null && offset == 0) {
+            this.blocks.put(block, new ArrayList<>(List.of(product)), false);
+        }
+        else {
+            this.blocks.remove(block);
+        }
+
+        this.fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Stops presenting product removed from repository.
+     * Blocks following the one, where product was presented, are shifted, so they are imported again when needed.
+     *
+     * @param  productId ID of removed product.
+     * @return           True if product was presented in one of imported blocks, false otherwise.
+     * */
+    public boolean removeStoredProduct(long productId) {
+        for (Map.Entry<Integer, List<Product>> entry: this.blocks.entries()) {
+            List<Product> products = entry.getValue();
+
+            for (int offset = 0; offset < products.size(); offset++) {
+                if (products.get(offset).getId() == productId) {
+                    this.removeStoredProduct(entry.getKey(), offset);
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Stops presenting product placed in given position.
+     *
+     * @param block  Index of the block, where product is presented.
+     * @param offset Position of the product within the block.
+     * */
+    private void removeStoredProduct(int block, int offset) {
+        int row = block * this.blockSize + offset;
+
+        // Blocks being imported would be shifted as well
+        this.startGeneration();
+        this.requestedBlocks.clear();
+
+        // Removing following blocks along with the current one, if its last product is now in the following block
+        this.blocks.removeIf(other -> other > block);
+        this.blocks.peek(block).remove(offset);
+
+        if ((block + 1) * this.blockSize < this.storedProductsQuantity) {
+            this.blocks.remove(block);
+        }
+
+        this.storedProductsQuantity--;
+        this.fireTableRowsDeleted(row, row);
+    }
+
+    @Override
+    public Product getRecord(int row) {
+        // Pending products are always available
+        if (row >= this.storedProductsQuantity) {
+            return this.pendingProducts.get(row - this.storedProductsQuantity);
+        }
+
+        // Stored products are imported on demand - access is counted only once the table moves to another block
+        int block = row / this.blockSize;
+        List<Product> products;
+
+        if (block != this.lastAccessedBlock) {
+            products = this.blocks.request(block);
+
+            // Prefetching the block, that is likely to be displayed next, depending on the scrolling direction
+            this.prefetchBlock((block < this.lastAccessedBlock) ? block - 1 : block + 1);
+            this.lastAccessedBlock = block;
+        }
+        else {
+            products = this.blocks.get(block);
+        }
+
+        if (products == null) {
+            this.requestBlock(block, false);
+            return null;
+        }
+
+        int offset = row % this.blockSize;
+        return (offset < products.size()) ? products.get(offset) : null;
+    }
+
+    @Override
+    protected Object getColumnValue(Product record, int column) {
+        return switch (column) {
+            case 0 -> recordIdLabel(record);
+            case 1 -> record.getName();
+            case 2 -> record.getCategory();
+            default -> record.getExpirationDate().toString();
+        };
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.storedProductsQuantity + this.pendingProducts.size();
+    }
+}
@@ -0,0 +1,88 @@
+package pl.jakubmiodunka.gui.panels.utilities;
+
+import pl.jakubmiodunka.database.models.content.Category;
+
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Base of table models presenting records imported from repository in browser panels.
+ * The last column of each table contains buttons dedicated to removing particular record.
+ * Records, that are not available yet (ex. still being imported), are presented as placeholder rows.
+ * Meant to be accessed only on event dispatch thread.
+ *
+ * @param <T> Type of presented records.
+ * @author Jakub Miodunka
+ * */
+public abstract class RecordTableModel<T extends Category> extends AbstractTableModel {
+    // Text displayed in ID column of rows, which records are not available yet
+    private static final String PLACEHOLDER_TEXT = "...";
+
+    // Text displayed in ID column for records recorded in write journal, but not yet applied to the database
+    private static final String PENDING_RECORD_ID = "pending";
+
+    // Titles of the columns - the last one is the title of delete buttons column
+    private final List<String> columnTitles;
+
+    // Title of each button in delete buttons column
+    private final String deleteButtonsTitle;
+
+    /**
+     * @param columnTitles       Titles of the columns - the last one should be the title of delete buttons column.
+     * @param deleteButtonsTitle Title of each button in delete buttons column.
+     * */
+    protected RecordTableModel(List<String> columnTitles, String deleteButtonsTitle) {
+        // Properties init
+        this.columnTitles = List.copyOf(columnTitles);
+        this.deleteButtonsTitle = deleteButtonsTitle;
+    }
+
+    /**
+     * @param  record Record, which ID should be displayed.
+     * @return        Text displayed in ID column for given record.
+     * */
+    protected static String recordIdLabel(Category record) {
+        return (record.getId() < 0) ? PENDING_RECORD_ID : String.valueOf(record.getId());
+    }
+
+    /**
+     * @param  row Index of the row.
+     * @return     Record presented in given row or null if it is not available yet.
+     * */
+    public abstract T getRecord(int row);
+
+    /**
+     * @param  record Presented record.
+     * @param  column Index of the column - never the index of delete buttons column.
+     * @return        Value displayed in given column for given record.
+     * */
+    protected abstract Object getColumnValue(T record, int column);
+
+    /**
+     * @return Index of the column, where buttons dedicated to removing particular record are placed.
+     * */
+    public int getDeleteButtonsColumn() {
+        return this.columnTitles.size() - 1;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return this.columnTitles.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return this.columnTitles.get(column);
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        T record = this.getRecord(row);
+
+        if (record == null) {
+            return (column == 0) ? PLACEHOLDER_TEXT : "";
+        }
+
+        return (column == this.getDeleteButtonsColumn()) ? this.deleteButtonsTitle : this.getColumnValue(record, column);
+    }
+}
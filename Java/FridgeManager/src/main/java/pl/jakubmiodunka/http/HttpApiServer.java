@@ -0,0 +1,130 @@
+package pl.jakubmiodunka.http;
+
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.models.health.DatabaseHealth;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.export.InventoryExporter;
+import pl.jakubmiodunka.export.models.ExportConfig;
+import pl.jakubmiodunka.http.caching.ContentVersions;
+import pl.jakubmiodunka.http.caching.ResponseCache;
+import pl.jakubmiodunka.http.exceptions.HttpServerException;
+import pl.jakubmiodunka.http.handlers.CategoriesHandler;
+import pl.jakubmiodunka.http.handlers.ExportHandler;
+import pl.jakubmiodunka.http.handlers.HealthHandler;
+import pl.jakubmiodunka.http.handlers.ProductsHandler;
+import pl.jakubmiodunka.http.models.HttpServerConfig;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP server exposing content of the repositories as JSON documents - web interface of the program.
+ * Built on HTTP server of the JDK, which keeps connections alive between requests. Each request is handled
+ * on its own virtual thread, so requests waiting for the database do not occupy platform threads
+ * and number of concurrently handled requests is limited only by the database.
+ * Responses concerning products and categories are tagged with versions of the tables kept in memory, so requests
+ * for content already held by the client are answered without querying the database, while rendered bodies are
+ * shared between clients through bounded response cache.
+ * Endpoints are described by the handlers.
+ *
+ * @author Jakub Miodunka
+ * */
+public class HttpApiServer {
+    // Underlying server along with executor of its handlers
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // Versions of the content, by which responses are tagged, along with interval of their refresh
+    private final ContentVersions contentVersions;
+    private final long versionRefreshMillis;
+
+    // Time given to requests in progress, when the server is stopped
+    private final int stopDelaySeconds;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param  config               Configuration of the server.
+     * @param  categoriesRepository Repository of categories.
+     * @param  productRepository    Repository of products.
+     * @param  eventBus             Bus, to which the repositories publish changes of the content.
+     * @param  exportConfig         Configuration of the export of the inventory.
+     * @param  healthSupplier       Source of reported health of the database.
+     * @throws HttpServerException  When binding to configured port fail.
+     * */
+    public HttpApiServer(HttpServerConfig config, CategoriesRepository categoriesRepository,
+                         ProductRepository productRepository, RepositoryEventBus eventBus, ExportConfig exportConfig,
+                         Supplier<DatabaseHealth> healthSupplier) {
+        // Properties init
+        this.stopDelaySeconds = config.getStopDelaySeconds();
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-", 0).factory());
+        this.contentVersions = new ContentVersions(categoriesRepository, productRepository, eventBus);
+        this.versionRefreshMillis = config.getVersionRefreshMillis();
+        this.logger = LoggerFactory.getLogger(HttpApiServer.class);
+
+        // Options of the JDK server are read from system properties, when the first server is created
+        if (config.isTcpNoDelay()) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(config.getPort()), config.getBacklog());
+        } catch (IOException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to bind HTTP server to port " + config.getPort() + ".";
+            this.logger.error(errorMessage);
+            throw new HttpServerException(errorMessage, exception);
+        }
+
+        // Registering the handlers - they share single response cache
+        ResponseCache responseCache = new ResponseCache(config.getResponseCacheBytes(),
+                config.getMaxCachedResponseBytes());
+
+        this.server.setExecutor(this.executor);
+        this.server.createContext(ProductsHandler.PATH, new ProductsHandler(productRepository, this.contentVersions,
+                responseCache, config.getMaxPageSize(), config.getResponseBufferBytes()));
+        this.server.createContext(CategoriesHandler.PATH, new CategoriesHandler(categoriesRepository,
+                productRepository, this.contentVersions, responseCache, config.getResponseBufferBytes()));
+        this.server.createContext(ExportHandler.PATH, new ExportHandler(
+                new InventoryExporter(categoriesRepository, productRepository, exportConfig),
+                exportConfig.getQueryTimeoutSeconds()));
+        this.server.createContext(HealthHandler.PATH,
+                new HealthHandler(healthSupplier, config.getResponseBufferBytes()));
+    }
+
+    /**
+     * Starts accepting requests in background.
+     * */
+    public void start() {
+        this.contentVersions.start(this.versionRefreshMillis);
+        this.server.start();
+        this.logger.info("HTTP server listening on port {}.", this.getPort());
+    }
+
+    /**
+     * Stops accepting requests and waits for requests in progress, but not longer than configured delay.
+     * Requests still in progress afterwards are left to complete on their own.
+     * */
+    public void stop() {
+        this.logger.info("Stopping HTTP server...");
+        this.server.stop(this.stopDelaySeconds);
+        this.executor.shutdown();
+        this.contentVersions.stop();
+        this.logger.info("HTTP server stopped.");
+    }
+
+    /**
+     * @return Port, on which the server listens.
+     * */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,72 @@
+package pl.jakubmiodunka.http.caching;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stream passing written bytes to the target, while keeping their copy, as long as it does not exceed given size.
+ * Allows storing the body of the response while it is streamed to the client.
+ *
+ * @author Jakub Miodunka
+ * */
+public class CapturingOutputStream extends FilterOutputStream {
+    // Maximal number of captured bytes
+    private final int maxCapturedBytes;
+
+    // Copy of written bytes - null once the limit was exceeded
+    private ByteArrayOutputStream capturedBytes;
+
+    /**
+     * @param target           Stream, to which bytes are passed.
+     * @param maxCapturedBytes Maximal number of captured bytes.
+     * */
+    public CapturingOutputStream(OutputStream target, int maxCapturedBytes) {
+        // Parent class constructor call
+        super(target);
+
+        // Properties init
+        this.maxCapturedBytes = maxCapturedBytes;
+        this.capturedBytes = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        this.out.write(value);
+        this.capture(new byte[] {(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        this.out.write(bytes, offset, length);
+        this.capture(bytes, offset, length);
+    }
+
+    /**
+     * Keeps copy of given bytes, unless the limit would be exceeded - then the copy is discarded.
+     *
+     * @param bytes  Written bytes.
+     * @param offset Index of the first written byte.
+     * @param length Number of written bytes.
+     * */
+    private void capture(byte[] bytes, int offset, int length) {
+        if (this.capturedBytes == null) {
+            return;
+        }
+
+        if (this.capturedBytes.size() + length > this.maxCapturedBytes) {
+            this.capturedBytes = null;
+            return;
+        }
+
+        this.capturedBytes.write(bytes, offset, length);
+    }
+
+    /**
+     * @return All written bytes or null, if there were more of them than the limit.
+     * */
+    public byte[] getCapturedBytes() {
+        return (this.capturedBytes != null) ? this.capturedBytes.toByteArray() : null;
+    }
+}
@@ -0,0 +1,184 @@
+package pl.jakubmiodunka.http.caching;
+
+import pl.jakubmiodunka.database.events.RepositoryEventBus;
+import pl.jakubmiodunka.database.models.events.RepositoryEvent;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Versions of products and categories tables kept in memory, so requests can be checked against content known
+ * to the client without querying the database.
+ * Versions are read from change log counters, which are incremented within the writing transactions - so they grow
+ * in commit order and each committed change moves them, even if it was started before already reported one.
+ * Changes performed by this process invalidate stored versions right away (through repository event bus) - the next
+ * request imports them again. Changes performed by someone else are noticed by periodic refresh in background,
+ * so they are reported with delay not greater than refresh interval.
+ * Only one thread imports versions at a time - the others wait for its result instead of querying the database too.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ContentVersions {
+    /**
+     * Versions of the tables along with number of invalidations preceding their import.
+     *
+     * @param productsVersion       Version of the last committed change of products.
+     * @param categoriesVersion     Version of the last committed change of categories.
+     * @param invalidationsQuantity Number of invalidations performed before the import.
+     * @author Jakub Miodunka
+     * */
+    public record Versions(long productsVersion, long categoriesVersion, long invalidationsQuantity) {}
+
+    // Repositories, from which versions are imported
+    private final CategoriesRepository categoriesRepository;
+    private final ProductRepository productRepository;
+
+    // Number of changes performed by this process - versions imported before the last one are outdated
+    private final AtomicLong invalidationsQuantity;
+
+    // The most recently imported versions along with lock guarding their import
+    private volatile Versions versions;
+    private final ReentrantLock importLock;
+
+    // Scheduler of periodic refresh - null when it is not running
+    private volatile ScheduledExecutorService scheduler;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param categoriesRepository Repository of categories.
+     * @param productRepository    Repository of products.
+     * @param eventBus             Bus, to which the repositories publish changes performed by this process.
+     * */
+    public ContentVersions(CategoriesRepository categoriesRepository, ProductRepository productRepository,
+                           RepositoryEventBus eventBus) {
+        // Properties init
+        this.categoriesRepository = categoriesRepository;
+        this.productRepository = productRepository;
+        this.invalidationsQuantity = new AtomicLong();
+        this.versions = null;
+        this.importLock = new ReentrantLock();
+        this.scheduler = null;
+        this.logger = LoggerFactory.getLogger(ContentVersions.class);
+
+        // Events are published after the change is committed, so versions imported afterwards already include it
+        eventBus.subscribe(RepositoryEvent.class, event -> this.invalidationsQuantity.incrementAndGet());
+    }
+
+    /**
+     * Returns stored versions - they are imported only if they were invalidated or never imported.
+     *
+     * @return                     Current versions of the tables.
+     * @throws RepositoryException When import of versions fail.
+     * */
+    public Versions getVersions() {
+        Versions currentVersions = this.versions;
+
+        if (this.isValid(currentVersions)) {
+            return currentVersions;
+        }
+
+        // Lock is used instead of synchronisation, as the import blocks and callers run on virtual threads
+        this.importLock.lock();
+
+        try {
+            // Versions could be imported by another thread in the meantime
+            currentVersions = this.versions;
+            return this.isValid(currentVersions) ? currentVersions : this.importVersions();
+
+        } finally {
+            this.importLock.unlock();
+        }
+    }
+
+    /**
+     * @param  versions Checked versions - may be null.
+     * @return          True if no change was performed by this process since given versions were imported.
+     * */
+    private boolean isValid(Versions versions) {
+        return versions != null && versions.invalidationsQuantity() == this.invalidationsQuantity.get();
+    }
+
+    /**
+     * Imports versions from the database and stores them.
+     *
+     * @return                     Imported versions.
+     * @throws RepositoryException When import of versions fail.
+     * */
+    private Versions importVersions() {
+        this.importLock.lock();
+
+        try {
+            // Invalidations performed during the import make imported versions outdated right away
+            long invalidationsQuantity = this.invalidationsQuantity.get();
+            long categoriesVersion = this.categoriesRepository.getCurrentVersion();
+            long productsVersion = this.productRepository.getCurrentVersion();
+
+            Versions importedVersions = new Versions(productsVersion, categoriesVersion, invalidationsQuantity);
+            this.versions = importedVersions;
+            return importedVersions;
+
+        } finally {
+            this.importLock.unlock();
+        }
+    }
+
+    /**
+     * Starts periodic refresh of stored versions in background - changes performed by someone else are noticed
+     * within given interval. Does nothing if the refresh is already running.
+     *
+     * @param refreshIntervalMillis Interval between consecutive refreshes.
+     * */
+    public void start(long refreshIntervalMillis) {
+        synchronized (this) {
+            if (this.scheduler != null) {
+                return;
+            }
+
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "http-content-versions");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        this.scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        this.logger.debug("Content versions refreshed every {} ms.", refreshIntervalMillis);
+    }
+
+    /**
+     * Imports versions in background - when the database is not available, previously imported versions are kept.
+     * */
+    private void refresh() {
+        try {
+            this.importVersions();
+        } catch (RepositoryException exception) {
+            this.logger.debug("Failed to refresh content versions - previous ones are kept.");
+        }
+    }
+
+    /**
+     * Stops periodic refresh - versions are still imported on demand afterwards.
+     * */
+    public void stop() {
+        ScheduledExecutorService currentScheduler;
+
+        synchronized (this) {
+            currentScheduler = this.scheduler;
+            this.scheduler = null;
+        }
+
+        if (currentScheduler != null) {
+            currentScheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package pl.jakubmiodunka.http.caching;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Least recently used cache of encoded response bodies, bounded by their total size.
+ * Each requested resource has at most one body stored along with entity tag of the content it represents,
+ * so body stored for outdated content is never returned and is replaced by the next rendered one.
+ * Bodies greater than configured limit are not stored at all.
+ * Safe to be used by many threads - lock is used instead of synchronisation, as callers run on virtual threads.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ResponseCache {
+    /**
+     * Stored body of the response.
+     *
+     * @param eTag Entity tag of the content represented by the body.
+     * @param body Encoded body.
+     * @author Jakub Miodunka
+     * */
+    private record Entry(String eTag, byte[] body) {}
+
+    // Maximal total size of stored bodies along with maximal size of single body
+    private final long capacityBytes;
+    private final int maxEntryBytes;
+
+    // Stored bodies by requested resources in access order - the least recently used one is the first
+    private final LinkedHashMap<String, Entry> entries;
+    private long sizeBytes;
+
+    // Lock guarding the entries
+    private final ReentrantLock lock;
+
+    /**
+     * @param capacityBytes Maximal total size of stored bodies - 0 disables the cache.
+     * @param maxEntryBytes Maximal size of single stored body.
+     * */
+    public ResponseCache(long capacityBytes, int maxEntryBytes) {
+        // Properties init
+        this.capacityBytes = capacityBytes;
+        this.maxEntryBytes = (int) Math.min(maxEntryBytes, capacityBytes);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sizeBytes = 0;
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * @param  resource Requested resource (path along with query string).
+     * @param  eTag     Entity tag of current content of the resource.
+     * @return          Body stored for current content of the resource or null, if there is none.
+     * */
+    public byte[] get(String resource, String eTag) {
+        this.lock.lock();
+
+        try {
+            Entry entry = this.entries.get(resource);
+
+            if (entry == null) {
+                return null;
+            }
+
+            // Body of outdated content will not be needed anymore
+            if (!entry.eTag().equals(eTag)) {
+                this.entries.remove(resource);
+                this.sizeBytes -= entry.body().length;
+                return null;
+            }
+
+            return entry.body();
+
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stores given body - the least recently used bodies are evicted, if capacity is exceeded.
+     *
+     * @param resource Requested resource (path along with query string).
+     * @param eTag     Entity tag of the content represented by the body.
+     * @param body     Encoded body - not stored if it is greater than the limit.
+     * */
+    public void put(String resource, String eTag, byte[] body) {
+        if (body.length > this.maxEntryBytes) {
+            return;
+        }
+
+        this.lock.lock();
+
+        try {
+            Entry replacedEntry = this.entries.put(resource, new Entry(eTag, body));
+            this.sizeBytes += body.length - ((replacedEntry != null) ? replacedEntry.body().length : 0);
+
+            // Evicting the least recently used bodies
+            Iterator<Entry> iterator = this.entries.values().iterator();
+
+            while (this.sizeBytes > this.capacityBytes && iterator.hasNext()) {
+                this.sizeBytes -= iterator.next().body().length;
+                iterator.remove();
+            }
+
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return Maximal size of single stored body - 0 if the cache is disabled.
+     * */
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+}
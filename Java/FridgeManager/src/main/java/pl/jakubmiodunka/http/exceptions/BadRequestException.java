@@ -0,0 +1,16 @@
+package pl.jakubmiodunka.http.exceptions;
+
+/**
+ * Exception thrown when HTTP request contains invalid parameters.
+ *
+ * @author Jakub Miodunka
+ * */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package pl.jakubmiodunka.http.exceptions;
+
+/**
+ * Exception thrown when HTTP server can not be started.
+ *
+ * @author Jakub Miodunka
+ * */
+public class HttpServerException extends RuntimeException {
+    public HttpServerException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package pl.jakubmiodunka.http.exceptions;
+
+/**
+ * Exception thrown when resource requested over HTTP does not exist.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ResourceNotFoundException extends RuntimeException {
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+    public ResourceNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
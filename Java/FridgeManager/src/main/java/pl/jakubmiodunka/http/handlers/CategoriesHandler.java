@@ -0,0 +1,102 @@
+package pl.jakubmiodunka.http.handlers;
+
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.repositories.CategoriesRepository;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.http.caching.ContentVersions;
+import pl.jakubmiodunka.http.caching.ResponseCache;
+import pl.jakubmiodunka.http.exceptions.BadRequestException;
+import pl.jakubmiodunka.http.exceptions.ResourceNotFoundException;
+import pl.jakubmiodunka.http.json.ContentEncoder;
+import pl.jakubmiodunka.http.models.JsonResponse;
+import pl.jakubmiodunka.http.models.QueryParameters;
+
+import java.util.List;
+
+/**
+ * Handler of requests concerning categories:
+ * - '/api/categories'      - all categories,
+ * - '/api/categories/{id}' - category with given ID along with number of products belonging to it.
+ * List of categories is tagged with version of categories, details of category with versions of both tables.
+ *
+ * @author Jakub Miodunka
+ * */
+public class CategoriesHandler extends JsonHandler {
+    // Path, under which the handler is registered
+    public static final String PATH = "/api/categories";
+
+    // Repositories, from which categories and numbers of their products are imported
+    private final CategoriesRepository categoriesRepository;
+    private final ProductRepository productRepository;
+
+    // Versions of the content, by which responses are tagged
+    private final ContentVersions contentVersions;
+
+    /**
+     * @param categoriesRepository Repository, from which categories are imported.
+     * @param productRepository    Repository, from which numbers of products in categories are imported.
+     * @param contentVersions      Versions of the content, by which responses are tagged.
+     * @param responseCache        Cache of rendered response bodies.
+     * @param responseBufferBytes  Size of the buffer, through which response bodies are written.
+     * */
+    public CategoriesHandler(CategoriesRepository categoriesRepository, ProductRepository productRepository,
+                             ContentVersions contentVersions, ResponseCache responseCache, int responseBufferBytes) {
+        // Parent class constructor call
+        super(responseBufferBytes, responseCache);
+
+        // Properties init
+        this.categoriesRepository = categoriesRepository;
+        this.productRepository = productRepository;
+        this.contentVersions = contentVersions;
+    }
+
+    @Override
+    protected String getETag(String path, QueryParameters parameters) {
+        if (path.equals(PATH) || path.equals(PATH + "/")) {
+            return toETag("c" + this.contentVersions.getVersions().categoriesVersion());
+        }
+
+        // Invalid paths are not tagged, so they are reported as such
+        if (!path.startsWith(PATH + "/")) {
+            return null;
+        }
+
+        ContentVersions.Versions versions = this.contentVersions.getVersions();
+        return toETag("p" + versions.productsVersion(), "c" + versions.categoriesVersion());
+    }
+
+    @Override
+    protected JsonResponse handleGet(String path, QueryParameters parameters) {
+        if (path.equals(PATH) || path.equals(PATH + "/")) {
+            List<Category> categories = this.categoriesRepository.getAllCategories();
+            return JsonResponse.ok(writer -> ContentEncoder.writeCategories(writer, categories));
+        }
+
+        // Only IDs are expected below the path of the handler
+        if (!path.startsWith(PATH + "/")) {
+            throw new ResourceNotFoundException("Resource '" + path + "' does not exist.");
+        }
+
+        long categoryId;
+
+        try {
+            categoryId = Long.parseLong(path.substring(PATH.length() + 1));
+        } catch (NumberFormatException exception) {
+            throw new BadRequestException("Category ID should be a number.", exception);
+        }
+
+        Category category = this.categoriesRepository.getCategory(categoryId);
+
+        if (category == null) {
+            throw new ResourceNotFoundException("Category with ID " + categoryId + " does not exist.");
+        }
+
+        long productsQuantity = this.productRepository.productQuantityInCategory(categoryId);
+
+        return JsonResponse.ok(writer -> writer.beginObject()
+                .name("id").value(category.getId())
+                .name("name").value(category.getName())
+                .name("productsQuantity").value(productsQuantity)
+                .endObject());
+    }
+}
@@ -0,0 +1,187 @@
+package pl.jakubmiodunka.http.handlers;
+
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.export.InventoryExporter;
+import pl.jakubmiodunka.export.models.ExportFormat;
+import pl.jakubmiodunka.http.exceptions.BadRequestException;
+import pl.jakubmiodunka.http.json.JsonWriter;
+import pl.jakubmiodunka.http.models.JsonResponse;
+import pl.jakubmiodunka.http.models.QueryParameters;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handler of '/api/export' requests - all categories and products are streamed in format given by 'format' parameter
+ * (csv or ndjson - the latter one by default).
+ * Records are read from server-side cursors and sent using chunked transfer encoding as the buffer of the exporter
+ * fills up, so the export takes constant memory regardless of the size of the inventory.
+ * Status is sent along with the first chunk, so failure of the database noticed before anything was written
+ * is reported as '503 Service Unavailable'. Later failures abort the connection without terminating chunk,
+ * so the client can tell incomplete export from complete one.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ExportHandler implements HttpHandler {
+    // Path, under which the handler is registered
+    public static final String PATH = "/api/export";
+
+    // Exporter of the inventory
+    private final InventoryExporter exporter;
+
+    // Timeout of export queries
+    private final int queryTimeoutSeconds;
+
+    // Internally used logger
+    private final Logger logger;
+
+    /**
+     * @param exporter            Exporter of the inventory.
+     * @param queryTimeoutSeconds Timeout of export queries.
+     * */
+    public ExportHandler(InventoryExporter exporter, int queryTimeoutSeconds) {
+        // Properties init
+        this.exporter = exporter;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+        this.logger = LoggerFactory.getLogger(ExportHandler.class);
+    }
+
+    /**
+     * Stream of the response body, which sends response headers right before the first bytes of the body.
+     *
+     * @author Jakub Miodunka
+     * */
+    private static class DeferredHeadersStream extends FilterOutputStream {
+        // Handled exchange
+        private final HttpExchange exchange;
+
+        // Flag indicating, that response headers were already sent
+        private boolean headersSent;
+
+        /**
+         * @param exchange Handled exchange.
+         * */
+        private DeferredHeadersStream(HttpExchange exchange) {
+            // Parent class constructor call
+            super(exchange.getResponseBody());
+
+            // Properties init
+            this.exchange = exchange;
+            this.headersSent = false;
+        }
+
+        /**
+         * Sends response headers with '200 OK' status, unless they were already sent.
+         *
+         * @throws IOException When sending of the headers fail.
+         * */
+        private void sendHeaders() throws IOException {
+            if (!this.headersSent) {
+                this.headersSent = true;
+                this.exchange.sendResponseHeaders(200, 0);
+            }
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            this.sendHeaders();
+            this.out.write(value);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            this.sendHeaders();
+            this.out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.sendHeaders();
+            this.out.flush();
+        }
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        // Request body is consumed, as unread body prevents reuse of the connection
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            requestBody.transferTo(OutputStream.nullOutputStream());
+        }
+
+        if (!exchange.getRequestMethod().equals("GET")) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            sendError(exchange, JsonResponse.error(405, "Method " + exchange.getRequestMethod() + " not allowed."));
+            return;
+        }
+
+        if (!exchange.getRequestURI().getPath().equals(PATH)) {
+            sendError(exchange, JsonResponse.error(404, "Resource '" + exchange.getRequestURI().getPath() +
+                    "' does not exist."));
+            return;
+        }
+
+        ExportFormat format;
+
+        try {
+            format = new QueryParameters(exchange.getRequestURI().getRawQuery())
+                    .getEnum("format", ExportFormat.class, ExportFormat.NDJSON);
+        } catch (BadRequestException exception) {
+            sendError(exchange, JsonResponse.error(400, exception.getMessage()));
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+        exchange.getResponseHeaders().set("Content-Disposition",
+                "attachment; filename=\"inventory." + format.getFileExtension() + "\"");
+
+        DeferredHeadersStream responseBody = new DeferredHeadersStream(exchange);
+
+        try {
+            this.exporter.export(responseBody, format, new QueryHandle(this.queryTimeoutSeconds));
+
+        } catch (RepositoryException exception) {
+            if (!responseBody.headersSent) {
+                exchange.getResponseHeaders().remove("Content-Disposition");
+                sendError(exchange, JsonResponse.error(503, "Database not available."));
+                return;
+            }
+
+            // Exception passed to the server makes it close the connection without terminating chunk
+            this.logger.error("Export interrupted after its content was partially sent.");
+            throw new IOException("Export interrupted by failure of the database.", exception);
+        }
+
+        // Terminating chunk is sent, when the exchange is closed
+        responseBody.sendHeaders();
+        exchange.close();
+    }
+
+    /**
+     * Sends given error response and closes the exchange.
+     *
+     * @param  exchange    Handled exchange.
+     * @param  response    Sent error response.
+     * @throws IOException When sending of the response fail.
+     * */
+    private static void sendError(HttpExchange exchange, JsonResponse response) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(response.statusCode(), 0);
+
+            try (JsonWriter writer = new JsonWriter(new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)))) {
+                response.body().writeTo(writer);
+            }
+        }
+    }
+}
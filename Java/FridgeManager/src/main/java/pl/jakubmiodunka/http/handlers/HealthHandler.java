@@ -0,0 +1,53 @@
+package pl.jakubmiodunka.http.handlers;
+
+import pl.jakubmiodunka.database.models.health.DatabaseHealth;
+import pl.jakubmiodunka.http.exceptions.ResourceNotFoundException;
+import pl.jakubmiodunka.http.models.JsonResponse;
+import pl.jakubmiodunka.http.models.QueryParameters;
+
+import java.util.function.Supplier;
+
+/**
+ * Handler of '/api/health' requests - reports health of the database without querying it.
+ * Status of the response is '200 OK', when content can be served, and '503 Service Unavailable' otherwise,
+ * so the endpoint can be used directly by load balancers.
+ *
+ * @author Jakub Miodunka
+ * */
+public class HealthHandler extends JsonHandler {
+    // Path, under which the handler is registered
+    public static final String PATH = "/api/health";
+
+    // Source of reported health
+    private final Supplier<DatabaseHealth> healthSupplier;
+
+    /**
+     * @param healthSupplier      Source of reported health.
+     * @param responseBufferBytes Size of the buffer, through which response bodies are written.
+     * */
+    public HealthHandler(Supplier<DatabaseHealth> healthSupplier, int responseBufferBytes) {
+        // Parent class constructor call
+        super(responseBufferBytes);
+
+        // Properties init
+        this.healthSupplier = healthSupplier;
+    }
+
+    @Override
+    protected JsonResponse handleGet(String path, QueryParameters parameters) {
+        if (!path.equals(PATH)) {
+            throw new ResourceNotFoundException("Resource '" + path + "' does not exist.");
+        }
+
+        DatabaseHealth health = this.healthSupplier.get();
+
+        return new JsonResponse(health.isAvailable() ? 200 : 503, writer -> writer.beginObject()
+                .name("status").value(health.status().name())
+                .name("inFlightQueries").value(health.inFlightQueriesQuantity())
+                .name("longestInFlightQueryMillis").value(health.longestInFlightQueryMillis())
+                .name("pendingJournalEntries").value(health.pendingJournalEntriesQuantity())
+                .name("slowQueries").value(health.slowQueriesQuantity())
+                .name("connectionFailures").value(health.connectionFailuresQuantity())
+                .endObject());
+    }
+}
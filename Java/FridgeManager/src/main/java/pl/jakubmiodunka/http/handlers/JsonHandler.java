@@ -0,0 +1,287 @@
+package pl.jakubmiodunka.http.handlers;
+
+import pl.jakubmiodunka.database.repositories.exceptions.RepositoryException;
+import pl.jakubmiodunka.http.caching.CapturingOutputStream;
+import pl.jakubmiodunka.http.caching.ResponseCache;
+import pl.jakubmiodunka.http.exceptions.BadRequestException;
+import pl.jakubmiodunka.http.exceptions.ResourceNotFoundException;
+import pl.jakubmiodunka.http.json.JsonWriter;
+import pl.jakubmiodunka.http.models.JsonResponse;
+import pl.jakubmiodunka.http.models.QueryParameters;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base of handlers answering 'GET' requests with JSON documents.
+ * Response status is determined before anything is written - failures of the repositories are reported
+ * as '503 Service Unavailable', invalid parameters as '400 Bad Request' and missing resources as '404 Not Found'.
+ * Bodies are encoded directly into the connection through fixed size buffer using chunked transfer encoding,
+ * so neither the document nor its encoded form is held in memory. Request body is always consumed and
+ * the exchange closed, so the connection can be reused by the next request (keep-alive).
+ * Handlers able to tell the version of requested content (entity tag) support conditional requests - when the client
+ * already holds current content ('If-None-Match' header), '304 Not Modified' is sent without preparing the response.
+ * Otherwise, rendered bodies are stored in response cache (if given) and sent again as long as the content
+ * does not change.
+ *
+ * @author Jakub Miodunka
+ * */
+public abstract class JsonHandler implements HttpHandler {
+    // Size of the buffer, through which response bodies are written
+    private final int responseBufferBytes;
+
+    // Cache of rendered response bodies - null if responses are always prepared from scratch
+    private final ResponseCache responseCache;
+
+    // Internally used logger
+    protected final Logger logger;
+
+    /**
+     * @param responseBufferBytes Size of the buffer, through which response bodies are written.
+     * */
+    protected JsonHandler(int responseBufferBytes) {
+        this(responseBufferBytes, null);
+    }
+
+    /**
+     * @param responseBufferBytes Size of the buffer, through which response bodies are written.
+     * @param responseCache       Cache of rendered response bodies - null if responses should not be cached.
+     * */
+    protected JsonHandler(int responseBufferBytes, ResponseCache responseCache) {
+        // Properties init
+        this.responseBufferBytes = responseBufferBytes;
+        this.responseCache = responseCache;
+        this.logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    /**
+     * Prepares the response to 'GET' request.
+     *
+     * @param  path                      Requested path.
+     * @param  parameters                Parameters given in query string.
+     * @return                           Response to the request.
+     * @throws BadRequestException       When parameters are invalid.
+     * @throws ResourceNotFoundException When requested resource does not exist.
+     * @throws RepositoryException       When import of the data fail.
+     * */
+    protected abstract JsonResponse handleGet(String path, QueryParameters parameters);
+
+    /**
+     * Determines entity tag of current content of requested resource - it has to change whenever the response
+     * to the request would. Should be cheap, as it is checked before each request.
+     * By default, resources have no tag, so they are always prepared from scratch and never cached.
+     *
+     * @param  path                Requested path.
+     * @param  parameters          Parameters given in query string.
+     * @return                     Entity tag or null if the resource does not support conditional requests.
+     * @throws BadRequestException When parameters are invalid.
+     * @throws RepositoryException When import of content versions fail.
+     * */
+    protected String getETag(String path, QueryParameters parameters) {
+        return null;
+    }
+
+    /**
+     * @param  components Values identifying the content.
+     * @return            Weak entity tag composed of given values - the content is not compared byte by byte.
+     * */
+    protected static String toETag(Object... components) {
+        StringBuilder eTag = new StringBuilder("W/\"");
+
+        for (int index = 0; index < components.length; index++) {
+            eTag.append((index == 0) ? "" : "-").append(components[index]);
+        }
+
+        return eTag.append('"').toString();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            // Request body is consumed, as unread body prevents reuse of the connection
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                requestBody.transferTo(OutputStream.nullOutputStream());
+            }
+
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                this.send(exchange, JsonResponse.error(405, "Method " + exchange.getRequestMethod() + " not allowed."),
+                        null, null);
+            }
+            else {
+                this.answerGet(exchange);
+            }
+        }
+    }
+
+    /**
+     * Answers 'GET' request - with '304 Not Modified' if the client holds current content, with cached body
+     * if there is one for current content or with newly prepared response otherwise.
+     *
+     * @param  exchange    Handled exchange.
+     * @throws IOException When sending of the response fail.
+     * */
+    private void answerGet(HttpExchange exchange) throws IOException {
+        URI uri = exchange.getRequestURI();
+        String resource = uri.toString();
+        String eTag = null;
+        JsonResponse response;
+
+        try {
+            QueryParameters parameters = new QueryParameters(uri.getRawQuery());
+            eTag = this.getETag(uri.getPath(), parameters);
+
+            if (eTag != null) {
+                // Client already holds current content
+                if (matchesAny(exchange.getRequestHeaders().get("If-None-Match"), eTag)) {
+                    setValidationHeaders(exchange, eTag);
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+
+                // Current content already rendered for another request
+                byte[] cachedBody = (this.responseCache != null) ? this.responseCache.get(resource, eTag) : null;
+
+                if (cachedBody != null) {
+                    this.sendCached(exchange, eTag, cachedBody);
+                    return;
+                }
+            }
+
+            response = this.handleGet(uri.getPath(), parameters);
+
+        } catch (RuntimeException exception) {
+            response = this.toErrorResponse(exchange, exception);
+        }
+
+        // Only successful responses represent tagged content
+        this.send(exchange, response, (response.statusCode() == 200) ? eTag : null, resource);
+    }
+
+    /**
+     * @param  exchange  Handled exchange.
+     * @param  exception Failure, that occurred during preparation of the response.
+     * @return           Error response corresponding to given failure.
+     * */
+    private JsonResponse toErrorResponse(HttpExchange exchange, RuntimeException exception) {
+        if (exception instanceof BadRequestException) {
+            return JsonResponse.error(400, exception.getMessage());
+        }
+        else if (exception instanceof ResourceNotFoundException) {
+            return JsonResponse.error(404, exception.getMessage());
+        }
+        else if (exception instanceof RepositoryException) {
+            return JsonResponse.error(503, "Database not available.");
+        }
+        else {
+            this.logger.error("Failed to handle '{}' request.", exchange.getRequestURI(), exception);
+            return JsonResponse.error(500, "Internal server error.");
+        }
+    }
+
+    /**
+     * @param  ifNoneMatchHeaders Values of 'If-None-Match' headers of the request - null if there are none.
+     * @param  eTag               Entity tag of current content.
+     * @return                    True if any of the tags listed in the headers matches given one.
+     * */
+    private static boolean matchesAny(List<String> ifNoneMatchHeaders, String eTag) {
+        if (ifNoneMatchHeaders == null) {
+            return false;
+        }
+
+        // Weak comparison - tags are compared regardless of their weakness
+        String opaqueTag = eTag.substring(eTag.indexOf('"'));
+
+        for (String header: ifNoneMatchHeaders) {
+            for (String tag: header.split(",")) {
+                String strippedTag = tag.strip();
+
+                if (strippedTag.startsWith("W/")) {
+                    strippedTag = strippedTag.substring(2);
+                }
+
+                if (strippedTag.equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Sets headers allowing the client to check its copy of the content with the next request.
+     *
+     * @param exchange Handled exchange.
+     * @param eTag     Entity tag of current content.
+     * */
+    private static void setValidationHeaders(HttpExchange exchange, String eTag) {
+        exchange.getResponseHeaders().set("ETag", eTag);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+    }
+
+    /**
+     * Sends body stored in the cache.
+     *
+     * @param  exchange    Handled exchange.
+     * @param  eTag        Entity tag of current content.
+     * @param  body        Cached body.
+     * @throws IOException When sending of the response fail.
+     * */
+    private void sendCached(HttpExchange exchange, String eTag, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        setValidationHeaders(exchange, eTag);
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(body);
+        }
+    }
+
+    /**
+     * Sends given response using chunked transfer encoding. Tagged responses are stored in the cache on the way.
+     *
+     * @param  exchange    Handled exchange.
+     * @param  response    Sent response.
+     * @param  eTag        Entity tag of the content represented by the response - null if there is none.
+     * @param  resource    Requested resource (path along with query string).
+     * @throws IOException When sending of the response fail.
+     * */
+    private void send(HttpExchange exchange, JsonResponse response, String eTag, String resource) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+
+        if (eTag != null) {
+            setValidationHeaders(exchange, eTag);
+        }
+
+        exchange.sendResponseHeaders(response.statusCode(), 0);
+
+        // Copy of the body is kept only if it can be cached
+        CapturingOutputStream capturingStream = (eTag != null && this.responseCache != null &&
+                this.responseCache.getMaxEntryBytes() > 0) ?
+                new CapturingOutputStream(exchange.getResponseBody(), this.responseCache.getMaxEntryBytes()) : null;
+        OutputStream responseBody = (capturingStream != null) ? capturingStream : exchange.getResponseBody();
+
+        try (JsonWriter writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(responseBody, StandardCharsets.UTF_8), this.responseBufferBytes))) {
+            response.body().writeTo(writer);
+        }
+
+        // Storing completely written body
+        byte[] capturedBody = (capturingStream != null) ? capturingStream.getCapturedBytes() : null;
+
+        if (capturedBody != null) {
+            this.responseCache.put(resource, eTag, capturedBody);
+        }
+    }
+}
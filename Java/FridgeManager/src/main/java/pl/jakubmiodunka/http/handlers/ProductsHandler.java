@@ -0,0 +1,159 @@
+package pl.jakubmiodunka.http.handlers;
+
+import pl.jakubmiodunka.database.client.QueryHandle;
+import pl.jakubmiodunka.database.models.content.Product;
+import pl.jakubmiodunka.database.models.queries.ProductQuery;
+import pl.jakubmiodunka.database.models.queries.ProductSortKey;
+import pl.jakubmiodunka.database.models.queries.SortDirection;
+import pl.jakubmiodunka.database.repositories.ProductRepository;
+import pl.jakubmiodunka.http.caching.ContentVersions;
+import pl.jakubmiodunka.http.caching.ResponseCache;
+import pl.jakubmiodunka.http.exceptions.ResourceNotFoundException;
+import pl.jakubmiodunka.http.json.ContentEncoder;
+import pl.jakubmiodunka.http.models.JsonResponse;
+import pl.jakubmiodunka.http.models.QueryParameters;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Handler of requests concerning products:
+ * - '/api/products'         - page of products matching given filters in given order,
+ * - '/api/products/count'   - number of products matching given filters,
+ * - '/api/products/expired' - page of products, that would already be expired on given date (today by default).
+ * Filters: 'category' (ID), 'expiringFrom', 'expiringTo' (dates in 'yyyy-MM-dd' format), 'namePrefix'.
+ * Order: 'sort' (id, name, category, expirationDate) and 'direction' (ascending, descending).
+ * Paging: 'offset' and 'limit' - limited by configured maximal page size.
+ * Responses are tagged with versions of products and categories (names of categories are included in pages),
+ * which grow with each committed change - so outdated responses are never confirmed nor served from the cache.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ProductsHandler extends JsonHandler {
+    // Path, under which the handler is registered
+    public static final String PATH = "/api/products";
+
+    // Number of products returned, when the limit is not given
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    // Repository, from which products are imported
+    private final ProductRepository productRepository;
+
+    // Versions of the content, by which responses are tagged
+    private final ContentVersions contentVersions;
+
+    // Maximal number of products returned in single page
+    private final int maxPageSize;
+
+    /**
+     * @param productRepository   Repository, from which products are imported.
+     * @param contentVersions     Versions of the content, by which responses are tagged.
+     * @param responseCache       Cache of rendered response bodies.
+     * @param maxPageSize         Maximal number of products returned in single page.
+     * @param responseBufferBytes Size of the buffer, through which response bodies are written.
+     * */
+    public ProductsHandler(ProductRepository productRepository, ContentVersions contentVersions,
+                           ResponseCache responseCache, int maxPageSize, int responseBufferBytes) {
+        // Parent class constructor call
+        super(responseBufferBytes, responseCache);
+
+        // Properties init
+        this.productRepository = productRepository;
+        this.contentVersions = contentVersions;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    protected String getETag(String path, QueryParameters parameters) {
+        return switch (path) {
+            case PATH, PATH + "/" -> {
+                ContentVersions.Versions versions = this.contentVersions.getVersions();
+                yield toETag("p" + versions.productsVersion(), "c" + versions.categoriesVersion());
+            }
+            case PATH + "/count" -> toETag("p" + this.contentVersions.getVersions().productsVersion());
+            case PATH + "/expired" -> {
+                // Content depends on the date as well - by default it changes every day
+                ContentVersions.Versions versions = this.contentVersions.getVersions();
+                yield toETag("p" + versions.productsVersion(), "c" + versions.categoriesVersion(),
+                        "d" + parameters.getDate("date", LocalDate.now()));
+            }
+            default -> null;
+        };
+    }
+
+    @Override
+    protected JsonResponse handleGet(String path, QueryParameters parameters) {
+        return switch (path) {
+            case PATH, PATH + "/" -> this.getPage(parameters);
+            case PATH + "/count" -> this.getCount(parameters);
+            case PATH + "/expired" -> this.getExpired(parameters);
+            default -> throw new ResourceNotFoundException("Resource '" + path + "' does not exist.");
+        };
+    }
+
+    /**
+     * @param  parameters Parameters of the request.
+     * @return            Specification of products given by filters and order parameters.
+     * */
+    private static ProductQuery getQuery(QueryParameters parameters) {
+        return ProductQuery.all()
+                .withCategory(parameters.getLong("category"))
+                .withExpirationBetween(parameters.getDate("expiringFrom", null), parameters.getDate("expiringTo", null))
+                .withNamePrefix(parameters.getString("namePrefix"))
+                .sortedBy(parameters.getEnum("sort", ProductSortKey.class, ProductSortKey.ID),
+                        parameters.getEnum("direction", SortDirection.class, SortDirection.ASCENDING));
+    }
+
+    /**
+     * @param  offset   Index of the first product of the page.
+     * @param  limit    Requested number of products.
+     * @param  products Products of the page.
+     * @return          Response containing given page.
+     * */
+    private static JsonResponse toPage(long offset, long limit, List<Product> products) {
+        return JsonResponse.ok(writer -> {
+            writer.beginObject()
+                    .name("offset").value(offset)
+                    .name("limit").value(limit)
+                    .name("products");
+            ContentEncoder.writeProducts(writer, products);
+            writer.endObject();
+        });
+    }
+
+    /**
+     * @param  parameters Parameters of the request.
+     * @return            Response containing requested page of products.
+     * */
+    private JsonResponse getPage(QueryParameters parameters) {
+        ProductQuery query = getQuery(parameters);
+        long offset = parameters.getLong("offset", 0, 0, Long.MAX_VALUE);
+        long limit = parameters.getLong("limit", Math.min(DEFAULT_PAGE_SIZE, this.maxPageSize), 1, this.maxPageSize);
+
+        return toPage(offset, limit, this.productRepository.getProducts(query, offset, limit, new QueryHandle()));
+    }
+
+    /**
+     * @param  parameters Parameters of the request.
+     * @return            Response containing number of matching products.
+     * */
+    private JsonResponse getCount(QueryParameters parameters) {
+        long quantity = this.productRepository.getProductsQuantity(getQuery(parameters), new QueryHandle());
+
+        return JsonResponse.ok(writer -> writer.beginObject()
+                .name("quantity").value(quantity)
+                .endObject());
+    }
+
+    /**
+     * @param  parameters Parameters of the request.
+     * @return            Response containing requested page of expired products.
+     * */
+    private JsonResponse getExpired(QueryParameters parameters) {
+        LocalDate date = parameters.getDate("date", LocalDate.now());
+        long offset = parameters.getLong("offset", 0, 0, Long.MAX_VALUE);
+        long limit = parameters.getLong("limit", Math.min(DEFAULT_PAGE_SIZE, this.maxPageSize), 1, this.maxPageSize);
+
+        return toPage(offset, limit, this.productRepository.getExpiredProducts(date, offset, limit));
+    }
+}
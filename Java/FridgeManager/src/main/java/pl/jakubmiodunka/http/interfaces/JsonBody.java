@@ -0,0 +1,20 @@
+package pl.jakubmiodunka.http.interfaces;
+
+import pl.jakubmiodunka.http.json.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Body of JSON response, written once the status of the response is sent.
+ * Data should be imported before the body is created, so writing it does not fail because of the database.
+ *
+ * @author Jakub Miodunka
+ * */
+@FunctionalInterface
+public interface JsonBody {
+    /**
+     * @param  writer      Writer, to which the body should be written.
+     * @throws IOException When writing of the body fail.
+     * */
+    void writeTo(JsonWriter writer) throws IOException;
+}
@@ -0,0 +1,72 @@
+package pl.jakubmiodunka.http.json;
+
+import pl.jakubmiodunka.database.models.content.Category;
+import pl.jakubmiodunka.database.models.content.Product;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encoding of content models as JSON objects.
+ * Names of members follow names of model properties, dates are written in 'yyyy-MM-dd' format.
+ *
+ * @author Jakub Miodunka
+ * */
+public class ContentEncoder {
+    /**
+     * @param  writer      Destination writer.
+     * @param  category    Written category.
+     * @throws IOException When writing fail.
+     * */
+    public static void writeCategory(JsonWriter writer, Category category) throws IOException {
+        writer.beginObject()
+                .name("id").value(category.getId())
+                .name("name").value(category.getName())
+                .endObject();
+    }
+
+    /**
+     * @param  writer      Destination writer.
+     * @param  product     Written product.
+     * @throws IOException When writing fail.
+     * */
+    public static void writeProduct(JsonWriter writer, Product product) throws IOException {
+        writer.beginObject()
+                .name("id").value(product.getId())
+                .name("name").value(product.getName())
+                .name("categoryId").value(product.getCategoryId())
+                .name("category").value(product.getCategory())
+                .name("expirationDate").value(product.getExpirationDate().toString())
+                .endObject();
+    }
+
+    /**
+     * @param  writer      Destination writer.
+     * @param  categories  Written categories.
+     * @throws IOException When writing fail.
+     * */
+    public static void writeCategories(JsonWriter writer, List<Category> categories) throws IOException {
+        writer.beginArray();
+
+        for (Category category: categories) {
+            writeCategory(writer, category);
+        }
+
+        writer.endArray();
+    }
+
+    /**
+     * @param  writer      Destination writer.
+     * @param  products    Written products.
+     * @throws IOException When writing fail.
+     * */
+    public static void writeProducts(JsonWriter writer, List<Product> products) throws IOException {
+        writer.beginArray();
+
+        for (Product product: products) {
+            writeProduct(writer, product);
+        }
+
+        writer.endArray();
+    }
+}
@@ -0,0 +1,252 @@
+package pl.jakubmiodunka.http.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer encoding JSON document directly into given character stream, as its values are provided.
+ * No tree of the document is built, so memory use does not depend on the size of the document.
+ * Only the nesting of objects and arrays is tracked, so separators are placed automatically.
+ * Correct order of calls (ex. name before each value within an object) is up to the caller.
+ *
+ * @author Jakub Miodunka
+ * */
+public class JsonWriter implements Closeable {
+    // Maximal depth of nested objects and arrays
+    private static final int MAX_DEPTH = 64;
+
+    // Hexadecimal digits used for escaping control characters
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Destination of the document
+    private final Writer out;
+
+    // Flags indicating, that current object or array at given depth already contains any element
+    private final boolean[] nonEmpty;
+    private int depth;
+
+    // Flag indicating, that name of the object member was just written and its value is expected
+    private boolean afterName;
+
+    /**
+     * @param out Destination of the document - should be buffered, as it is written in small pieces.
+     * */
+    public JsonWriter(Writer out) {
+        // Properties init
+        this.out = out;
+        this.nonEmpty = new boolean[MAX_DEPTH + 1];
+        this.depth = 0;
+        this.afterName = false;
+    }
+
+    /**
+     * Writes separator preceding next element of current object or array, if needed.
+     *
+     * @throws IOException When writing to the stream fail.
+     * */
+    private void beforeValue() throws IOException {
+        if (this.afterName) {
+            this.afterName = false;
+            return;
+        }
+
+        if (this.nonEmpty[this.depth]) {
+            this.out.write(',');
+        }
+
+        this.nonEmpty[this.depth] = true;
+    }
+
+    /**
+     * @param  bracket     Opening bracket.
+     * @throws IOException When writing to the stream fail.
+     * */
+    private void openNested(char bracket) throws IOException {
+        if (this.depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON document nested deeper than " + MAX_DEPTH + " levels.");
+        }
+
+        this.beforeValue();
+        this.out.write(bracket);
+        this.nonEmpty[++this.depth] = false;
+    }
+
+    /**
+     * @param  bracket     Closing bracket.
+     * @throws IOException When writing to the stream fail.
+     * */
+    private void closeNested(char bracket) throws IOException {
+        this.depth--;
+        this.out.write(bracket);
+    }
+
+    /**
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter beginObject() throws IOException {
+        this.openNested('{');
+        return this;
+    }
+
+    /**
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter endObject() throws IOException {
+        this.closeNested('}');
+        return this;
+    }
+
+    /**
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter beginArray() throws IOException {
+        this.openNested('[');
+        return this;
+    }
+
+    /**
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter endArray() throws IOException {
+        this.closeNested(']');
+        return this;
+    }
+
+    /**
+     * @param  name        Name of the object member, which value is written next.
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter name(String name) throws IOException {
+        this.beforeValue();
+        this.writeString(name);
+        this.out.write(':');
+        this.afterName = true;
+        return this;
+    }
+
+    /**
+     * @param  value       Written value - null is written as JSON null.
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return this.nullValue();
+        }
+
+        this.beforeValue();
+        this.writeString(value);
+        return this;
+    }
+
+    /**
+     * @param  value       Written value.
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter value(long value) throws IOException {
+        this.beforeValue();
+        this.out.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * @param  value       Written value.
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter value(boolean value) throws IOException {
+        this.beforeValue();
+        this.out.write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter nullValue() throws IOException {
+        this.beforeValue();
+        this.out.write("null");
+        return this;
+    }
+
+    /**
+     * Writes given text as JSON string - quotes, backslashes and control characters are escaped.
+     * Unescaped runs of characters are written at once.
+     *
+     * @param  text        Written text.
+     * @throws IOException When writing to the stream fail.
+     * */
+    private void writeString(String text) throws IOException {
+        this.out.write('"');
+
+        int runStart = 0;
+
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+
+            if (character >= 0x20 && character != '"' && character != '\\') {
+                continue;
+            }
+
+            this.out.write(text, runStart, index - runStart);
+            runStart = index + 1;
+
+            switch (character) {
+                case '"' -> this.out.write("\\\"");
+                case '\\' -> this.out.write("\\\\");
+                case '\n' -> this.out.write("\\n");
+                case '\r' -> this.out.write("\\r");
+                case '\t' -> this.out.write("\\t");
+                case '\b' -> this.out.write("\\b");
+                case '\f' -> this.out.write("\\f");
+                default -> {
+                    this.out.write("\\u00");
+                    this.out.write(HEX_DIGITS[character >> 4]);
+                    this.out.write(HEX_DIGITS[character & 0xF]);
+                }
+            }
+        }
+
+        this.out.write(text, runStart, text.length() - runStart);
+        this.out.write('"');
+    }
+
+    /**
+     * Ends completely written top-level value with line feed, so the next value is written as separate document
+     * in the next line (newline delimited JSON).
+     *
+     * @return             This writer.
+     * @throws IOException When writing to the stream fail.
+     * */
+    public JsonWriter endLine() throws IOException {
+        if (this.depth != 0) {
+            throw new IllegalStateException("Line of newline delimited JSON ended within nested value.");
+        }
+
+        this.out.write('\n');
+        this.nonEmpty[0] = false;
+        return this;
+    }
+
+    /**
+     * Flushes the stream, so already written part of the document is sent.
+     *
+     * @throws IOException When flushing of the stream fail.
+     * */
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+}
@@ -0,0 +1,159 @@
+package pl.jakubmiodunka.http.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import org.w3c.dom.Element;
+
+/**
+ * Model of HTTP server configuration.
+ *
+ * @author Jakub Miodunka
+ * */
+public class HttpServerConfig {
+    // Port, on which the server listens (0 means any free port) along with the queue of incoming connections
+    private final int port;
+    private final int backlog;
+
+    // Maximal number of products returned in single page
+    private final int maxPageSize;
+
+    // Size of the buffer, through which response bodies are written
+    private final int responseBufferBytes;
+
+    // Flag indicating, that Nagle's algorithm should be disabled on accepted connections
+    private final boolean tcpNoDelay;
+
+    // Time given to requests in progress, when the server is stopped
+    private final int stopDelaySeconds;
+
+    // Interval, in which changes of the content performed by someone else are noticed
+    private final long versionRefreshMillis;
+
+    // Maximal total size of cached response bodies along with maximal size of single cached body
+    private final long responseCacheBytes;
+    private final int maxCachedResponseBytes;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing HTTP server configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public HttpServerConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "http");
+
+            // Properties init
+            this.port = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "port"));
+            this.backlog = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "backlog"));
+            this.maxPageSize = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "maxPageSize"));
+            this.responseBufferBytes = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rootElement, "responseBufferBytes"));
+            this.tcpNoDelay = Boolean.parseBoolean(XmlUtilities.getContentOfNode(rootElement, "tcpNoDelay"));
+            this.stopDelaySeconds = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "stopDelaySeconds"));
+            this.versionRefreshMillis = Long.parseLong(
+                    XmlUtilities.getContentOfNode(rootElement, "versionRefreshMillis"));
+            this.responseCacheBytes = Long.parseLong(XmlUtilities.getContentOfNode(rootElement, "responseCacheBytes"));
+            this.maxCachedResponseBytes = Integer.parseInt(
+                    XmlUtilities.getContentOfNode(rootElement, "maxCachedResponseBytes"));
+
+        } catch (XmlParsingException | NumberFormatException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create HTTP server configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @param port                   Port, on which the server listens - 0 means any free port.
+     * @param backlog                Maximal number of queued incoming connections.
+     * @param maxPageSize            Maximal number of products returned in single page.
+     * @param responseBufferBytes    Size of the buffer, through which response bodies are written.
+     * @param tcpNoDelay             True if Nagle's algorithm should be disabled on accepted connections.
+     * @param stopDelaySeconds       Time given to requests in progress, when the server is stopped.
+     * @param versionRefreshMillis   Interval, in which changes of the content performed by someone else are noticed.
+     * @param responseCacheBytes     Maximal total size of cached response bodies - 0 disables the cache.
+     * @param maxCachedResponseBytes Maximal size of single cached response body.
+     * */
+    public HttpServerConfig(int port, int backlog, int maxPageSize, int responseBufferBytes, boolean tcpNoDelay,
+                            int stopDelaySeconds, long versionRefreshMillis, long responseCacheBytes,
+                            int maxCachedResponseBytes) {
+        // Properties init
+        this.port = port;
+        this.backlog = backlog;
+        this.maxPageSize = maxPageSize;
+        this.responseBufferBytes = responseBufferBytes;
+        this.tcpNoDelay = tcpNoDelay;
+        this.stopDelaySeconds = stopDelaySeconds;
+        this.versionRefreshMillis = versionRefreshMillis;
+        this.responseCacheBytes = responseCacheBytes;
+        this.maxCachedResponseBytes = maxCachedResponseBytes;
+    }
+
+    /**
+     * @return Port, on which the server listens - 0 means any free port.
+     * */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return Maximal number of queued incoming connections.
+     * */
+    public int getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * @return Maximal number of products returned in single page.
+     * */
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    /**
+     * @return Size of the buffer, through which response bodies are written.
+     * */
+    public int getResponseBufferBytes() {
+        return responseBufferBytes;
+    }
+
+    /**
+     * @return True if Nagle's algorithm should be disabled on accepted connections - otherwise responses written
+     *         in several pieces (headers and chunks of the body) may be delayed until previous ones are acknowledged.
+     * */
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * @return Time given to requests in progress, when the server is stopped.
+     * */
+    public int getStopDelaySeconds() {
+        return stopDelaySeconds;
+    }
+
+    /**
+     * @return Interval, in which changes of the content performed by someone else are noticed - changes performed
+     *         by this process are noticed right away.
+     * */
+    public long getVersionRefreshMillis() {
+        return versionRefreshMillis;
+    }
+
+    /**
+     * @return Maximal total size of cached response bodies - 0 if the cache is disabled.
+     * */
+    public long getResponseCacheBytes() {
+        return responseCacheBytes;
+    }
+
+    /**
+     * @return Maximal size of single cached response body.
+     * */
+    public int getMaxCachedResponseBytes() {
+        return maxCachedResponseBytes;
+    }
+}
@@ -0,0 +1,32 @@
+package pl.jakubmiodunka.http.models;
+
+import pl.jakubmiodunka.http.interfaces.JsonBody;
+
+/**
+ * Response to HTTP request, which body is a JSON document.
+ *
+ * @param statusCode HTTP status code.
+ * @param body       Body of the response.
+ * @author Jakub Miodunka
+ * */
+public record JsonResponse(int statusCode, JsonBody body) {
+    /**
+     * @param  body Body of the response.
+     * @return      Response with '200 OK' status.
+     * */
+    public static JsonResponse ok(JsonBody body) {
+        return new JsonResponse(200, body);
+    }
+
+    /**
+     * @param  statusCode HTTP status code.
+     * @param  message    Description of the error.
+     * @return            Response with given status and body describing the error.
+     * */
+    public static JsonResponse error(int statusCode, String message) {
+        return new JsonResponse(statusCode, writer -> writer.beginObject()
+                .name("status").value(statusCode)
+                .name("error").value(message)
+                .endObject());
+    }
+}
@@ -0,0 +1,140 @@
+package pl.jakubmiodunka.http.models;
+
+import pl.jakubmiodunka.http.exceptions.BadRequestException;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parameters given in query string of HTTP request.
+ * When the same parameter is given more than once, its first value is used.
+ *
+ * @author Jakub Miodunka
+ * */
+public class QueryParameters {
+    // Decoded values of the parameters by their names
+    private final Map<String, String> values;
+
+    /**
+     * @param  rawQuery            Query string, as received in the request - null if there is none.
+     * @throws BadRequestException When query string is not properly encoded.
+     * */
+    public QueryParameters(String rawQuery) {
+        // Properties init
+        this.values = new HashMap<>();
+
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (String parameter: rawQuery.split("&")) {
+                int separatorIndex = parameter.indexOf('=');
+                String name = (separatorIndex >= 0) ? parameter.substring(0, separatorIndex) : parameter;
+                String value = (separatorIndex >= 0) ? parameter.substring(separatorIndex + 1) : "";
+
+                this.values.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                        URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Malformed query string.", exception);
+        }
+    }
+
+    /**
+     * @param  name Name of the parameter.
+     * @return      Value of the parameter or null if it was not given.
+     * */
+    public String getString(String name) {
+        String value = this.values.get(name);
+        return (value == null || value.isEmpty()) ? null : value;
+    }
+
+    /**
+     * @param  name                Name of the parameter.
+     * @param  defaultValue        Value used, when the parameter was not given.
+     * @param  minValue            Minimal accepted value.
+     * @param  maxValue            Maximal accepted value.
+     * @return                     Value of the parameter.
+     * @throws BadRequestException When the value is not a number within given range.
+     * */
+    public long getLong(String name, long defaultValue, long minValue, long maxValue) {
+        String value = this.getString(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            long number = Long.parseLong(value);
+
+            if (number < minValue || number > maxValue) {
+                throw new BadRequestException("Parameter '" + name + "' should be between " + minValue + " and " +
+                        maxValue + ".");
+            }
+
+            return number;
+
+        } catch (NumberFormatException exception) {
+            throw new BadRequestException("Parameter '" + name + "' should be a number.", exception);
+        }
+    }
+
+    /**
+     * @param  name                Name of the parameter.
+     * @return                     Value of the parameter or null if it was not given.
+     * @throws BadRequestException When the value is not a number.
+     * */
+    public Long getLong(String name) {
+        return (this.getString(name) != null) ? this.getLong(name, 0, Long.MIN_VALUE, Long.MAX_VALUE) : null;
+    }
+
+    /**
+     * @param  name                Name of the parameter.
+     * @param  defaultValue        Value used, when the parameter was not given.
+     * @return                     Value of the parameter.
+     * @throws BadRequestException When the value is not a date in 'yyyy-MM-dd' format.
+     * */
+    public LocalDate getDate(String name, LocalDate defaultValue) {
+        String value = this.getString(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException exception) {
+            throw new BadRequestException("Parameter '" + name + "' should be a date in 'yyyy-MM-dd' format.",
+                    exception);
+        }
+    }
+
+    /**
+     * @param  name                Name of the parameter.
+     * @param  type                Enumeration, to which constants the value should correspond (case insensitive).
+     * @param  defaultValue        Value used, when the parameter was not given.
+     * @param  <T>                 Type of the enumeration.
+     * @return                     Value of the parameter.
+     * @throws BadRequestException When the value does not correspond to any constant.
+     * */
+    public <T extends Enum<T>> T getEnum(String name, Class<T> type, T defaultValue) {
+        String value = this.getString(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        for (T constant: type.getEnumConstants()) {
+            if (constant.name().replace("_", "").equalsIgnoreCase(value.replace("_", ""))) {
+                return constant;
+            }
+        }
+
+        throw new BadRequestException("Unsupported value of parameter '" + name + "': '" + value + "'.");
+    }
+}
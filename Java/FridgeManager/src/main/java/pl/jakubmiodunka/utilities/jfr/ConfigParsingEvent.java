@@ -0,0 +1,46 @@
+package pl.jakubmiodunka.utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning parsing of single XML config file.
+ * Fields are set only when the event is going to be committed, so the event costs nothing while not recorded.
+ *
+ * @author Jakub Miodunka
+ * */
+@Name("pl.jakubmiodunka.ConfigParsing")
+@Label("Config Parsing")
+@Category({"FridgeManager", "Configuration"})
+@Description("Parsing of XML config file.")
+public class ConfigParsingEvent extends Event {
+    @Label("File")
+    private String file;
+
+    @Label("Root Node")
+    private String rootNode;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    /**
+     * Fills the event with details of parsing and commits it, if it should be recorded.
+     *
+     * @param file      Parsed file.
+     * @param rootNode  Expected name of the root node.
+     * @param succeeded True if root node was extracted successfully.
+     * */
+    public void finish(String file, String rootNode, boolean succeeded) {
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.file = file;
+            this.rootNode = rootNode;
+            this.succeeded = succeeded;
+            this.commit();
+        }
+    }
+}
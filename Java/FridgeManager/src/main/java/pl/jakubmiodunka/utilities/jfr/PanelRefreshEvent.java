@@ -0,0 +1,64 @@
+package pl.jakubmiodunka.utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event spanning single panel refresh - from the request till update of displayed components.
+ * Fields are set only when the event is going to be committed, so the event costs nothing while not recorded.
+ *
+ * @author Jakub Miodunka
+ * */
+@Name("pl.jakubmiodunka.PanelRefresh")
+@Label("Panel Refresh")
+@Category({"FridgeManager", "GUI"})
+@Description("Refresh of the panel displaying the content of repositories.")
+@StackTrace(false)
+public class PanelRefreshEvent extends Event {
+    @Label("Panel")
+    private String panel;
+
+    @Label("Outcome")
+    @Description("Outcome of the refresh - displayed, superseded or failed.")
+    private String outcome;
+
+    @Label("Query Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long queryTime;
+
+    @Label("Conversion Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long conversionTime;
+
+    @Label("Update Time")
+    @Description("Time spent on update of displayed components.")
+    @Timespan(Timespan.NANOSECONDS)
+    private long updateTime;
+
+    /**
+     * Fills the event with details of the refresh and commits it, if it should be recorded.
+     *
+     * @param panel          Name of the refreshed panel.
+     * @param outcome        Outcome of the refresh - displayed, superseded or failed.
+     * @param queryTime      Time spent on execution of queries in nanoseconds.
+     * @param conversionTime Time spent on conversion of query results in nanoseconds.
+     * @param updateTime     Time spent on update of displayed components in nanoseconds.
+     * */
+    public void finish(String panel, String outcome, long queryTime, long conversionTime, long updateTime) {
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.panel = panel;
+            this.outcome = outcome;
+            this.queryTime = queryTime;
+            this.conversionTime = conversionTime;
+            this.updateTime = updateTime;
+            this.commit();
+        }
+    }
+}
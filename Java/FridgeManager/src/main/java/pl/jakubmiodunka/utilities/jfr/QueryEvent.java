@@ -0,0 +1,80 @@
+package pl.jakubmiodunka.utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for each query executed by database client.
+ * Event is allocated only while it is recorded and its fields are set only when it is going to be committed,
+ * so the event costs nothing while not recorded.
+ *
+ * @author Jakub Miodunka
+ * */
+@Name("pl.jakubmiodunka.Query")
+@Label("Database Query")
+@Category({"FridgeManager", "Database"})
+@Description("Query executed by database client.")
+@StackTrace(false)
+public class QueryEvent extends Event {
+    // Type of this event - used to check if it is recorded before allocating it
+    private static final EventType EVENT_TYPE = EventType.getEventType(QueryEvent.class);
+
+    @Label("Kind")
+    @Description("Kind of the query - import, update or insert.")
+    private String kind;
+
+    @Label("SQL Template")
+    @Description("Executed query - parameters of prepared statements are not included.")
+    private String sqlTemplate;
+
+    @Label("Operation")
+    @Description("Repository method, that requested the query.")
+    private String operation;
+
+    @Label("Rows")
+    @Description("Number of rows returned or affected by the query or -1 if the query did not succeed.")
+    private long rows;
+
+    /**
+     * Marks the beginning of the query.
+     *
+     * @return Event, that should be passed to finish method once the query is completed,
+     *         or null if the event is not recorded.
+     * */
+    public static QueryEvent start() {
+        if (!EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+
+        QueryEvent event = new QueryEvent();
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Fills the event with details of the query and commits it, if it should be recorded.
+     * Meant to be called once the query is completed.
+     *
+     * @param kind        Kind of the query - import, update or insert.
+     * @param sqlTemplate Executed query.
+     * @param operation   Repository method, that requested the query.
+     * @param rows        Number of rows returned or affected by the query or -1 if the query did not succeed.
+     * */
+    public void finish(String kind, String sqlTemplate, String operation, long rows) {
+        this.end();
+
+        if (this.shouldCommit()) {
+            this.kind = kind;
+            this.sqlTemplate = sqlTemplate;
+            this.operation = operation;
+            this.rows = rows;
+            this.commit();
+        }
+    }
+}
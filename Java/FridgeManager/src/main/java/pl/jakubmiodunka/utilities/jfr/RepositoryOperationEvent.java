@@ -0,0 +1,88 @@
+package pl.jakubmiodunka.utilities.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Flight Recorder event spanning single operation of the repository, that can consist of several queries.
+ * Stack trace is recorded, so the operation can be attributed to the user action, that requested it.
+ * Operations in progress are tracked per thread regardless of the recording, so queries can be described
+ * by the operation, that requested them.
+ *
+ * @author Jakub Miodunka
+ * */
+@Name("pl.jakubmiodunka.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"FridgeManager", "Database"})
+@Description("Operation performed by the repository.")
+public class RepositoryOperationEvent extends Event {
+    // Name reported for queries requested outside of any repository operation
+    private static final String UNKNOWN_OPERATION = "unknown";
+
+    // Type of this event - used to check if it is recorded before allocating it
+    private static final EventType EVENT_TYPE = EventType.getEventType(RepositoryOperationEvent.class);
+
+    // Operations in progress on each thread - the innermost one on top
+    private static final ThreadLocal<Deque<String>> OPERATIONS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Label("Operation")
+    @Description("Performed operation in 'Repository.method' form.")
+    private String operation;
+
+    /**
+     * Marks the beginning of the operation on current thread.
+     *
+     * @param  operation Performed operation in 'Repository.method' form.
+     * @return           Event, that should be passed to finish method once the operation is completed,
+     *                   or null if the event is not recorded.
+     * */
+    public static RepositoryOperationEvent start(String operation) {
+        OPERATIONS.get().push(operation);
+
+        if (!EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.operation = operation;
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Marks the end of the most recently started operation on current thread and commits its event,
+     * if it should be recorded. Meant to be called regardless of the result of the operation.
+     *
+     * @param event Event returned when the operation was started.
+     * */
+    public static void finish(RepositoryOperationEvent event) {
+        OPERATIONS.get().pop();
+
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+
+    /**
+     * @return Innermost operation in progress on current thread in 'Repository.method' form or 'unknown',
+     *         when no repository operation is in progress.
+     * */
+    public static String getCurrentOperation() {
+        String operation = OPERATIONS.get().peek();
+        return (operation != null) ? operation : UNKNOWN_OPERATION;
+    }
+}
@@ -0,0 +1,75 @@
+package pl.jakubmiodunka.utilities.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+
+/**
+ * Logger passing its messages to the appender of the factory, that created it.
+ * Level of the logger is resolved once, when the logger is created or the factory is reconfigured,
+ * so disabled logging call costs a single comparison.
+ *
+ * @author Jakub Miodunka
+ * */
+public class AsyncLogger extends LegacyAbstractLogger {
+    // Factory, that created the logger
+    private final AsyncLoggerFactory factory;
+
+    // Severity of the least severe message passed by the logger
+    private volatile int threshold;
+
+    /**
+     * @param name    Name of the logger.
+     * @param factory Factory, that created the logger.
+     * @param level   Level of the logger.
+     * */
+    AsyncLogger(String name, AsyncLoggerFactory factory, LogLevel level) {
+        // Properties init
+        this.name = name;
+        this.factory = factory;
+        this.threshold = level.getThreshold();
+    }
+
+    /**
+     * @param level New level of the logger.
+     * */
+    void setLevel(LogLevel level) {
+        this.threshold = level.getThreshold();
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return this.threshold <= Level.TRACE.toInt();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return this.threshold <= Level.DEBUG.toInt();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return this.threshold <= Level.INFO.toInt();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return this.threshold <= Level.WARN.toInt();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return this.threshold <= Level.ERROR.toInt();
+    }
+
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern, Object[] arguments,
+                                               Throwable throwable) {
+        this.factory.getAppender().append(level, this.name, messagePattern, arguments, throwable);
+    }
+}
@@ -0,0 +1,89 @@
+package pl.jakubmiodunka.utilities.logging;
+
+import pl.jakubmiodunka.utilities.logging.models.LoggingConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+
+/**
+ * Factory of loggers passing their messages to the ring buffer appender.
+ * Until configured, all loggers pass messages of the default level to standard error stream.
+ *
+ * @author Jakub Miodunka
+ * */
+public class AsyncLoggerFactory implements ILoggerFactory {
+    // Configuration used until the factory is configured explicitly
+    private static final LoggingConfig DEFAULT_CONFIG = new LoggingConfig(LogLevel.INFO, Map.of(), 8_192, null);
+
+    // Created loggers by their names
+    private final Map<String, AsyncLogger> loggers;
+
+    // Current configuration along with the appender created according to it
+    private volatile LoggingConfig config;
+    private volatile RingBufferAppender appender;
+
+    public AsyncLoggerFactory() {
+        // Properties init
+        this.loggers = new ConcurrentHashMap<>();
+        this.config = DEFAULT_CONFIG;
+        this.appender = createAppender(DEFAULT_CONFIG);
+    }
+
+    /**
+     * @param  config               Logging configuration.
+     * @return                      Appender created according to given configuration.
+     * @throws UncheckedIOException When opening of the log file fail.
+     * */
+    private static RingBufferAppender createAppender(LoggingConfig config) {
+        try {
+            return new RingBufferAppender(config.getRingBufferCapacity(), config.getFile());
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to open '" + config.getFile() + "' log file.", exception);
+        }
+    }
+
+    @Override
+    public Logger getLogger(String name) {
+        return this.loggers.computeIfAbsent(name, loggerName ->
+                new AsyncLogger(loggerName, this, this.config.getLevel(loggerName)));
+    }
+
+    /**
+     * @return Appender, to which loggers currently pass their messages.
+     * */
+    RingBufferAppender getAppender() {
+        return this.appender;
+    }
+
+    /**
+     * Applies given configuration - levels of already created loggers are updated and messages are passed
+     * to the new appender, while the previous one writes remaining messages and is closed.
+     *
+     * @param  config               Logging configuration.
+     * @throws UncheckedIOException When opening of the log file fail.
+     * */
+    public synchronized void configure(LoggingConfig config) {
+        RingBufferAppender previousAppender = this.appender;
+
+        this.appender = createAppender(config);
+        this.config = config;
+
+        for (AsyncLogger logger: this.loggers.values()) {
+            logger.setLevel(config.getLevel(logger.getName()));
+        }
+
+        previousAppender.close();
+    }
+
+    /**
+     * Writes remaining messages - meant to be called as the last step of program exit, as messages still buffered
+     * when the program exits are lost. Messages logged afterwards are written directly by logging threads.
+     * */
+    public synchronized void close() {
+        this.appender.close();
+    }
+}
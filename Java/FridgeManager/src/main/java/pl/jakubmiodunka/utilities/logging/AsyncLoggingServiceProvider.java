@@ -0,0 +1,53 @@
+package pl.jakubmiodunka.utilities.logging;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.helpers.NOPMDCAdapter;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+/**
+ * SLF4J binding of asynchronous loggers - found by SLF4J using service loader.
+ * Remaining messages are not written by separate shutdown hook, as hooks are run concurrently and the others could
+ * still log afterwards - the program closes the logger factory as the last step of its exit instead.
+ *
+ * @author Jakub Miodunka
+ * */
+public class AsyncLoggingServiceProvider implements SLF4JServiceProvider {
+    // Version of SLF4J API, against which the binding was written
+    private static final String REQUESTED_API_VERSION = "2.0.99";
+
+    // Factories provided to SLF4J
+    private AsyncLoggerFactory loggerFactory;
+    private IMarkerFactory markerFactory;
+    private MDCAdapter mdcAdapter;
+
+    @Override
+    public ILoggerFactory getLoggerFactory() {
+        return this.loggerFactory;
+    }
+
+    @Override
+    public IMarkerFactory getMarkerFactory() {
+        return this.markerFactory;
+    }
+
+    @Override
+    public MDCAdapter getMDCAdapter() {
+        return this.mdcAdapter;
+    }
+
+    @Override
+    public String getRequestedApiVersion() {
+        return REQUESTED_API_VERSION;
+    }
+
+    @Override
+    public void initialize() {
+        // Properties init
+        this.loggerFactory = new AsyncLoggerFactory();
+        this.markerFactory = new BasicMarkerFactory();
+        this.mdcAdapter = new NOPMDCAdapter();
+    }
+}
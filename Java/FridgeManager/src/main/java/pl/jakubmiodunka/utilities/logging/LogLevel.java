@@ -0,0 +1,35 @@
+package pl.jakubmiodunka.utilities.logging;
+
+import org.slf4j.event.Level;
+
+/**
+ * Threshold of messages passed by the logger - messages less severe than the threshold are discarded.
+ * Besides of SLF4J levels, logging can be disabled entirely.
+ *
+ * @author Jakub Miodunka
+ * */
+public enum LogLevel {
+    TRACE(Level.TRACE.toInt()),
+    DEBUG(Level.DEBUG.toInt()),
+    INFO(Level.INFO.toInt()),
+    WARN(Level.WARN.toInt()),
+    ERROR(Level.ERROR.toInt()),
+    OFF(Integer.MAX_VALUE);
+
+    // Severity of the least severe message passed by the logger
+    private final int threshold;
+
+    /**
+     * @param threshold Severity of the least severe message passed by the logger.
+     * */
+    LogLevel(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return Severity of the least severe message passed by the logger - comparable with Level.toInt().
+     * */
+    public int getThreshold() {
+        return this.threshold;
+    }
+}
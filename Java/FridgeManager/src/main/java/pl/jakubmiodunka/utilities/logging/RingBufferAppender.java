@@ -0,0 +1,316 @@
+package pl.jakubmiodunka.utilities.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Appender passing messages from logging threads to the single writer thread through bounded ring buffer.
+ * Slots of the buffer are allocated once and reused, while formatting of the messages and writing them out happens
+ * only on writer thread, so logging thread neither formats the message nor waits for I/O. When the buffer is full,
+ * messages are dropped instead of blocking logging thread - number of dropped messages is reported by writer thread.
+ * Arguments of the messages are formatted after logging call returns, so they should not be modified afterwards.
+ * Once closed, remaining messages are written and subsequent ones are written directly by logging thread.
+ *
+ * @author Jakub Miodunka
+ * */
+public class RingBufferAppender {
+    // Limits of writer thread sleep, when there are no messages to write
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // Format of the moment of logging call
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    /**
+     * Slot of the buffer holding single message.
+     * Sequence number of the slot tells, if the slot is ready to be filled by logging thread
+     * (equal to the position of producer) or to be written by writer thread (one greater than position of consumer).
+     * */
+    private static final class Slot {
+        private final AtomicLong sequence;
+        private long timestampMillis;
+        private Level level;
+        private String threadName;
+        private String loggerName;
+        private String pattern;
+        private Object[] arguments;
+        private Throwable throwable;
+
+        private Slot(long sequence) {
+            this.sequence = new AtomicLong(sequence);
+        }
+    }
+
+    // Slots of the buffer along with the mask mapping positions to slots
+    private final Slot[] slots;
+    private final int mask;
+
+    // Position, at which the next message will be put, and position of the next message to be written
+    private final AtomicLong producerPosition;
+    private long consumerPosition;
+
+    // Stream, to which messages are written, along with the flag indicating, if the stream should be closed
+    private final PrintStream output;
+    private final boolean ownedOutput;
+
+    // Thread writing the messages along with the flag indicating, if it should still wait for new ones
+    private final Thread writerThread;
+    private volatile boolean running;
+
+    // Number of dropped messages - total and already reported
+    private final AtomicLong droppedMessagesQuantity;
+    private long reportedDroppedMessagesQuantity;
+
+    // Builder reused for formatting the messages on writer thread
+    private final StringBuilder lineBuilder;
+
+    /**
+     * @param  capacity    Maximal number of messages waiting to be written - rounded up to the power of two.
+     * @param  file        File, to which messages should be appended, or null if they should be written
+     *                     to standard error stream.
+     * @throws IOException When opening of given file fail.
+     * */
+    public RingBufferAppender(int capacity, Path file) throws IOException {
+        // Rounding the capacity, so positions can be mapped to slots using the mask
+        int slotsQuantity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        // Properties init
+        this.slots = new Slot[slotsQuantity];
+        this.mask = slotsQuantity - 1;
+        this.producerPosition = new AtomicLong();
+        this.consumerPosition = 0;
+        this.droppedMessagesQuantity = new AtomicLong();
+        this.reportedDroppedMessagesQuantity = 0;
+        this.lineBuilder = new StringBuilder();
+
+        for (int index = 0; index < slotsQuantity; index++) {
+            this.slots[index] = new Slot(index);
+        }
+
+        if (file != null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+
+            this.output = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile(), true)),
+                    false, StandardCharsets.UTF_8);
+            this.ownedOutput = true;
+        } else {
+            this.output = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.err)),
+                    false, StandardCharsets.UTF_8);
+            this.ownedOutput = false;
+        }
+
+        // Starting the writer
+        this.running = true;
+        this.writerThread = new Thread(this::write, "logging-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Puts the message into the buffer or drops it, when the buffer is full.
+     * Executed on logging thread.
+     *
+     * @param level      Level of the message.
+     * @param loggerName Name of the logger.
+     * @param pattern    Message with '{}' in place of arguments.
+     * @param arguments  Arguments of the message or null if there are none.
+     * @param throwable  Throwable attached to the message or null if there is none.
+     * */
+    public void append(Level level, String loggerName, String pattern, Object[] arguments, Throwable throwable) {
+        long timestampMillis = System.currentTimeMillis();
+        String threadName = Thread.currentThread().getName();
+
+        // Messages logged after closing are written directly
+        if (!this.running) {
+            synchronized (this.output) {
+                this.writeLine(timestampMillis, level, threadName, loggerName, pattern, arguments, throwable);
+                this.output.flush();
+            }
+            return;
+        }
+
+        // Claiming the slot - position is moved forward only by the thread, that found the slot free
+        long position = this.producerPosition.get();
+        Slot slot;
+
+        while (true) {
+            slot = this.slots[(int) (position & this.mask)];
+            long difference = slot.sequence.get() - position;
+
+            if (difference == 0) {
+                long witnessedPosition = this.producerPosition.compareAndExchange(position, position + 1);
+
+                if (witnessedPosition == position) {
+                    break;
+                }
+
+                position = witnessedPosition;
+            }
+            else if (difference < 0) {
+                // Slot still holds the message, that was not written yet - buffer is full
+                this.droppedMessagesQuantity.incrementAndGet();
+                return;
+            }
+            else {
+                position = this.producerPosition.get();
+            }
+        }
+
+        // Filling the slot and publishing it to writer thread
+        slot.timestampMillis = timestampMillis;
+        slot.level = level;
+        slot.threadName = threadName;
+        slot.loggerName = loggerName;
+        slot.pattern = pattern;
+        slot.arguments = arguments;
+        slot.throwable = throwable;
+        slot.sequence.set(position + 1);
+    }
+
+    /**
+     * Writes the messages put into the buffer until the appender is closed - executed on writer thread.
+     * */
+    private void write() {
+        long parkNanos = MIN_PARK_NANOS;
+
+        while (true) {
+            int writtenMessagesQuantity = 0;
+
+            synchronized (this.output) {
+                while (this.writeNext()) {
+                    writtenMessagesQuantity++;
+                }
+
+                this.reportDroppedMessages();
+
+                if (writtenMessagesQuantity > 0) {
+                    this.output.flush();
+                }
+            }
+
+            if (writtenMessagesQuantity > 0) {
+                parkNanos = MIN_PARK_NANOS;
+            }
+            else if (!this.running) {
+                return;
+            }
+            else {
+                // Backing off, so idle writer does not keep the processor busy
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes the oldest message from the buffer, if there is any, and releases its slot.
+     *
+     * @return True if message was written, false if the buffer is empty.
+     * */
+    private boolean writeNext() {
+        Slot slot = this.slots[(int) (this.consumerPosition & this.mask)];
+
+        if (slot.sequence.get() != this.consumerPosition + 1) {
+            return false;
+        }
+
+        this.writeLine(slot.timestampMillis, slot.level, slot.threadName, slot.loggerName, slot.pattern,
+                slot.arguments, slot.throwable);
+
+        // Releasing references, so logged objects are not retained by the buffer
+        slot.arguments = null;
+        slot.throwable = null;
+        slot.sequence.set(this.consumerPosition + this.slots.length);
+        this.consumerPosition++;
+
+        return true;
+    }
+
+    /**
+     * Writes the message about messages dropped since the previous report, if there are any.
+     * */
+    private void reportDroppedMessages() {
+        long droppedMessagesQuantity = this.droppedMessagesQuantity.get();
+
+        if (droppedMessagesQuantity > this.reportedDroppedMessagesQuantity) {
+            this.writeLine(System.currentTimeMillis(), Level.WARN, this.writerThread.getName(),
+                    RingBufferAppender.class.getName(), "{} log messages dropped - buffer full.",
+                    new Object[] {droppedMessagesQuantity - this.reportedDroppedMessagesQuantity}, null);
+            this.reportedDroppedMessagesQuantity = droppedMessagesQuantity;
+        }
+    }
+
+    /**
+     * Formats the message and writes it to the output stream.
+     *
+     * @param timestampMillis Moment of logging call.
+     * @param level           Level of the message.
+     * @param threadName      Name of logging thread.
+     * @param loggerName      Name of the logger.
+     * @param pattern         Message with '{}' in place of arguments.
+     * @param arguments       Arguments of the message or null if there are none.
+     * @param throwable       Throwable attached to the message or null if there is none.
+     * */
+    private void writeLine(long timestampMillis, Level level, String threadName, String loggerName, String pattern,
+                           Object[] arguments, Throwable throwable) {
+        this.lineBuilder.setLength(0);
+        TIMESTAMP_FORMAT.formatTo(Instant.ofEpochMilli(timestampMillis), this.lineBuilder);
+
+        this.lineBuilder.append(" [").append(threadName).append("] ").append(level).append(' ')
+                .append(loggerName).append(" - ")
+                .append((arguments == null) ? pattern : MessageFormatter.basicArrayFormat(pattern, arguments));
+
+        this.output.println(this.lineBuilder);
+
+        if (throwable != null) {
+            throwable.printStackTrace(this.output);
+        }
+    }
+
+    /**
+     * @return Number of messages dropped, because the buffer was full.
+     * */
+    public long getDroppedMessagesQuantity() {
+        return this.droppedMessagesQuantity.get();
+    }
+
+    /**
+     * Writes remaining messages and stops writer thread.
+     * Messages logged afterwards are written directly by logging thread.
+     * */
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.writerThread);
+
+        try {
+            this.writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this.output) {
+            this.output.flush();
+
+            if (this.ownedOutput) {
+                this.output.close();
+            }
+        }
+    }
+}
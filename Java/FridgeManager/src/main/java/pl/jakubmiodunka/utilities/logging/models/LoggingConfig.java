@@ -0,0 +1,119 @@
+package pl.jakubmiodunka.utilities.logging.models;
+
+import pl.jakubmiodunka.exceptions.ConfigFileParsingException;
+import pl.jakubmiodunka.utilities.logging.LogLevel;
+import pl.jakubmiodunka.utilities.xml.XmlUtilities;
+import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.w3c.dom.Element;
+
+/**
+ * Model of logging configuration.
+ * Level of each logger is the one specified for the longest package (or class) matching its name,
+ * or the default one if no package matches.
+ *
+ * @author Jakub Miodunka
+ * */
+public class LoggingConfig {
+    // Level used when no package matches the name of the logger
+    private final LogLevel defaultLevel;
+
+    // Levels of particular packages or classes by their names
+    private final Map<String, LogLevel> packageLevels;
+
+    // Maximal number of messages waiting to be written - messages exceeding this limit are dropped
+    private final int ringBufferCapacity;
+
+    // File, to which messages are written, or null if they are written to standard error stream
+    private final Path file;
+
+    /**
+     * @param  configXmlPath              Path to config XML file containing logging configuration.
+     * @throws ConfigFileParsingException When extraction of data from provided config XML file fail.
+     * */
+    public LoggingConfig(Path configXmlPath) {
+        try {
+            // Extracting root node from given file
+            Element rootElement = XmlUtilities.getRootNode(configXmlPath, "logging");
+
+            // Extracting sub-nodes
+            Element levelsNode = XmlUtilities.getNode(rootElement, "levels");
+
+            // Properties init
+            this.defaultLevel = LogLevel.valueOf(XmlUtilities.getContentOfNode(levelsNode, "default"));
+            this.packageLevels = new LinkedHashMap<>();
+
+            for (Element packageNode: XmlUtilities.getNodes(levelsNode, "package")) {
+                this.packageLevels.put(XmlUtilities.getContentOfNode(packageNode, "name"),
+                        LogLevel.valueOf(XmlUtilities.getContentOfNode(packageNode, "level")));
+            }
+
+            this.ringBufferCapacity = Integer.parseInt(XmlUtilities.getContentOfNode(rootElement, "ringBufferCapacity"));
+
+            String file = XmlUtilities.getContentOfNode(rootElement, "file");
+            this.file = file.isEmpty() ? null : Path.of(file);
+
+        } catch (XmlParsingException | IllegalArgumentException exception) {
+            // Exception wrapping
+            String errorMessage = "Failed to create logging configuration model using '" + configXmlPath + "' file.";
+            throw new ConfigFileParsingException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * @param defaultLevel       Level used when no package matches the name of the logger.
+     * @param packageLevels      Levels of particular packages or classes by their names.
+     * @param ringBufferCapacity Maximal number of messages waiting to be written.
+     * @param file               File, to which messages are written, or null if they should be written
+     *                           to standard error stream.
+     * */
+    public LoggingConfig(LogLevel defaultLevel, Map<String, LogLevel> packageLevels, int ringBufferCapacity,
+                         Path file) {
+        // Properties init
+        this.defaultLevel = defaultLevel;
+        this.packageLevels = new LinkedHashMap<>(packageLevels);
+        this.ringBufferCapacity = ringBufferCapacity;
+        this.file = file;
+    }
+
+    /**
+     * @param  loggerName Name of the logger.
+     * @return            Level of the longest package matching the name of the logger or the default one,
+     *                    if no package matches.
+     * */
+    public LogLevel getLevel(String loggerName) {
+        LogLevel level = defaultLevel;
+        int matchedLength = -1;
+
+        for (Map.Entry<String, LogLevel> packageLevel: packageLevels.entrySet()) {
+            String packageName = packageLevel.getKey();
+
+            boolean matches = loggerName.equals(packageName) ||
+                    (loggerName.startsWith(packageName) && loggerName.charAt(packageName.length()) == '.');
+
+            if (matches && packageName.length() > matchedLength) {
+                level = packageLevel.getValue();
+                matchedLength = packageName.length();
+            }
+        }
+
+        return level;
+    }
+
+    /**
+     * @return Maximal number of messages waiting to be written.
+     * */
+    public int getRingBufferCapacity() {
+        return ringBufferCapacity;
+    }
+
+    /**
+     * @return File, to which messages are written, or null if they are written to standard error stream.
+     * */
+    public Path getFile() {
+        return file;
+    }
+}
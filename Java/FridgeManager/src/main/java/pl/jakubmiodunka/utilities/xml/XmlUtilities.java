@@ -1,5 +1,6 @@
 package pl.jakubmiodunka.utilities.xml;
 
+import pl.jakubmiodunka.utilities.jfr.ConfigParsingEvent;
 import pl.jakubmiodunka.utilities.xml.exceptions.XmlParsingException;
 
 import java.io.IOException;
@@ -30,6 +31,11 @@ public class XmlUtilities {
      * @throws XmlParsingException If extraction fail.
      * */
     public static Element getRootNode(Path xmlFile, String rootNodeName) {
+        // Parsing is recorded by Flight Recorder
+        ConfigParsingEvent event = new ConfigParsingEvent();
+        event.begin();
+        boolean succeeded = false;
+
         try {
             // Parsing given XML file
             DocumentBuilder documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
@@ -46,12 +52,15 @@ public class XmlUtilities {
                 throw new XmlParsingException(String.format("Root node not named as '%s'", rootNodeName));
 
             // Returning root node after successful validation
+            succeeded = true;
             return rootNode;
 
         } catch (ParserConfigurationException | IOException | SAXException | XmlParsingException exception) {
             // Wrapping caught exception
             String errorMessage = String.format("Failed to extract root node from '%s'", xmlFile.toString());
             throw new XmlParsingException(errorMessage, exception);
+        } finally {
+            event.finish(xmlFile.toString(), rootNodeName, succeeded);
         }
     }
 
@@ -113,6 +122,31 @@ public class XmlUtilities {
         return (Element) matchingNodes.get(0);
     }
 
+    /**
+     * Extracts all nodes with particular name, that are direct children of node given in argument.
+     * Used for parsing lists of nodes, which can be also empty.
+     *
+     * @param  nodeName            Name of searched nodes.
+     * @param  sourceNode          XML node, that serves as a source for searching process.
+     * @return                     Extracted nodes in order of their appearance in the document.
+     * @throws XmlParsingException If any of found nodes is not an element node.
+     * */
+    public static List<Element> getNodes(Element sourceNode, String nodeName) {
+        // Extracting all nodes with provided name, that are direct children of provided root node
+        List<Node> matchingNodes = toListOfNodes(sourceNode.getElementsByTagName(nodeName)).stream()
+                .filter(node -> node.getParentNode().isEqualNode(sourceNode))
+                .toList();
+
+        // Checking if all found nodes are element nodes
+        if (!(matchingNodes.stream().allMatch(node -> node.getNodeType() == Node.ELEMENT_NODE)))
+            throw new XmlParsingException(String.format("Not all found '%s' nodes are element nodes", nodeName));
+
+        // Returning the nodes after successful validation
+        return matchingNodes.stream()
+                .map(node -> (Element) node)
+                .toList();
+    }
+
     /**
      * Extract the text content from XML node, which name is provided as argument.
      * Text content of found XML node will be returned in "stripped" for (String.strip)